@@ -0,0 +1,67 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+using System.Collections.Generic;
+using System.Runtime.Serialization;
+
+//---------- Auto-generated ------------
+namespace Org.Apache.REEF.Network.Naming.Contracts
+{
+    /// <summary>
+    /// Used to serialize and deserialize Avro record Org.Apache.REEF.Network.Naming.Contracts.AvroNamingSubscriptionUpdate.
+    /// </summary>
+    [DataContract]
+    public class AvroNamingSubscriptionUpdate
+    {
+        private const string JsonSchema = @"{""type"":""record"",""name"":""Org.Apache.REEF.Network.Naming.Contracts.AvroNamingSubscriptionUpdate"",""fields"":[{""name"":""subscriptionId"",""type"":""long""},{""name"":""snapshot"",""type"":""boolean""},{""name"":""registered"",""type"":{""type"":""array"",""items"":{""type"":""record"",""name"":""Org.Apache.REEF.Network.Naming.Contracts.AvroNamingAssignment"",""fields"":[{""name"":""id"",""type"":""string""},{""name"":""host"",""type"":""string""},{""name"":""port"",""type"":""int""}]}}},{""name"":""unregistered"",""type"":{""type"":""array"",""items"":""string""}}]}";
+
+        /// <summary>
+        /// Gets the schema.
+        /// </summary>
+        public static string Schema
+        {
+            get
+            {
+                return JsonSchema;
+            }
+        }
+      
+        /// <summary>
+        /// Gets or sets the subscriptionId field.
+        /// </summary>
+        [DataMember]
+        public long subscriptionId { get; set; }
+
+        /// <summary>
+        /// Gets or sets the snapshot field.
+        /// </summary>
+        [DataMember]
+        public bool snapshot { get; set; }
+
+        /// <summary>
+        /// Gets or sets the registered field.
+        /// </summary>
+        [DataMember]
+        public List<AvroNamingAssignment> registered { get; set; }
+
+        /// <summary>
+        /// Gets or sets the unregistered field.
+        /// </summary>
+        [DataMember]
+        public List<string> unregistered { get; set; }
+    }
+}
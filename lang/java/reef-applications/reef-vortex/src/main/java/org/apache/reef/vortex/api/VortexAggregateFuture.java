@@ -26,6 +26,7 @@ import org.apache.reef.annotations.audience.ClientSide;
 import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.annotations.audience.Public;
 import org.apache.reef.vortex.driver.VortexFutureDelegate;
+import org.apache.reef.wake.EventHandler;
 
 import javax.annotation.concurrent.NotThreadSafe;
 import java.util.*;
@@ -41,10 +42,18 @@ import java.util.concurrent.*;
 @NotThreadSafe
 @Unstable
 public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutureDelegate<TOutput> {
+  /**
+   * The Tasklet IDs of the failure of a stream of inputs, which is identified by reference.
+   */
+  private static final List<Integer> INPUTS_FAILED = Collections.unmodifiableList(new ArrayList<Integer>(0));
+
   private final Executor executor;
   private final BlockingQueue<Pair<List<Integer>, AggregateResult>> resultQueue;
   private final ConcurrentMap<Integer, TInput> taskletIdInputMap;
   private final FutureCallback<AggregateResult<TInput, TOutput>> callbackHandler;
+  private final EventHandler<Integer> resultsConsumedHandler;
+  private final boolean streaming;
+  private volatile boolean allInputsAdded;
 
   @Private
   public VortexAggregateFuture(final Executor executor,
@@ -54,20 +63,77 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
     this.taskletIdInputMap = new ConcurrentHashMap<>(taskletIdInputMap);
     this.resultQueue = new ArrayBlockingQueue<>(taskletIdInputMap.size());
     this.callbackHandler = callbackHandler;
+    this.resultsConsumedHandler = null;
+    this.streaming = false;
+    this.allInputsAdded = true;
+  }
+
+  /**
+   * Creates the future of a stream of inputs, whose inputs are added as their Tasklets are created.
+   * If there is a callback, the results are only passed to it, and the inputs are released on the callback,
+   * such that the memory held by the future is bounded by the Tasklets that are outstanding.
+   * Otherwise the number of Tasklets in each result taken by {@link #get()} is passed to resultsConsumedHandler,
+   * such that Tasklets are only added as results are consumed, which bounds the results queued in the future.
+   */
+  @Private
+  public VortexAggregateFuture(final Executor executor,
+                               final FutureCallback<AggregateResult<TInput, TOutput>> callbackHandler,
+                               final EventHandler<Integer> resultsConsumedHandler) {
+    this.executor = executor;
+    this.taskletIdInputMap = new ConcurrentHashMap<>();
+    this.resultQueue = new LinkedBlockingQueue<>();
+    this.callbackHandler = callbackHandler;
+    this.resultsConsumedHandler = resultsConsumedHandler;
+    this.streaming = true;
+    this.allInputsAdded = false;
+  }
+
+  /**
+   * Adds the inputs of newly created Tasklets of a stream of inputs.
+   * @param lastInputs true if the stream is exhausted
+   */
+  @Private
+  public void inputsAdded(final Map<Integer, TInput> inputs, final boolean lastInputs) {
+    taskletIdInputMap.putAll(inputs);
+    if (lastInputs) {
+      allInputsAdded = true;
+    }
+  }
+
+  /**
+   * The stream of inputs has thrown, so no more inputs are added. The exception is delivered like a failure
+   * of Tasklets without inputs, and the results of the outstanding Tasklets are still delivered.
+   */
+  @Private
+  public void inputsFailed(final Exception exception) {
+    try {
+      if (callbackHandler != null) {
+        failedTasklets(exception, Collections.<Integer>emptyList());
+        allInputsAdded = true;
+      } else {
+        // All inputs are marked as added once the failure is polled, such that get() does not return null before.
+        resultQueue.put(new ImmutablePair<List<Integer>, AggregateResult>(
+            INPUTS_FAILED, new AggregateResult(exception, Collections.emptyList())));
+      }
+    } catch (final InterruptedException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   /**
    * @return the next aggregation result for the future, null if no more results.
+   * @throws IllegalStateException if the results of a stream of inputs are passed to a callback.
    */
   public synchronized AggregateResultSynchronous<TInput, TOutput> get() throws InterruptedException {
-    if (taskletIdInputMap.isEmpty()) {
+    checkPolledResults();
+    if (isDone()) {
       return null;
     }
 
     final Pair<List<Integer>, AggregateResult> resultPair = resultQueue.take();
 
-    removeFromTaskletIdInputMap(resultPair.getLeft());
-    return new AggregateResultSynchronous<>(resultPair.getRight(), !taskletIdInputMap.isEmpty());
+    resultsConsumed(resultPair.getLeft());
+    return new AggregateResultSynchronous<>(resultPair.getRight(), !isDone());
   }
 
   /**
@@ -78,7 +144,8 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
    */
   public synchronized AggregateResultSynchronous<TInput, TOutput> get(final long timeout, final TimeUnit timeUnit)
       throws InterruptedException, TimeoutException {
-    if (taskletIdInputMap.isEmpty()) {
+    checkPolledResults();
+    if (isDone()) {
       return null;
     }
 
@@ -89,8 +156,18 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
               + " in time units: " + timeUnit);
     }
 
-    removeFromTaskletIdInputMap(resultPair.getLeft());
-    return new AggregateResultSynchronous<>(resultPair.getRight(), !taskletIdInputMap.isEmpty());
+    resultsConsumed(resultPair.getLeft());
+    return new AggregateResultSynchronous<>(resultPair.getRight(), !isDone());
+  }
+
+  private void resultsConsumed(final List<Integer> taskletIds) {
+    if (taskletIds == INPUTS_FAILED) {
+      allInputsAdded = true;
+    }
+    removeFromTaskletIdInputMap(taskletIds);
+    if (resultsConsumedHandler != null && !taskletIds.isEmpty()) {
+      resultsConsumedHandler.onNext(taskletIds.size());
+    }
   }
 
   private void removeFromTaskletIdInputMap(final List<Integer> taskletIds) {
@@ -99,11 +176,17 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
     }
   }
 
+  private void checkPolledResults() {
+    if (streaming && callbackHandler != null) {
+      throw new IllegalStateException("The results of a stream of inputs are only passed to the callback.");
+    }
+  }
+
   /**
    * @return true if there are no more results to poll.
    */
   public boolean isDone() {
-    return taskletIdInputMap.isEmpty();
+    return allInputsAdded && taskletIdInputMap.isEmpty();
   }
 
   /**
@@ -184,7 +267,7 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
       });
     }
 
-    resultQueue.put(new ImmutablePair<>(taskletIds, result));
+    queueResult(taskletIds, result);
   }
 
   /**
@@ -205,7 +288,19 @@ public final class VortexAggregateFuture<TInput, TOutput> implements VortexFutur
       });
     }
 
-    resultQueue.put(new ImmutablePair<>(taskletIds, failure));
+    queueResult(taskletIds, failure);
+  }
+
+  /**
+   * Queues the result to be polled, or releases the inputs if the results of a stream are passed to a callback.
+   */
+  private void queueResult(final List<Integer> taskletIds, final AggregateResult result)
+      throws InterruptedException {
+    if (streaming && callbackHandler != null) {
+      removeFromTaskletIdInputMap(taskletIds);
+    } else {
+      resultQueue.put(new ImmutablePair<>(taskletIds, result));
+    }
   }
 
   /**
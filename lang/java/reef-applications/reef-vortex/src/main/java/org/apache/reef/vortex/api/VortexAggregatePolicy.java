@@ -28,6 +28,8 @@ import org.apache.reef.util.Optional;
  * The policy for local aggregation on the {@link org.apache.reef.vortex.evaluator.VortexWorker}s.
  * The Aggregation function will be triggered on the individual {@link VortexFunction} results on
  * an "OR" basis of what is specified by the policy.
+ * Optionally, the partial aggregates of the workers are combined further on the Driver,
+ * such that a single aggregate is delivered for all successful Tasklets.
  */
 @ClientSide
 @Public
@@ -35,6 +37,7 @@ import org.apache.reef.util.Optional;
 public final class VortexAggregatePolicy {
   private Optional<Integer> count;
   private int periodMilliseconds;
+  private Optional<Integer> driverCombiningFanIn;
 
   /**
    * No-arg constructor required for Kryo to serialize/deserialize.
@@ -42,9 +45,11 @@ public final class VortexAggregatePolicy {
   VortexAggregatePolicy() {
   }
 
-  private VortexAggregatePolicy(final int periodMilliseconds, final Optional<Integer> count) {
+  private VortexAggregatePolicy(final int periodMilliseconds, final Optional<Integer> count,
+                                final Optional<Integer> driverCombiningFanIn) {
     this.periodMilliseconds = periodMilliseconds;
     this.count = count;
+    this.driverCombiningFanIn = driverCombiningFanIn;
   }
 
   /**
@@ -61,6 +66,14 @@ public final class VortexAggregatePolicy {
     return count;
   }
 
+  /**
+   * @return the maximum number of partial aggregates combined at once, empty if partial aggregates
+   * are not combined further.
+   */
+  public Optional<Integer> getDriverCombiningFanIn() {
+    return driverCombiningFanIn;
+  }
+
   /**
    * @return a new {@link Builder} for {@link VortexAggregatePolicy}.
    */
@@ -74,6 +87,7 @@ public final class VortexAggregatePolicy {
   public static final class AggregatePolicyBuilder implements Builder<VortexAggregatePolicy> {
     private Integer periodMilliseconds = null;
     private Optional<Integer> count = Optional.empty();
+    private Optional<Integer> driverCombiningFanIn = Optional.empty();
 
     private AggregatePolicyBuilder() {
     }
@@ -94,6 +108,15 @@ public final class VortexAggregatePolicy {
       return this;
     }
 
+    /**
+     * Combines the partial aggregates of the workers on the Driver, at most pFanIn at a time and in parallel,
+     * until a single aggregate remains. All partial aggregates still reach the Driver. Not required.
+     */
+    public AggregatePolicyBuilder setDriverCombiningFanIn(final int pFanIn) {
+      driverCombiningFanIn = Optional.of(pFanIn);
+      return this;
+    }
+
     /**
      * Builds and returns a new {@link VortexAggregatePolicy} based on user's specification.
      * The timer period is a required parameter for this to succeed.
@@ -109,7 +132,11 @@ public final class VortexAggregatePolicy {
         throw new IllegalArgumentException("The count trigger must be greater than zero.");
       }
 
-      return new VortexAggregatePolicy(periodMilliseconds, count);
+      if (driverCombiningFanIn.isPresent() && driverCombiningFanIn.get() < 2) {
+        throw new IllegalArgumentException("The Driver combining fan-in must be at least two.");
+      }
+
+      return new VortexAggregatePolicy(periodMilliseconds, count, driverCombiningFanIn);
     }
   }
 }
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.api;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.ClientSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.annotations.audience.Public;
+import org.apache.reef.vortex.common.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A snapshot of the timings of the Tasklets and the utilization of the workers of a Vortex job.
+ * Timings recorded by the master are measured since the latest time a Tasklet was queued or launched,
+ * such that a rescheduled Tasklet is accounted for by its latest attempt.
+ */
+@Public
+@ClientSide
+@Unstable
+public final class VortexMetrics {
+  private final LatencyHistogram pendingTime;
+  private final LatencyHistogram turnaroundTime;
+  private final LatencyHistogram workerQueueTime;
+  private final LatencyHistogram executionTime;
+  private final Map<String, Double> workerUtilization;
+
+  @Private
+  public VortexMetrics(final LatencyHistogram pendingTime,
+                       final LatencyHistogram turnaroundTime,
+                       final LatencyHistogram workerQueueTime,
+                       final LatencyHistogram executionTime,
+                       final Map<String, Double> workerUtilization) {
+    this.pendingTime = pendingTime;
+    this.turnaroundTime = turnaroundTime;
+    this.workerQueueTime = workerQueueTime;
+    this.executionTime = executionTime;
+    this.workerUtilization = Collections.unmodifiableMap(new HashMap<>(workerUtilization));
+  }
+
+  /**
+   * @return the time Tasklets spent in the queue of the master before they were launched on a worker.
+   */
+  public LatencyHistogram getPendingTime() {
+    return pendingTime;
+  }
+
+  /**
+   * @return the time from the launch of Tasklets until the master received their results, including
+   * the time to send them to the worker and back, and the aggregation period of aggregate-able Tasklets.
+   */
+  public LatencyHistogram getTurnaroundTime() {
+    return turnaroundTime;
+  }
+
+  /**
+   * @return the time Tasklets waited on the workers between their dispatch and their start.
+   */
+  public LatencyHistogram getWorkerQueueTime() {
+    return workerQueueTime;
+  }
+
+  /**
+   * @return the execution time of Tasklets on the workers.
+   */
+  public LatencyHistogram getExecutionTime() {
+    return executionTime;
+  }
+
+  /**
+   * @return the fraction of time the threads of each worker spent executing Tasklets in its latest report.
+   */
+  public Map<String, Double> getWorkerUtilization() {
+    return workerUtilization;
+  }
+
+  @Override
+  public String toString() {
+    return "VortexMetrics{" +
+        "pendingTime=" + summarize(pendingTime) +
+        ", turnaroundTime=" + summarize(turnaroundTime) +
+        ", workerQueueTime=" + summarize(workerQueueTime) +
+        ", executionTime=" + summarize(executionTime) +
+        ", workerUtilization=" + workerUtilization +
+        '}';
+  }
+
+  private static String summarize(final LatencyHistogram histogram) {
+    return String.format("{count=%d, p50<%dus, p90<%dus, p99<%dus}", histogram.getCount(),
+        histogram.getPercentileMicros(0.5), histogram.getPercentileMicros(0.9), histogram.getPercentileMicros(0.99));
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.reef.util.Optional;
 import org.apache.reef.vortex.driver.VortexMaster;
 
 import javax.inject.Inject;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -100,4 +101,58 @@ public final class VortexThreadPool {
              final FutureCallback<AggregateResult<TInput, TOutput>> callback) {
     return vortexMaster.enqueueTasklets(aggregateFunction, function, policy, inputs, Optional.of(callback));
   }
+
+  /**
+   * Submits aggregate-able functions for a stream of inputs, which is consumed lazily.
+   * The results should be polled with {@link VortexAggregateFuture#get()}, as Tasklets are only created
+   * for further inputs once the results of the earlier ones have been polled.
+   * @param aggregateFunction to run on VortexFunction outputs
+   * @param function to run on Vortex
+   * @param policy on aggregation
+   * @param inputs of the function, which are consumed on a single thread at a time
+   * @param maxOutstandingTasklets the maximum number of Tasklets that are created and whose results are not polled
+   * @param <TInput> input type
+   * @param <TOutput> output type
+   * @return VortexAggregationFuture for tracking execution progress of aggregate-able functions
+   */
+  public <TInput, TOutput> VortexAggregateFuture<TInput, TOutput>
+      submit(final VortexAggregateFunction<TOutput> aggregateFunction,
+             final VortexFunction<TInput, TOutput> function,
+             final VortexAggregatePolicy policy,
+             final Iterator<TInput> inputs,
+             final int maxOutstandingTasklets) {
+    return vortexMaster.enqueueTaskletStream(aggregateFunction, function, policy, inputs, maxOutstandingTasklets,
+        Optional.<FutureCallback<AggregateResult<TInput, TOutput>>>empty());
+  }
+
+  /**
+   * Submits aggregate-able functions for a stream of inputs, which is consumed lazily.
+   * The results are only passed to the callback, such that the memory held for the aggregation is bounded.
+   * @param aggregateFunction to run on VortexFunction outputs
+   * @param function to run on Vortex
+   * @param policy on aggregation
+   * @param inputs of the function, which are consumed on a single thread at a time
+   * @param maxOutstandingTasklets the maximum number of Tasklets that are created and not completed
+   * @param callback of the aggregation
+   * @param <TInput> input type
+   * @param <TOutput> output type
+   * @return VortexAggregationFuture for tracking execution progress of aggregate-able functions
+   */
+  public <TInput, TOutput> VortexAggregateFuture<TInput, TOutput>
+      submit(final VortexAggregateFunction<TOutput> aggregateFunction,
+             final VortexFunction<TInput, TOutput> function,
+             final VortexAggregatePolicy policy,
+             final Iterator<TInput> inputs,
+             final int maxOutstandingTasklets,
+             final FutureCallback<AggregateResult<TInput, TOutput>> callback) {
+    return vortexMaster.enqueueTaskletStream(aggregateFunction, function, policy, inputs, maxOutstandingTasklets,
+        Optional.of(callback));
+  }
+
+  /**
+   * @return a snapshot of the timings of the Tasklets submitted so far and the utilization of the workers.
+   */
+  public VortexMetrics getMetrics() {
+    return vortexMaster.getMetrics();
+  }
 }
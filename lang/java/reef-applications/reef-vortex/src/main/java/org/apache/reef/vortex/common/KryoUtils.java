@@ -21,34 +21,121 @@ package org.apache.reef.vortex.common;
 import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.io.UnsafeInput;
+import com.esotericsoftware.kryo.io.UnsafeOutput;
 import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
 import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
 import org.apache.reef.annotations.Unstable;
 import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.vortex.protocol.mastertoworker.*;
+import org.apache.reef.vortex.protocol.workertomaster.*;
 
 import javax.inject.Inject;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * The one and only serializer for the Vortex protocol.
+ *
+ * The Vortex protocol classes and the user classes given by {@link RegisteredClasses} are registered with Kryo,
+ * such that a small ID is written for them instead of the class name.
+ * The VortexMaster and the VortexWorkers must register the same classes, in the same order,
+ * and agree on {@link UnsafeBuffers}. See {@link #getConfiguration()}.
+ *
+ * The Kryo {@link Output} and {@link Input} buffers are pooled and reused across messages.
  */
 @Private
 @Unstable
 public final class KryoUtils {
+  private static final int INITIAL_BUFFER_SIZE = 4096;
+  private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+  private static final byte[] EMPTY_BUFFER = new byte[0];
+
+  /**
+   * The Vortex protocol classes, registered in this order before the user classes.
+   */
+  private static final List<Class<?>> PROTOCOL_CLASSES = Collections.unmodifiableList(Arrays.<Class<?>>asList(
+      ArrayList.class,
+      MasterToWorkerRequests.class,
+      MasterToWorkerRequest.Type.class,
+      TaskletAggregationRequest.class,
+      TaskletExecutionRequest.class,
+      TaskletAggregateExecutionRequest.class,
+      TaskletCancellationRequest.class,
+      TaskletStealRequest.class,
+      WorkerToMasterReports.class,
+      WorkerToMasterReport.Type.class,
+      TaskletResultReport.class,
+      TaskletAggregationResultReport.class,
+      TaskletCancelledReport.class,
+      TaskletFailureReport.class,
+      TaskletAggregationFailureReport.class,
+      TaskletsStolenReport.class,
+      WorkerStatsReport.class,
+      long[].class));
+
+  /**
+   * Names of the user classes to register with Kryo.
+   */
+  @NamedParameter(doc = "Names of the user classes to register with Kryo.", default_values = {})
+  public final class RegisteredClasses implements Name<Set<String>> {
+  }
+
+  /**
+   * Whether to serialize with Kryo's unsafe buffers, which are faster but depend on the native byte order.
+   */
+  @NamedParameter(doc = "Whether to serialize with Kryo's unsafe buffers.", default_value = "false")
+  public final class UnsafeBuffers implements Name<Boolean> {
+  }
+
   /**
    * For reducing Kryo object instantiation cost.
    */
   private final KryoPool kryoPool;
 
+  /**
+   * For reusing the buffers across messages.
+   */
+  private final Queue<Output> outputPool = new ConcurrentLinkedQueue<>();
+  private final Queue<Input> inputPool = new ConcurrentLinkedQueue<>();
+
+  private final Set<String> registeredClassNames;
+  private final boolean unsafeBuffers;
+
   @Inject
-  private KryoUtils() {
+  private KryoUtils(@Parameter(RegisteredClasses.class) final Set<String> registeredClassNames,
+                    @Parameter(UnsafeBuffers.class) final boolean unsafeBuffers) {
+    this.registeredClassNames = registeredClassNames;
+    this.unsafeBuffers = unsafeBuffers;
+
+    // Sort the names, such that all parties assign the same IDs.
+    final List<Class<?>> userClasses = new ArrayList<>(registeredClassNames.size());
+    for (final String className : new TreeSet<>(registeredClassNames)) {
+      try {
+        userClasses.add(Class.forName(className));
+      } catch (final ClassNotFoundException e) {
+        throw new IllegalArgumentException("Cannot register class " + className + " with Kryo", e);
+      }
+    }
+
     final KryoFactory factory = new KryoFactory() {
       @Override
       public Kryo create() {
         final Kryo kryo = new Kryo();
         UnmodifiableCollectionsSerializer.registerSerializers(kryo); // Required to serialize/deserialize Throwable
+        for (final Class<?> protocolClass : PROTOCOL_CLASSES) {
+          kryo.register(protocolClass);
+        }
+        for (final Class<?> userClass : userClasses) {
+          kryo.register(userClass);
+        }
         return kryo;
       }
     };
@@ -56,20 +143,51 @@ public final class KryoUtils {
   }
 
   public byte[] serialize(final Object object) {
-    try (final Output out = new Output(new ByteArrayOutputStream())) {
-      final Kryo kryo = kryoPool.borrow();
+    Output out = outputPool.poll();
+    if (out == null) {
+      out = unsafeBuffers ? new UnsafeOutput(INITIAL_BUFFER_SIZE, -1) : new Output(INITIAL_BUFFER_SIZE, -1);
+    }
+
+    final Kryo kryo = kryoPool.borrow();
+    try {
       kryo.writeClassAndObject(out, object);
-      kryoPool.release(kryo);
       return out.toBytes();
+    } finally {
+      kryoPool.release(kryo);
+      out.clear();
+      // Do not hold on to the buffer of an exceptionally large message.
+      if (out.getBuffer().length <= MAX_POOLED_BUFFER_SIZE) {
+        outputPool.offer(out);
+      }
     }
   }
 
   public Object deserialize(final byte[] bytes) {
-    try (final Input input = new Input(new ByteArrayInputStream(bytes))) {
-      final Kryo kryo = kryoPool.borrow();
-      final Object object = kryo.readClassAndObject(input);
+    Input input = inputPool.poll();
+    if (input == null) {
+      input = unsafeBuffers ? new UnsafeInput() : new Input();
+    }
+    input.setBuffer(bytes);
+
+    final Kryo kryo = kryoPool.borrow();
+    try {
+      return kryo.readClassAndObject(input);
+    } finally {
       kryoPool.release(kryo);
-      return object;
+      input.setBuffer(EMPTY_BUFFER);
+      inputPool.offer(input);
+    }
+  }
+
+  /**
+   * @return the configuration for a VortexWorker to serialize the same way as this
+   */
+  public Configuration getConfiguration() {
+    final JavaConfigurationBuilder confBuilder = Tang.Factory.getTang().newConfigurationBuilder();
+    for (final String className : registeredClassNames) {
+      confBuilder.bindSetEntry(RegisteredClasses.class, className);
     }
+    confBuilder.bindNamedParameter(UnsafeBuffers.class, String.valueOf(unsafeBuffers));
+    return confBuilder.build();
   }
 }
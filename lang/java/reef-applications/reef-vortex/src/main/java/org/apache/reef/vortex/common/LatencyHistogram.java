@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.common;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.wake.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Histogram} of latencies in microseconds, with bins of exponentially growing width.
+ * Bin 0 counts latencies below 1 microsecond, and bin i counts latencies in [2^(i-1), 2^i) microseconds.
+ */
+@Unstable
+public final class LatencyHistogram implements Histogram {
+  /**
+   * The number of bins, the last one also counts all latencies beyond its range.
+   */
+  public static final int NUM_BINS = 40;
+
+  private final AtomicLongArray bins = new AtomicLongArray(NUM_BINS);
+
+  /**
+   * Records a latency.
+   * @param latencyMicros the latency in microseconds
+   */
+  @Override
+  public void update(final long latencyMicros) {
+    bins.incrementAndGet(getBinIndex(latencyMicros));
+  }
+
+  /**
+   * Adds the counts of bins recorded elsewhere, e.g. by {@link #drain()}.
+   */
+  public void add(final long[] binCounts) {
+    for (int i = 0; i < Math.min(NUM_BINS, binCounts.length); i++) {
+      if (binCounts[i] != 0) {
+        bins.addAndGet(i, binCounts[i]);
+      }
+    }
+  }
+
+  /**
+   * @return the counts of the bins, which are reset to zero.
+   */
+  public long[] drain() {
+    final long[] binCounts = new long[NUM_BINS];
+    for (int i = 0; i < NUM_BINS; i++) {
+      binCounts[i] = bins.getAndSet(i, 0);
+    }
+    return binCounts;
+  }
+
+  /**
+   * @return a copy of this histogram.
+   */
+  public LatencyHistogram copy() {
+    final LatencyHistogram copy = new LatencyHistogram();
+    for (int i = 0; i < NUM_BINS; i++) {
+      copy.bins.set(i, bins.get(i));
+    }
+    return copy;
+  }
+
+  @Override
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < NUM_BINS; i++) {
+      count += bins.get(i);
+    }
+    return count;
+  }
+
+  @Override
+  public long getValue(final int index) {
+    return bins.get(index);
+  }
+
+  @Override
+  public int getNumBins() {
+    return NUM_BINS;
+  }
+
+  /**
+   * @param percentile between 0 and 1
+   * @return the upper bound in microseconds of the bin the percentile falls into, 0 if nothing is recorded.
+   */
+  public long getPercentileMicros(final double percentile) {
+    final long count = getCount();
+    if (count == 0) {
+      return 0;
+    }
+
+    final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+    long cumulativeCount = 0;
+    for (int i = 0; i < NUM_BINS; i++) {
+      cumulativeCount += bins.get(i);
+      if (cumulativeCount >= rank) {
+        return getBinUpperBoundMicros(i);
+      }
+    }
+    return getBinUpperBoundMicros(NUM_BINS - 1);
+  }
+
+  /**
+   * @return the exclusive upper bound in microseconds of the latencies counted in the bin.
+   */
+  public static long getBinUpperBoundMicros(final int index) {
+    return 1L << index;
+  }
+
+  private static int getBinIndex(final long latencyMicros) {
+    if (latencyMicros <= 0) {
+      return 0;
+    }
+    return Math.min(NUM_BINS - 1, Long.SIZE - Long.numberOfLeadingZeros(latencyMicros));
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prefer workers that already hold the aggregate function or the user function of the tasklet,
+ * such that the function need not be sent again. Among those, or among all workers if none has enough resources,
+ * select the least loaded one.
+ * When a worker becomes idle, queued tasklets of the most loaded worker are rebalanced onto it.
+ */
+@ThreadSafe
+class AffinitySchedulingPolicy implements SchedulingPolicy {
+  private final int workerCapacity;
+
+  /**
+   * Keep the load and the functions held for each worker.
+   */
+  private final ConcurrentMap<String, WorkerState> idStateMap = new ConcurrentHashMap<>();
+
+  @Inject
+  AffinitySchedulingPolicy(@Parameter(VortexMasterConf.WorkerCapacity.class) final int capacity) {
+    this.workerCapacity = capacity;
+  }
+
+  /**
+   * @param tasklet to schedule
+   * @return the least loaded worker with enough resources that holds the function of the tasklet,
+   * or the least loaded worker with enough resources if none holds it
+   */
+  @Override
+  public Optional<String> trySchedule(final Tasklet tasklet) {
+    String bestWorkerId = null;
+    int bestLoad = Integer.MAX_VALUE;
+    String bestAffineWorkerId = null;
+    int bestAffineLoad = Integer.MAX_VALUE;
+    for (final Map.Entry<String, WorkerState> entry : idStateMap.entrySet()) {
+      final WorkerState workerState = entry.getValue();
+      final int load = workerState.load.get();
+      if (load < workerCapacity) {
+        if (load < bestLoad) {
+          bestLoad = load;
+          bestWorkerId = entry.getKey();
+        }
+        if (load < bestAffineLoad && workerState.holdsFunctionOf(tasklet)) {
+          bestAffineLoad = load;
+          bestAffineWorkerId = entry.getKey();
+        }
+      }
+    }
+    return Optional.ofNullable(bestAffineWorkerId != null ? bestAffineWorkerId : bestWorkerId);
+  }
+
+  /**
+   * @param vortexWorker to launch a tasklet onto
+   * @return true if the load of the worker is below its capacity
+   */
+  @Override
+  public boolean hasCapacity(final VortexWorkerManager vortexWorker) {
+    final WorkerState workerState = idStateMap.get(vortexWorker.getId());
+    return workerState != null && workerState.load.get() < workerCapacity;
+  }
+
+  /**
+   * @param vortexWorker added
+   */
+  @Override
+  public void workerAdded(final VortexWorkerManager vortexWorker) {
+    idStateMap.putIfAbsent(vortexWorker.getId(), new WorkerState(vortexWorker)); // Ignore duplicate add.
+  }
+
+  /**
+   * @param vortexWorker removed
+   */
+  @Override
+  public void workerRemoved(final VortexWorkerManager vortexWorker) {
+    idStateMap.remove(vortexWorker.getId()); // Ignore invalid removal.
+  }
+
+  /**
+   * @param vortexWorker that the tasklet was launched onto
+   * @param tasklet launched
+   */
+  @Override
+  public void taskletLaunched(final VortexWorkerManager vortexWorker, final Tasklet tasklet) {
+    final WorkerState workerState = idStateMap.get(vortexWorker.getId());
+    if (workerState != null) {
+      workerState.load.incrementAndGet();
+      workerState.addFunctionOf(tasklet);
+    }
+  }
+
+  /**
+   * @param vortexWorker that the tasklets completed in
+   * @param tasklets completed
+   */
+  @Override
+  public void taskletsDone(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    removeTasklets(vortexWorker.getId(), tasklets);
+  }
+
+  /**
+   * @param vortexWorker that gave back the tasklets
+   * @param tasklets given back
+   */
+  @Override
+  public void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    removeTasklets(vortexWorker.getId(), tasklets);
+  }
+
+  /**
+   * @param idleWorker the worker that has become idle
+   * @return the most loaded worker, if it has more than one tasklet
+   */
+  @Override
+  public Optional<String> tryRebalance(final VortexWorkerManager idleWorker) {
+    String busiestWorkerId = null;
+    int highestLoad = 1;
+    for (final Map.Entry<String, WorkerState> entry : idStateMap.entrySet()) {
+      final int load = entry.getValue().load.get();
+      if (load > highestLoad && !entry.getKey().equals(idleWorker.getId())) {
+        highestLoad = load;
+        busiestWorkerId = entry.getKey();
+      }
+    }
+    return Optional.ofNullable(busiestWorkerId);
+  }
+
+  private void removeTasklets(final String workerId, final List<Tasklet> tasklets) {
+    final WorkerState workerState = idStateMap.get(workerId);
+    if (workerState != null) {
+      while (true) {
+        final int load = workerState.load.get();
+        if (workerState.load.compareAndSet(load, Math.max(0, load - tasklets.size()))) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Load of a worker and the functions it holds.
+   * The user functions are looked up in the function cache of the worker, which is bounded,
+   * such that the policy does not keep functions alive. The aggregate function IDs are only accessed
+   * by the scheduler thread.
+   */
+  private static final class WorkerState {
+    private final AtomicInteger load = new AtomicInteger(0);
+    private final Set<Integer> aggregateFunctionIds = new HashSet<>();
+    private final VortexWorkerManager vortexWorker;
+
+    WorkerState(final VortexWorkerManager vortexWorker) {
+      this.vortexWorker = vortexWorker;
+    }
+
+    boolean holdsFunctionOf(final Tasklet tasklet) {
+      final Optional<Integer> aggregateFunctionId = tasklet.getAggregateFunctionId();
+      return aggregateFunctionId.isPresent() ?
+          aggregateFunctionIds.contains(aggregateFunctionId.get()) :
+          vortexWorker.isFunctionCached(tasklet.getUserFunction());
+    }
+
+    void addFunctionOf(final Tasklet tasklet) {
+      final Optional<Integer> aggregateFunctionId = tasklet.getAggregateFunctionId();
+      if (aggregateFunctionId.isPresent()) {
+        aggregateFunctionIds.add(aggregateFunctionId.get());
+      }
+    }
+  }
+}
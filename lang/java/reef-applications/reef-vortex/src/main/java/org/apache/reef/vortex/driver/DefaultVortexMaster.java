@@ -24,12 +24,15 @@ import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.util.Optional;
 import org.apache.reef.vortex.api.*;
 import org.apache.reef.vortex.protocol.workertomaster.*;
+import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 import java.util.*;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Default implementation of VortexMaster.
@@ -38,13 +41,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 @ThreadSafe
 @DriverSide
 final class DefaultVortexMaster implements VortexMaster {
+  private static final Logger LOG = Logger.getLogger(DefaultVortexMaster.class.getName());
+
   private final Map<Integer, VortexFutureDelegate> taskletFutureMap = new HashMap<>();
   private final AtomicInteger taskletIdCounter = new AtomicInteger();
   private final AtomicInteger aggregateIdCounter = new AtomicInteger();
   private final AggregateFunctionRepository aggregateFunctionRepository;
   private final RunningWorkers runningWorkers;
   private final PendingTasklets pendingTasklets;
+  private final VortexMetricsCollector metricsCollector;
   private final Executor executor;
+  private final Executor inputExecutor = Executors.newCachedThreadPool();
 
   /**
    * @param runningWorkers for managing all running workers.
@@ -53,11 +60,13 @@ final class DefaultVortexMaster implements VortexMaster {
   DefaultVortexMaster(final RunningWorkers runningWorkers,
                       final PendingTasklets pendingTasklets,
                       final AggregateFunctionRepository aggregateFunctionRepository,
+                      final VortexMetricsCollector metricsCollector,
                       @Parameter(VortexMasterConf.CallbackThreadPoolSize.class) final int threadPoolSize) {
     this.executor = Executors.newFixedThreadPool(threadPoolSize);
     this.runningWorkers = runningWorkers;
     this.pendingTasklets = pendingTasklets;
     this.aggregateFunctionRepository = aggregateFunctionRepository;
+    this.metricsCollector = metricsCollector;
   }
 
   /**
@@ -67,7 +76,6 @@ final class DefaultVortexMaster implements VortexMaster {
   public <TInput, TOutput> VortexFuture<TOutput>
       enqueueTasklet(final VortexFunction<TInput, TOutput> function, final TInput input,
                      final Optional<FutureCallback<TOutput>> callback) {
-    // TODO[REEF-500]: Simple duplicate Vortex Tasklet launch.
     final VortexFuture<TOutput> vortexFuture;
     final int id = taskletIdCounter.getAndIncrement();
     if (callback.isPresent()) {
@@ -109,17 +117,86 @@ final class DefaultVortexMaster implements VortexMaster {
       vortexAggregateFuture = new VortexAggregateFuture<>(executor, taskletIdInputMap, null);
     }
 
+    final Optional<ParallelCombiner<TOutput>> combiner =
+        newCombiner(aggregateFunction, policy, vortexAggregateFuture);
+    final VortexFutureDelegate<TOutput> delegate;
+    if (combiner.isPresent()) {
+      combiner.get().taskletsAdded(inputs.size());
+      combiner.get().allTaskletsAdded();
+      delegate = combiner.get();
+    } else {
+      delegate = vortexAggregateFuture;
+    }
+
     for (final Map.Entry<Integer, TInput> taskletIdInputEntry : taskletIdInputMap.entrySet()) {
       final Tasklet tasklet = new Tasklet<>(taskletIdInputEntry.getKey(), Optional.of(aggregateFunctionId),
-          vortexFunction, taskletIdInputEntry.getValue(), vortexAggregateFuture);
+          vortexFunction, taskletIdInputEntry.getValue(), delegate);
       tasklets.add(tasklet);
+    }
+
+    // The delegates are put before the Tasklets can report.
+    putDelegate(tasklets, delegate);
+    for (final Tasklet tasklet : tasklets) {
       pendingTasklets.addLast(tasklet);
     }
+    return vortexAggregateFuture;
+  }
+
+  /**
+   * Add aggregate-able Tasklets for a stream of inputs to pendingTasklets, as earlier ones complete.
+   */
+  @Override
+  public <TInput, TOutput> VortexAggregateFuture<TInput, TOutput>
+      enqueueTaskletStream(final VortexAggregateFunction<TOutput> aggregateFunction,
+                           final VortexFunction<TInput, TOutput> vortexFunction,
+                           final VortexAggregatePolicy policy,
+                           final Iterator<TInput> inputs,
+                           final int maxOutstandingTasklets,
+                           final Optional<FutureCallback<AggregateResult<TInput, TOutput>>> callback) {
+    if (maxOutstandingTasklets <= 0) {
+      throw new IllegalArgumentException("The maximum number of outstanding Tasklets must be greater than zero.");
+    }
+
+    final int aggregateFunctionId = aggregateIdCounter.getAndIncrement();
+    aggregateFunctionRepository.put(aggregateFunctionId, aggregateFunction, policy);
+
+    final TaskletStream<TInput, TOutput> taskletStream =
+        new TaskletStream<>(aggregateFunctionId, vortexFunction, inputs, callback.isPresent());
+
+    final VortexAggregateFuture<TInput, TOutput> vortexAggregateFuture;
+    if (callback.isPresent()) {
+      vortexAggregateFuture = new VortexAggregateFuture<>(executor, callback.get(), null);
+    } else {
+      // Without a callback, Tasklets are only added as get() consumes the results queued in the Future.
+      vortexAggregateFuture = new VortexAggregateFuture<>(executor, null, new EventHandler<Integer>() {
+        @Override
+        public void onNext(final Integer numOfTasklets) {
+          taskletStream.addTasklets(numOfTasklets);
+        }
+      });
+    }
 
-    putDelegate(tasklets, vortexAggregateFuture);
+    taskletStream.start(vortexAggregateFuture, newCombiner(aggregateFunction, policy, vortexAggregateFuture),
+        maxOutstandingTasklets);
     return vortexAggregateFuture;
   }
 
+  /**
+   * Creates the combiner of the partial aggregates on the Driver, if the policy asks for it.
+   */
+  private <TOutput> Optional<ParallelCombiner<TOutput>> newCombiner(
+      final VortexAggregateFunction<TOutput> aggregateFunction,
+      final VortexAggregatePolicy policy,
+      final VortexFutureDelegate<TOutput> vortexAggregateFuture) {
+    if (!policy.getDriverCombiningFanIn().isPresent()) {
+      return Optional.empty();
+    }
+
+    // Partial aggregates are combined on the callback threads before they reach the Future.
+    return Optional.of(new ParallelCombiner<>(
+        aggregateFunction, policy.getDriverCombiningFanIn().get(), vortexAggregateFuture, executor));
+  }
+
   /**
    * Cancels tasklets on the running workers.
    */
@@ -147,6 +224,7 @@ final class DefaultVortexMaster implements VortexMaster {
         pendingTasklets.addFirst(tasklet);
       }
     }
+    metricsCollector.workerRemoved(id);
   }
 
   @Override
@@ -158,8 +236,11 @@ final class DefaultVortexMaster implements VortexMaster {
 
         final int resultTaskletId = taskletResultReport.getTaskletId();
         final List<Integer> singletonResultTaskletId = Collections.singletonList(resultTaskletId);
-        runningWorkers.doneTasklets(workerId, singletonResultTaskletId);
-        fetchDelegate(singletonResultTaskletId).completed(resultTaskletId, taskletResultReport.getResult());
+        metricsCollector.taskletsDone(runningWorkers.doneTasklets(workerId, singletonResultTaskletId));
+        final VortexFutureDelegate resultDelegate = fetchDelegate(singletonResultTaskletId);
+        if (resultDelegate != null) {
+          resultDelegate.completed(resultTaskletId, taskletResultReport.getResult());
+        }
 
         break;
       case TaskletAggregationResult:
@@ -167,7 +248,7 @@ final class DefaultVortexMaster implements VortexMaster {
             (TaskletAggregationResultReport) workerToMasterReport;
 
         final List<Integer> aggregatedTaskletIds = taskletAggregationResultReport.getTaskletIds();
-        runningWorkers.doneTasklets(workerId, aggregatedTaskletIds);
+        metricsCollector.taskletsDone(runningWorkers.doneTasklets(workerId, aggregatedTaskletIds));
         fetchDelegate(aggregatedTaskletIds).aggregationCompleted(
             aggregatedTaskletIds, taskletAggregationResultReport.getResult());
 
@@ -176,7 +257,10 @@ final class DefaultVortexMaster implements VortexMaster {
         final TaskletCancelledReport taskletCancelledReport = (TaskletCancelledReport) workerToMasterReport;
         final List<Integer> cancelledIdToList = Collections.singletonList(taskletCancelledReport.getTaskletId());
         runningWorkers.doneTasklets(workerId, cancelledIdToList);
-        fetchDelegate(cancelledIdToList).cancelled(taskletCancelledReport.getTaskletId());
+        final VortexFutureDelegate cancelledDelegate = fetchDelegate(cancelledIdToList);
+        if (cancelledDelegate != null) {
+          cancelledDelegate.cancelled(taskletCancelledReport.getTaskletId());
+        }
 
         break;
       case TaskletFailure:
@@ -184,8 +268,11 @@ final class DefaultVortexMaster implements VortexMaster {
 
         final int failureTaskletId = taskletFailureReport.getTaskletId();
         final List<Integer> singletonFailedTaskletId = Collections.singletonList(failureTaskletId);
-        runningWorkers.doneTasklets(workerId, singletonFailedTaskletId);
-        fetchDelegate(singletonFailedTaskletId).threwException(failureTaskletId, taskletFailureReport.getException());
+        metricsCollector.taskletsDone(runningWorkers.doneTasklets(workerId, singletonFailedTaskletId));
+        final VortexFutureDelegate failureDelegate = fetchDelegate(singletonFailedTaskletId);
+        if (failureDelegate != null) {
+          failureDelegate.threwException(failureTaskletId, taskletFailureReport.getException());
+        }
 
         break;
       case TaskletAggregationFailure:
@@ -193,16 +280,32 @@ final class DefaultVortexMaster implements VortexMaster {
             (TaskletAggregationFailureReport) workerToMasterReport;
 
         final List<Integer> aggregationFailedTaskletIds = taskletAggregationFailureReport.getTaskletIds();
-        runningWorkers.doneTasklets(workerId, aggregationFailedTaskletIds);
+        metricsCollector.taskletsDone(runningWorkers.doneTasklets(workerId, aggregationFailedTaskletIds));
         fetchDelegate(aggregationFailedTaskletIds).aggregationThrewException(aggregationFailedTaskletIds,
             taskletAggregationFailureReport.getException());
         break;
+      case TaskletsStolen:
+        final TaskletsStolenReport taskletsStolenReport = (TaskletsStolenReport) workerToMasterReport;
+
+        // Reschedule the tasklets ahead of the ones that have not been launched yet.
+        for (final Tasklet tasklet : runningWorkers.taskletsStolen(workerId, taskletsStolenReport.getTaskletIds())) {
+          pendingTasklets.addFirst(tasklet);
+        }
+        break;
+      case WorkerStats:
+        metricsCollector.workerStatsReported(workerId, (WorkerStatsReport) workerToMasterReport);
+        break;
       default:
         throw new RuntimeException("Unknown Report");
       }
     }
   }
 
+  @Override
+  public VortexMetrics getMetrics() {
+    return metricsCollector.getMetrics();
+  }
+
   /**
    * Terminate the job.
    */
@@ -220,15 +323,202 @@ final class DefaultVortexMaster implements VortexMaster {
     }
   }
 
+  /**
+   * Creates the Tasklets of a stream of inputs lazily, such that a Tasklet is created for each Tasklet that
+   * completes, until the stream is exhausted. The results are passed on after the Tasklets are created,
+   * such that the aggregation is done only once the stream is exhausted.
+   */
+  private final class TaskletStream<TInput, TOutput> implements VortexFutureDelegate<TOutput> {
+    private final int aggregateFunctionId;
+    private final VortexFunction<TInput, TOutput> vortexFunction;
+    private final Iterator<TInput> inputs;
+    private final boolean refillOnReport;
+    private VortexAggregateFuture<TInput, TOutput> vortexAggregateFuture;
+    private Optional<ParallelCombiner<TOutput>> combiner;
+    private int numOfTaskletsToAdd = 0;
+    private boolean pulling = false;
+    private boolean exhausted = false;
+
+    /**
+     * @param refillOnReport whether Tasklets are added as earlier ones report, rather than as their results
+     *                       are consumed from the Future.
+     */
+    private TaskletStream(final int aggregateFunctionId,
+                          final VortexFunction<TInput, TOutput> vortexFunction,
+                          final Iterator<TInput> inputs,
+                          final boolean refillOnReport) {
+      this.aggregateFunctionId = aggregateFunctionId;
+      this.vortexFunction = vortexFunction;
+      this.inputs = inputs;
+      this.refillOnReport = refillOnReport;
+    }
+
+    private void start(final VortexAggregateFuture<TInput, TOutput> future,
+                       final Optional<ParallelCombiner<TOutput>> taskletCombiner,
+                       final int maxOutstandingTasklets) {
+      synchronized (this) {
+        this.vortexAggregateFuture = future;
+        this.combiner = taskletCombiner;
+      }
+      addTasklets(maxOutstandingTasklets);
+    }
+
+    /**
+     * Allows up to numOfTasklets more Tasklets to be created from the stream. The inputs are pulled
+     * on inputExecutor, such that the user's Iterator never runs on the thread that reports the Tasklets.
+     */
+    private void addTasklets(final int numOfTasklets) {
+      synchronized (this) {
+        if (exhausted) {
+          return;
+        }
+        numOfTaskletsToAdd += numOfTasklets;
+        if (pulling) {
+          return;
+        }
+        pulling = true;
+      }
+
+      inputExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          pullInputs();
+        }
+      });
+    }
+
+    /**
+     * Pulls the inputs until the allowed number of Tasklets has been created, or the stream is exhausted.
+     * Only one pull of a stream runs at a time, and the Iterator is advanced outside of the lock.
+     */
+    private void pullInputs() {
+      while (true) {
+        final int numOfTasklets;
+        synchronized (this) {
+          if (exhausted || numOfTaskletsToAdd == 0) {
+            pulling = false;
+            return;
+          }
+          numOfTasklets = numOfTaskletsToAdd;
+          numOfTaskletsToAdd = 0;
+        }
+
+        final List<Tasklet> tasklets = new ArrayList<>(numOfTasklets);
+        final Map<Integer, TInput> taskletIdInputMap = new HashMap<>(numOfTasklets);
+        final boolean lastInputs;
+        try {
+          while (tasklets.size() < numOfTasklets && inputs.hasNext()) {
+            final int taskletId = taskletIdCounter.getAndIncrement();
+            final TInput input = inputs.next();
+            taskletIdInputMap.put(taskletId, input);
+            tasklets.add(new Tasklet<>(taskletId, Optional.of(aggregateFunctionId), vortexFunction, input, this));
+          }
+          lastInputs = !inputs.hasNext();
+        } catch (final RuntimeException e) {
+          LOG.log(Level.WARNING, "The stream of inputs threw an exception", e);
+          inputsFailed(tasklets, taskletIdInputMap, e);
+          return;
+        }
+
+        synchronized (this) {
+          exhausted = lastInputs;
+        }
+        submit(tasklets, taskletIdInputMap, lastInputs);
+      }
+    }
+
+    /**
+     * The Iterator has thrown. The Tasklets created before are still submitted, and the Future fails
+     * with the exception, after which no more Tasklets are added.
+     */
+    private void inputsFailed(final List<Tasklet> tasklets,
+                              final Map<Integer, TInput> taskletIdInputMap,
+                              final Exception exception) {
+      synchronized (this) {
+        exhausted = true;
+        pulling = false;
+      }
+      submit(tasklets, taskletIdInputMap, false);
+      if (combiner.isPresent()) {
+        combiner.get().allTaskletsAdded();
+      }
+      vortexAggregateFuture.inputsFailed(exception);
+    }
+
+    private void submit(final List<Tasklet> tasklets,
+                        final Map<Integer, TInput> taskletIdInputMap,
+                        final boolean lastInputs) {
+      vortexAggregateFuture.inputsAdded(taskletIdInputMap, lastInputs);
+      if (combiner.isPresent()) {
+        combiner.get().taskletsAdded(tasklets.size());
+        if (lastInputs) {
+          combiner.get().allTaskletsAdded();
+        }
+      }
+
+      putDelegate(tasklets, this);
+      for (final Tasklet tasklet : tasklets) {
+        pendingTasklets.addLast(tasklet);
+      }
+    }
+
+    private VortexFutureDelegate<TOutput> getDownstream() {
+      return combiner.isPresent() ? combiner.get() : vortexAggregateFuture;
+    }
+
+    @Override
+    public void completed(final int taskletId, final TOutput result) {
+      // The combiner holds a bounded number of partial aggregates, so its Tasklets are replaced right away.
+      if (refillOnReport || combiner.isPresent()) {
+        addTasklets(1);
+      }
+      getDownstream().completed(taskletId, result);
+    }
+
+    @Override
+    public void aggregationCompleted(final List<Integer> taskletIds, final TOutput result) {
+      if (refillOnReport || combiner.isPresent()) {
+        addTasklets(taskletIds.size());
+      }
+      getDownstream().aggregationCompleted(taskletIds, result);
+    }
+
+    @Override
+    public void threwException(final int taskletId, final Exception exception) {
+      if (refillOnReport) {
+        addTasklets(1);
+      }
+      getDownstream().threwException(taskletId, exception);
+    }
+
+    @Override
+    public void aggregationThrewException(final List<Integer> taskletIds, final Exception exception) {
+      if (refillOnReport) {
+        addTasklets(taskletIds.size());
+      }
+      getDownstream().aggregationThrewException(taskletIds, exception);
+    }
+
+    @Override
+    public void cancelled(final int taskletId) {
+      getDownstream().cancelled(taskletId);
+    }
+  }
+
   /**
    * Fetches a delegate that maps to the list of Tasklets.
+   * @return the delegate, null if the single Tasklet has already been completed by another copy of it
    */
   private synchronized VortexFutureDelegate fetchDelegate(final List<Integer> taskletIds) {
     VortexFutureDelegate delegate = null;
     for (final int taskletId : taskletIds) {
       final VortexFutureDelegate currDelegate = taskletFutureMap.remove(taskletId);
       if (currDelegate == null) {
-        // TODO[JIRA REEF-500]: Consider duplicate tasklets.
+        if (taskletIds.size() == 1) {
+          // A duplicate of the Tasklet has reported first, or the report is from a withdrawn copy.
+          return null;
+        }
+        // Aggregated Tasklets are not duplicated.
         throw new RuntimeException("Tasklet should only be removed once.");
       }
 
@@ -19,12 +19,15 @@
 package org.apache.reef.vortex.driver;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 
-import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.util.Optional;
 
@@ -32,7 +35,7 @@ import org.apache.reef.util.Optional;
  * Always select the next worker that has enough resource in a round-robin fashion
  * based on the worker capacity configured.
  */
-@NotThreadSafe
+@ThreadSafe
 class FirstFitSchedulingPolicy implements SchedulingPolicy {
 
   private final int workerCapacity;
@@ -40,18 +43,19 @@ class FirstFitSchedulingPolicy implements SchedulingPolicy {
   /**
    * Keep the load information for each worker.
    */
-  private final HashMap<String, Integer> idLoadMap = new HashMap<>();
+  private final ConcurrentMap<String, AtomicInteger> idLoadMap = new ConcurrentHashMap<>();
 
   /**
-   * A linked list for a circular buffer of worker ids for search in a round-robin fashion.
+   * A circular buffer of worker ids for search in a round-robin fashion.
+   * Replaced as a whole when workers are added or removed, such that trySchedule can read it without locking.
    */
-  private final List<String> idList = new ArrayList<>();
+  private volatile List<String> idList = Collections.emptyList();
 
   /**
    * The index of the next/first worker to check.
    */
-  private int nextIndex = 0;
-  
+  private final AtomicInteger nextIndex = new AtomicInteger(0);
+
 
   @Inject
   FirstFitSchedulingPolicy(@Parameter(VortexMasterConf.WorkerCapacity.class) final int capacity) {
@@ -65,27 +69,43 @@ class FirstFitSchedulingPolicy implements SchedulingPolicy {
    */
   @Override
   public Optional<String> trySchedule(final Tasklet tasklet) {
-    for (int i = 0; i < idList.size(); i++) {
-      final int index = (nextIndex + i) % idList.size();
-      final String workerId = idList.get(index);
-      
-      if (idLoadMap.get(workerId) < workerCapacity) {
-        nextIndex = (index + 1) % idList.size();
+    final List<String> ids = idList;
+    final int startIndex = nextIndex.get();
+    for (int i = 0; i < ids.size(); i++) {
+      final int index = (startIndex + i) % ids.size();
+      final String workerId = ids.get(index);
+
+      final AtomicInteger load = idLoadMap.get(workerId);
+      if (load != null && load.get() < workerCapacity) {
+        nextIndex.set((index + 1) % ids.size());
         return Optional.of(workerId);
       }
     }
     return Optional.empty();
   }
 
+  /**
+   * @param vortexWorker to launch a tasklet onto
+   * @return true if the load of the worker is below its capacity
+   */
+  @Override
+  public boolean hasCapacity(final VortexWorkerManager vortexWorker) {
+    final AtomicInteger load = idLoadMap.get(vortexWorker.getId());
+    return load != null && load.get() < workerCapacity;
+  }
+
   /**
    * @param vortexWorker added
    */
   @Override
-  public void workerAdded(final VortexWorkerManager vortexWorker) {
+  public synchronized void workerAdded(final VortexWorkerManager vortexWorker) {
     final String workerId = vortexWorker.getId();
-    if (!idLoadMap.containsKey(workerId)) { // Ignore duplicate add.
-      idLoadMap.put(workerId, 0);
-      idList.add(nextIndex, workerId); // Prefer to schedule the new worker ASAP.
+    if (idLoadMap.putIfAbsent(workerId, new AtomicInteger(0)) == null) { // Ignore duplicate add.
+      final List<String> newIdList = new ArrayList<>(idList);
+      final int index = Math.min(nextIndex.get(), newIdList.size());
+      newIdList.add(index, workerId); // Prefer to schedule the new worker ASAP.
+      nextIndex.set(index);
+      idList = Collections.unmodifiableList(newIdList);
     }
   }
 
@@ -93,19 +113,20 @@ class FirstFitSchedulingPolicy implements SchedulingPolicy {
    * @param vortexWorker removed
    */
   @Override
-  public void workerRemoved(final VortexWorkerManager vortexWorker) {
+  public synchronized void workerRemoved(final VortexWorkerManager vortexWorker) {
     final String workerId = vortexWorker.getId();
     if (idLoadMap.remove(workerId) != null) { // Ignore invalid removal.
-      for (int i = 0; i < idList.size(); i++) { // This looping operation might degrade performance.
-        if (idList.get(i).equals(workerId)) {
-          idList.remove(i);
-          
-          if (i < nextIndex) {
-            nextIndex--;
-          } else if (nextIndex == idList.size()) {
-            nextIndex = 0;
-          }
-          return;
+      final List<String> newIdList = new ArrayList<>(idList);
+      final int i = newIdList.indexOf(workerId);
+      if (i >= 0) {
+        newIdList.remove(i);
+        idList = Collections.unmodifiableList(newIdList);
+
+        final int index = nextIndex.get();
+        if (i < index) {
+          nextIndex.set(index - 1);
+        } else if (index >= newIdList.size()) {
+          nextIndex.set(0);
         }
       }
     }
@@ -117,9 +138,9 @@ class FirstFitSchedulingPolicy implements SchedulingPolicy {
    */
   @Override
   public void taskletLaunched(final VortexWorkerManager vortexWorker, final Tasklet tasklet) {
-    final String workerId = vortexWorker.getId();
-    if (idLoadMap.containsKey(workerId)) {
-      idLoadMap.put(workerId, Math.min(workerCapacity, idLoadMap.get(workerId) + 1));
+    final AtomicInteger load = idLoadMap.get(vortexWorker.getId());
+    if (load != null) {
+      addBounded(load, 1);
     }
   }
 
@@ -133,9 +154,40 @@ class FirstFitSchedulingPolicy implements SchedulingPolicy {
     removeTasklet(workerId, tasklets);
   }
 
+  /**
+   * @param vortexWorker that gave back the tasklets
+   * @param tasklets given back
+   */
+  @Override
+  public void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    removeTasklet(vortexWorker.getId(), tasklets);
+  }
+
+  /**
+   * Do not rebalance.
+   */
+  @Override
+  public Optional<String> tryRebalance(final VortexWorkerManager idleWorker) {
+    return Optional.empty();
+  }
+
   private void removeTasklet(final String workerId, final List<Tasklet> tasklets) {
-    if (idLoadMap.containsKey(workerId)) {
-      idLoadMap.put(workerId, Math.max(0, idLoadMap.get(workerId) - tasklets.size()));
+    final AtomicInteger load = idLoadMap.get(workerId);
+    if (load != null) {
+      addBounded(load, -tasklets.size());
+    }
+  }
+
+  /**
+   * Adds delta to the load, keeping it between 0 and the worker capacity.
+   */
+  private void addBounded(final AtomicInteger load, final int delta) {
+    while (true) {
+      final int current = load.get();
+      final int updated = Math.max(0, Math.min(workerCapacity, current + delta));
+      if (load.compareAndSet(current, updated)) {
+        return;
+      }
     }
   }
 }
@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Select the worker that is expected to finish its outstanding tasklets first, within the worker capacity.
+ * The time per tasklet of each worker is estimated from the intervals between its tasklet completions,
+ * such that slow workers receive fewer tasklets.
+ * When a worker becomes idle, queued tasklets of the worker expected to finish last are rebalanced onto it.
+ */
+@ThreadSafe
+class LeastLoadedSchedulingPolicy implements SchedulingPolicy {
+  private final int workerCapacity;
+
+  /**
+   * Keep the load and time estimate for each worker.
+   */
+  private final ConcurrentMap<String, WorkerLoad> idLoadMap = new ConcurrentHashMap<>();
+
+  @Inject
+  LeastLoadedSchedulingPolicy(@Parameter(VortexMasterConf.WorkerCapacity.class) final int capacity) {
+    this.workerCapacity = capacity;
+  }
+
+  /**
+   * @param tasklet to schedule
+   * @return the worker with enough resources that is expected to finish the tasklet first
+   */
+  @Override
+  public Optional<String> trySchedule(final Tasklet tasklet) {
+    final double defaultEstimate = getAverageNanosPerTasklet();
+    String bestWorkerId = null;
+    double bestFinishTime = Double.MAX_VALUE;
+    for (final Map.Entry<String, WorkerLoad> entry : idLoadMap.entrySet()) {
+      final WorkerLoad workerLoad = entry.getValue();
+      final int load = workerLoad.getLoad();
+      if (load < workerCapacity) {
+        final double finishTime = (load + 1) * workerLoad.getNanosPerTasklet(defaultEstimate);
+        if (finishTime < bestFinishTime) {
+          bestFinishTime = finishTime;
+          bestWorkerId = entry.getKey();
+        }
+      }
+    }
+    return Optional.ofNullable(bestWorkerId);
+  }
+
+  /**
+   * @param vortexWorker to launch a tasklet onto
+   * @return true if the load of the worker is below its capacity
+   */
+  @Override
+  public boolean hasCapacity(final VortexWorkerManager vortexWorker) {
+    final WorkerLoad workerLoad = idLoadMap.get(vortexWorker.getId());
+    return workerLoad != null && workerLoad.getLoad() < workerCapacity;
+  }
+
+  /**
+   * @param vortexWorker added
+   */
+  @Override
+  public void workerAdded(final VortexWorkerManager vortexWorker) {
+    idLoadMap.putIfAbsent(vortexWorker.getId(), new WorkerLoad()); // Ignore duplicate add.
+  }
+
+  /**
+   * @param vortexWorker removed
+   */
+  @Override
+  public void workerRemoved(final VortexWorkerManager vortexWorker) {
+    idLoadMap.remove(vortexWorker.getId()); // Ignore invalid removal.
+  }
+
+  /**
+   * @param vortexWorker that the tasklet was launched onto
+   * @param tasklet launched
+   */
+  @Override
+  public void taskletLaunched(final VortexWorkerManager vortexWorker, final Tasklet tasklet) {
+    final WorkerLoad workerLoad = idLoadMap.get(vortexWorker.getId());
+    if (workerLoad != null) {
+      workerLoad.launched(System.nanoTime());
+    }
+  }
+
+  /**
+   * @param vortexWorker that the tasklets completed in
+   * @param tasklets completed
+   */
+  @Override
+  public void taskletsDone(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    final WorkerLoad workerLoad = idLoadMap.get(vortexWorker.getId());
+    if (workerLoad != null) {
+      workerLoad.done(tasklets.size(), System.nanoTime());
+    }
+  }
+
+  /**
+   * @param vortexWorker that gave back the tasklets
+   * @param tasklets given back
+   */
+  @Override
+  public void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    final WorkerLoad workerLoad = idLoadMap.get(vortexWorker.getId());
+    if (workerLoad != null) {
+      workerLoad.stolen(tasklets.size());
+    }
+  }
+
+  /**
+   * @param idleWorker the worker that has become idle
+   * @return the worker expected to finish last, if it has more than one tasklet
+   */
+  @Override
+  public Optional<String> tryRebalance(final VortexWorkerManager idleWorker) {
+    final double defaultEstimate = getAverageNanosPerTasklet();
+    String busiestWorkerId = null;
+    double latestFinishTime = 0;
+    for (final Map.Entry<String, WorkerLoad> entry : idLoadMap.entrySet()) {
+      final int load = entry.getValue().getLoad();
+      if (load > 1 && !entry.getKey().equals(idleWorker.getId())) {
+        final double finishTime = load * entry.getValue().getNanosPerTasklet(defaultEstimate);
+        if (finishTime > latestFinishTime) {
+          latestFinishTime = finishTime;
+          busiestWorkerId = entry.getKey();
+        }
+      }
+    }
+    return Optional.ofNullable(busiestWorkerId);
+  }
+
+  /**
+   * @return the average time per tasklet of the workers that have an estimate, 1 if none has
+   */
+  private double getAverageNanosPerTasklet() {
+    double sum = 0;
+    int count = 0;
+    for (final WorkerLoad workerLoad : idLoadMap.values()) {
+      final double nanosPerTasklet = workerLoad.getNanosPerTasklet(Double.NaN);
+      if (!Double.isNaN(nanosPerTasklet)) {
+        sum += nanosPerTasklet;
+        count++;
+      }
+    }
+    return count == 0 ? 1 : sum / count;
+  }
+
+  /**
+   * Load of a worker and its estimated time per tasklet.
+   */
+  private static final class WorkerLoad {
+    /**
+     * Weight of the latest sample in the exponential moving average of the time per tasklet.
+     */
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private int load = 0;
+    private long lastCompletionTime;
+    private double nanosPerTasklet = Double.NaN;
+
+    synchronized void launched(final long now) {
+      if (load == 0) {
+        // The worker was idle, measure from now on.
+        lastCompletionTime = now;
+      }
+      load++;
+    }
+
+    synchronized void done(final int numTasklets, final long now) {
+      if (load > 0 && numTasklets > 0) {
+        final double sample = (double) (now - lastCompletionTime) / numTasklets;
+        nanosPerTasklet = Double.isNaN(nanosPerTasklet) ?
+            sample : SMOOTHING_FACTOR * sample + (1 - SMOOTHING_FACTOR) * nanosPerTasklet;
+      }
+      lastCompletionTime = now;
+      load = Math.max(0, load - numTasklets);
+    }
+
+    synchronized void stolen(final int numTasklets) {
+      load = Math.max(0, load - numTasklets);
+    }
+
+    synchronized int getLoad() {
+      return load;
+    }
+
+    synchronized double getNanosPerTasklet(final double defaultEstimate) {
+      return Double.isNaN(nanosPerTasklet) ? defaultEstimate : nanosPerTasklet;
+    }
+  }
+}
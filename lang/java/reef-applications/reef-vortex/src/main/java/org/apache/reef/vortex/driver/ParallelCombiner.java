@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.vortex.api.VortexAggregateFunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Combines the partial aggregates reported by the workers for an aggregation on the Driver, in parallel,
+ * and delivers a single aggregate for all successful Tasklets to the Future of the aggregation.
+ * Every partial aggregate still reaches the Driver; the combining only takes the aggregate function off the
+ * threads that handle the reports of the workers, and spares the Future and its callbacks the partial results.
+ * As soon as fan-in partial aggregates are available, they are combined on the given executor,
+ * in parallel with other combines and with the arrival of further partial aggregates, and the results are
+ * combined again until a single one remains. Failures are delivered to the Future right away.
+ * The aggregate function and the deliveries to the Future are called outside of the lock of the combiner.
+ */
+@ThreadSafe
+@DriverSide
+final class ParallelCombiner<TOutput> implements VortexFutureDelegate<TOutput> {
+  private final VortexAggregateFunction<TOutput> aggregateFunction;
+  private final int fanIn;
+  private final VortexFutureDelegate<TOutput> future;
+  private final Executor executor;
+
+  private int numOfUnreportedTasklets = 0;
+  private boolean allAdded = false;
+  private int numOfCombinesInFlight = 0;
+  private boolean done = false;
+  private final List<Partial<TOutput>> partials = new ArrayList<>();
+
+  /**
+   * @param future to deliver the aggregate and the failures to.
+   * @param executor to combine the partial aggregates on.
+   */
+  ParallelCombiner(final VortexAggregateFunction<TOutput> aggregateFunction,
+                   final int fanIn,
+                   final VortexFutureDelegate<TOutput> future,
+                   final Executor executor) {
+    this.aggregateFunction = aggregateFunction;
+    this.fanIn = fanIn;
+    this.future = future;
+    this.executor = executor;
+  }
+
+  /**
+   * Tasklets have been added to the aggregation.
+   */
+  synchronized void taskletsAdded(final int numOfTasklets) {
+    numOfUnreportedTasklets += numOfTasklets;
+  }
+
+  /**
+   * No more Tasklets are added to the aggregation.
+   */
+  void allTaskletsAdded() {
+    final Ready<TOutput> ready;
+    synchronized (this) {
+      allAdded = true;
+      ready = takeReady();
+    }
+    run(ready);
+  }
+
+  @Override
+  public void completed(final int taskletId, final TOutput result) {
+    aggregationCompleted(Collections.singletonList(taskletId), result);
+  }
+
+  /**
+   * A partial aggregate has been reported by a worker.
+   */
+  @Override
+  public void aggregationCompleted(final List<Integer> taskletIds, final TOutput result) {
+    final Ready<TOutput> ready;
+    synchronized (this) {
+      numOfUnreportedTasklets -= taskletIds.size();
+      partials.add(new Partial<>(taskletIds, result));
+      ready = takeReady();
+    }
+    run(ready);
+  }
+
+  @Override
+  public void threwException(final int taskletId, final Exception exception) {
+    aggregationThrewException(Collections.singletonList(taskletId), exception);
+  }
+
+  @Override
+  public void aggregationThrewException(final List<Integer> taskletIds, final Exception exception) {
+    // Delivered before the Tasklets are accounted for, such that it precedes the delivery of the aggregate.
+    future.aggregationThrewException(taskletIds, exception);
+    final Ready<TOutput> ready;
+    synchronized (this) {
+      numOfUnreportedTasklets -= taskletIds.size();
+      ready = takeReady();
+    }
+    run(ready);
+  }
+
+  @Override
+  public void cancelled(final int taskletId) {
+    future.cancelled(taskletId);
+  }
+
+  /**
+   * Partial aggregates have been combined.
+   */
+  private void combined(final List<Integer> taskletIds, final TOutput result) {
+    final Ready<TOutput> ready;
+    synchronized (this) {
+      numOfCombinesInFlight--;
+      partials.add(new Partial<>(taskletIds, result));
+      ready = takeReady();
+    }
+    run(ready);
+  }
+
+  /**
+   * Partial aggregates could not be combined. Their Tasklets are delivered to the Future as failed.
+   */
+  private void combineFailed(final List<Integer> taskletIds, final Exception exception) {
+    future.aggregationThrewException(taskletIds, exception);
+    final Ready<TOutput> ready;
+    synchronized (this) {
+      numOfCombinesInFlight--;
+      ready = takeReady();
+    }
+    run(ready);
+  }
+
+  /**
+   * Takes the partial aggregates that can be combined, and the aggregate once all of the Tasklets have
+   * reported and a single partial aggregate remains. Called while holding the lock.
+   */
+  private Ready<TOutput> takeReady() {
+    final List<List<Partial<TOutput>>> batches = new ArrayList<>();
+    if (done) {
+      return new Ready<>(batches, null);
+    }
+
+    while (partials.size() >= fanIn) {
+      batches.add(new ArrayList<>(partials.subList(0, fanIn)));
+      partials.subList(0, fanIn).clear();
+    }
+
+    Partial<TOutput> aggregate = null;
+    if (allAdded && numOfUnreportedTasklets == 0 && numOfCombinesInFlight == 0 && batches.isEmpty()) {
+      if (partials.size() > 1) {
+        batches.add(new ArrayList<>(partials));
+        partials.clear();
+      } else {
+        aggregate = partials.isEmpty() ? null : partials.remove(0);
+        done = true;
+      }
+    }
+    numOfCombinesInFlight += batches.size();
+    return new Ready<>(batches, aggregate);
+  }
+
+  /**
+   * Starts the combines and delivers the aggregate, outside of the lock.
+   */
+  private void run(final Ready<TOutput> ready) {
+    for (final List<Partial<TOutput>> batch : ready.getBatches()) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          combine(batch);
+        }
+      });
+    }
+    if (ready.getAggregate() != null) {
+      future.aggregationCompleted(ready.getAggregate().getTaskletIds(), ready.getAggregate().getResult());
+    }
+  }
+
+  private void combine(final List<Partial<TOutput>> batch) {
+    final List<Integer> taskletIds = new ArrayList<>();
+    final List<TOutput> results = new ArrayList<>(batch.size());
+    for (final Partial<TOutput> partial : batch) {
+      taskletIds.addAll(partial.getTaskletIds());
+      results.add(partial.getResult());
+    }
+
+    final TOutput result;
+    try {
+      result = aggregateFunction.call(results);
+    } catch (final Exception e) {
+      combineFailed(taskletIds, e);
+      return;
+    }
+    combined(taskletIds, result);
+  }
+
+  /**
+   * A partial aggregate, and the Tasklets it aggregates.
+   */
+  private static final class Partial<TOutput> {
+    private final List<Integer> taskletIds;
+    private final TOutput result;
+
+    private Partial(final List<Integer> taskletIds, final TOutput result) {
+      this.taskletIds = taskletIds;
+      this.result = result;
+    }
+
+    private List<Integer> getTaskletIds() {
+      return taskletIds;
+    }
+
+    private TOutput getResult() {
+      return result;
+    }
+  }
+
+  /**
+   * The batches of partial aggregates to combine, and the aggregate to deliver if any.
+   */
+  private static final class Ready<TOutput> {
+    private final List<List<Partial<TOutput>>> batches;
+    private final Partial<TOutput> aggregate;
+
+    private Ready(final List<List<Partial<TOutput>>> batches, final Partial<TOutput> aggregate) {
+      this.batches = batches;
+      this.aggregate = aggregate;
+    }
+
+    private List<List<Partial<TOutput>>> getBatches() {
+      return batches;
+    }
+
+    private Partial<TOutput> getAggregate() {
+      return aggregate;
+    }
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.reef.vortex.driver;
 
 import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
@@ -34,23 +35,42 @@ final class PendingTaskletLauncher implements EventHandler<Integer> {
 
   private final RunningWorkers runningWorkers;
   private final PendingTasklets pendingTasklets;
+  private final VortexMetricsCollector metricsCollector;
+  private final int taskletBatchSize;
 
   @Inject
   private PendingTaskletLauncher(final RunningWorkers runningWorkers,
-                                 final PendingTasklets pendingTasklets) {
+                                 final PendingTasklets pendingTasklets,
+                                 final VortexMetricsCollector metricsCollector,
+                                 @Parameter(VortexMasterConf.TaskletBatchSize.class) final int taskletBatchSize) {
     this.runningWorkers = runningWorkers;
     this.pendingTasklets = pendingTasklets;
+    this.metricsCollector = metricsCollector;
+    this.taskletBatchSize = taskletBatchSize;
   }
 
   /**
    * Repeatedly take a tasklet from the pending queue and launch it via RunningWorkers.
+   * Launches are sent to the workers in batches. The batch of a worker is sent once it fills the free capacity
+   * of the worker (see {@link RunningWorkers#launchTasklet(Tasklet)}), and all batches are sent once the pending
+   * queue runs empty or the batch size is reached, whichever comes first.
    */
   @Override
   public void onNext(final Integer integer) {
+    int numBufferedLaunches = 0;
     while (!runningWorkers.isTerminated()) {
       try {
         final Tasklet tasklet = pendingTasklets.takeFirst(); // blocks when no tasklet exists
-        runningWorkers.launchTasklet(tasklet); // blocks when no worker exists
+        // blocks when no worker exists
+        if (!runningWorkers.launchTasklet(tasklet)) {
+          // The launch of a duplicate does not reset the timings of the tasklet.
+          metricsCollector.taskletLaunched(tasklet);
+        }
+        numBufferedLaunches++;
+        if (numBufferedLaunches >= taskletBatchSize || pendingTasklets.isEmpty()) {
+          runningWorkers.flushLaunches();
+          numBufferedLaunches = 0;
+        }
       } catch (InterruptedException e) {
         LOG.log(Level.INFO, "Interrupted upon termination");
       }
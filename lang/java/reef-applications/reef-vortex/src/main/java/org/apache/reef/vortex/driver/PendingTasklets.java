@@ -38,14 +38,20 @@ final class PendingTasklets {
   }
 
   void addLast(final Tasklet tasklet) {
+    tasklet.setPendingSince(System.nanoTime());
     pendingTasklets.addLast(tasklet);
   }
 
   void addFirst(final Tasklet tasklet) {
+    tasklet.setPendingSince(System.nanoTime());
     pendingTasklets.addFirst(tasklet);
   }
 
   Tasklet takeFirst() throws InterruptedException {
     return pendingTasklets.takeFirst();
   }
+
+  boolean isEmpty() {
+    return pendingTasklets.isEmpty();
+  }
 }
@@ -18,10 +18,11 @@
  */
 package org.apache.reef.vortex.driver;
 
-import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.util.Optional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
@@ -31,16 +32,17 @@ import javax.inject.Inject;
  * Randomly select a running worker for scheduling a tasklet,
  * without considering worker load or capacity.
  */
-@NotThreadSafe
+@ThreadSafe
 class RandomSchedulingPolicy implements SchedulingPolicy {
   private final Random rand = new Random();
 
   /**
    * Keep the worker ids in an array for fast random selection.
-   * 
+   * Replaced as a whole when workers are added or removed, such that trySchedule can read it without locking.
+   *
    * Add/removal from the array require O(n) complexity.
    */
-  private final List<String> idList = new ArrayList<>();
+  private volatile List<String> idList = Collections.emptyList();
 
   @Inject
   RandomSchedulingPolicy() {
@@ -52,21 +54,33 @@ class RandomSchedulingPolicy implements SchedulingPolicy {
    */
   @Override
   public Optional<String> trySchedule(final Tasklet tasklet) {
-    if (idList.isEmpty()) {
+    final List<String> ids = idList;
+    if (ids.isEmpty()) {
       return Optional.empty();
     } else {
-      final int index = rand.nextInt(idList.size());
-      return Optional.of(idList.get(index));
+      final int index = rand.nextInt(ids.size());
+      return Optional.of(ids.get(index));
     }
   }
 
+  /**
+   * @param vortexWorker to launch a tasklet onto
+   * @return true if the worker has been added, since the capacity of workers is not considered
+   */
+  @Override
+  public boolean hasCapacity(final VortexWorkerManager vortexWorker) {
+    return idList.contains(vortexWorker.getId());
+  }
+
   /**
    * @param vortexWorker added
    */
   @Override
-  public void workerAdded(final VortexWorkerManager vortexWorker) {
+  public synchronized void workerAdded(final VortexWorkerManager vortexWorker) {
     if (idList.indexOf(vortexWorker.getId()) == -1) { // Ignore duplicate add.
-      idList.add(vortexWorker.getId());
+      final List<String> newIdList = new ArrayList<>(idList);
+      newIdList.add(vortexWorker.getId());
+      idList = Collections.unmodifiableList(newIdList);
     }
   }
 
@@ -74,8 +88,11 @@ class RandomSchedulingPolicy implements SchedulingPolicy {
    * @param vortexWorker removed
    */
   @Override
-  public void workerRemoved(final VortexWorkerManager vortexWorker) {
-    idList.remove(vortexWorker.getId()); // Ignore invalid removal.
+  public synchronized void workerRemoved(final VortexWorkerManager vortexWorker) {
+    final List<String> newIdList = new ArrayList<>(idList);
+    if (newIdList.remove(vortexWorker.getId())) { // Ignore invalid removal.
+      idList = Collections.unmodifiableList(newIdList);
+    }
   }
 
   /**
@@ -93,4 +110,20 @@ class RandomSchedulingPolicy implements SchedulingPolicy {
   public void taskletsDone(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
     // Do nothing
   }
+
+  /**
+   * Do nothing.
+   */
+  @Override
+  public void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+    // Do nothing
+  }
+
+  /**
+   * Do not rebalance.
+   */
+  @Override
+  public Optional<String> tryRebalance(final VortexWorkerManager idleWorker) {
+    return Optional.empty();
+  }
 }
@@ -26,6 +26,8 @@ import org.apache.reef.util.Optional;
 import javax.inject.Inject;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -34,41 +36,65 @@ import java.util.logging.Logger;
 
 /**
  * Keeps track of all running VortexWorkers and Tasklets.
- * Upon Tasklet launch request, randomly schedules it to a VortexWorkerManager.
+ * Upon Tasklet launch request, schedules it to a VortexWorkerManager chosen by the {@link SchedulingPolicy}.
+ *
+ * Tasklet launches, completions and cancellations do not share a global lock:
+ * the state of each worker is guarded by its VortexWorkerManager, the Tasklet-to-worker index is a concurrent map,
+ * and the scheduling policy is thread-safe. Only adding and removing workers, which is rare, is serialized.
+ *
+ * With speculative execution, a straggling Tasklet is launched again on another worker.
+ * Whichever copy reports first completes the Tasklet, and the other copy is withdrawn and cancelled.
  */
 @ThreadSafe
 @DriverSide
 final class RunningWorkers {
   private static final Logger LOG = Logger.getLogger(RunningWorkers.class.getName());
 
-  // RunningWorkers and its locks
-  private final HashMap<String, VortexWorkerManager> runningWorkers = new HashMap<>(); // Running workers/tasklets
-  private final Set<Integer> taskletsToCancel = new HashSet<>();
+  // Running workers/tasklets
+  private final ConcurrentMap<String, VortexWorkerManager> runningWorkers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Integer, String> taskletIdToWorkerId = new ConcurrentHashMap<>();
+  private final Set<Integer> taskletsToCancel = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+  // Duplicates of straggling tasklets, each on a worker other than the one in taskletIdToWorkerId
+  private final ConcurrentMap<Integer, String> duplicateTaskletIdToWorkerId = new ConcurrentHashMap<>();
+  private final Set<Integer> duplicatesToLaunch = Collections.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+  // Serializes launching and withdrawing duplicates
+  private final Object duplicateLock = new Object();
+  private final StragglerDetector stragglerDetector;
+
+  // Serializes adding, removing and terminating workers
+  private final Object workerMembershipLock = new Object();
 
+  // For the scheduler to wait until a worker or resource becomes available
   private final Lock lock = new ReentrantLock();
   private final Condition noWorkerOrResource = lock.newCondition();
+  private volatile boolean schedulerWaiting = false;
 
   // To keep track of workers that are preempted before acknowledged
   private final Set<String> removedBeforeAddedWorkers = new HashSet<>();
 
   // Terminated
-  private boolean terminated = false;
+  private volatile boolean terminated = false;
 
   // Scheduling policy
   private final SchedulingPolicy schedulingPolicy;
 
   private final AggregateFunctionRepository aggregateFunctionRepository;
 
-  private final Map<String, Set<Integer>> workerAggregateFunctionMap = new HashMap<>();
+  // The sets of aggregate function IDs are only accessed by the scheduler thread
+  private final ConcurrentMap<String, Set<Integer>> workerAggregateFunctionMap = new ConcurrentHashMap<>();
 
   /**
    * RunningWorkers constructor.
    */
   @Inject
   RunningWorkers(final SchedulingPolicy schedulingPolicy,
-                 final AggregateFunctionRepository aggregateFunctionRepository) {
+                 final AggregateFunctionRepository aggregateFunctionRepository,
+                 final StragglerDetector stragglerDetector) {
     this.schedulingPolicy = schedulingPolicy;
     this.aggregateFunctionRepository = aggregateFunctionRepository;
+    this.stragglerDetector = stragglerDetector;
   }
 
   /**
@@ -76,24 +102,22 @@ final class RunningWorkers {
    * Parameter: Called exactly once per vortexWorkerManager.
    */
   void addWorker(final VortexWorkerManager vortexWorkerManager) {
-    lock.lock();
-    try {
+    synchronized (workerMembershipLock) {
       if (!terminated) {
         if (!removedBeforeAddedWorkers.contains(vortexWorkerManager.getId())) {
+          this.workerAggregateFunctionMap.put(vortexWorkerManager.getId(), new HashSet<Integer>());
           this.runningWorkers.put(vortexWorkerManager.getId(), vortexWorkerManager);
           this.schedulingPolicy.workerAdded(vortexWorkerManager);
-          this.workerAggregateFunctionMap.put(vortexWorkerManager.getId(), new HashSet<Integer>());
-
-          // Notify (possibly) waiting scheduler
-          noWorkerOrResource.signal();
         }
       } else {
         // Terminate the worker
         vortexWorkerManager.terminate();
+        return;
       }
-    } finally {
-      lock.unlock();
     }
+
+    // Notify (possibly) waiting scheduler
+    signalScheduler();
   }
 
   /**
@@ -101,105 +125,258 @@ final class RunningWorkers {
    * Parameter: Called exactly once per id.
    */
   Optional<Collection<Tasklet>> removeWorker(final String id) {
-    lock.lock();
-    try {
-      if (!terminated) {
-        final VortexWorkerManager vortexWorkerManager = this.runningWorkers.remove(id);
-        if (vortexWorkerManager != null) {
-          this.schedulingPolicy.workerRemoved(vortexWorkerManager);
-          return Optional.ofNullable(vortexWorkerManager.removed());
+    synchronized (workerMembershipLock) {
+      try {
+        if (!terminated) {
+          final VortexWorkerManager vortexWorkerManager = this.runningWorkers.remove(id);
+          if (vortexWorkerManager != null) {
+            this.schedulingPolicy.workerRemoved(vortexWorkerManager);
+            final Collection<Tasklet> tasklets = vortexWorkerManager.removed();
+            if (tasklets != null) {
+              return Optional.<Collection<Tasklet>>of(handBack(id, tasklets));
+            }
+            return Optional.empty();
+          } else {
+            // Called before addWorker (e.g. RM preempted the resource before the Evaluator started)
+            removedBeforeAddedWorkers.add(id);
+            return Optional.empty();
+          }
         } else {
-          // Called before addWorker (e.g. RM preempted the resource before the Evaluator started)
-          removedBeforeAddedWorkers.add(id);
+          // No need to return anything since it is terminated
           return Optional.empty();
         }
-      } else {
-        // No need to return anything since it is terminated
-        return Optional.empty();
-      }
-    } finally {
-      try {
-        workerAggregateFunctionMap.remove(id);
       } finally {
-        lock.unlock();
+        workerAggregateFunctionMap.remove(id);
       }
     }
   }
 
   /**
+   * Schedules the tasklet to a worker. The launch is buffered until {@link #flushLaunches()} is called,
+   * until the scheduler has to wait for a worker or resource, or until the worker has no capacity left,
+   * such that the launches sent to a worker at once match the capacity it had free.
    * Concurrency: Called by single scheduler thread.
    * Parameter: Same tasklet can be launched multiple times.
+   * @return true if the tasklet was passed in to launch a duplicate of it, see {@link #findStragglers()}
    */
-  void launchTasklet(final Tasklet tasklet) {
-    lock.lock();
-    try {
-      if (!terminated) {
-        Optional<String> workerId;
-        while(true) {
-          workerId = schedulingPolicy.trySchedule(tasklet);
-          if (!workerId.isPresent()) {
-            try {
-              noWorkerOrResource.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          } else {
-            break;
-          }
-        }
+  boolean launchTasklet(final Tasklet tasklet) {
+    if (!duplicatesToLaunch.isEmpty() && duplicatesToLaunch.remove(tasklet.getId())) {
+      launchDuplicate(tasklet);
+      return true;
+    }
 
-        // TODO[JIRA REEF-500]: Will need to support duplicate tasklets.
-        if (taskletsToCancel.contains(tasklet.getId())) {
-          tasklet.cancelled();
-          taskletsToCancel.remove(tasklet.getId());
-          LOG.log(Level.FINE, "Cancelled tasklet {0}.", tasklet.getId());
-          return;
+    while (!terminated) {
+      Optional<String> workerId = schedulingPolicy.trySchedule(tasklet);
+      while (!workerId.isPresent()) {
+        // Send the buffered launches, since the workers may be waiting for them to free up their resources.
+        flushLaunches();
+        workerId = awaitWorkerOrResource(tasklet);
+        if (terminated) {
+          return false;
         }
+      }
 
-        final Optional<Integer> taskletAggFunctionId =  tasklet.getAggregateFunctionId();
-        final VortexWorkerManager vortexWorkerManager = runningWorkers.get(workerId.get());
+      final VortexWorkerManager vortexWorkerManager = runningWorkers.get(workerId.get());
+      if (vortexWorkerManager == null) {
+        // The worker has been removed after the policy chose it.
+        continue;
+      }
 
-        if (taskletAggFunctionId.isPresent() &&
-            !workerHasAggregateFunction(vortexWorkerManager.getId(), taskletAggFunctionId.get())) {
+      // Index the tasklet before checking for cancellation, see cancelTasklet.
+      // The check is repeated when the tasklet is rescheduled, since the mark is kept until the tasklet is done.
+      vortexWorkerManager.launchAnnounced(tasklet.getId());
+      taskletIdToWorkerId.put(tasklet.getId(), vortexWorkerManager.getId());
+
+      if (taskletsToCancel.remove(tasklet.getId())) {
+        taskletIdToWorkerId.remove(tasklet.getId(), vortexWorkerManager.getId());
+        vortexWorkerManager.launchAborted(tasklet.getId());
+        tasklet.cancelled();
+        LOG.log(Level.FINE, "Cancelled tasklet {0}.", tasklet.getId());
+        return false;
+      }
 
-          // This assumes that all aggregate tasklets share the same user function.
-          vortexWorkerManager.sendAggregateFunction(
-              taskletAggFunctionId.get(),
-              aggregateFunctionRepository.getAggregateFunction(taskletAggFunctionId.get()),
-              tasklet.getUserFunction(),
-              aggregateFunctionRepository.getPolicy(taskletAggFunctionId.get()));
-          workerAggregateFunctionMap.get(vortexWorkerManager.getId()).add(taskletAggFunctionId.get());
+      final Optional<Integer> taskletAggFunctionId = tasklet.getAggregateFunctionId();
+      if (taskletAggFunctionId.isPresent() &&
+          !workerHasAggregateFunction(vortexWorkerManager.getId(), taskletAggFunctionId.get())) {
+
+        // This assumes that all aggregate tasklets share the same user function.
+        vortexWorkerManager.sendAggregateFunction(
+            taskletAggFunctionId.get(),
+            aggregateFunctionRepository.getAggregateFunction(taskletAggFunctionId.get()),
+            tasklet.getUserFunction(),
+            aggregateFunctionRepository.getPolicy(taskletAggFunctionId.get()));
+        final Set<Integer> aggregateFunctionIds = workerAggregateFunctionMap.get(vortexWorkerManager.getId());
+        if (aggregateFunctionIds != null) {
+          aggregateFunctionIds.add(taskletAggFunctionId.get());
         }
+      }
 
-        vortexWorkerManager.launchTasklet(tasklet);
+      stragglerDetector.taskletLaunched(tasklet);
+      if (vortexWorkerManager.launchTasklet(tasklet)) {
         schedulingPolicy.taskletLaunched(vortexWorkerManager, tasklet);
+        if (!schedulingPolicy.hasCapacity(vortexWorkerManager)) {
+          // The batch of the worker covers its free capacity, so the worker need not wait for the other workers.
+          vortexWorkerManager.flush();
+        }
+        return false;
+      }
+
+      // The worker has been removed in the meantime, try another one.
+      stragglerDetector.taskletRemoved(tasklet.getId());
+      taskletIdToWorkerId.remove(tasklet.getId(), vortexWorkerManager.getId());
+    }
+    return false;
+  }
+
+  /**
+   * Launches a duplicate of a straggling Tasklet onto the least busy worker other than the one running the Tasklet,
+   * among those that have enough resources according to the scheduling policy.
+   * The duplicate is not scheduled by the policy, but is accounted for in it.
+   * No duplicate is launched if no other worker has enough resources, since the duplicate should not delay
+   * the Tasklets that wait for their first launch. The Tasklet is then reported as a straggler again later.
+   * Concurrency: Called by single scheduler thread.
+   */
+  private void launchDuplicate(final Tasklet tasklet) {
+    final int taskletId = tasklet.getId();
+    final String originalWorkerId = taskletIdToWorkerId.get(taskletId);
+    if (originalWorkerId == null || taskletsToCancel.contains(taskletId)) {
+      // Done, rescheduled or cancelled in the meantime.
+      return;
+    }
+
+    VortexWorkerManager duplicateWorker = null;
+    for (final VortexWorkerManager vortexWorkerManager : runningWorkers.values()) {
+      if (!vortexWorkerManager.getId().equals(originalWorkerId) &&
+          schedulingPolicy.hasCapacity(vortexWorkerManager) &&
+          (duplicateWorker == null ||
+              vortexWorkerManager.getNumRunningTasklets() < duplicateWorker.getNumRunningTasklets())) {
+        duplicateWorker = vortexWorkerManager;
+      }
+    }
+    if (duplicateWorker == null) {
+      stragglerDetector.duplicateNotLaunched(taskletId);
+      return;
+    }
+
+    synchronized (duplicateLock) {
+      duplicateWorker.launchAnnounced(taskletId);
+      duplicateTaskletIdToWorkerId.put(taskletId, duplicateWorker.getId());
+
+      // Check the original after indexing the duplicate, such that the completion of the original
+      // either is seen here or withdraws the duplicate, see doneTasklets.
+      if (!originalWorkerId.equals(taskletIdToWorkerId.get(taskletId)) || !duplicateWorker.launchTasklet(tasklet)) {
+        duplicateTaskletIdToWorkerId.remove(taskletId, duplicateWorker.getId());
+        duplicateWorker.launchAborted(taskletId);
+        stragglerDetector.duplicateNotLaunched(taskletId);
+        return;
       }
+      schedulingPolicy.taskletLaunched(duplicateWorker, tasklet);
+      stragglerDetector.duplicateLaunched(taskletId);
+    }
+    LOG.log(Level.FINE, "Launched a duplicate of straggling Tasklet {0} on {1}",
+        new Object[]{taskletId, duplicateWorker.getId()});
+  }
+
+  /**
+   * Marks the straggling Tasklets to be launched again, as duplicates on other workers.
+   * Concurrency: Called by single speculator thread.
+   * @return the straggling Tasklets, to be passed to the scheduler
+   */
+  List<Tasklet> findStragglers() {
+    if (terminated || runningWorkers.size() < 2) {
+      return Collections.emptyList();
+    }
+
+    final List<Tasklet> stragglers = new ArrayList<>();
+    for (final int taskletId : stragglerDetector.findStragglers()) {
+      final String workerId = taskletIdToWorkerId.get(taskletId);
+      final VortexWorkerManager vortexWorkerManager = workerId == null ? null : runningWorkers.get(workerId);
+      final Tasklet tasklet = vortexWorkerManager == null ? null : vortexWorkerManager.getRunningTasklet(taskletId);
+      if (tasklet != null) {
+        duplicatesToLaunch.add(taskletId);
+        stragglers.add(tasklet);
+      }
+    }
+    return stragglers;
+  }
+
+  /**
+   * Waits until a worker is added or a tasklet is done, unless the tasklet can be scheduled right away.
+   * @return the worker onto which the tasklet should be scheduled, empty if the scheduler has waited.
+   */
+  private Optional<String> awaitWorkerOrResource(final Tasklet tasklet) {
+    lock.lock();
+    try {
+      // Announce the wait before checking again, such that a concurrent addWorker or doneTasklets
+      // either is seen by the check or signals the condition.
+      schedulerWaiting = true;
+      final Optional<String> workerId = schedulingPolicy.trySchedule(tasklet);
+      if (!workerId.isPresent() && !terminated) {
+        noWorkerOrResource.await();
+      }
+      return workerId;
+    } catch (final InterruptedException e) {
+      throw new RuntimeException(e);
     } finally {
+      schedulerWaiting = false;
       lock.unlock();
     }
   }
 
+  /**
+   * Wakes up the scheduler if it is waiting for a worker or resource.
+   */
+  private void signalScheduler() {
+    if (schedulerWaiting) {
+      lock.lock();
+      try {
+        noWorkerOrResource.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Sends the Tasklet launches buffered by {@link #launchTasklet(Tasklet)} to the workers, one batch per worker.
+   * Concurrency: Called by single scheduler thread.
+   */
+  void flushLaunches() {
+    if (!terminated) {
+      for (final VortexWorkerManager vortexWorkerManager : runningWorkers.values()) {
+        vortexWorkerManager.flush();
+      }
+    }
+  }
+
   /**
    * Concurrency: Called by multiple threads.
    * Parameter: Same taskletId can come in multiple times.
    */
   void cancelTasklet(final boolean mayInterruptIfRunning, final int taskletId) {
-    lock.lock();
-    try {
-      // This is not ideal since we are using a linear time search on all the workers.
-      final String workerId = getWhereTaskletWasScheduledTo(taskletId);
-      if (workerId == null) {
-        // launchTasklet called but not yet running.
-        taskletsToCancel.add(taskletId);
-        return;
-      }
+    // Mark the tasklet before looking it up, such that the scheduler either sees the mark
+    // or has indexed the tasklet by the time it is looked up.
+    // The mark is kept until the tasklet is done, such that a tasklet whose launch fails or whose worker
+    // is removed is cancelled by the scheduler instead of being launched again.
+    taskletsToCancel.add(taskletId);
+    final String workerId = taskletIdToWorkerId.get(taskletId);
+    if (workerId == null || !mayInterruptIfRunning) {
+      // launchTasklet called but not yet running, or not to be interrupted.
+      return;
+    }
 
-      if (mayInterruptIfRunning) {
-        LOG.log(Level.FINE, "Cancelling running Tasklet with ID {0}.", taskletId);
-        runningWorkers.get(workerId).cancelTasklet(taskletId);
+    final VortexWorkerManager vortexWorkerManager = runningWorkers.get(workerId);
+    if (vortexWorkerManager != null) {
+      LOG.log(Level.FINE, "Cancelling running Tasklet with ID {0}.", taskletId);
+      vortexWorkerManager.cancelTasklet(taskletId);
+    }
+
+    final String duplicateWorkerId = duplicateTaskletIdToWorkerId.get(taskletId);
+    if (duplicateWorkerId != null) {
+      final VortexWorkerManager duplicateWorker = runningWorkers.get(duplicateWorkerId);
+      if (duplicateWorker != null) {
+        duplicateWorker.cancelTasklet(taskletId);
       }
-    } finally {
-      lock.unlock();
     }
   }
 
@@ -207,28 +384,145 @@ final class RunningWorkers {
    * Concurrency: Called by multiple threads.
    * Parameter: Same arguments can come in multiple times.
    * (e.g. preemption message coming before tasklet completion message multiple times)
+   * @return the Tasklets that are done on the worker, empty if the report is outdated
    */
-  void doneTasklets(final String workerId, final List<Integer> taskletIds) {
-    lock.lock();
-    try {
-      if (!terminated && runningWorkers.containsKey(workerId)) { // Preemption can come before
-        final VortexWorkerManager worker = this.runningWorkers.get(workerId);
-        final List<Tasklet> tasklets = worker.taskletsDone(taskletIds);
-        this.schedulingPolicy.taskletsDone(worker, tasklets);
+  List<Tasklet> doneTasklets(final String workerId, final List<Integer> taskletIds) {
+    if (terminated) {
+      return Collections.emptyList();
+    }
 
-        taskletsToCancel.removeAll(taskletIds); // cleanup to prevent memory leak.
+    final VortexWorkerManager worker = this.runningWorkers.get(workerId);
+    if (worker != null) { // Preemption can come before
+      final List<Tasklet> tasklets = new ArrayList<>(taskletIds.size());
+      for (final Tasklet tasklet : worker.taskletsDone(taskletIds)) {
+        if (tasklet != null) { // null if withdrawn, since its duplicate has completed
+          tasklets.add(tasklet);
+        }
+      }
+      if (tasklets.isEmpty()) {
+        return tasklets;
+      }
+      this.schedulingPolicy.taskletsDone(worker, tasklets);
+
+      for (final Tasklet tasklet : tasklets) {
+        taskletIdToWorkerId.remove(tasklet.getId(), workerId);
+        final boolean byDuplicate = !duplicateTaskletIdToWorkerId.isEmpty() &&
+            workerId.equals(duplicateTaskletIdToWorkerId.get(tasklet.getId()));
+        stragglerDetector.taskletDone(tasklet.getId(), byDuplicate);
+        if (!duplicateTaskletIdToWorkerId.isEmpty()) {
+          withdrawOtherCopy(workerId, tasklet.getId());
+        }
+      }
+      taskletsToCancel.removeAll(taskletIds); // cleanup to prevent memory leak.
 
-        // Notify (possibly) waiting scheduler
-        noWorkerOrResource.signal();
+      // Notify (possibly) waiting scheduler
+      signalScheduler();
+
+      if (worker.getNumRunningTasklets() == 0) {
+        rebalance(worker);
+      }
+      return tasklets;
+    }
+    return Collections.emptyList();
+  }
+
+  /**
+   * Concurrency: Called by multiple threads.
+   * @return the Tasklets the worker gave back before starting them, to be rescheduled
+   */
+  List<Tasklet> taskletsStolen(final String workerId, final List<Integer> taskletIds) {
+    if (terminated) {
+      return Collections.emptyList();
+    }
+
+    final VortexWorkerManager worker = this.runningWorkers.get(workerId);
+    if (worker == null) { // Preemption can come before
+      return Collections.emptyList();
+    }
+
+    final List<Tasklet> tasklets = worker.taskletsStolen(taskletIds);
+    if (tasklets.isEmpty()) {
+      return tasklets;
+    }
+    this.schedulingPolicy.taskletsStolen(worker, tasklets);
+    LOG.log(Level.FINE, "{0} gave back {1} Tasklets", new Object[]{workerId, tasklets.size()});
+    return handBack(workerId, tasklets);
+  }
+
+  /**
+   * Withdraws the other copy of a duplicated Tasklet, once one copy has completed.
+   */
+  private void withdrawOtherCopy(final String workerId, final int taskletId) {
+    synchronized (duplicateLock) {
+      final String duplicateWorkerId = duplicateTaskletIdToWorkerId.remove(taskletId);
+      if (duplicateWorkerId == null) {
+        return;
+      }
+
+      // If the duplicate has completed, the original is the other copy.
+      final String otherWorkerId =
+          duplicateWorkerId.equals(workerId) ? taskletIdToWorkerId.remove(taskletId) : duplicateWorkerId;
+      final VortexWorkerManager otherWorker = otherWorkerId == null ? null : runningWorkers.get(otherWorkerId);
+      if (otherWorker != null) {
+        final Tasklet tasklet = otherWorker.withdrawTasklet(taskletId);
+        if (tasklet != null) {
+          schedulingPolicy.taskletsStolen(otherWorker, Collections.singletonList(tasklet));
+          LOG.log(Level.FINE, "Withdrew the slower copy of Tasklet {0} from {1}",
+              new Object[]{taskletId, otherWorkerId});
+        }
+      }
+    }
+  }
+
+  /**
+   * Unindexes the Tasklets that a worker handed back, because it has been removed or they have been stolen.
+   * A handed back original whose duplicate is running elsewhere is replaced by the duplicate,
+   * and a handed back duplicate is dropped, since the original is still running.
+   * @return the Tasklets to be rescheduled
+   */
+  private List<Tasklet> handBack(final String workerId, final Collection<Tasklet> tasklets) {
+    final List<Tasklet> taskletsToReschedule = new ArrayList<>(tasklets.size());
+    synchronized (duplicateLock) {
+      for (final Tasklet tasklet : tasklets) {
+        final int taskletId = tasklet.getId();
+        if (duplicateTaskletIdToWorkerId.remove(taskletId, workerId)) {
+          continue;
+        }
+
+        taskletIdToWorkerId.remove(taskletId, workerId);
+        final String duplicateWorkerId = duplicateTaskletIdToWorkerId.remove(taskletId);
+        if (duplicateWorkerId != null) {
+          taskletIdToWorkerId.put(taskletId, duplicateWorkerId);
+          stragglerDetector.duplicatePromoted(taskletId);
+        } else {
+          stragglerDetector.taskletRemoved(taskletId);
+          taskletsToReschedule.add(tasklet);
+        }
+      }
+    }
+    return taskletsToReschedule;
+  }
+
+  /**
+   * Asks the busy worker chosen by the scheduling policy to give back half of its Tasklets that have not started,
+   * such that they can be rescheduled onto the idle worker.
+   */
+  private void rebalance(final VortexWorkerManager idleWorker) {
+    final Optional<String> busyWorkerId = schedulingPolicy.tryRebalance(idleWorker);
+    if (busyWorkerId.isPresent()) {
+      final VortexWorkerManager busyWorker = runningWorkers.get(busyWorkerId.get());
+      if (busyWorker != null) {
+        final int numTasklets = busyWorker.getNumRunningTasklets() / 2;
+        if (numTasklets > 0 && busyWorker.stealTasklets(numTasklets)) {
+          LOG.log(Level.FINE, "Rebalancing up to {0} Tasklets from {1} onto {2}",
+              new Object[]{numTasklets, busyWorker.getId(), idleWorker.getId()});
+        }
       }
-    } finally {
-      lock.unlock();
     }
   }
 
   void terminate() {
-    lock.lock();
-    try {
+    synchronized (workerMembershipLock) {
       if (!terminated) {
         terminated = true;
         for (final VortexWorkerManager vortexWorkerManager : runningWorkers.values()) {
@@ -236,9 +530,17 @@ final class RunningWorkers {
           schedulingPolicy.workerRemoved(vortexWorkerManager);
         }
         runningWorkers.clear();
+        taskletIdToWorkerId.clear();
+        duplicateTaskletIdToWorkerId.clear();
       } else {
         throw new RuntimeException("Attempting to terminate an already terminated RunningWorkers");
       }
+    }
+
+    // Let a waiting scheduler observe the termination
+    lock.lock();
+    try {
+      noWorkerOrResource.signal();
     } finally {
       lock.unlock();
     }
@@ -254,14 +556,7 @@ final class RunningWorkers {
    * @return id of the worker (null if the tasklet was not scheduled to any worker)
    */
   String getWhereTaskletWasScheduledTo(final int taskletId) {
-    for (final Map.Entry<String, VortexWorkerManager> entry : runningWorkers.entrySet()) {
-      final String workerId = entry.getKey();
-      final VortexWorkerManager vortexWorkerManager = entry.getValue();
-      if (vortexWorkerManager.containsTasklet(taskletId)) {
-        return workerId;
-      }
-    }
-    return null;
+    return taskletIdToWorkerId.get(taskletId);
   }
 
   ///////////////////////////////////////// For Tests Only
@@ -277,12 +572,13 @@ final class RunningWorkers {
    * @return true if Vortex has sent the aggregation function to the worker specified by workerId
    */
   private boolean workerHasAggregateFunction(final String workerId, final int aggregateFunctionId) {
-    if (!workerAggregateFunctionMap.containsKey(workerId)) {
+    final Set<Integer> aggregateFunctionIds = workerAggregateFunctionMap.get(workerId);
+    if (aggregateFunctionIds == null) {
       LOG.log(Level.WARNING, "Trying to look up a worker's aggregation function for a worker with an ID that has " +
           "not yet been added.");
       return false;
     }
 
-    return workerAggregateFunctionMap.get(workerId).contains(aggregateFunctionId);
+    return aggregateFunctionIds.contains(aggregateFunctionId);
   }
 }
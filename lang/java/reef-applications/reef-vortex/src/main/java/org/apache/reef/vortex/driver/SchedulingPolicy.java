@@ -25,6 +25,9 @@ import java.util.List;
 
 /**
  * For choosing which worker to schedule the tasklet onto.
+ * Implementations must be thread-safe, as {@link RunningWorkers} calls them without holding a global lock:
+ * trySchedule and taskletLaunched are called by the single scheduler thread,
+ * the other methods by the threads that handle worker and tasklet events.
  */
 @DefaultImplementation(FirstFitSchedulingPolicy.class)
 interface SchedulingPolicy {
@@ -35,6 +38,13 @@ interface SchedulingPolicy {
    */
   Optional<String> trySchedule(final Tasklet tasklet);
 
+  /**
+   * Used to place a duplicate of a straggling tasklet, which is not scheduled by {@link #trySchedule(Tasklet)}.
+   * @param vortexWorker to launch a tasklet onto
+   * @return true if the worker has enough resources for one more tasklet
+   */
+  boolean hasCapacity(final VortexWorkerManager vortexWorker);
+
   /**
    * Worker added.
    */
@@ -54,4 +64,16 @@ interface SchedulingPolicy {
    * Tasklets completed.
    */
   void taskletsDone(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets);
+
+  /**
+   * Tasklets given back by the worker before they started, to be rescheduled.
+   */
+  void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets);
+
+  /**
+   * Called when a worker has no Tasklets left, to rebalance queued Tasklets of busy workers onto it.
+   * @param idleWorker the worker that has become idle
+   * @return the worker to take queued Tasklets from, empty to not rebalance
+   */
+  Optional<String> tryRebalance(final VortexWorkerManager idleWorker);
 }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Detects straggling Tasklets for speculative execution.
+ * Keeps the elapsed times of recently completed Tasklets, and reports a running Tasklet as a straggler
+ * once it has run longer than the given percentile of those times, multiplied by the slowdown factor.
+ * Only Tasklets that are not aggregate-able are tracked, since an aggregated result cannot be taken from a duplicate.
+ */
+@ThreadSafe
+@DriverSide
+final class StragglerDetector {
+  private static final int NUM_OF_SAMPLES = 1024;
+
+  private final boolean enabled;
+  private final double percentile;
+  private final double slowdownFactor;
+  private final int minNumOfSamples;
+
+  // Launch of each tracked Tasklet
+  private final ConcurrentMap<Integer, Launch> launches = new ConcurrentHashMap<>();
+
+  // Ring buffer of the elapsed times of recently completed Tasklets, guarded by itself
+  private final long[] elapsedTimes = new long[NUM_OF_SAMPLES];
+  private int numOfSamples = 0;
+  private int nextSample = 0;
+
+  @Inject
+  StragglerDetector(@Parameter(VortexMasterConf.EnableSpeculativeExecution.class) final boolean enabled,
+                    @Parameter(VortexMasterConf.SpeculationPercentile.class) final double percentile,
+                    @Parameter(VortexMasterConf.SpeculationSlowdownFactor.class) final double slowdownFactor,
+                    @Parameter(VortexMasterConf.SpeculationMinSamples.class) final int minNumOfSamples) {
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("The percentile should be in (0, 1], but was " + percentile);
+    }
+    this.enabled = enabled;
+    this.percentile = percentile;
+    this.slowdownFactor = slowdownFactor;
+    this.minNumOfSamples = Math.max(1, Math.min(minNumOfSamples, NUM_OF_SAMPLES));
+  }
+
+  /**
+   * @return true if speculative execution is enabled
+   */
+  boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts tracking the Tasklet.
+   */
+  void taskletLaunched(final Tasklet tasklet) {
+    if (enabled && !tasklet.getAggregateFunctionId().isPresent()) {
+      launches.put(tasklet.getId(), new Launch(System.nanoTime()));
+    }
+  }
+
+  /**
+   * Records the launch of a duplicate of the Tasklet, separately from the launch of the Tasklet.
+   */
+  void duplicateLaunched(final int taskletId) {
+    if (enabled) {
+      final Launch launch = launches.get(taskletId);
+      if (launch != null) {
+        launch.duplicateLaunched(System.nanoTime());
+      }
+    }
+  }
+
+  /**
+   * No duplicate of the straggling Tasklet has been launched (e.g. no other worker has enough resources),
+   * so the Tasklet is reported again by the next {@link #findStragglers()}.
+   */
+  void duplicateNotLaunched(final int taskletId) {
+    if (enabled) {
+      final Launch launch = launches.get(taskletId);
+      if (launch != null && !launch.duplicated) {
+        launch.reported.set(false);
+      }
+    }
+  }
+
+  /**
+   * The duplicate of the Tasklet takes the place of the Tasklet, whose worker has been removed.
+   * The Tasklet is tracked from the launch of the duplicate on.
+   */
+  void duplicatePromoted(final int taskletId) {
+    if (enabled) {
+      final Launch launch = launches.get(taskletId);
+      if (launch != null && launch.duplicated) {
+        launches.replace(taskletId, launch, new Launch(launch.duplicateLaunchTime));
+      }
+    }
+  }
+
+  /**
+   * Stops tracking the Tasklet and records its elapsed time.
+   * Only the first completion of a Tasklet is recorded, since the Tasklet is not tracked afterwards.
+   * @param byDuplicate true if the duplicate of the Tasklet has completed, whose elapsed time is recorded then
+   */
+  void taskletDone(final int taskletId, final boolean byDuplicate) {
+    if (enabled) {
+      final Launch launch = launches.remove(taskletId);
+      if (launch != null) {
+        final long launchTime = byDuplicate && launch.duplicated ? launch.duplicateLaunchTime : launch.launchTime;
+        final long elapsedTime = System.nanoTime() - launchTime;
+        synchronized (elapsedTimes) {
+          elapsedTimes[nextSample] = elapsedTime;
+          nextSample = (nextSample + 1) % NUM_OF_SAMPLES;
+          numOfSamples = Math.min(numOfSamples + 1, NUM_OF_SAMPLES);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stops tracking the Tasklet without recording it (e.g. the Tasklet is to be rescheduled).
+   */
+  void taskletRemoved(final int taskletId) {
+    if (enabled) {
+      launches.remove(taskletId);
+    }
+  }
+
+  /**
+   * Finds the Tasklets that have run longer than the threshold.
+   * Each Tasklet is reported at most once per launch, unless no duplicate of it could be launched.
+   * @return the IDs of the straggling Tasklets
+   */
+  List<Integer> findStragglers() {
+    final Optional<Long> threshold = getThreshold();
+    if (!threshold.isPresent()) {
+      return Collections.emptyList();
+    }
+
+    final long now = System.nanoTime();
+    final List<Integer> stragglers = new ArrayList<>();
+    for (final Map.Entry<Integer, Launch> entry : launches.entrySet()) {
+      final Launch launch = entry.getValue();
+      if (now - launch.launchTime > threshold.get() && launch.reported.compareAndSet(false, true)) {
+        stragglers.add(entry.getKey());
+      }
+    }
+    return stragglers;
+  }
+
+  /**
+   * @return the elapsed time in nanoseconds after which a Tasklet is a straggler,
+   * empty if speculative execution is disabled or not enough Tasklets have completed yet
+   */
+  Optional<Long> getThreshold() {
+    if (!enabled) {
+      return Optional.empty();
+    }
+
+    final long[] samples;
+    synchronized (elapsedTimes) {
+      if (numOfSamples < minNumOfSamples) {
+        return Optional.empty();
+      }
+      samples = Arrays.copyOf(elapsedTimes, numOfSamples);
+    }
+    Arrays.sort(samples);
+    final int index = Math.min(samples.length - 1, (int) Math.ceil(percentile * samples.length) - 1);
+    return Optional.of((long) (samples[Math.max(0, index)] * slowdownFactor));
+  }
+
+  /**
+   * Launch of a Tasklet, and of its duplicate if any.
+   */
+  private static final class Launch {
+    private final long launchTime;
+    private final AtomicBoolean reported = new AtomicBoolean(false);
+    private volatile long duplicateLaunchTime;
+    private volatile boolean duplicated = false;
+
+    private Launch(final long launchTime) {
+      this.launchTime = launchTime;
+    }
+
+    private void duplicateLaunched(final long time) {
+      this.duplicateLaunchTime = time;
+      this.duplicated = true;
+    }
+  }
+}
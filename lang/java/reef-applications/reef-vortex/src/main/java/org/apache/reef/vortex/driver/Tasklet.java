@@ -33,6 +33,10 @@ class Tasklet<TInput, TOutput> {
   private final TInput input;
   private final VortexFutureDelegate delegate;
 
+  // Timings in System.nanoTime(), for VortexMetricsCollector
+  private volatile long pendingSinceNanos;
+  private volatile long launchNanos;
+
   Tasklet(final int taskletId,
           final Optional<Integer> aggregateFunctionId,
           final VortexFunction<TInput, TOutput> userTask,
@@ -73,6 +77,34 @@ class Tasklet<TInput, TOutput> {
     return userTask;
   }
 
+  /**
+   * Marks the time the Tasklet is added to {@link PendingTasklets}.
+   */
+  void setPendingSince(final long nanos) {
+    this.pendingSinceNanos = nanos;
+  }
+
+  /**
+   * @return the time the Tasklet was last added to {@link PendingTasklets}
+   */
+  long getPendingSince() {
+    return pendingSinceNanos;
+  }
+
+  /**
+   * Marks the time the Tasklet is launched on a worker.
+   */
+  void setLaunchTime(final long nanos) {
+    this.launchNanos = nanos;
+  }
+
+  /**
+   * @return the time the Tasklet was last launched on a worker
+   */
+  long getLaunchTime() {
+    return launchNanos;
+  }
+
   /**
    * Called by {@link RunningWorkers} to cancel the Tasklet before launch.
    */
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tasklet Speculator.
+ * Periodically looks for straggling Tasklets and passes them to the scheduler, to be duplicated on other workers.
+ */
+@DriverSide
+final class TaskletSpeculator implements EventHandler<Integer> {
+  private static final Logger LOG = Logger.getLogger(TaskletSpeculator.class.getName());
+
+  private final RunningWorkers runningWorkers;
+  private final PendingTasklets pendingTasklets;
+  private final StragglerDetector stragglerDetector;
+  private final int checkIntervalMs;
+
+  @Inject
+  private TaskletSpeculator(final RunningWorkers runningWorkers,
+                            final PendingTasklets pendingTasklets,
+                            final StragglerDetector stragglerDetector,
+                            @Parameter(VortexMasterConf.SpeculationCheckIntervalMs.class) final int checkIntervalMs) {
+    this.runningWorkers = runningWorkers;
+    this.pendingTasklets = pendingTasklets;
+    this.stragglerDetector = stragglerDetector;
+    this.checkIntervalMs = checkIntervalMs;
+  }
+
+  /**
+   * Repeatedly check for straggling Tasklets, and put them at the front of the pending queue.
+   * Returns right away if speculative execution is disabled.
+   */
+  @Override
+  public void onNext(final Integer integer) {
+    if (!stragglerDetector.isEnabled()) {
+      return;
+    }
+
+    while (!runningWorkers.isTerminated()) {
+      try {
+        Thread.sleep(checkIntervalMs);
+        for (final Tasklet tasklet : runningWorkers.findStragglers()) {
+          LOG.log(Level.INFO, "Speculatively duplicating straggling {0}", tasklet);
+          pendingTasklets.addFirst(tasklet);
+        }
+      } catch (InterruptedException e) {
+        LOG.log(Level.INFO, "Interrupted upon termination");
+      }
+    }
+  }
+}
@@ -65,6 +65,7 @@ final class VortexDriver {
   private final EStage<VortexStart> vortexStartEStage;
   private final VortexStart vortexStart;
   private final EStage<Integer> pendingTaskletSchedulerEStage;
+  private final EStage<Integer> taskletSpeculatorEStage;
   private final KryoUtils kryoUtils;
 
   @Inject
@@ -74,6 +75,7 @@ final class VortexDriver {
                        final VortexStart vortexStart,
                        final VortexStartExecutor vortexStartExecutor,
                        final PendingTaskletLauncher pendingTaskletLauncher,
+                       final TaskletSpeculator taskletSpeculator,
                        final KryoUtils kryoUtils,
                        @Parameter(VortexMasterConf.WorkerMem.class) final int workerMem,
                        @Parameter(VortexMasterConf.WorkerNum.class) final int workerNum,
@@ -82,6 +84,7 @@ final class VortexDriver {
     this.vortexStartEStage = new ThreadPoolStage<>(vortexStartExecutor, numOfStartThreads);
     this.vortexStart = vortexStart;
     this.pendingTaskletSchedulerEStage = new SingleThreadStage<>(pendingTaskletLauncher, 1);
+    this.taskletSpeculatorEStage = new SingleThreadStage<>(taskletSpeculator, 1);
     this.kryoUtils = kryoUtils;
     this.evaluatorRequestor = evaluatorRequestor;
     this.vortexMaster = vortexMaster;
@@ -109,6 +112,9 @@ final class VortexDriver {
 
       // Run Scheduler
       pendingTaskletSchedulerEStage.onNext(SCHEDULER_EVENT);
+
+      // Run Speculator
+      taskletSpeculatorEStage.onNext(SCHEDULER_EVENT);
     }
   }
 
@@ -133,7 +139,9 @@ final class VortexDriver {
           .set(TaskConfiguration.ON_CLOSE, VortexWorker.TaskCloseHandler.class)
           .build();
 
-      allocatedEvaluator.submitTask(Configurations.merge(workerConfiguration, taskConfiguration));
+      // The worker needs to serialize the same way as the driver.
+      allocatedEvaluator.submitTask(
+          Configurations.merge(workerConfiguration, taskConfiguration, kryoUtils.getConfiguration()));
     }
   }
 
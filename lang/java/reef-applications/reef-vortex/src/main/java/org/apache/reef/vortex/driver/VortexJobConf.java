@@ -23,9 +23,15 @@ import org.apache.reef.annotations.audience.Private;
 import org.apache.reef.client.DriverConfiguration;
 import org.apache.reef.tang.Configuration;
 import org.apache.reef.tang.Configurations;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
 import org.apache.reef.util.BuilderUtils;
 import org.apache.reef.util.EnvironmentUtils;
 import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.common.KryoUtils;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Helper class for building a configuration for Vortex.
@@ -60,6 +66,9 @@ public final class VortexJobConf {
     private String jobName;
     private Configuration vortexMasterConf;
     private Optional<Configuration> userConf = Optional.empty();
+    private final List<Class<?>> kryoRegisteredClasses = new ArrayList<>();
+    private boolean unsafeKryoBuffers = false;
+    private boolean metricsHttpHandler = false;
 
     private Builder() {
     }
@@ -80,6 +89,36 @@ public final class VortexJobConf {
       return this;
     }
 
+    /**
+     * @param classes User classes (e.g., inputs and outputs of Tasklets) to register with Kryo,
+     *                such that their names are not sent along with every Tasklet.
+     */
+    public Builder registerKryoClasses(final Class<?>... classes) {
+      for (final Class<?> clazz : classes) {
+        this.kryoRegisteredClasses.add(clazz);
+      }
+      return this;
+    }
+
+    /**
+     * @param unsafeKryoBuffers Whether to serialize with Kryo's unsafe buffers, which are faster
+     *                          but require the Driver and the Evaluators to have the same native byte order.
+     */
+    public Builder setUnsafeKryoBuffers(final boolean unsafeKryoBuffers) {
+      this.unsafeKryoBuffers = unsafeKryoBuffers;
+      return this;
+    }
+
+    /**
+     * @param metricsHttpHandler Whether to start an HTTP server on the Driver that serves
+     *                           the {@link org.apache.reef.vortex.api.VortexMetrics} of the job at /Vortex/v1/metrics.
+     *                           Requires reef-webserver, an optional dependency of Vortex, on the classpath.
+     */
+    public Builder setMetricsHttpHandler(final boolean metricsHttpHandler) {
+      this.metricsHttpHandler = metricsHttpHandler;
+      return this;
+    }
+
     /**
      * @param jobName Name of the job which is assigned to the Driver.
      */
@@ -113,13 +152,24 @@ public final class VortexJobConf {
           .set(DriverConfiguration.DRIVER_IDENTIFIER, jobName)
           .build();
 
-      final Configuration jobConf;
+      final JavaConfigurationBuilder kryoConfBuilder = Tang.Factory.getTang().newConfigurationBuilder();
+      for (final Class<?> clazz : kryoRegisteredClasses) {
+        kryoConfBuilder.bindSetEntry(KryoUtils.RegisteredClasses.class, clazz.getName());
+      }
+      kryoConfBuilder.bindNamedParameter(KryoUtils.UnsafeBuffers.class, String.valueOf(unsafeKryoBuffers));
+      final Configuration kryoConf = kryoConfBuilder.build();
+
+      final List<Configuration> confs = new ArrayList<>();
+      confs.add(vortexDriverConf);
+      confs.add(vortexMasterConf);
+      confs.add(kryoConf);
+      if (metricsHttpHandler) {
+        confs.add(VortexMetricsHttpHandler.getConfiguration());
+      }
       if (userConf.isPresent()) {
-        jobConf = Configurations.merge(vortexDriverConf, vortexMasterConf, userConf.get());
-      } else {
-        jobConf = Configurations.merge(vortexDriverConf, vortexMasterConf);
+        confs.add(userConf.get());
       }
-      return new VortexJobConf(jobConf);
+      return new VortexJobConf(Configurations.merge(confs));
     }
   }
 }
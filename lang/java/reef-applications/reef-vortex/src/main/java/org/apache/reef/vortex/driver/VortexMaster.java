@@ -25,6 +25,7 @@ import org.apache.reef.util.Optional;
 import org.apache.reef.vortex.api.*;
 import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -53,6 +54,20 @@ public interface VortexMaster {
                       final List<TInput> inputs,
                       final Optional<FutureCallback<AggregateResult<TInput, TOutput>>> callback);
 
+  /**
+   * Submits aggregate-able Tasklets for a stream of inputs, with an optional callback function on
+   * the aggregation progress. Tasklets are created as the earlier ones complete, or without a callback
+   * as their results are polled from the future, such that at most maxOutstandingTasklets of them
+   * are outstanding at a time. If the inputs throw, the future fails with the exception.
+   */
+  <TInput, TOutput> VortexAggregateFuture<TInput, TOutput>
+      enqueueTaskletStream(final VortexAggregateFunction<TOutput> aggregateFunction,
+                           final VortexFunction<TInput, TOutput> vortexFunction,
+                           final VortexAggregatePolicy policy,
+                           final Iterator<TInput> inputs,
+                           final int maxOutstandingTasklets,
+                           final Optional<FutureCallback<AggregateResult<TInput, TOutput>>> callback);
+
   /**
    * Call this when a Tasklet is to be cancelled.
    * @param mayInterruptIfRunning if true, will attempt to cancel running Tasklets; otherwise will only
@@ -76,6 +91,11 @@ public interface VortexMaster {
    */
   void workerReported(final String workerId, final WorkerToMasterReports workerToMasterReports);
 
+  /**
+   * @return a snapshot of the timings of the Tasklets and the utilization of the workers.
+   */
+  VortexMetrics getMetrics();
+
   /**
    * Release all resources and shut down.
    */
@@ -73,6 +73,53 @@ public final class VortexMasterConf extends ConfigurationModuleBuilder {
   final class CallbackThreadPoolSize implements Name<Integer> {
   }
 
+  /**
+   * Maximum number of Tasklet launches the scheduler buffers before sending them to the workers.
+   * A worker is sent its launches earlier, once they fill its free capacity.
+   */
+  @NamedParameter(doc = "Maximum number of Tasklet launches buffered before sending them to the workers.",
+      default_value = "256")
+  final class TaskletBatchSize implements Name<Integer> {
+  }
+
+  /**
+   * Whether to launch duplicates of straggling Tasklets on other workers.
+   */
+  @NamedParameter(doc = "Whether to launch duplicates of straggling Tasklets on other workers.",
+      default_value = "false")
+  final class EnableSpeculativeExecution implements Name<Boolean> {
+  }
+
+  /**
+   * Percentile of the elapsed times of completed Tasklets that the straggler threshold is based on.
+   */
+  @NamedParameter(doc = "Percentile of the elapsed times of completed Tasklets that the straggler threshold " +
+      "is based on.", default_value = "0.9")
+  final class SpeculationPercentile implements Name<Double> {
+  }
+
+  /**
+   * Factor of the percentile elapsed time after which a running Tasklet is a straggler.
+   */
+  @NamedParameter(doc = "Factor of the percentile elapsed time after which a running Tasklet is a straggler.",
+      default_value = "2.0")
+  final class SpeculationSlowdownFactor implements Name<Double> {
+  }
+
+  /**
+   * Number of completed Tasklets needed before stragglers are detected.
+   */
+  @NamedParameter(doc = "Number of completed Tasklets needed before stragglers are detected.", default_value = "10")
+  final class SpeculationMinSamples implements Name<Integer> {
+  }
+
+  /**
+   * Interval in milliseconds between checks for straggling Tasklets.
+   */
+  @NamedParameter(doc = "Interval in milliseconds between checks for straggling Tasklets.", default_value = "1000")
+  final class SpeculationCheckIntervalMs implements Name<Integer> {
+  }
+
   /**
    * Number of Workers.
    */
@@ -108,6 +155,36 @@ public final class VortexMasterConf extends ConfigurationModuleBuilder {
    */
   public static final OptionalParameter<Integer> FUTURE_CALLBACK_THREAD_POOL_SIZE = new OptionalParameter<>();
 
+  /**
+   * Maximum number of Tasklet launches buffered before sending them to the workers.
+   */
+  public static final OptionalParameter<Integer> TASKLET_BATCH_SIZE = new OptionalParameter<>();
+
+  /**
+   * Whether to launch duplicates of straggling Tasklets on other workers.
+   */
+  public static final OptionalParameter<Boolean> ENABLE_SPECULATIVE_EXECUTION = new OptionalParameter<>();
+
+  /**
+   * Percentile of the elapsed times of completed Tasklets that the straggler threshold is based on.
+   */
+  public static final OptionalParameter<Double> SPECULATION_PERCENTILE = new OptionalParameter<>();
+
+  /**
+   * Factor of the percentile elapsed time after which a running Tasklet is a straggler.
+   */
+  public static final OptionalParameter<Double> SPECULATION_SLOWDOWN_FACTOR = new OptionalParameter<>();
+
+  /**
+   * Number of completed Tasklets needed before stragglers are detected.
+   */
+  public static final OptionalParameter<Integer> SPECULATION_MIN_SAMPLES = new OptionalParameter<>();
+
+  /**
+   * Interval in milliseconds between checks for straggling Tasklets.
+   */
+  public static final OptionalParameter<Integer> SPECULATION_CHECK_INTERVAL_MS = new OptionalParameter<>();
+
   /**
    * Vortex Master configuration.
    */
@@ -119,5 +196,11 @@ public final class VortexMasterConf extends ConfigurationModuleBuilder {
       .bindImplementation(VortexStart.class, VORTEX_START)
       .bindNamedParameter(NumberOfVortexStartThreads.class, NUM_OF_VORTEX_START_THREAD)
       .bindNamedParameter(CallbackThreadPoolSize.class, FUTURE_CALLBACK_THREAD_POOL_SIZE)
+      .bindNamedParameter(TaskletBatchSize.class, TASKLET_BATCH_SIZE)
+      .bindNamedParameter(EnableSpeculativeExecution.class, ENABLE_SPECULATIVE_EXECUTION)
+      .bindNamedParameter(SpeculationPercentile.class, SPECULATION_PERCENTILE)
+      .bindNamedParameter(SpeculationSlowdownFactor.class, SPECULATION_SLOWDOWN_FACTOR)
+      .bindNamedParameter(SpeculationMinSamples.class, SPECULATION_MIN_SAMPLES)
+      .bindNamedParameter(SpeculationCheckIntervalMs.class, SPECULATION_CHECK_INTERVAL_MS)
       .build();
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import net.jcip.annotations.ThreadSafe;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.vortex.api.VortexMetrics;
+import org.apache.reef.vortex.common.LatencyHistogram;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerStatsReport;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the timings of the Tasklets on the master, and collects those reported by the workers.
+ */
+@ThreadSafe
+@DriverSide
+final class VortexMetricsCollector {
+  private final LatencyHistogram pendingTimes = new LatencyHistogram();
+  private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+  private final LatencyHistogram workerQueueTimes = new LatencyHistogram();
+  private final LatencyHistogram executionTimes = new LatencyHistogram();
+  private final ConcurrentMap<String, Double> workerUtilization = new ConcurrentHashMap<>();
+
+  @Inject
+  VortexMetricsCollector() {
+  }
+
+  /**
+   * A Tasklet has been taken from {@link PendingTasklets} and launched.
+   */
+  void taskletLaunched(final Tasklet tasklet) {
+    final long nowNanos = System.nanoTime();
+    pendingTimes.update(TimeUnit.NANOSECONDS.toMicros(nowNanos - tasklet.getPendingSince()));
+    tasklet.setLaunchTime(nowNanos);
+  }
+
+  /**
+   * The results of Tasklets have been received.
+   */
+  void taskletsDone(final List<Tasklet> tasklets) {
+    final long nowNanos = System.nanoTime();
+    for (final Tasklet tasklet : tasklets) {
+      turnaroundTimes.update(TimeUnit.NANOSECONDS.toMicros(nowNanos - tasklet.getLaunchTime()));
+    }
+  }
+
+  /**
+   * A worker has reported its timings.
+   */
+  void workerStatsReported(final String workerId, final WorkerStatsReport workerStatsReport) {
+    workerQueueTimes.add(workerStatsReport.getQueueTimeBins());
+    executionTimes.add(workerStatsReport.getExecutionTimeBins());
+    workerUtilization.put(workerId, workerStatsReport.getUtilization());
+  }
+
+  void workerRemoved(final String workerId) {
+    workerUtilization.remove(workerId);
+  }
+
+  /**
+   * @return a snapshot of the metrics.
+   */
+  VortexMetrics getMetrics() {
+    return new VortexMetrics(pendingTimes.copy(), turnaroundTimes.copy(), workerQueueTimes.copy(),
+        executionTimes.copy(), workerUtilization);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.io.JsonEncoder;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.InjectionFuture;
+import org.apache.reef.vortex.api.VortexMetrics;
+import org.apache.reef.vortex.common.LatencyHistogram;
+import org.apache.reef.vortex.driver.avro.AvroLatencyHistogram;
+import org.apache.reef.vortex.driver.avro.AvroVortexMetrics;
+import org.apache.reef.webserver.HttpHandler;
+import org.apache.reef.webserver.HttpHandlerConfiguration;
+import org.apache.reef.webserver.ParsedHttpRequest;
+
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the {@link VortexMetrics} of the job as JSON at http://{address}:{port}/Vortex/v1/metrics.
+ * Each histogram lists the upper bounds in microseconds of its non-empty bins with their counts.
+ * The handler is only loaded if enabled by {@link VortexJobConf.Builder#setMetricsHttpHandler(boolean)},
+ * such that reef-webserver is an optional dependency of Vortex.
+ */
+@Unstable
+@DriverSide
+public final class VortexMetricsHttpHandler implements HttpHandler {
+  private final InjectionFuture<VortexMaster> vortexMaster;
+
+  private String uriSpecification = "Vortex";
+
+  @Inject
+  private VortexMetricsHttpHandler(final InjectionFuture<VortexMaster> vortexMaster) {
+    this.vortexMaster = vortexMaster;
+  }
+
+  /**
+   * @return the configuration of the HTTP server of the Driver with this handler.
+   */
+  static Configuration getConfiguration() {
+    return HttpHandlerConfiguration.CONF
+        .set(HttpHandlerConfiguration.HTTP_HANDLERS, VortexMetricsHttpHandler.class)
+        .build();
+  }
+
+  @Override
+  public String getUriSpecification() {
+    return uriSpecification;
+  }
+
+  @Override
+  public void setUriSpecification(final String s) {
+    uriSpecification = s;
+  }
+
+  @Override
+  public void onHttpRequest(final ParsedHttpRequest request, final HttpServletResponse response)
+      throws IOException, ServletException {
+    if (!"metrics".equals(request.getTargetEntity().toLowerCase())) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND, "Unsupported operation");
+      return;
+    }
+    response.setContentType("application/json");
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.getWriter().println(toJson(vortexMaster.get().getMetrics()));
+  }
+
+  static String toJson(final VortexMetrics metrics) {
+    final AvroVortexMetrics avroMetrics = AvroVortexMetrics.newBuilder()
+        .setPendingTime(toAvro(metrics.getPendingTime()))
+        .setTurnaroundTime(toAvro(metrics.getTurnaroundTime()))
+        .setWorkerQueueTime(toAvro(metrics.getWorkerQueueTime()))
+        .setExecutionTime(toAvro(metrics.getExecutionTime()))
+        .setWorkerUtilization(new HashMap<CharSequence, Double>(metrics.getWorkerUtilization()))
+        .build();
+
+    final DatumWriter<AvroVortexMetrics> metricsWriter = new SpecificDatumWriter<>(AvroVortexMetrics.class);
+    try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      final JsonEncoder encoder = EncoderFactory.get().jsonEncoder(avroMetrics.getSchema(), out);
+      metricsWriter.write(avroMetrics, encoder);
+      encoder.flush();
+      return out.toString(StandardCharsets.UTF_8.name());
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static AvroLatencyHistogram toAvro(final LatencyHistogram histogram) {
+    final Map<CharSequence, Long> bins = new HashMap<>();
+    for (int i = 0; i < histogram.getNumBins(); i++) {
+      final long value = histogram.getValue(i);
+      if (value > 0) {
+        bins.put(String.valueOf(LatencyHistogram.getBinUpperBoundMicros(i)), value);
+      }
+    }
+    return AvroLatencyHistogram.newBuilder()
+        .setCount(histogram.getCount())
+        .setP50(histogram.getPercentileMicros(0.5))
+        .setP90(histogram.getPercentileMicros(0.9))
+        .setP99(histogram.getPercentileMicros(0.99))
+        .setBins(bins)
+        .build();
+  }
+}
@@ -21,18 +21,27 @@ package org.apache.reef.vortex.driver;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.vortex.common.KryoUtils;
-import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
 
 import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * Takes the serialization work from the scheduler thread.
+ * The requests to the same worker are sent one at a time, in the order in which they are given,
+ * while the requests to different workers are sent in parallel.
+ * The task of a worker is closed in the same order, so no request is sent to a closed task.
  */
 @DriverSide
 class VortexRequestor {
   private final ExecutorService executorService = Executors.newCachedThreadPool();
+  private final ConcurrentMap<String, SerialExecutor> workerExecutors = new ConcurrentHashMap<>();
   private final KryoUtils kryoUtils;
 
   @Inject
@@ -41,22 +50,93 @@ class VortexRequestor {
   }
 
   /**
-   * Sends a {@link MasterToWorkerRequest} asynchronously to a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
+   * Sends {@link MasterToWorkerRequests} asynchronously to a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
    */
-  void sendAsync(final RunningTask reefTask, final MasterToWorkerRequest masterToWorkerRequest) {
-    executorService.execute(new Runnable() {
+  void sendAsync(final RunningTask reefTask, final MasterToWorkerRequests masterToWorkerRequests) {
+    getWorkerExecutor(reefTask).execute(new Runnable() {
       @Override
       public void run() {
-        //  Possible race condition with VortexWorkerManager#terminate is addressed by the global lock in VortexMaster
-        send(reefTask, masterToWorkerRequest);
+        reefTask.send(kryoUtils.serialize(masterToWorkerRequests));
       }
     });
   }
 
   /**
-   * Sends a {@link MasterToWorkerRequest} synchronously to a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
+   * Closes the task of a {@link org.apache.reef.vortex.evaluator.VortexWorker}
+   * once the requests given before have been sent. The requests given afterwards are dropped.
    */
-  void send(final RunningTask reefTask, final MasterToWorkerRequest masterToWorkerRequest) {
-    reefTask.send(kryoUtils.serialize(masterToWorkerRequest));
+  void close(final RunningTask reefTask) {
+    getWorkerExecutor(reefTask).executeLast(new Runnable() {
+      @Override
+      public void run() {
+        reefTask.close();
+      }
+    });
+  }
+
+  /**
+   * Forgets the send queue of a worker that has been removed. The requests already queued are still sent.
+   */
+  void release(final RunningTask reefTask) {
+    workerExecutors.remove(reefTask.getId());
+  }
+
+  private SerialExecutor getWorkerExecutor(final RunningTask reefTask) {
+    final SerialExecutor executor = workerExecutors.get(reefTask.getId());
+    if (executor != null) {
+      return executor;
+    }
+    final SerialExecutor newExecutor = new SerialExecutor(executorService);
+    final SerialExecutor prevExecutor = workerExecutors.putIfAbsent(reefTask.getId(), newExecutor);
+    return prevExecutor == null ? newExecutor : prevExecutor;
+  }
+
+  /**
+   * Runs the given tasks one at a time in their submission order, on the threads of a shared executor.
+   */
+  private static final class SerialExecutor implements Executor {
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor;
+    private Runnable active = null;
+    private boolean closed = false;
+
+    SerialExecutor(final Executor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public synchronized void execute(final Runnable task) {
+      if (closed) {
+        return;
+      }
+      tasks.add(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            task.run();
+          } finally {
+            scheduleNext();
+          }
+        }
+      });
+      if (active == null) {
+        scheduleNext();
+      }
+    }
+
+    /**
+     * Runs the given task after the tasks given before, and drops the tasks given afterwards.
+     */
+    synchronized void executeLast(final Runnable task) {
+      execute(task);
+      closed = true;
+    }
+
+    private synchronized void scheduleNext() {
+      active = tasks.poll();
+      if (active != null) {
+        executor.execute(active);
+      }
+    }
   }
 }
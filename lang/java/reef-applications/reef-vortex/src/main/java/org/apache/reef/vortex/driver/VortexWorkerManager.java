@@ -18,55 +18,109 @@
  */
 package org.apache.reef.vortex.driver;
 
-import net.jcip.annotations.NotThreadSafe;
+import net.jcip.annotations.ThreadSafe;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.vortex.api.VortexAggregateFunction;
 import org.apache.reef.vortex.api.VortexAggregatePolicy;
 import org.apache.reef.vortex.api.VortexFunction;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletAggregateExecutionRequest;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletAggregationRequest;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletCancellationRequest;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletExecutionRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletStealRequest;
 
 import java.util.*;
 
 /**
  * Representation of a VortexWorkerManager in Driver.
+ * Tasklet launches are buffered and sent to the worker in batches, when {@link #flush()} is called.
+ * The state of each worker is guarded by its own monitor, so that workers do not contend with each other.
  */
-@NotThreadSafe
+@ThreadSafe
 @DriverSide
 class VortexWorkerManager {
+  /**
+   * The maximum number of user functions cached on a worker.
+   */
+  static final int MAX_CACHED_FUNCTIONS = 64;
+
   private final VortexRequestor vortexRequestor;
   private final RunningTask reefTask;
   private final HashMap<Integer, Tasklet> runningTasklets = new HashMap<>();
+  private List<MasterToWorkerRequest> pendingRequests = new ArrayList<>();
+
+  // IDs of the user functions that are cached on the worker, assigned when a function is first sent.
+  // When the cache is full, the ID of the least recently used function is given to the new function,
+  // whose request overwrites the evicted function on the worker, so the worker cache is bounded as well.
+  private final Map<VortexFunction, Integer> cachedFunctionIds = new IdentityHashMap<>();
+  private final LinkedHashMap<Integer, VortexFunction> cachedFunctionsById = new LinkedHashMap<>(16, 0.75f, true);
+  private final int maxCachedFunctions;
+
+  // Tasklets the scheduler is about to launch on the worker, and those among them to cancel upon launch
+  private final Set<Integer> taskletsToLaunch = new HashSet<>();
+  private final Set<Integer> taskletsToCancelOnLaunch = new HashSet<>();
+  private boolean removed = false;
+  private boolean stealRequested = false;
 
   VortexWorkerManager(final VortexRequestor vortexRequestor, final RunningTask reefTask) {
+    this(vortexRequestor, reefTask, MAX_CACHED_FUNCTIONS);
+  }
+
+  VortexWorkerManager(final VortexRequestor vortexRequestor, final RunningTask reefTask,
+                      final int maxCachedFunctions) {
     this.vortexRequestor = vortexRequestor;
     this.reefTask = reefTask;
+    this.maxCachedFunctions = maxCachedFunctions;
   }
 
   /**
    * Sends an {@link VortexAggregateFunction} and its {@link VortexFunction} to a
    * {@link org.apache.reef.vortex.evaluator.VortexWorker}.
    */
-  <TInput, TOutput> void sendAggregateFunction(final int aggregateFunctionId,
-                                               final VortexAggregateFunction<TOutput> aggregateFunction,
-                                               final VortexFunction<TInput, TOutput> function,
-                                               final VortexAggregatePolicy policy) {
+  synchronized <TInput, TOutput> void sendAggregateFunction(final int aggregateFunctionId,
+                                                            final VortexAggregateFunction<TOutput> aggregateFunction,
+                                                            final VortexFunction<TInput, TOutput> function,
+                                                            final VortexAggregatePolicy policy) {
     final TaskletAggregationRequest<TInput, TOutput> taskletAggregationRequest =
         new TaskletAggregationRequest<>(aggregateFunctionId, aggregateFunction, function, policy);
 
-    // The send is synchronous such that we make sure that the aggregate function is sent to the
-    // target worker before attempting to launch an aggregateable tasklet on it.
-    vortexRequestor.send(reefTask, taskletAggregationRequest);
+    // Buffered ahead of the launches of aggregateable tasklets, which reach the worker after it in the same batch
+    // or in a later one, since the batches to a worker are sent in order.
+    pendingRequests.add(taskletAggregationRequest);
+  }
+
+
+  /**
+   * Announces that a Tasklet is about to be launched on the worker, such that its cancellation before
+   * {@link #launchTasklet(Tasklet)} is sent right after the launch.
+   * Must be followed by launchTasklet or {@link #launchAborted(int)}.
+   */
+  synchronized void launchAnnounced(final int taskletId) {
+    if (!removed) {
+      taskletsToLaunch.add(taskletId);
+    }
   }
 
+  /**
+   * Withdraws the announcement of a Tasklet launch, see {@link #launchAnnounced(int)}.
+   */
+  synchronized void launchAborted(final int taskletId) {
+    taskletsToLaunch.remove(taskletId);
+    taskletsToCancelOnLaunch.remove(taskletId);
+  }
 
   /**
-   * Sends a request to launch a Tasklet on a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
+   * Buffers a request to launch a Tasklet on a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
+   * @return false if the worker has been removed, in which case the Tasklet is not launched
    */
-  <TInput, TOutput> void launchTasklet(final Tasklet<TInput, TOutput> tasklet) {
+  synchronized <TInput, TOutput> boolean launchTasklet(final Tasklet<TInput, TOutput> tasklet) {
+    taskletsToLaunch.remove(tasklet.getId());
+    if (removed) {
+      return false;
+    }
     assert !runningTasklets.containsKey(tasklet.getId());
     runningTasklets.put(tasklet.getId(), tasklet);
 
@@ -75,24 +129,166 @@ class VortexWorkerManager {
       final TaskletAggregateExecutionRequest<TInput> taskletAggregateExecutionRequest =
           new TaskletAggregateExecutionRequest<>(tasklet.getId(), tasklet.getAggregateFunctionId().get(),
               tasklet.getInput());
-      vortexRequestor.sendAsync(reefTask, taskletAggregateExecutionRequest);
+      pendingRequests.add(taskletAggregateExecutionRequest);
     } else {
       // function is not aggregateable.
-      final TaskletExecutionRequest<TInput, TOutput> taskletExecutionRequest
-          = new TaskletExecutionRequest<>(tasklet.getId(), tasklet.getUserFunction(), tasklet.getInput());
-      vortexRequestor.sendAsync(reefTask, taskletExecutionRequest);
+      final VortexFunction<TInput, TOutput> userFunction = tasklet.getUserFunction();
+      final Integer cachedFunctionId = cachedFunctionIds.get(userFunction);
+      final TaskletExecutionRequest<TInput, TOutput> taskletExecutionRequest;
+      if (cachedFunctionId == null) {
+        final int functionId = cacheFunction(userFunction);
+        taskletExecutionRequest =
+            new TaskletExecutionRequest<>(tasklet.getId(), functionId, userFunction, tasklet.getInput());
+      } else {
+        cachedFunctionsById.get(cachedFunctionId); // marks the function as recently used
+        taskletExecutionRequest =
+            new TaskletExecutionRequest<>(tasklet.getId(), cachedFunctionId, null, tasklet.getInput());
+      }
+      pendingRequests.add(taskletExecutionRequest);
+    }
+
+    if (taskletsToCancelOnLaunch.remove(tasklet.getId())) {
+      cancelTasklet(tasklet.getId());
     }
+    return true;
   }
 
   /**
-   * Sends a request to cancel a Tasklet on a {@link org.apache.reef.vortex.evaluator.VortexWorker}.
+   * Assigns an ID to a function that is not cached on the worker,
+   * reusing the ID of the least recently used function if the cache is full.
    */
-  void cancelTasklet(final int taskletId) {
+  private int cacheFunction(final VortexFunction function) {
+    final int functionId;
+    if (cachedFunctionsById.size() < maxCachedFunctions) {
+      functionId = cachedFunctionsById.size();
+    } else {
+      final Map.Entry<Integer, VortexFunction> eldest = cachedFunctionsById.entrySet().iterator().next();
+      functionId = eldest.getKey();
+      cachedFunctionIds.remove(eldest.getValue());
+      cachedFunctionsById.remove(functionId);
+    }
+    cachedFunctionIds.put(function, functionId);
+    cachedFunctionsById.put(functionId, function);
+    return functionId;
+  }
+
+  /**
+   * Sends a request to cancel a Tasklet on a {@link org.apache.reef.vortex.evaluator.VortexWorker},
+   * together with the buffered launches, so that it reaches the worker after the launch of the Tasklet.
+   * If the Tasklet is about to be launched, the request is sent right after its launch.
+   * Otherwise a Tasklet that is not running on the worker (e.g. done or given back) is left alone.
+   */
+  synchronized void cancelTasklet(final int taskletId) {
+    if (!runningTasklets.containsKey(taskletId)) {
+      if (taskletsToLaunch.contains(taskletId)) {
+        taskletsToCancelOnLaunch.add(taskletId);
+      }
+      return;
+    }
     final TaskletCancellationRequest cancellationRequest = new TaskletCancellationRequest(taskletId);
-    vortexRequestor.sendAsync(reefTask, cancellationRequest);
+    pendingRequests.add(cancellationRequest);
+    flush();
+  }
+
+  /**
+   * Asks the worker to give back up to numTasklets Tasklets that it has not started yet.
+   * Only one such request is outstanding at a time.
+   * @return false if a request is already outstanding or the worker has been removed
+   */
+  synchronized boolean stealTasklets(final int numTasklets) {
+    if (removed || stealRequested) {
+      return false;
+    }
+    stealRequested = true;
+    pendingRequests.add(new TaskletStealRequest(numTasklets));
+    flush();
+    return true;
+  }
+
+  /**
+   * @return the Tasklets that the worker gave back, empty if the worker has been removed
+   */
+  synchronized List<Tasklet> taskletsStolen(final List<Integer> taskletIds) {
+    stealRequested = false;
+    if (removed) {
+      // The Tasklets have been handed back to be rescheduled.
+      return Collections.emptyList();
+    }
+    final List<Tasklet> taskletList = new ArrayList<>(taskletIds.size());
+    for (final int taskletId : taskletIds) {
+      final Tasklet tasklet = runningTasklets.remove(taskletId);
+      if (tasklet != null) {
+        taskletList.add(tasklet);
+      }
+    }
+    return taskletList;
+  }
+
+  /**
+   * Takes back a running Tasklet whose result is no longer needed (e.g. its duplicate has completed),
+   * and asks the worker to cancel it. A later report of the worker on the Tasklet is ignored.
+   * @return the Tasklet, null if it is not running on the worker
+   */
+  synchronized Tasklet withdrawTasklet(final int taskletId) {
+    if (removed) {
+      return null;
+    }
+    final Tasklet tasklet = runningTasklets.remove(taskletId);
+    if (tasklet != null) {
+      pendingRequests.add(new TaskletCancellationRequest(taskletId));
+      flush();
+    }
+    return tasklet;
+  }
+
+  /**
+   * @return true if the function is cached on the worker, such that a Tasklet of it is sent without it
+   */
+  synchronized boolean isFunctionCached(final VortexFunction function) {
+    return cachedFunctionIds.containsKey(function);
+  }
+
+  /**
+   * @return the Tasklet if it is running on the worker, null otherwise
+   */
+  synchronized Tasklet getRunningTasklet(final int taskletId) {
+    return removed ? null : runningTasklets.get(taskletId);
+  }
+
+  /**
+   * @return the number of Tasklets launched on the worker and not done yet.
+   */
+  synchronized int getNumRunningTasklets() {
+    return runningTasklets.size();
+  }
+
+  /**
+   * Sends the buffered requests to the {@link org.apache.reef.vortex.evaluator.VortexWorker} as one batch.
+   * The batches to a worker are sent in order, so a function reaches the worker
+   * before any later request that refers to it by its ID only.
+   */
+  synchronized void flush() {
+    if (!removed && !pendingRequests.isEmpty()) {
+      vortexRequestor.sendAsync(reefTask, new MasterToWorkerRequests(pendingRequests));
+      pendingRequests = new ArrayList<>();
+    }
+  }
+
+  /**
+   * @return the number of requests that are buffered and not sent yet.
+   */
+  synchronized int getNumPendingRequests() {
+    return pendingRequests.size();
   }
 
-  List<Tasklet> taskletsDone(final List<Integer> taskletIds) {
+  /**
+   * @return the Tasklets that are done, empty if the worker has been removed
+   */
+  synchronized List<Tasklet> taskletsDone(final List<Integer> taskletIds) {
+    if (removed) {
+      // The Tasklets have been handed back to be rescheduled.
+      return Collections.emptyList();
+    }
     final List<Tasklet> taskletList = new ArrayList<>();
     for (final int taskletId : taskletIds) {
       taskletList.add(runningTasklets.remove(taskletId));
@@ -101,12 +297,27 @@ class VortexWorkerManager {
     return Collections.unmodifiableList(taskletList);
   }
 
-  Collection<Tasklet> removed() {
-    return runningTasklets.isEmpty() ? null : runningTasklets.values();
+  /**
+   * Marks the worker as removed. Further launches are refused.
+   * @return the Tasklets that were running on the worker, null if there were none
+   */
+  synchronized Collection<Tasklet> removed() {
+    removed = true;
+    pendingRequests.clear();
+    taskletsToLaunch.clear();
+    taskletsToCancelOnLaunch.clear();
+    // The functions cached on the worker are gone with it.
+    cachedFunctionIds.clear();
+    cachedFunctionsById.clear();
+    vortexRequestor.release(reefTask);
+    return runningTasklets.isEmpty() ? null : new ArrayList<>(runningTasklets.values());
   }
 
+  /**
+   * Closes the task of the worker, after the requests that have been sent to it.
+   */
   void terminate() {
-    reefTask.close();
+    vortexRequestor.close(reefTask);
   }
 
   String getId() {
@@ -124,7 +335,7 @@ class VortexWorkerManager {
   /**
    * For unit tests only.
    */
-  boolean containsTasklet(final Integer taskletId) {
+  synchronized boolean containsTasklet(final Integer taskletId) {
     return runningTasklets.containsKey(taskletId);
   }
 }
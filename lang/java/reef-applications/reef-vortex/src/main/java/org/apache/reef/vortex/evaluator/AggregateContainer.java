@@ -23,17 +23,11 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.reef.annotations.Unstable;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Private;
-import org.apache.reef.task.HeartBeatTriggerManager;
-import org.apache.reef.vortex.common.KryoUtils;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletAggregationRequest;
 import org.apache.reef.vortex.protocol.workertomaster.*;
 
 import javax.annotation.concurrent.GuardedBy;
 import java.util.*;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A container for tasklet aggregation, used to preserve output from individual
@@ -47,10 +41,7 @@ final class AggregateContainer {
 
   private final Object stateLock = new Object();
   private final TaskletAggregationRequest taskletAggregationRequest;
-  private final HeartBeatTriggerManager heartBeatTriggerManager;
-  private final KryoUtils kryoUtils;
-  private final BlockingDeque<byte[]> workerReportsQueue;
-  private final ScheduledExecutorService timer = Executors.newScheduledThreadPool(1);
+  private final AggregateTimer timer;
 
   @GuardedBy("stateLock")
   private final HashMap<Integer, Integer> pendingTasklets = new HashMap<>();
@@ -61,13 +52,9 @@ final class AggregateContainer {
   @GuardedBy("stateLock")
   private final List<Pair<Integer, Exception>> failedTasklets = new ArrayList<>();
 
-  AggregateContainer(final HeartBeatTriggerManager heartBeatTriggerManager,
-                     final KryoUtils kryoUtils,
-                     final BlockingDeque<byte[]> workerReportsQueue,
+  AggregateContainer(final AggregateTimer timer,
                      final TaskletAggregationRequest taskletAggregationRequest) {
-    this.heartBeatTriggerManager = heartBeatTriggerManager;
-    this.kryoUtils = kryoUtils;
-    this.workerReportsQueue = workerReportsQueue;
+    this.timer = timer;
     this.taskletAggregationRequest = taskletAggregationRequest;
   }
 
@@ -98,11 +85,11 @@ final class AggregateContainer {
   }
 
   /**
-   * Performs the output aggregation and generates the {@link WorkerToMasterReports} to report back to the
+   * Performs the output aggregation and adds the {@link WorkerToMasterReport}s to report back to the
    * {@link org.apache.reef.vortex.driver.VortexDriver}.
    */
-  private void aggregateTasklets(final AggregateTriggerType type) {
-    final List<WorkerToMasterReport> workerToMasterReports = new ArrayList<>();
+  private void aggregateTasklets(final AggregateTriggerType type,
+                                 final List<WorkerToMasterReport> workerToMasterReports) {
     final List<Object> results = new ArrayList<>();
     final List<Integer> aggregatedTasklets = new ArrayList<>();
 
@@ -133,16 +120,32 @@ final class AggregateContainer {
         workerToMasterReports.add(new TaskletAggregationFailureReport(aggregatedTasklets, e));
       }
     }
+  }
 
-    // Add to worker report only if there is something to report back.
-    if (!workerToMasterReports.isEmpty()) {
-      workerReportsQueue.addLast(kryoUtils.serialize(new WorkerToMasterReports(workerToMasterReports)));
-      heartBeatTriggerManager.triggerHeartBeat();
+  /**
+   * Called by the {@link AggregateTimer} to aggregate on the period of the policy.
+   * The reports are added to the list, to be sent back together with those of other aggregations.
+   */
+  void alarm(final List<WorkerToMasterReport> workerToMasterReports) {
+    try {
+      aggregateTasklets(AggregateTriggerType.ALARM, workerToMasterReports);
+    } finally {
+      synchronized (stateLock) {
+        // On the callback, if there are tasklets pending to be executed, that means that this alarm
+        // was triggered by a previous alarm, so we should continue to trigger more alarms. Otherwise
+        // we are done with tasklets for this aggregation function for now.
+        // If more tasklets for this aggregation function arrive, it will be triggered by the
+        // call to timer.schedule in scheduleTasklet.
+        // This is done even if the aggregation failed, such that the pending tasklets are still aggregated.
+        if (outstandingTasklets()) {
+          timer.schedule(this, taskletAggregationRequest.getPolicy().getPeriodMilliseconds());
+        }
+      }
     }
   }
 
   /**
-   * Schedule aggregation tasks on a Timer. Creates a new timer schedule for triggering the aggregation function
+   * Schedule aggregation tasks on the Timer. Creates a new timer schedule for triggering the aggregation function
    * if this is the first time the aggregation function has tasklets scheduled on it.
    * Adds the Tasklet to pending Tasklets.
    */
@@ -151,23 +154,7 @@ final class AggregateContainer {
       // If there are tasklets are pending to be executed, then that means that a
       // timer has already been scheduled for an aggregation.
       if (!outstandingTasklets()) {
-        timer.schedule(new Runnable() {
-          @Override
-          public void run() {
-            aggregateTasklets(AggregateTriggerType.ALARM);
-            synchronized (stateLock) {
-              // On the callback, if there are tasklets pending to be executed, that means that this alarm
-              // was triggered by a previous alarm, so we should continue to trigger more alarms. Otherwise
-              // we are done with tasklets for this aggregation function for now.
-              // If more tasklets for this aggregation function arrive, it will be triggered by the outer
-              // call to timer.schedule.
-              if (outstandingTasklets()) {
-                timer.schedule(
-                    this, taskletAggregationRequest.getPolicy().getPeriodMilliseconds(), TimeUnit.MILLISECONDS);
-              }
-            }
-          }
-        }, taskletAggregationRequest.getPolicy().getPeriodMilliseconds(), TimeUnit.MILLISECONDS);
+        timer.schedule(this, taskletAggregationRequest.getPolicy().getPeriodMilliseconds());
       }
 
       // Add to pending tasklets, such that on the callback the timer can be refreshed.
@@ -191,7 +178,7 @@ final class AggregateContainer {
     }
 
     if (aggregateOnCount) {
-      aggregateTasklets(AggregateTriggerType.COUNT);
+      aggregateOnCountTrigger();
     }
   }
 
@@ -207,10 +194,19 @@ final class AggregateContainer {
     }
 
     if (aggregateOnCount) {
-      aggregateTasklets(AggregateTriggerType.COUNT);
+      aggregateOnCountTrigger();
     }
   }
 
+  /**
+   * Aggregates on the count trigger of the policy, and sends the reports back right away.
+   */
+  private void aggregateOnCountTrigger() {
+    final List<WorkerToMasterReport> workerToMasterReports = new ArrayList<>();
+    aggregateTasklets(AggregateTriggerType.COUNT, workerToMasterReports);
+    timer.sendReports(workerToMasterReports);
+  }
+
   @GuardedBy("stateLock")
   private void removePendingTaskletReferenceCount(final int taskletId) {
     pendingTasklets.put(taskletId, pendingTasklets.get(taskletId) - 1);
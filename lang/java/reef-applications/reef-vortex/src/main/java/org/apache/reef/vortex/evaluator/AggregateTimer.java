@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.evaluator;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.task.HeartBeatTriggerManager;
+import org.apache.reef.vortex.common.KryoUtils;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
+
+import javax.annotation.concurrent.GuardedBy;
+import java.util.*;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A timer shared by the {@link AggregateContainer}s of a worker, to trigger the periodic aggregations.
+ * Alarms are rounded up to a tick. The timer thread only fires the alarms of a tick, and hands their aggregations
+ * to the given executor, such that a slow aggregation does not delay the alarms of the other ticks.
+ * Once all aggregations of a tick are done, their reports are sent back in one {@link WorkerToMasterReports}
+ * with one heartbeat.
+ */
+@Private
+@TaskSide
+@Unstable
+final class AggregateTimer {
+  private static final Logger LOG = Logger.getLogger(AggregateTimer.class.getName());
+
+  /**
+   * The resolution of the timer, and the window in which alarms are coalesced.
+   */
+  static final long TICK_MILLISECONDS = 10;
+
+  private final HeartBeatTriggerManager heartBeatTriggerManager;
+  private final KryoUtils kryoUtils;
+  private final BlockingDeque<byte[]> workerReportsQueue;
+  private final Executor aggregateExecutor;
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, "VortexAggregateTimer");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  @GuardedBy("this")
+  private final Map<Long, List<AggregateContainer>> alarms = new HashMap<>();
+
+  /**
+   * @param aggregateExecutor to run the aggregations on, when their alarms fire.
+   */
+  AggregateTimer(final HeartBeatTriggerManager heartBeatTriggerManager,
+                 final KryoUtils kryoUtils,
+                 final BlockingDeque<byte[]> workerReportsQueue,
+                 final Executor aggregateExecutor) {
+    this.heartBeatTriggerManager = heartBeatTriggerManager;
+    this.kryoUtils = kryoUtils;
+    this.workerReportsQueue = workerReportsQueue;
+    this.aggregateExecutor = aggregateExecutor;
+  }
+
+  /**
+   * Schedules {@link AggregateContainer#alarm(List)} to be called on the container after the delay.
+   */
+  synchronized void schedule(final AggregateContainer aggregateContainer, final long delayMilliseconds) {
+    final long now = System.currentTimeMillis();
+    final long tick = (now + delayMilliseconds + TICK_MILLISECONDS - 1) / TICK_MILLISECONDS;
+
+    List<AggregateContainer> containers = alarms.get(tick);
+    if (containers == null) {
+      containers = new ArrayList<>();
+      alarms.put(tick, containers);
+      timer.schedule(new Runnable() {
+        @Override
+        public void run() {
+          fire(tick);
+        }
+      }, tick * TICK_MILLISECONDS - now, TimeUnit.MILLISECONDS);
+    }
+    containers.add(aggregateContainer);
+  }
+
+  /**
+   * Fires the alarms of a tick by handing them to the aggregate executor.
+   * The last alarm of the tick to finish sends the reports of all of them back together.
+   */
+  private void fire(final long tick) {
+    final List<AggregateContainer> containers;
+    synchronized (this) {
+      containers = alarms.remove(tick);
+    }
+
+    final List<WorkerToMasterReport> workerToMasterReports =
+        Collections.synchronizedList(new ArrayList<WorkerToMasterReport>());
+    final AtomicInteger numOfRunningAlarms = new AtomicInteger(containers.size());
+    for (final AggregateContainer aggregateContainer : containers) {
+      aggregateExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          // A failing container must not keep the reports of the other containers of the tick from being sent.
+          try {
+            aggregateContainer.alarm(workerToMasterReports);
+          } catch (final RuntimeException e) {
+            LOG.log(Level.SEVERE, "Alarm failed for aggregate function "
+                + aggregateContainer.getTaskletAggregationRequest().getAggregateFunctionId(), e);
+          } finally {
+            if (numOfRunningAlarms.decrementAndGet() == 0) {
+              sendReports(new ArrayList<>(workerToMasterReports));
+            }
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Sends the reports back to the {@link org.apache.reef.vortex.driver.VortexDriver}, if there are any.
+   */
+  void sendReports(final List<WorkerToMasterReport> workerToMasterReports) {
+    if (!workerToMasterReports.isEmpty()) {
+      workerReportsQueue.addLast(kryoUtils.serialize(new WorkerToMasterReports(workerToMasterReports)));
+      heartBeatTriggerManager.triggerHeartBeat();
+    }
+  }
+
+  /**
+   * Stops the timer. Alarms that have not fired are dropped.
+   */
+  void close() {
+    timer.shutdownNow();
+  }
+}
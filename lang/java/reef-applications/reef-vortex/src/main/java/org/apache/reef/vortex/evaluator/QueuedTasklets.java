@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.evaluator;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.annotations.audience.TaskSide;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The IDs of the Tasklets that are submitted to the executor but have not started, in submission order.
+ * A Tasklet is removed by its ID without scanning the queue, and exactly one of the concurrent removals
+ * of a Tasklet (start, cancellation or steal) succeeds.
+ */
+@Private
+@TaskSide
+@Unstable
+@ThreadSafe
+final class QueuedTasklets {
+  private final AtomicLong nextSequence = new AtomicLong(0);
+  private final ConcurrentNavigableMap<Long, Integer> sequenceToTaskletId = new ConcurrentSkipListMap<>();
+  private final ConcurrentMap<Integer, Long> taskletIdToSequence = new ConcurrentHashMap<>();
+
+  /**
+   * Adds a Tasklet at the tail of the queue.
+   */
+  void addLast(final int taskletId) {
+    final long sequence = nextSequence.getAndIncrement();
+    taskletIdToSequence.put(taskletId, sequence);
+    sequenceToTaskletId.put(sequence, taskletId);
+  }
+
+  /**
+   * Removes a Tasklet from the queue.
+   * @return true if the Tasklet was queued, false if it has been removed before
+   */
+  boolean remove(final int taskletId) {
+    final Long sequence = taskletIdToSequence.remove(taskletId);
+    if (sequence == null) {
+      return false;
+    }
+    sequenceToTaskletId.remove(sequence);
+    return true;
+  }
+
+  /**
+   * Removes the most recently queued Tasklet.
+   * @return the ID of the Tasklet, null if the queue is empty
+   */
+  Integer pollLast() {
+    while (true) {
+      final Map.Entry<Long, Integer> last = sequenceToTaskletId.pollLastEntry();
+      if (last == null) {
+        return null;
+      }
+      // The Tasklet may be removed concurrently, in which case the next one is tried.
+      if (taskletIdToSequence.remove(last.getValue(), last.getKey())) {
+        return last.getValue();
+      }
+    }
+  }
+}
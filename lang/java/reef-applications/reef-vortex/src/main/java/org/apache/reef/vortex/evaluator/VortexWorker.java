@@ -29,6 +29,7 @@ import org.apache.reef.task.TaskMessageSource;
 import org.apache.reef.task.events.CloseEvent;
 import org.apache.reef.task.events.DriverMessage;
 import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.api.VortexFunction;
 import org.apache.reef.vortex.common.KryoUtils;
 import org.apache.reef.vortex.protocol.mastertoworker.*;
 import org.apache.reef.vortex.protocol.workertomaster.*;
@@ -37,7 +38,10 @@ import org.apache.reef.wake.EventHandler;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -56,9 +60,14 @@ public final class VortexWorker implements Task, TaskMessageSource {
   private final BlockingDeque<byte[]> pendingRequests = new LinkedBlockingDeque<>();
   private final BlockingDeque<byte[]> workerReports = new LinkedBlockingDeque<>();
   private final ConcurrentMap<Integer, AggregateContainer> aggregates = new ConcurrentHashMap<>();
+  // Accessed by the scheduler thread. Bounded by the master, which reuses the IDs of the functions it evicts.
+  private final Map<Integer, VortexFunction> cachedFunctions = new HashMap<>();
+  // Tasklets that are submitted to the executor but have not started, in submission order
+  private final QueuedTasklets queuedTasklets = new QueuedTasklets();
 
   private final KryoUtils kryoUtils;
   private final HeartBeatTriggerManager heartBeatTriggerManager;
+  private final WorkerStats workerStats;
   private final int numOfThreads;
   private final CountDownLatch terminated = new CountDownLatch(1);
 
@@ -69,6 +78,7 @@ public final class VortexWorker implements Task, TaskMessageSource {
     this.heartBeatTriggerManager = heartBeatTriggerManager;
     this.kryoUtils = kryoUtils;
     this.numOfThreads = numOfThreads;
+    this.workerStats = new WorkerStats(numOfThreads);
   }
 
   /**
@@ -78,6 +88,9 @@ public final class VortexWorker implements Task, TaskMessageSource {
   public byte[] call(final byte[] memento) throws Exception {
     final ExecutorService schedulerThread = Executors.newSingleThreadExecutor();
     final ExecutorService commandExecutor = Executors.newFixedThreadPool(numOfThreads);
+    // The aggregations run on the command executor, so that the timer thread only fires the alarms.
+    final AggregateTimer aggregateTimer =
+        new AggregateTimer(heartBeatTriggerManager, kryoUtils, workerReports, commandExecutor);
     final ConcurrentMap<Integer, Future> futures = new ConcurrentHashMap<>();
 
     // Scheduling thread starts
@@ -94,39 +107,43 @@ public final class VortexWorker implements Task, TaskMessageSource {
             throw new RuntimeException(e);
           }
 
-          // Command Executor: Deserialize the command
-          final MasterToWorkerRequest masterToWorkerRequest = (MasterToWorkerRequest)kryoUtils.deserialize(message);
-
-          switch (masterToWorkerRequest.getType()) {
-            case AggregateTasklets:
-              final TaskletAggregationRequest taskletAggregationRequest =
-                  (TaskletAggregationRequest) masterToWorkerRequest;
-              aggregates.put(taskletAggregationRequest.getAggregateFunctionId(),
-                  new AggregateContainer(heartBeatTriggerManager, kryoUtils, workerReports,
-                      taskletAggregationRequest));
-              break;
-            case ExecuteAggregateTasklet:
-              executeAggregateTasklet(commandExecutor, masterToWorkerRequest);
-              break;
-            case ExecuteTasklet:
-              executeTasklet(commandExecutor, futures, masterToWorkerRequest);
-              break;
-            case CancelTasklet:
-              final TaskletCancellationRequest cancellationRequest = (TaskletCancellationRequest) masterToWorkerRequest;
-              LOG.log(Level.FINE, "Cancelling Tasklet with ID {0}.", cancellationRequest.getTaskletId());
-              final Future future = futures.get(cancellationRequest.getTaskletId());
-              if (future != null) {
-                future.cancel(true);
-              }
-              break;
-            default:
-              throw new RuntimeException("Unknown Command");
+          // Command Executor: Deserialize the batch of commands
+          final MasterToWorkerRequests masterToWorkerRequests =
+              (MasterToWorkerRequests)kryoUtils.deserialize(message);
+
+          for (final MasterToWorkerRequest masterToWorkerRequest : masterToWorkerRequests.getRequests()) {
+            switch (masterToWorkerRequest.getType()) {
+              case AggregateTasklets:
+                final TaskletAggregationRequest taskletAggregationRequest =
+                    (TaskletAggregationRequest) masterToWorkerRequest;
+                aggregates.put(taskletAggregationRequest.getAggregateFunctionId(),
+                    new AggregateContainer(aggregateTimer, taskletAggregationRequest));
+                break;
+              case ExecuteAggregateTasklet:
+                executeAggregateTasklet(commandExecutor, masterToWorkerRequest);
+                break;
+              case ExecuteTasklet:
+                executeTasklet(commandExecutor, futures, masterToWorkerRequest);
+                break;
+              case CancelTasklet:
+                final TaskletCancellationRequest cancellationRequest =
+                    (TaskletCancellationRequest) masterToWorkerRequest;
+                LOG.log(Level.FINE, "Cancelling Tasklet with ID {0}.", cancellationRequest.getTaskletId());
+                cancelTasklet(futures, cancellationRequest.getTaskletId());
+                break;
+              case StealTasklets:
+                stealTasklets(futures, (TaskletStealRequest) masterToWorkerRequest);
+                break;
+              default:
+                throw new RuntimeException("Unknown Command");
+            }
           }
         }
       }
     });
 
     terminated.await();
+    aggregateTimer.close();
     return null;
   }
 
@@ -136,23 +153,45 @@ public final class VortexWorker implements Task, TaskMessageSource {
   private void executeTasklet(final ExecutorService commandExecutor,
                               final ConcurrentMap<Integer, Future> futures,
                               final MasterToWorkerRequest masterToWorkerRequest) {
+    final long receivedNanos = System.nanoTime();
     final CountDownLatch latch = new CountDownLatch(1);
     final TaskletExecutionRequest taskletExecutionRequest = (TaskletExecutionRequest) masterToWorkerRequest;
 
+    // Scheduler Thread: Cache the function shipped with the request, or look up the cached one
+    final VortexFunction userFunction;
+    if (taskletExecutionRequest.getFunction() != null) {
+      userFunction = taskletExecutionRequest.getFunction();
+      cachedFunctions.put(taskletExecutionRequest.getFunctionId(), userFunction);
+    } else {
+      userFunction = cachedFunctions.get(taskletExecutionRequest.getFunctionId());
+    }
+
     // Scheduler Thread: Pass the command to the worker thread pool to be executed
     // Record future to support cancellation.
+    queuedTasklets.addLast(taskletExecutionRequest.getTaskletId());
     futures.put(
         taskletExecutionRequest.getTaskletId(),
         commandExecutor.submit(new Runnable() {
           @Override
           public void run() {
+            if (!queuedTasklets.remove(taskletExecutionRequest.getTaskletId())) {
+              // The Tasklet has been given back to the master.
+              return;
+            }
+
             final WorkerToMasterReports reports;
             final List<WorkerToMasterReport> holder = new ArrayList<>();
+            final long startNanos = workerStats.taskletStarted(receivedNanos);
 
             try {
+              if (userFunction == null) {
+                throw new IllegalStateException("Function " + taskletExecutionRequest.getFunctionId() +
+                    " is not cached on this worker");
+              }
+
               // Command Executor: Execute the command
-              final WorkerToMasterReport workerToMasterReport =
-                  new TaskletResultReport(taskletExecutionRequest.getTaskletId(), taskletExecutionRequest.execute());
+              final WorkerToMasterReport workerToMasterReport = new TaskletResultReport(
+                  taskletExecutionRequest.getTaskletId(), userFunction.call(taskletExecutionRequest.getInput()));
               holder.add(workerToMasterReport);
             } catch (final InterruptedException ex) {
               // Assumes that user's thread follows convention that cancelled Futures
@@ -167,6 +206,8 @@ public final class VortexWorker implements Task, TaskMessageSource {
                   new TaskletFailureReport(taskletExecutionRequest.getTaskletId(), e);
               holder.add(workerToMasterReport);
             }
+            workerStats.taskletFinished(startNanos);
+            addStatsReportIfDue(holder);
 
             reports = new WorkerToMasterReports(holder);
             workerReports.addLast(kryoUtils.serialize(reports));
@@ -185,6 +226,59 @@ public final class VortexWorker implements Task, TaskMessageSource {
     latch.countDown();
   }
 
+  /**
+   * Cancels a Tasklet. A Tasklet that has not started is reported as cancelled right away,
+   * a running one is interrupted and reports its cancellation itself.
+   */
+  private void cancelTasklet(final ConcurrentMap<Integer, Future> futures, final int taskletId) {
+    if (queuedTasklets.remove(taskletId)) {
+      futures.remove(taskletId).cancel(false);
+      sendReport(new TaskletCancelledReport(taskletId));
+    } else {
+      final Future future = futures.get(taskletId);
+      if (future != null) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * Gives Tasklets that have not started back to the master, the most recently queued ones first.
+   * Always reports, possibly an empty list, such that the master knows the request has been handled.
+   */
+  private void stealTasklets(final ConcurrentMap<Integer, Future> futures,
+                            final TaskletStealRequest taskletStealRequest) {
+    final List<Integer> stolenTaskletIds = new ArrayList<>();
+    while (stolenTaskletIds.size() < taskletStealRequest.getNumTasklets()) {
+      final Integer taskletId = queuedTasklets.pollLast();
+      if (taskletId == null) {
+        break;
+      }
+      futures.remove(taskletId).cancel(false);
+      stolenTaskletIds.add(taskletId);
+    }
+    LOG.log(Level.FINE, "Giving back {0} Tasklets", stolenTaskletIds.size());
+    sendReport(new TaskletsStolenReport(stolenTaskletIds));
+  }
+
+  private void sendReport(final WorkerToMasterReport workerToMasterReport) {
+    final List<WorkerToMasterReport> holder = new ArrayList<>(2);
+    holder.add(workerToMasterReport);
+    addStatsReportIfDue(holder);
+    workerReports.addLast(kryoUtils.serialize(new WorkerToMasterReports(holder)));
+    heartBeatTriggerManager.triggerHeartBeat();
+  }
+
+  /**
+   * Piggybacks the timings of the worker on the reports, if they are due.
+   */
+  private void addStatsReportIfDue(final List<WorkerToMasterReport> holder) {
+    final Optional<WorkerStatsReport> workerStatsReport = workerStats.takeReportIfDue();
+    if (workerStatsReport.isPresent()) {
+      holder.add(workerStatsReport.get());
+    }
+  }
+
   /**
    * Executes an aggregation request from the {@link org.apache.reef.vortex.driver.VortexDriver}.
    */
@@ -195,6 +289,7 @@ public final class VortexWorker implements Task, TaskMessageSource {
 
     assert aggregates.containsKey(taskletAggregateExecutionRequest.getAggregateFunctionId());
 
+    final long receivedNanos = System.nanoTime();
     final AggregateContainer aggregateContainer =
         aggregates.get(taskletAggregateExecutionRequest.getAggregateFunctionId());
     final TaskletAggregationRequest aggregationRequest = aggregateContainer.getTaskletAggregationRequest();
@@ -202,11 +297,14 @@ public final class VortexWorker implements Task, TaskMessageSource {
     commandExecutor.submit(new Runnable() {
       @Override
       public void run() {
+        final long startNanos = workerStats.taskletStarted(receivedNanos);
         try {
           aggregateContainer.scheduleTasklet(taskletAggregateExecutionRequest.getTaskletId());
           final Object result = aggregationRequest.executeFunction(taskletAggregateExecutionRequest.getInput());
+          workerStats.taskletFinished(startNanos);
           aggregateContainer.taskletComplete(taskletAggregateExecutionRequest.getTaskletId(), result);
         } catch (final Exception e) {
+          workerStats.taskletFinished(startNanos);
           aggregateContainer.taskletFailed(taskletAggregateExecutionRequest.getTaskletId(), e);
         }
       }
@@ -214,16 +312,21 @@ public final class VortexWorker implements Task, TaskMessageSource {
   }
 
   /**
-   * @return the workerReport the worker wishes to send.
+   * @return the workerReport the worker wishes to send, or the timings of the worker if they are due.
    */
   @Override
   public Optional<TaskMessage> getMessage() {
     final byte[] msg = workerReports.pollFirst();
     if (msg != null) {
       return Optional.of(TaskMessage.from(MESSAGE_SOURCE_ID, msg));
-    } else {
-      return Optional.empty();
     }
+
+    final Optional<WorkerStatsReport> workerStatsReport = workerStats.takeReportIfDue();
+    if (workerStatsReport.isPresent()) {
+      return Optional.of(TaskMessage.from(MESSAGE_SOURCE_ID, kryoUtils.serialize(
+          new WorkerToMasterReports(Collections.<WorkerToMasterReport>singletonList(workerStatsReport.get())))));
+    }
+    return Optional.empty();
   }
 
   /**
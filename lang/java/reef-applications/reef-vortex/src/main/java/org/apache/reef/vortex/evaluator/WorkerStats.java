@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.evaluator;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.common.LatencyHistogram;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerStatsReport;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the timings of the Tasklets on a worker, to be reported to the master along with the other reports.
+ */
+@Private
+@TaskSide
+@Unstable
+@ThreadSafe
+final class WorkerStats {
+  /**
+   * The minimum interval between two reports.
+   */
+  static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final int numOfThreads;
+  private final LatencyHistogram queueTimes = new LatencyHistogram();
+  private final LatencyHistogram executionTimes = new LatencyHistogram();
+  private final AtomicLong busyNanos = new AtomicLong(0);
+  private final AtomicLong lastReportNanos = new AtomicLong(System.nanoTime());
+
+  WorkerStats(final int numOfThreads) {
+    this.numOfThreads = numOfThreads;
+  }
+
+  /**
+   * A Tasklet starts executing.
+   * @param receivedNanos the time the request for the Tasklet was received, in {@link System#nanoTime()}
+   * @return the start time of the Tasklet, in {@link System#nanoTime()}
+   */
+  long taskletStarted(final long receivedNanos) {
+    final long startNanos = System.nanoTime();
+    queueTimes.update(TimeUnit.NANOSECONDS.toMicros(startNanos - receivedNanos));
+    return startNanos;
+  }
+
+  /**
+   * A Tasklet has finished executing.
+   * @param startNanos the start time returned by {@link #taskletStarted(long)}
+   */
+  void taskletFinished(final long startNanos) {
+    final long elapsedNanos = System.nanoTime() - startNanos;
+    executionTimes.update(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    busyNanos.addAndGet(elapsedNanos);
+  }
+
+  /**
+   * @return the timings since the previous report, empty if the previous report is too recent.
+   */
+  Optional<WorkerStatsReport> takeReportIfDue() {
+    final long nowNanos = System.nanoTime();
+    final long previousReportNanos = lastReportNanos.get();
+    if (nowNanos - previousReportNanos < REPORT_INTERVAL_NANOS ||
+        !lastReportNanos.compareAndSet(previousReportNanos, nowNanos)) {
+      return Optional.empty();
+    }
+    return Optional.of(new WorkerStatsReport(queueTimes.drain(), executionTimes.drain(), busyNanos.getAndSet(0),
+        nowNanos - previousReportNanos, numOfThreads));
+  }
+}
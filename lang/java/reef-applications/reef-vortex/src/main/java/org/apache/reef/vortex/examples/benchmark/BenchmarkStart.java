@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.examples.benchmark;
+
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.vortex.api.*;
+import org.apache.reef.vortex.examples.sumones.AdditionAggregateFunction;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a workload of independent Tasklets and a workload of aggregated Tasklets,
+ * and logs the throughput and the {@link VortexMetrics} observed after each of them.
+ */
+final class BenchmarkStart implements VortexStart {
+  private static final Logger LOG = Logger.getLogger(BenchmarkStart.class.getName());
+
+  private final int numOfTasklets;
+  private final int taskletMicros;
+
+  @Inject
+  private BenchmarkStart(@Parameter(Benchmark.NumOfTasklets.class) final int numOfTasklets,
+                         @Parameter(Benchmark.TaskletMicros.class) final int taskletMicros) {
+    this.numOfTasklets = numOfTasklets;
+    this.taskletMicros = taskletMicros;
+  }
+
+  @Override
+  public void start(final VortexThreadPool vortexThreadPool) {
+    final List<Integer> inputs = new ArrayList<>(numOfTasklets);
+    for (int i = 0; i < numOfTasklets; i++) {
+      inputs.add(taskletMicros);
+    }
+    final SpinFunction spinFunction = new SpinFunction();
+
+    try {
+      long startNanos = System.nanoTime();
+      final List<VortexFuture<Integer>> futures = new ArrayList<>(numOfTasklets);
+      for (final int input : inputs) {
+        futures.add(vortexThreadPool.submit(spinFunction, input));
+      }
+      for (final VortexFuture<Integer> future : futures) {
+        future.get();
+      }
+      report("Independent Tasklets", startNanos, vortexThreadPool);
+
+      startNanos = System.nanoTime();
+      final VortexAggregateFuture<Integer, Integer> aggregateFuture =
+          vortexThreadPool.submit(new AdditionAggregateFunction(), spinFunction,
+              VortexAggregatePolicy.newBuilder().setTimerPeriodTrigger(100).build(), inputs);
+      int sum = 0;
+      AggregateResultSynchronous<Integer, Integer> result;
+      do {
+        result = aggregateFuture.get();
+        sum += result.getAggregateResult();
+      } while (result.hasNext());
+      assert sum == numOfTasklets;
+      report("Aggregated Tasklets", startNanos, vortexThreadPool);
+
+    } catch (final InterruptedException | ExecutionException | VortexAggregateException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private void report(final String workload, final long startNanos, final VortexThreadPool vortexThreadPool) {
+    final double seconds = (System.nanoTime() - startNanos) / 1e9;
+    LOG.log(Level.INFO, "{0}: {1} Tasklets in {2} s ({3} Tasklets/s), {4}", new Object[]{workload, numOfTasklets,
+        seconds, numOfTasklets / seconds, vortexThreadPool.getMetrics()});
+  }
+}
@@ -22,6 +22,8 @@ import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.vortex.api.FutureCallback;
 import org.apache.reef.vortex.api.VortexStart;
 import org.apache.reef.vortex.api.VortexThreadPool;
+import org.apache.reef.vortex.common.KryoUtils;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletExecutionRequest;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
@@ -43,14 +45,17 @@ final class IdentityMatMulStart implements VortexStart {
   private final int divideFactor;
   private final int numRows;
   private final int numColumns;
+  private final KryoUtils kryoUtils;
 
   @Inject
   private IdentityMatMulStart(@Parameter(MatMul.DivideFactor.class) final int divideFactor,
                               @Parameter(MatMul.NumRows.class) final int numRows,
-                              @Parameter(MatMul.NumColumns.class) final int numColumns) {
+                              @Parameter(MatMul.NumColumns.class) final int numColumns,
+                              final KryoUtils kryoUtils) {
     this.divideFactor = divideFactor;
     this.numRows = numRows;
     this.numColumns = numColumns;
+    this.kryoUtils = kryoUtils;
   }
 
   /**
@@ -60,6 +65,12 @@ final class IdentityMatMulStart implements VortexStart {
   public void start(final VortexThreadPool vortexThreadPool) {
     final List<Matrix<Double>> leftSplits = generateMatrixSplits(numRows, numColumns, divideFactor);
     final Matrix<Double> right = generateIdentityMatrix(numColumns);
+    final MatMulFunction matMulFunction = new MatMulFunction();
+    final List<MatMulInput> inputs = new ArrayList<>(divideFactor);
+    for (int i = 0; i < divideFactor; i++) {
+      inputs.add(new MatMulInput(i, leftSplits.get(i), right));
+    }
+    logBytesPerTasklet(matMulFunction, inputs);
 
     // Measure job finish time starting from here..
     final double start = System.currentTimeMillis();
@@ -86,9 +97,8 @@ final class IdentityMatMulStart implements VortexStart {
     };
 
     // Submit Tasklets and register callback.
-    final MatMulFunction matMulFunction = new MatMulFunction();
     for (int i = 0; i < divideFactor; i++) {
-      vortexThreadPool.submit(matMulFunction, new MatMulInput(i, leftSplits.get(i), right), callback);
+      vortexThreadPool.submit(matMulFunction, inputs.get(i), callback);
     }
 
     try {
@@ -100,6 +110,25 @@ final class IdentityMatMulStart implements VortexStart {
     }
   }
 
+  /**
+   * Log the size of the tasklet requests of the job, with the function cached on the workers,
+   * and the extra bytes of the request that ships the function to a worker.
+   * Only the first tasklet of a function on each worker ships the function.
+   */
+  private void logBytesPerTasklet(final MatMulFunction function, final List<MatMulInput> inputs) {
+    long totalBytes = 0;
+    for (final MatMulInput input : inputs) {
+      totalBytes +=
+          kryoUtils.serialize(new TaskletExecutionRequest<MatMulInput, MatMulOutput>(0, 0, null, input)).length;
+    }
+    final int bytesOfFunction =
+        kryoUtils.serialize(new TaskletExecutionRequest<>(0, 0, function, inputs.get(0))).length -
+        kryoUtils.serialize(new TaskletExecutionRequest<MatMulInput, MatMulOutput>(0, 0, null, inputs.get(0))).length;
+    LOG.log(Level.INFO, "Bytes of {0} tasklets: {1} in total, {2} per tasklet on average, " +
+        "plus {3} for shipping the function once per worker",
+        new Object[]{inputs.size(), totalBytes, totalBytes / inputs.size(), bytesOfFunction});
+  }
+
   /**
    * Generate a matrix with random values.
    * @param nRows number of matrix's rows.
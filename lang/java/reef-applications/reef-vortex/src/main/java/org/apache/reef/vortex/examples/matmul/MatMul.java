@@ -55,6 +55,7 @@ final class MatMul {
         .setVortexMasterConf(vortexMasterConf)
         .setJobName("Vortex_Example_MatMul")
         .setUserConf(userConf)
+        .registerKryoClasses(MatMulFunction.class, MatMulInput.class, MatMulOutput.class, RowMatrix.class)
         .build();
 
     VortexLauncher.launchLocal(vortexJobConf);
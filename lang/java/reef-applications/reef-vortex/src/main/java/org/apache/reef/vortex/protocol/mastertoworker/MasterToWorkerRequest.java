@@ -32,7 +32,8 @@ public interface MasterToWorkerRequest {
     AggregateTasklets,
     ExecuteTasklet,
     CancelTasklet,
-    ExecuteAggregateTasklet
+    ExecuteAggregateTasklet,
+    StealTasklets
   }
 
   /**
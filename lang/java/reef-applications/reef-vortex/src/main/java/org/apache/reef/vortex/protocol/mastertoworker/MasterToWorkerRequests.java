@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.protocol.mastertoworker;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Container for multiple MasterToWorkerRequests, sent to a worker as one message.
+ * The worker handles the requests in order.
+ */
+@Private
+@Unstable
+@DriverSide
+public final class MasterToWorkerRequests {
+  private ArrayList<MasterToWorkerRequest> masterToWorkerRequests;
+
+  /**
+   * No-arg constructor required for Kryo to serialize/deserialize.
+   */
+  MasterToWorkerRequests() {
+  }
+
+  public MasterToWorkerRequests(final Collection<MasterToWorkerRequest> masterToWorkerRequests) {
+    this.masterToWorkerRequests = new ArrayList<>(masterToWorkerRequests);
+  }
+
+  /**
+   * @return the list of requests.
+   */
+  public List<MasterToWorkerRequest> getRequests() {
+    return Collections.unmodifiableList(masterToWorkerRequests);
+  }
+}
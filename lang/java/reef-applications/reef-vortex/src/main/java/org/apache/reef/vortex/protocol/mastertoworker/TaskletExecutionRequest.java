@@ -24,11 +24,14 @@ import org.apache.reef.vortex.api.VortexFunction;
 
 /**
  * Request to execute a tasklet.
+ * The user function is shipped only the first time it is used on a worker,
+ * later requests carry only the ID under which the worker caches the function.
  */
 @Unstable
 @Private
 public final class TaskletExecutionRequest<TInput, TOutput> implements MasterToWorkerRequest {
   private int taskletId;
+  private int functionId;
   private VortexFunction<TInput, TOutput> userFunction;
   private TInput input;
 
@@ -48,11 +51,15 @@ public final class TaskletExecutionRequest<TInput, TOutput> implements MasterToW
 
   /**
    * Request from Vortex Master to Vortex Worker to execute a tasklet.
+   * @param functionId ID of the user function on the worker
+   * @param userFunction the user function, or null if the worker has already cached it under functionId
    */
   public TaskletExecutionRequest(final int taskletId,
+                                 final int functionId,
                                  final VortexFunction<TInput, TOutput> userFunction,
                                  final TInput input) {
     this.taskletId = taskletId;
+    this.functionId = functionId;
     this.userFunction = userFunction;
     this.input = input;
   }
@@ -73,7 +80,14 @@ public final class TaskletExecutionRequest<TInput, TOutput> implements MasterToW
   }
 
   /**
-   * Get function of the tasklet.
+   * @return the ID of the user function on the worker.
+   */
+  public int getFunctionId() {
+    return functionId;
+  }
+
+  /**
+   * Get function of the tasklet, null if the function is cached on the worker.
    */
   public VortexFunction getFunction() {
     return userFunction;
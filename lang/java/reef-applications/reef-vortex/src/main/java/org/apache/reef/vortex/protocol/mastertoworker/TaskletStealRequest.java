@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.protocol.mastertoworker;
+
+import org.apache.reef.annotations.Unstable;
+
+/**
+ * A {@link MasterToWorkerRequest} to take back Tasklets that are queued on a worker but have not started yet,
+ * such that they can be rescheduled to an idle worker.
+ */
+@Unstable
+public final class TaskletStealRequest implements MasterToWorkerRequest {
+  private int numTasklets;
+
+  /**
+   * No-arg constructor required for Kryo to serialize/deserialize.
+   */
+  TaskletStealRequest() {
+  }
+
+  /**
+   * @param numTasklets the maximum number of Tasklets to take back.
+   */
+  public TaskletStealRequest(final int numTasklets) {
+    this.numTasklets = numTasklets;
+  }
+
+  /**
+   * @return the maximum number of Tasklets to take back.
+   */
+  public int getNumTasklets() {
+    return numTasklets;
+  }
+
+  @Override
+  public Type getType() {
+    return Type.StealTasklets;
+  }
+}
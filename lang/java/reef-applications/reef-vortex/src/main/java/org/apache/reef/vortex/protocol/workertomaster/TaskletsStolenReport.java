@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.protocol.workertomaster;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The report of Tasklets that a worker gave back without starting them,
+ * in response to a {@link org.apache.reef.vortex.protocol.mastertoworker.TaskletStealRequest}.
+ */
+@Private
+@DriverSide
+@Unstable
+public final class TaskletsStolenReport implements WorkerToMasterReport {
+  private List<Integer> taskletIds;
+
+  /**
+   * No-arg constructor required for Kryo to serialize/deserialize.
+   */
+  TaskletsStolenReport() {
+  }
+
+  /**
+   * @param taskletIds of the tasklets given back, possibly empty.
+   */
+  public TaskletsStolenReport(final List<Integer> taskletIds) {
+    this.taskletIds = Collections.unmodifiableList(new ArrayList<>(taskletIds));
+  }
+
+  @Override
+  public Type getType() {
+    return Type.TaskletsStolen;
+  }
+
+  /**
+   * @return the TaskletIds of the tasklets given back.
+   */
+  public List<Integer> getTaskletIds() {
+    return taskletIds;
+  }
+}
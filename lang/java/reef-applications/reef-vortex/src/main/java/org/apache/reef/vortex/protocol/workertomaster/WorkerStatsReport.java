@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.protocol.workertomaster;
+
+import org.apache.reef.annotations.Unstable;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+
+/**
+ * Report of the timings of a worker since its previous report,
+ * sent along with the other reports of the worker.
+ */
+@Private
+@DriverSide
+@Unstable
+public final class WorkerStatsReport implements WorkerToMasterReport {
+  private long[] queueTimeBins;
+  private long[] executionTimeBins;
+  private long busyNanos;
+  private long intervalNanos;
+  private int numOfThreads;
+
+  /**
+   * No-arg constructor required for Kryo to serialize/deserialize.
+   */
+  WorkerStatsReport() {
+  }
+
+  /**
+   * @param queueTimeBins histogram bins of the time Tasklets waited on the worker before they started.
+   * @param executionTimeBins histogram bins of the execution time of Tasklets.
+   * @param busyNanos the time the threads of the worker spent executing Tasklets.
+   * @param intervalNanos the time since the previous report.
+   * @param numOfThreads the number of threads of the worker.
+   */
+  public WorkerStatsReport(final long[] queueTimeBins, final long[] executionTimeBins,
+                           final long busyNanos, final long intervalNanos, final int numOfThreads) {
+    this.queueTimeBins = queueTimeBins;
+    this.executionTimeBins = executionTimeBins;
+    this.busyNanos = busyNanos;
+    this.intervalNanos = intervalNanos;
+    this.numOfThreads = numOfThreads;
+  }
+
+  /**
+   * @return the type of this TaskletReport.
+   */
+  @Override
+  public Type getType() {
+    return Type.WorkerStats;
+  }
+
+  /**
+   * @return the histogram bins of the time Tasklets waited on the worker before they started.
+   */
+  public long[] getQueueTimeBins() {
+    return queueTimeBins;
+  }
+
+  /**
+   * @return the histogram bins of the execution time of Tasklets.
+   */
+  public long[] getExecutionTimeBins() {
+    return executionTimeBins;
+  }
+
+  /**
+   * @return the fraction of the time the threads of the worker spent executing Tasklets, at most 1.
+   * A Tasklet is accounted for when it finishes, such that long Tasklets may exceed the interval.
+   */
+  public double getUtilization() {
+    if (intervalNanos <= 0 || numOfThreads <= 0) {
+      return 0;
+    }
+    return Math.min(1.0, (double) busyNanos / ((double) intervalNanos * numOfThreads));
+  }
+}
@@ -37,7 +37,9 @@ public interface WorkerToMasterReport {
     TaskletAggregationResult,
     TaskletCancelled,
     TaskletFailure,
-    TaskletAggregationFailure
+    TaskletAggregationFailure,
+    TaskletsStolen,
+    WorkerStats
   }
 
   /**
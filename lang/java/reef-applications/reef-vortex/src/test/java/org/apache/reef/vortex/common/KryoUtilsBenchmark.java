@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.common;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import de.javakaffee.kryoserializers.UnmodifiableCollectionsSerializer;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.vortex.protocol.workertomaster.TaskletResultReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the Vortex protocol serialization. Run with the benchmark profile.
+ */
+public class KryoUtilsBenchmark {
+  private static final Logger LOG = Logger.getLogger(KryoUtilsBenchmark.class.getName());
+
+  /**
+   * Compare the time to serialize and deserialize small reports with the pooled buffers,
+   * and with a new stream for every message, as Vortex used to.
+   */
+  @Test
+  public void benchmarkSmallMessageThroughput() throws InjectionException {
+    final int numOfMessages = 200000;
+    final WorkerToMasterReports reports = new WorkerToMasterReports(
+        Collections.<WorkerToMasterReport>singletonList(new TaskletResultReport(1, 1)));
+    final Kryo kryo = new Kryo();
+    UnmodifiableCollectionsSerializer.registerSerializers(kryo);
+
+    for (int trial = 0; trial < 2; trial++) { // The first trial warms up the JIT.
+      long startTime = System.nanoTime();
+      for (int i = 0; i < numOfMessages; i++) {
+        deserializeWithStream(kryo, serializeWithStream(kryo, reports));
+      }
+      final long streamNanos = System.nanoTime() - startTime;
+
+      final long[] pooledNanos = new long[2];
+      for (final boolean unsafeBuffers : new boolean[]{false, true}) {
+        final KryoUtils kryoUtils = KryoUtilsTest.newKryoUtils(unsafeBuffers);
+        startTime = System.nanoTime();
+        for (int i = 0; i < numOfMessages; i++) {
+          kryoUtils.deserialize(kryoUtils.serialize(reports));
+        }
+        pooledNanos[unsafeBuffers ? 1 : 0] = System.nanoTime() - startTime;
+      }
+
+      LOG.log(Level.INFO, "Round trips/sec of {0} bytes: streams {1}, pooled {2}, pooled unsafe {3}",
+          new Object[]{KryoUtilsTest.newKryoUtils(false).serialize(reports).length,
+              numOfMessages * 1e9 / streamNanos, numOfMessages * 1e9 / pooledNanos[0],
+              numOfMessages * 1e9 / pooledNanos[1]});
+    }
+  }
+
+  private static byte[] serializeWithStream(final Kryo kryo, final Object object) {
+    try (final Output out = new Output(new ByteArrayOutputStream())) {
+      kryo.writeClassAndObject(out, object);
+      return out.toBytes();
+    }
+  }
+
+  private static Object deserializeWithStream(final Kryo kryo, final byte[] bytes) {
+    try (final Input input = new Input(new ByteArrayInputStream(bytes))) {
+      return kryo.readClassAndObject(input);
+    }
+  }
+}
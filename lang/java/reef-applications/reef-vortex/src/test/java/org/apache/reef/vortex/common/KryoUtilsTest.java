@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.common;
+
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletExecutionRequest;
+import org.apache.reef.vortex.protocol.workertomaster.TaskletAggregationResultReport;
+import org.apache.reef.vortex.protocol.workertomaster.TaskletResultReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the serialization of the Vortex protocol.
+ */
+public class KryoUtilsTest {
+  /**
+   * Test that requests and reports survive a round trip, with safe and unsafe buffers.
+   */
+  @Test
+  public void testRoundTrip() throws InjectionException {
+    for (final boolean unsafeBuffers : new boolean[]{false, true}) {
+      final KryoUtils kryoUtils = newKryoUtils(unsafeBuffers);
+
+      final MasterToWorkerRequests requests = new MasterToWorkerRequests(Arrays.<MasterToWorkerRequest>asList(
+          new TaskletExecutionRequest<>(1, 0, null, new UserInput(7)),
+          new TaskletExecutionRequest<>(2, 0, null, new UserInput(8))));
+      final MasterToWorkerRequests deserializedRequests =
+          (MasterToWorkerRequests) kryoUtils.deserialize(kryoUtils.serialize(requests));
+      assertEquals(2, deserializedRequests.getRequests().size());
+      final TaskletExecutionRequest request = (TaskletExecutionRequest) deserializedRequests.getRequests().get(1);
+      assertEquals(2, request.getTaskletId());
+      assertNull(request.getFunction());
+      assertEquals(8, ((UserInput) request.getInput()).getValue());
+
+      final WorkerToMasterReports reports = new WorkerToMasterReports(Arrays.<WorkerToMasterReport>asList(
+          new TaskletResultReport(1, "result"),
+          new TaskletAggregationResultReport(Arrays.asList(2, 3), 5)));
+      final WorkerToMasterReports deserializedReports =
+          (WorkerToMasterReports) kryoUtils.deserialize(kryoUtils.serialize(reports));
+      assertEquals("result", ((TaskletResultReport) deserializedReports.getReports().get(0)).getResult());
+      assertEquals(Arrays.asList(2, 3),
+          ((TaskletAggregationResultReport) deserializedReports.getReports().get(1)).getTaskletIds());
+    }
+  }
+
+  /**
+   * Test that a registered user class is serialized without its name,
+   * and that the configuration for the workers carries the registration.
+   */
+  @Test
+  public void testRegisteredClass() throws InjectionException {
+    final KryoUtils kryoUtils = newKryoUtils(false);
+    final Configuration registeringConf = Tang.Factory.getTang().newConfigurationBuilder()
+        .bindSetEntry(KryoUtils.RegisteredClasses.class, UserInput.class.getName())
+        .build();
+    final KryoUtils registeringKryoUtils = Tang.Factory.getTang().newInjector(registeringConf)
+        .getInstance(KryoUtils.class);
+
+    final TaskletResultReport report = new TaskletResultReport(1, new UserInput(1));
+    final int size = kryoUtils.serialize(report).length;
+    final byte[] bytes = registeringKryoUtils.serialize(report);
+    assertTrue("The registered class should be smaller on the wire", bytes.length + 20 < size);
+
+    final KryoUtils workerKryoUtils = Tang.Factory.getTang().newInjector(registeringKryoUtils.getConfiguration())
+        .getInstance(KryoUtils.class);
+    assertEquals(1, ((UserInput) ((TaskletResultReport) workerKryoUtils.deserialize(bytes)).getResult()).getValue());
+  }
+
+  static KryoUtils newKryoUtils(final boolean unsafeBuffers) throws InjectionException {
+    return Tang.Factory.getTang().newInjector(Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(KryoUtils.UnsafeBuffers.class, String.valueOf(unsafeBuffers))
+        .build())
+        .getInstance(KryoUtils.class);
+  }
+
+  /**
+   * A user class for tasklet inputs and outputs.
+   */
+  static final class UserInput {
+    private int value;
+
+    private UserInput() {
+    }
+
+    UserInput(final int value) {
+      this.value = value;
+    }
+
+    int getValue() {
+      return value;
+    }
+  }
+}
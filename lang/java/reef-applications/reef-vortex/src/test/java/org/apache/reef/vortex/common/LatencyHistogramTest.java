@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test the bins and the percentiles of the latency histogram.
+ */
+public class LatencyHistogramTest {
+  /**
+   * Test that latencies are counted in the bins of exponentially growing width.
+   */
+  @Test
+  public void testBins() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.update(0);
+    histogram.update(1);
+    histogram.update(3);
+    histogram.update(4);
+    histogram.update(7);
+    histogram.update(Long.MAX_VALUE);
+
+    assertEquals(6, histogram.getCount());
+    assertEquals(1, histogram.getValue(0));
+    assertEquals(1, histogram.getValue(1));
+    assertEquals(1, histogram.getValue(2));
+    assertEquals(2, histogram.getValue(3));
+    assertEquals("The last bin should count the latencies beyond its range",
+        1, histogram.getValue(LatencyHistogram.NUM_BINS - 1));
+    assertEquals(8, LatencyHistogram.getBinUpperBoundMicros(3));
+  }
+
+  /**
+   * Test that the percentiles are the upper bounds of the bins they fall into.
+   */
+  @Test
+  public void testPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getPercentileMicros(0.5));
+
+    for (int i = 0; i < 90; i++) {
+      histogram.update(100);
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.update(1000);
+    }
+
+    assertEquals(128, histogram.getPercentileMicros(0.5));
+    assertEquals(128, histogram.getPercentileMicros(0.9));
+    assertEquals(1024, histogram.getPercentileMicros(0.91));
+    assertEquals(1024, histogram.getPercentileMicros(0.99));
+    assertEquals(128, histogram.getPercentileMicros(0));
+  }
+
+  /**
+   * Test that drained bins are reset, and can be added to another histogram.
+   */
+  @Test
+  public void testDrainAndAdd() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    histogram.update(5);
+    histogram.update(5);
+    final LatencyHistogram copy = histogram.copy();
+
+    final long[] binCounts = histogram.drain();
+    assertEquals(0, histogram.getCount());
+    assertEquals(2, binCounts[3]);
+    assertArrayEquals(binCounts, copy.drain());
+
+    final LatencyHistogram other = new LatencyHistogram();
+    other.update(5);
+    other.add(binCounts);
+    assertEquals(3, other.getValue(3));
+    assertEquals(3, other.getCount());
+  }
+}
@@ -20,12 +20,20 @@ package org.apache.reef.vortex.driver;
 
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.api.AggregateResult;
+import org.apache.reef.vortex.api.AggregateResultSynchronous;
 import org.apache.reef.vortex.api.FutureCallback;
+import org.apache.reef.vortex.api.VortexAggregateFuture;
+import org.apache.reef.vortex.api.VortexAggregatePolicy;
 import org.apache.reef.vortex.api.VortexFunction;
 import org.apache.reef.vortex.api.VortexFuture;
+import org.apache.reef.vortex.api.VortexMetrics;
+import org.apache.reef.vortex.common.LatencyHistogram;
+import org.apache.reef.vortex.protocol.workertomaster.TaskletAggregationResultReport;
 import org.apache.reef.vortex.protocol.workertomaster.TaskletFailureReport;
 import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
 import org.apache.reef.vortex.protocol.workertomaster.TaskletResultReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerStatsReport;
 import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
 import org.junit.Test;
 
@@ -34,6 +42,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -53,10 +62,10 @@ public class DefaultVortexMasterTest {
     final VortexFunction vortexFunction = testUtil.newIntegerFunction();
     final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker();
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
-        testUtil.newAggregateFunctionRepository(), 5);
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
 
     final AtomicBoolean callbackReceived = new AtomicBoolean(false);
     final CountDownLatch latch = new CountDownLatch(1);
@@ -99,10 +108,10 @@ public class DefaultVortexMasterTest {
     final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker();
     final VortexWorkerManager vortexWorkerManager2 = testUtil.newWorker();
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
-        testUtil.newAggregateFunctionRepository(), 5);
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
 
     // Allocate worker & tasklet and schedule
     vortexMaster.workerAllocated(vortexWorkerManager1);
@@ -137,10 +146,10 @@ public class DefaultVortexMasterTest {
     // The tasklets that need to be executed
     final ArrayList<VortexFuture> vortexFutures = new ArrayList<>();
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
-        testUtil.newAggregateFunctionRepository(), 5);
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
 
     // Allocate iniital evaluators (will all be preempted later...)
     final List<VortexWorkerManager> initialWorkers = new ArrayList<>();
@@ -192,10 +201,10 @@ public class DefaultVortexMasterTest {
     final VortexFunction vortexFunction = testUtil.newIntegerFunction();
     final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker();
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
-        testUtil.newAggregateFunctionRepository(), 5);
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
 
     final AtomicBoolean callbackReceived = new AtomicBoolean(false);
     final CountDownLatch latch = new CountDownLatch(1);
@@ -237,7 +246,7 @@ public class DefaultVortexMasterTest {
   @Test(timeout = 10000)
   public void testSingleTaskletCancellation() throws Exception {
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final VortexFuture future = createTaskletCancellationFuture(runningWorkers, pendingTasklets);
     launchTasklets(runningWorkers, pendingTasklets, 1);
@@ -254,7 +263,7 @@ public class DefaultVortexMasterTest {
   public void testSingleTaskletCancellationBeforeLaunch() throws Exception {
 
     final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
-        testUtil.newAggregateFunctionRepository());
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
     final PendingTasklets pendingTasklets = new PendingTasklets();
     final VortexFuture future = createTaskletCancellationFuture(runningWorkers, pendingTasklets);
 
@@ -276,7 +285,7 @@ public class DefaultVortexMasterTest {
     final VortexFunction vortexFunction = testUtil.newInfiniteLoopFunction();
     final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(
         runningWorkers, pendingTasklets,
-        testUtil.newAggregateFunctionRepository(), 5);
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
     final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker(vortexMaster);
 
 
@@ -285,6 +294,264 @@ public class DefaultVortexMasterTest {
     return vortexMaster.enqueueTasklet(vortexFunction, null, Optional.<FutureCallback<Integer>>empty());
   }
 
+  /**
+   * Test handling of a straggling tasklet, whose duplicate reports before the original.
+   */
+  @Test(timeout = 10000)
+  public void testSpeculativeDuplicateTasklet() throws Exception {
+    final VortexFunction vortexFunction = testUtil.newIntegerFunction();
+    final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker();
+    final VortexWorkerManager vortexWorkerManager2 = testUtil.newWorker();
+    final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
+        testUtil.newAggregateFunctionRepository(), new StragglerDetector(true, 0.5, 1.0, 1));
+    final PendingTasklets pendingTasklets = new PendingTasklets();
+    final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
+        testUtil.newAggregateFunctionRepository(), new VortexMetricsCollector(), 5);
+    vortexMaster.workerAllocated(vortexWorkerManager1);
+    vortexMaster.workerAllocated(vortexWorkerManager2);
+
+    // A quick tasklet sets the threshold
+    final VortexFuture quickFuture = vortexMaster.enqueueTasklet(vortexFunction, null,
+        Optional.<FutureCallback<Integer>>empty());
+    final int quickTaskletId = launchTasklets(runningWorkers, pendingTasklets, 1).get(0);
+    vortexMaster.workerReported(runningWorkers.getWhereTaskletWasScheduledTo(quickTaskletId),
+        new WorkerToMasterReports(Collections.<WorkerToMasterReport>singletonList(
+            new TaskletResultReport(quickTaskletId, INTEGER_RESULT))));
+    assertTrue("The VortexFuture should be done", quickFuture.isDone());
+
+    final AtomicInteger numOfCallbacks = new AtomicInteger(0);
+    final VortexFuture future = vortexMaster.enqueueTasklet(vortexFunction, null,
+        Optional.<FutureCallback<Integer>>of(new FutureCallback<Integer>() {
+          @Override
+          public void onSuccess(final Integer result) {
+            numOfCallbacks.incrementAndGet();
+          }
+
+          @Override
+          public void onFailure(final Throwable throwable) {
+            throw new RuntimeException("Did not expect exception in test.", throwable);
+          }
+        }));
+    final int taskletId = launchTasklets(runningWorkers, pendingTasklets, 1).get(0);
+    final String originalWorkerId = runningWorkers.getWhereTaskletWasScheduledTo(taskletId);
+    final String duplicateWorkerId = originalWorkerId.equals(vortexWorkerManager1.getId()) ?
+        vortexWorkerManager2.getId() : vortexWorkerManager1.getId();
+    Thread.sleep(50);
+
+    // Duplicate the straggler, as TaskletSpeculator does
+    for (final Tasklet straggler : runningWorkers.findStragglers()) {
+      pendingTasklets.addFirst(straggler);
+    }
+    launchTasklets(runningWorkers, pendingTasklets, 1);
+
+    // The duplicate completes the future, the report of the original is ignored
+    final List<WorkerToMasterReport> resultReport =
+        Collections.<WorkerToMasterReport>singletonList(new TaskletResultReport(taskletId, INTEGER_RESULT));
+    vortexMaster.workerReported(duplicateWorkerId, new WorkerToMasterReports(resultReport));
+    assertTrue("The VortexFuture should be done", future.isDone());
+    vortexMaster.workerReported(originalWorkerId, new WorkerToMasterReports(resultReport));
+    assertEquals(INTEGER_RESULT, future.get());
+    Thread.sleep(100);
+    assertEquals("The callback should be invoked once", 1, numOfCallbacks.get());
+  }
+
+  /**
+   * Test combining the partial aggregates of the workers on the Driver, into a single aggregate.
+   */
+  @Test(timeout = 10000)
+  public void testDriverCombiningAggregation() throws Exception {
+    final int numOfTasklets = 5;
+    final AggregateFunctionRepository aggregateFunctionRepository = testUtil.newAggregateFunctionRepository();
+    final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
+        aggregateFunctionRepository, testUtil.newStragglerDetector());
+    final PendingTasklets pendingTasklets = new PendingTasklets();
+    final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
+        aggregateFunctionRepository, new VortexMetricsCollector(), 5);
+    vortexMaster.workerAllocated(testUtil.newWorker(vortexMaster));
+    vortexMaster.workerAllocated(testUtil.newWorker(vortexMaster));
+
+    final List<Integer> inputs = new ArrayList<>();
+    for (int i = 0; i < numOfTasklets; i++) {
+      inputs.add(i);
+    }
+    final VortexAggregatePolicy policy = VortexAggregatePolicy.newBuilder()
+        .setTimerPeriodTrigger(1000)
+        .setDriverCombiningFanIn(2)
+        .build();
+    final VortexAggregateFuture<Integer, Integer> future = vortexMaster.enqueueTasklets(
+        testUtil.newSumAggregateFunction(), testUtil.newIntegerFunction(), policy, inputs,
+        Optional.<FutureCallback<AggregateResult<Integer, Integer>>>empty());
+
+    // Each worker reports the result of each Tasklet as a partial aggregate
+    for (final int taskletId : launchTasklets(runningWorkers, pendingTasklets, numOfTasklets)) {
+      vortexMaster.workerReported(runningWorkers.getWhereTaskletWasScheduledTo(taskletId),
+          new WorkerToMasterReports(Collections.<WorkerToMasterReport>singletonList(
+              new TaskletAggregationResultReport(Collections.singletonList(taskletId), INTEGER_RESULT))));
+    }
+
+    final AggregateResultSynchronous<Integer, Integer> result = future.get();
+    assertEquals("The partial aggregates should be combined into one",
+        numOfTasklets * INTEGER_RESULT, (int) result.getAggregateResult());
+    assertEquals(numOfTasklets, result.getAggregatedInputs().size());
+    assertFalse("There should be no more results", result.hasNext());
+    assertTrue("The VortexAggregateFuture should be done", future.isDone());
+  }
+
+  /**
+   * Test that the Tasklets of a stream of inputs are created lazily, within the window of outstanding Tasklets.
+   */
+  @Test(timeout = 10000)
+  public void testTaskletStream() throws Exception {
+    final int numOfTasklets = 10;
+    final int maxOutstandingTasklets = 3;
+    final AggregateFunctionRepository aggregateFunctionRepository = testUtil.newAggregateFunctionRepository();
+    final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
+        aggregateFunctionRepository, testUtil.newStragglerDetector());
+    final PendingTasklets pendingTasklets = new PendingTasklets();
+    final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
+        aggregateFunctionRepository, new VortexMetricsCollector(), 5);
+    vortexMaster.workerAllocated(testUtil.newWorker(vortexMaster));
+
+    final AtomicInteger numOfConsumedInputs = new AtomicInteger(0);
+    final Iterator<Integer> inputs = new Iterator<Integer>() {
+      @Override
+      public boolean hasNext() {
+        return numOfConsumedInputs.get() < numOfTasklets;
+      }
+
+      @Override
+      public Integer next() {
+        return numOfConsumedInputs.getAndIncrement();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+    final VortexAggregatePolicy policy = VortexAggregatePolicy.newBuilder().setTimerPeriodTrigger(1000).build();
+    final VortexAggregateFuture<Integer, Integer> future = vortexMaster.enqueueTaskletStream(
+        testUtil.newSumAggregateFunction(), testUtil.newIntegerFunction(), policy, inputs, maxOutstandingTasklets,
+        Optional.<FutureCallback<AggregateResult<Integer, Integer>>>empty());
+
+    // Without a callback, the Tasklet of the next input is only created once a result is consumed
+    int sum = 0;
+    for (int numOfReported = 0; numOfReported < numOfTasklets; numOfReported++) {
+      final int taskletId = launchTasklets(runningWorkers, pendingTasklets, 1).get(0);
+      assertTrue("The Tasklets should be created lazily",
+          numOfConsumedInputs.get() - numOfReported <= maxOutstandingTasklets);
+      assertFalse("The VortexAggregateFuture should not be done", future.isDone());
+      vortexMaster.workerReported(runningWorkers.getWhereTaskletWasScheduledTo(taskletId),
+          new WorkerToMasterReports(Collections.<WorkerToMasterReport>singletonList(
+              new TaskletAggregationResultReport(Collections.singletonList(taskletId), INTEGER_RESULT))));
+      sum += future.get().getAggregateResult();
+    }
+
+    assertEquals(numOfTasklets * INTEGER_RESULT, sum);
+    assertNull(future.get());
+    assertTrue("The VortexAggregateFuture should be done", future.isDone());
+  }
+
+  /**
+   * Test that an exception thrown by the stream of inputs fails the VortexAggregateFuture,
+   * after which the results of the Tasklets created before are still delivered.
+   */
+  @Test(timeout = 10000)
+  public void testTaskletStreamInputsThrow() throws Exception {
+    final int numOfTasklets = 2;
+    final AggregateFunctionRepository aggregateFunctionRepository = testUtil.newAggregateFunctionRepository();
+    final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
+        aggregateFunctionRepository, testUtil.newStragglerDetector());
+    final PendingTasklets pendingTasklets = new PendingTasklets();
+    final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
+        aggregateFunctionRepository, new VortexMetricsCollector(), 5);
+    vortexMaster.workerAllocated(testUtil.newWorker(vortexMaster));
+
+    final RuntimeException inputsException = new RuntimeException("Inputs failed");
+    final AtomicInteger numOfConsumedInputs = new AtomicInteger(0);
+    final Iterator<Integer> inputs = new Iterator<Integer>() {
+      @Override
+      public boolean hasNext() {
+        return true;
+      }
+
+      @Override
+      public Integer next() {
+        if (numOfConsumedInputs.get() == numOfTasklets) {
+          throw inputsException;
+        }
+        return numOfConsumedInputs.getAndIncrement();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+    final VortexAggregatePolicy policy = VortexAggregatePolicy.newBuilder().setTimerPeriodTrigger(1000).build();
+    final VortexAggregateFuture<Integer, Integer> future = vortexMaster.enqueueTaskletStream(
+        testUtil.newSumAggregateFunction(), testUtil.newIntegerFunction(), policy, inputs, numOfTasklets + 1,
+        Optional.<FutureCallback<AggregateResult<Integer, Integer>>>empty());
+
+    final AggregateResultSynchronous<Integer, Integer> failure = future.get();
+    assertEquals(inputsException, failure.getException().get());
+    assertTrue(failure.getAggregatedInputs().isEmpty());
+    assertTrue(failure.hasNext());
+
+    final List<Integer> taskletIds = launchTasklets(runningWorkers, pendingTasklets, numOfTasklets);
+    vortexMaster.workerReported(runningWorkers.getWhereTaskletWasScheduledTo(taskletIds.get(0)),
+        new WorkerToMasterReports(Collections.<WorkerToMasterReport>singletonList(
+            new TaskletAggregationResultReport(taskletIds, INTEGER_RESULT))));
+    assertEquals(INTEGER_RESULT, (int) future.get().getAggregateResult());
+    assertNull(future.get());
+    assertTrue("The VortexAggregateFuture should be done", future.isDone());
+    assertTrue("No Tasklets should be added after the failure", pendingTasklets.isEmpty());
+  }
+
+  /**
+   * Test that the metrics account for launched and finished Tasklets, and for the stats of the workers.
+   */
+  @Test(timeout = 10000)
+  public void testMetrics() throws Exception {
+    final int numOfTasklets = 10;
+    final VortexFunction vortexFunction = testUtil.newIntegerFunction();
+    final VortexWorkerManager vortexWorkerManager1 = testUtil.newWorker();
+    final RunningWorkers runningWorkers = new RunningWorkers(new RandomSchedulingPolicy(),
+        testUtil.newAggregateFunctionRepository(), testUtil.newStragglerDetector());
+    final PendingTasklets pendingTasklets = new PendingTasklets();
+    final VortexMetricsCollector metricsCollector = new VortexMetricsCollector();
+    final DefaultVortexMaster vortexMaster = new DefaultVortexMaster(runningWorkers, pendingTasklets,
+        testUtil.newAggregateFunctionRepository(), metricsCollector, 5);
+    vortexMaster.workerAllocated(vortexWorkerManager1);
+
+    for (int i = 0; i < numOfTasklets; i++) {
+      vortexMaster.enqueueTasklet(vortexFunction, null, Optional.<FutureCallback<Integer>>empty());
+    }
+
+    final List<WorkerToMasterReport> reports = new ArrayList<>();
+    for (int i = 0; i < numOfTasklets; i++) {
+      final Tasklet tasklet = pendingTasklets.takeFirst();
+      runningWorkers.launchTasklet(tasklet);
+      metricsCollector.taskletLaunched(tasklet);
+      reports.add(new TaskletResultReport(tasklet.getId(), INTEGER_RESULT));
+    }
+    final long[] bins = new long[LatencyHistogram.NUM_BINS];
+    bins[3] = numOfTasklets;
+    reports.add(new WorkerStatsReport(bins, bins, 500, 1000, 1));
+    vortexMaster.workerReported(vortexWorkerManager1.getId(), new WorkerToMasterReports(reports));
+
+    final VortexMetrics metrics = vortexMaster.getMetrics();
+    assertEquals(numOfTasklets, metrics.getPendingTime().getCount());
+    assertEquals(numOfTasklets, metrics.getTurnaroundTime().getCount());
+    assertEquals(numOfTasklets, metrics.getExecutionTime().getCount());
+    assertEquals(8, metrics.getWorkerQueueTime().getPercentileMicros(0.99));
+    assertEquals(0.5, metrics.getWorkerUtilization().get(vortexWorkerManager1.getId()), 0.0);
+
+    vortexMaster.workerPreempted(vortexWorkerManager1.getId());
+    assertTrue("A removed worker should not be reported",
+        vortexMaster.getMetrics().getWorkerUtilization().isEmpty());
+  }
+
   /**
    * Launch specified number of tasklets as a substitute for PendingTaskletLauncher.
    * @return ids of launched tasklets
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.reef.vortex.api.VortexAggregateException;
+import org.apache.reef.vortex.api.VortexAggregateFunction;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test combining partial aggregates in ParallelCombiner.
+ */
+public class ParallelCombinerTest {
+  private static final int FAN_IN = 3;
+
+  /**
+   * Runs the combines on the calling thread.
+   */
+  private final Executor directExecutor = new Executor() {
+    @Override
+    public void execute(final Runnable command) {
+      command.run();
+    }
+  };
+
+  /**
+   * Test that the partial aggregates are combined at most fan-in at a time, into a single aggregate.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCombineWithBoundedFanIn() {
+    final int numOfTasklets = 10;
+    final AtomicInteger maxBatchSize = new AtomicInteger(0);
+    final VortexAggregateFunction<Integer> sum = new VortexAggregateFunction<Integer>() {
+      @Override
+      public Integer call(final List<Integer> taskletOutputs) throws VortexAggregateException {
+        maxBatchSize.set(Math.max(maxBatchSize.get(), taskletOutputs.size()));
+        int result = 0;
+        for (final int output : taskletOutputs) {
+          result += output;
+        }
+        return result;
+      }
+    };
+    final VortexFutureDelegate<Integer> future = mock(VortexFutureDelegate.class);
+    final ParallelCombiner<Integer> combiner = new ParallelCombiner<>(sum, FAN_IN, future, directExecutor);
+
+    combiner.taskletsAdded(numOfTasklets);
+    for (int i = 0; i < numOfTasklets; i++) {
+      combiner.completed(i, 1);
+    }
+    verify(future, never()).aggregationCompleted(anyListOf(Integer.class), any(Integer.class));
+    combiner.allTaskletsAdded();
+
+    final ArgumentCaptor<List> taskletIds = ArgumentCaptor.forClass(List.class);
+    verify(future).aggregationCompleted(taskletIds.capture(), eq(numOfTasklets));
+    assertEquals(numOfTasklets, taskletIds.getValue().size());
+    assertTrue("At most fan-in partial aggregates are combined at once", maxBatchSize.get() <= FAN_IN);
+  }
+
+  /**
+   * Test that the Tasklets of partial aggregates that cannot be combined are delivered as failed,
+   * and that the aggregate of the others is still delivered.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testCombineFailure() {
+    final VortexAggregateFunction<Integer> failOnZero = new VortexAggregateFunction<Integer>() {
+      @Override
+      public Integer call(final List<Integer> taskletOutputs) throws VortexAggregateException {
+        if (taskletOutputs.contains(0)) {
+          throw new VortexAggregateException("Cannot combine zero", null, taskletOutputs);
+        }
+        return taskletOutputs.size();
+      }
+    };
+    final VortexFutureDelegate<Integer> future = mock(VortexFutureDelegate.class);
+    final ParallelCombiner<Integer> combiner = new ParallelCombiner<>(failOnZero, FAN_IN, future, directExecutor);
+
+    combiner.taskletsAdded(FAN_IN + 1);
+    final List<Integer> failedTaskletIds = new ArrayList<>();
+    for (int i = 0; i < FAN_IN; i++) {
+      combiner.completed(i, i);
+      failedTaskletIds.add(i);
+    }
+    combiner.completed(FAN_IN, 1);
+    combiner.allTaskletsAdded();
+
+    verify(future).aggregationThrewException(eq(failedTaskletIds), any(Exception.class));
+    verify(future).aggregationCompleted(Collections.singletonList(FAN_IN), 1);
+  }
+}
@@ -18,29 +18,54 @@
  */
 package org.apache.reef.vortex.driver;
 
+import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletStealRequest;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Test Possible Race Conditions.
  */
 public class RunningWorkersTest {
+  private static final Logger LOG = Logger.getLogger(RunningWorkersTest.class.getName());
+
   private final TestUtil testUtil = new TestUtil();
   private final TestUtil.TestSchedulingPolicy schedulingPolicy = testUtil.newSchedulingPolicy();
   private final RunningWorkers runningWorkers;
 
   public RunningWorkersTest() throws InjectionException {
     runningWorkers = new RunningWorkers(
-        schedulingPolicy, Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class));
+        schedulingPolicy, Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class));
   }
 
   /**
@@ -76,4 +101,281 @@ public class RunningWorkersTest {
     runningWorkers.doneTasklets(vortexWorkerManager.getId(), taskletIds);
     assertFalse("Tasklet must not have been completed", schedulingPolicy.taskletIsDone(tasklet.getId()));
   }
+
+  /**
+   * Stress test with hundreds of workers: a single scheduler thread launches tasklets
+   * while multiple threads complete them, and the scheduling throughput is logged.
+   */
+  @Test(timeout = 120000)
+  public void testSchedulingStress() throws Exception {
+    final int numOfWorkers = 200;
+    final int workerCapacity = 4;
+    final int numOfTasklets = 50000;
+    final int numOfCompletionThreads = 8;
+
+    final RunningWorkers stressedRunningWorkers = new RunningWorkers(new FirstFitSchedulingPolicy(workerCapacity),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class));
+    for (int i = 0; i < numOfWorkers; i++) {
+      stressedRunningWorkers.addWorker(testUtil.newWorker());
+    }
+
+    final BlockingQueue<Integer> launchedTaskletIds = new LinkedBlockingQueue<>();
+    final AtomicInteger numOfDoneTasklets = new AtomicInteger(0);
+    final ExecutorService completionThreads = Executors.newFixedThreadPool(numOfCompletionThreads);
+    for (int i = 0; i < numOfCompletionThreads; i++) {
+      completionThreads.execute(new Runnable() {
+        @Override
+        public void run() {
+          while (numOfDoneTasklets.get() < numOfTasklets) {
+            final Integer taskletId;
+            try {
+              taskletId = launchedTaskletIds.poll(100, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+            if (taskletId != null) {
+              final String workerId = stressedRunningWorkers.getWhereTaskletWasScheduledTo(taskletId);
+              stressedRunningWorkers.doneTasklets(workerId, Collections.singletonList(taskletId));
+              numOfDoneTasklets.incrementAndGet();
+            }
+          }
+        }
+      });
+    }
+
+    final List<Integer> taskletIds = new ArrayList<>(numOfTasklets);
+    final long startTime = System.currentTimeMillis();
+    for (int i = 0; i < numOfTasklets; i++) {
+      final Tasklet tasklet = testUtil.newTasklet();
+      stressedRunningWorkers.launchTasklet(tasklet); // blocks when all workers are full
+      taskletIds.add(tasklet.getId());
+      launchedTaskletIds.add(tasklet.getId());
+    }
+    completionThreads.shutdown();
+    completionThreads.awaitTermination(100, TimeUnit.SECONDS);
+    final long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+
+    LOG.log(Level.INFO, "Scheduled {0} tasklets on {1} workers in {2} ms: {3} tasklets/sec",
+        new Object[]{numOfTasklets, numOfWorkers, elapsedTime, numOfTasklets * 1000L / elapsedTime});
+
+    assertEquals("All tasklets must have been completed", numOfTasklets, numOfDoneTasklets.get());
+    for (final int taskletId : taskletIds) {
+      assertNull("Completed tasklets must not be indexed",
+          stressedRunningWorkers.getWhereTaskletWasScheduledTo(taskletId));
+    }
+  }
+
+  /**
+   * Test tasklet launches -> the launches are sent to a worker as one batch once they fill its capacity,
+   * without waiting for the scheduler to flush them.
+   */
+  @Test(timeout = 10000)
+  public void sendLaunchesOnceWorkerCapacityIsFilled() throws Exception {
+    final RunningWorkers batchingRunningWorkers = new RunningWorkers(new FirstFitSchedulingPolicy(3),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class));
+    final VortexRequestor vortexRequestor = mock(VortexRequestor.class);
+    final RunningTask reefTask = mock(RunningTask.class);
+    when(reefTask.getId()).thenReturn("worker");
+    final VortexWorkerManager worker = new VortexWorkerManager(vortexRequestor, reefTask);
+    batchingRunningWorkers.addWorker(worker);
+
+    for (int i = 0; i < 2; i++) {
+      batchingRunningWorkers.launchTasklet(testUtil.newTasklet());
+    }
+    verify(vortexRequestor, never()).sendAsync(any(RunningTask.class), any(MasterToWorkerRequests.class));
+    assertEquals(2, worker.getNumPendingRequests());
+
+    batchingRunningWorkers.launchTasklet(testUtil.newTasklet());
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    verify(vortexRequestor).sendAsync(any(RunningTask.class), captor.capture());
+    assertEquals(3, captor.getValue().getRequests().size());
+    assertEquals(0, worker.getNumPendingRequests());
+  }
+
+  /**
+   * Test worker allocation -> tasklet launches -> one worker becomes idle -> queued tasklets are taken back
+   * from the busy worker to be rescheduled.
+   */
+  @Test(timeout = 10000)
+  public void rebalanceOntoIdleWorker() throws Exception {
+    final RunningWorkers rebalancingRunningWorkers = new RunningWorkers(new LeastLoadedSchedulingPolicy(2),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class));
+    final VortexRequestor busyWorkerRequestor = mock(VortexRequestor.class);
+    final RunningTask busyWorkerTask = mock(RunningTask.class);
+    when(busyWorkerTask.getId()).thenReturn("busyWorker");
+    final VortexWorkerManager busyWorker = new VortexWorkerManager(busyWorkerRequestor, busyWorkerTask);
+    rebalancingRunningWorkers.addWorker(busyWorker);
+
+    // Fill up the busy worker before another worker joins
+    final List<Integer> busyTaskletIds = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      final Tasklet tasklet = testUtil.newTasklet();
+      rebalancingRunningWorkers.launchTasklet(tasklet);
+      busyTaskletIds.add(tasklet.getId());
+    }
+    final VortexWorkerManager idleWorker = testUtil.newWorker();
+    rebalancingRunningWorkers.addWorker(idleWorker);
+    final Tasklet idleWorkerTasklet = testUtil.newTasklet();
+    rebalancingRunningWorkers.launchTasklet(idleWorkerTasklet);
+    rebalancingRunningWorkers.flushLaunches();
+    assertEquals(idleWorker.getId(),
+        rebalancingRunningWorkers.getWhereTaskletWasScheduledTo(idleWorkerTasklet.getId()));
+
+    // The other worker becomes idle
+    rebalancingRunningWorkers.doneTasklets(idleWorker.getId(), Collections.singletonList(idleWorkerTasklet.getId()));
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    // The launches were sent once they filled the capacity of the busy worker, then the steal request.
+    verify(busyWorkerRequestor, times(2)).sendAsync(any(RunningTask.class), captor.capture());
+    assertEquals(2, captor.getAllValues().get(0).getRequests().size());
+    final List<MasterToWorkerRequest> requests = captor.getValue().getRequests();
+    final MasterToWorkerRequest lastRequest = requests.get(requests.size() - 1);
+    assertTrue("The busy worker must be asked to give back tasklets", lastRequest instanceof TaskletStealRequest);
+    assertEquals(1, ((TaskletStealRequest) lastRequest).getNumTasklets());
+
+    // The busy worker gives back its last queued tasklet
+    final int stolenTaskletId = busyTaskletIds.get(1);
+    final List<Tasklet> stolenTasklets =
+        rebalancingRunningWorkers.taskletsStolen(busyWorker.getId(), Collections.singletonList(stolenTaskletId));
+    assertEquals(1, stolenTasklets.size());
+    assertEquals(stolenTaskletId, stolenTasklets.get(0).getId());
+    assertNull("The given back tasklet must not be indexed",
+        rebalancingRunningWorkers.getWhereTaskletWasScheduledTo(stolenTaskletId));
+    assertEquals(1, busyWorker.getNumRunningTasklets());
+  }
+
+  /**
+   * Test tasklet launch -> cancellation -> executor preemption before the cancellation is reported -> reschedule.
+   * The rescheduled tasklet must be cancelled instead of being launched again.
+   */
+  @Test(timeout = 10000)
+  public void cancelTaskletAndRemoveExecutor() throws Exception {
+    final RunningWorkers cancellingRunningWorkers = new RunningWorkers(new FirstFitSchedulingPolicy(4),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class));
+    final VortexWorkerManager worker1 = testUtil.newWorker();
+    final Tasklet tasklet = testUtil.newTasklet();
+    cancellingRunningWorkers.addWorker(worker1);
+    cancellingRunningWorkers.launchTasklet(tasklet);
+    cancellingRunningWorkers.cancelTasklet(true, tasklet.getId());
+
+    final Optional<Collection<Tasklet>> preemptedTasklets = cancellingRunningWorkers.removeWorker(worker1.getId());
+    assertTrue(preemptedTasklets.isPresent());
+    assertTrue(preemptedTasklets.get().contains(tasklet));
+
+    final VortexWorkerManager worker2 = testUtil.newWorker();
+    cancellingRunningWorkers.addWorker(worker2);
+    cancellingRunningWorkers.launchTasklet(tasklet);
+    assertFalse("The cancelled tasklet must not be launched again", worker2.containsTasklet(tasklet.getId()));
+    assertNull(cancellingRunningWorkers.getWhereTaskletWasScheduledTo(tasklet.getId()));
+  }
+
+  /**
+   * Test tasklet launch -> the tasklet straggles -> a duplicate is launched on another worker -> the duplicate
+   * completes first and the original is withdrawn, or the original is preempted and the duplicate takes its place.
+   */
+  @Test(timeout = 10000)
+  public void duplicateStragglingTasklet() throws Exception {
+    final RunningWorkers speculativeRunningWorkers = new RunningWorkers(new FirstFitSchedulingPolicy(4),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        new StragglerDetector(true, 0.5, 1.0, 1));
+    final VortexWorkerManager worker1 = testUtil.newWorker();
+    final VortexWorkerManager worker2 = testUtil.newWorker();
+    speculativeRunningWorkers.addWorker(worker1);
+    speculativeRunningWorkers.addWorker(worker2);
+
+    // A quick tasklet sets the threshold
+    final Tasklet quickTasklet = testUtil.newTasklet();
+    speculativeRunningWorkers.launchTasklet(quickTasklet);
+    speculativeRunningWorkers.doneTasklets(speculativeRunningWorkers.getWhereTaskletWasScheduledTo(
+        quickTasklet.getId()), Collections.singletonList(quickTasklet.getId()));
+
+    final Tasklet straggler1 = testUtil.newTasklet();
+    final Tasklet straggler2 = testUtil.newTasklet();
+    speculativeRunningWorkers.launchTasklet(straggler1);
+    speculativeRunningWorkers.launchTasklet(straggler2);
+    final String originalWorkerId1 = speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler1.getId());
+    final String originalWorkerId2 = speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler2.getId());
+    Thread.sleep(50);
+
+    final List<Tasklet> stragglers = speculativeRunningWorkers.findStragglers();
+    assertEquals(2, stragglers.size());
+    assertTrue("Stragglers are reported once", speculativeRunningWorkers.findStragglers().isEmpty());
+    for (final Tasklet straggler : stragglers) {
+      speculativeRunningWorkers.launchTasklet(straggler);
+    }
+    final VortexWorkerManager originalWorker1 = originalWorkerId1.equals(worker1.getId()) ? worker1 : worker2;
+    final VortexWorkerManager duplicateWorker1 = originalWorker1 == worker1 ? worker2 : worker1;
+    assertTrue(originalWorker1.containsTasklet(straggler1.getId()));
+    assertTrue("The duplicate must be on the other worker", duplicateWorker1.containsTasklet(straggler1.getId()));
+    assertEquals(originalWorkerId1, speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler1.getId()));
+
+    // The duplicate completes first, the original is withdrawn and its late report is ignored
+    speculativeRunningWorkers.doneTasklets(duplicateWorker1.getId(), Collections.singletonList(straggler1.getId()));
+    assertFalse("The original must be withdrawn", originalWorker1.containsTasklet(straggler1.getId()));
+    assertNull(speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler1.getId()));
+    speculativeRunningWorkers.doneTasklets(originalWorkerId1, Collections.singletonList(straggler1.getId()));
+
+    // The worker running the original is preempted, the duplicate takes its place
+    final VortexWorkerManager duplicateWorker2 = originalWorkerId2.equals(worker1.getId()) ? worker2 : worker1;
+    final Optional<Collection<Tasklet>> preemptedTasklets = speculativeRunningWorkers.removeWorker(originalWorkerId2);
+    assertTrue(preemptedTasklets.isPresent());
+    assertFalse("The duplicated tasklet must not be rescheduled", preemptedTasklets.get().contains(straggler2));
+    assertEquals(duplicateWorker2.getId(),
+        speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler2.getId()));
+  }
+
+  /**
+   * Test that no duplicate of a straggling tasklet is launched onto a worker that has no resources left,
+   * and that the tasklet is reported again such that it gets a duplicate once a worker has resources.
+   */
+  @Test(timeout = 10000)
+  public void duplicateRespectsWorkerCapacity() throws Exception {
+    final RunningWorkers speculativeRunningWorkers = new RunningWorkers(new FirstFitSchedulingPolicy(1),
+        Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class),
+        new StragglerDetector(true, 0.5, 1.0, 1));
+    final VortexWorkerManager worker1 = testUtil.newWorker();
+    final VortexWorkerManager worker2 = testUtil.newWorker();
+    speculativeRunningWorkers.addWorker(worker1);
+    speculativeRunningWorkers.addWorker(worker2);
+
+    // A quick tasklet sets the threshold
+    final Tasklet quickTasklet = testUtil.newTasklet();
+    speculativeRunningWorkers.launchTasklet(quickTasklet);
+    speculativeRunningWorkers.doneTasklets(speculativeRunningWorkers.getWhereTaskletWasScheduledTo(
+        quickTasklet.getId()), Collections.singletonList(quickTasklet.getId()));
+
+    // Each worker is full with a straggler
+    final Tasklet straggler1 = testUtil.newTasklet();
+    final Tasklet straggler2 = testUtil.newTasklet();
+    assertFalse(speculativeRunningWorkers.launchTasklet(straggler1));
+    assertFalse(speculativeRunningWorkers.launchTasklet(straggler2));
+    Thread.sleep(50);
+
+    final List<Tasklet> stragglers = speculativeRunningWorkers.findStragglers();
+    assertEquals(2, stragglers.size());
+    for (final Tasklet straggler : stragglers) {
+      assertTrue("The tasklet is passed in for a duplicate", speculativeRunningWorkers.launchTasklet(straggler));
+    }
+    for (final Tasklet straggler : stragglers) {
+      final String workerId = speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler.getId());
+      final VortexWorkerManager otherWorker = workerId.equals(worker1.getId()) ? worker2 : worker1;
+      assertFalse("No duplicate on a full worker", otherWorker.containsTasklet(straggler.getId()));
+    }
+
+    // The stragglers without a duplicate are reported again, and one gets a duplicate once a worker frees up
+    final String workerId1 = speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler1.getId());
+    final String workerId2 = speculativeRunningWorkers.getWhereTaskletWasScheduledTo(straggler2.getId());
+    speculativeRunningWorkers.doneTasklets(workerId1, Collections.singletonList(straggler1.getId()));
+    final List<Tasklet> remainingStragglers = speculativeRunningWorkers.findStragglers();
+    assertEquals(1, remainingStragglers.size());
+    assertEquals(straggler2.getId(), remainingStragglers.get(0).getId());
+    assertTrue(speculativeRunningWorkers.launchTasklet(remainingStragglers.get(0)));
+    final VortexWorkerManager freedWorker = workerId2.equals(worker1.getId()) ? worker2 : worker1;
+    assertTrue("The duplicate must be on the freed worker", freedWorker.containsTasklet(straggler2.getId()));
+    assertTrue("Stragglers with a duplicate are not reported again",
+        speculativeRunningWorkers.findStragglers().isEmpty());
+  }
 }
@@ -18,9 +18,12 @@
  */
 package org.apache.reef.vortex.driver;
 
+import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.api.VortexFunction;
 import org.junit.Test;
 
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Deque;
 
 import static org.junit.Assert.*;
@@ -38,6 +41,8 @@ public class SchedulingPolicyTest {
   public void testCommon() throws Exception {
     commonPolicyTests(new RandomSchedulingPolicy());
     commonPolicyTests(new FirstFitSchedulingPolicy(10));
+    commonPolicyTests(new LeastLoadedSchedulingPolicy(10));
+    commonPolicyTests(new AffinitySchedulingPolicy(10));
   }
 
   /**
@@ -101,6 +106,75 @@ public class SchedulingPolicyTest {
     assertFalse("All workers should be full", policy.trySchedule(testUtil.newTasklet()).isPresent());
   }
 
+  /**
+   * Test that LeastLoadedSchedulingPolicy balances the load and rebalances onto idle workers.
+   */
+  @Test
+  public void testLeastLoaded() throws Exception {
+    final LeastLoadedSchedulingPolicy policy = new LeastLoadedSchedulingPolicy(2);
+    final VortexWorkerManager worker1 = testUtil.newWorker();
+    final VortexWorkerManager worker2 = testUtil.newWorker();
+    policy.workerAdded(worker1);
+    policy.workerAdded(worker2);
+
+    // Without estimates, the tasklets are spread over the workers
+    final Tasklet tasklet1 = testUtil.newTasklet();
+    final String firstWorkerId = policy.trySchedule(tasklet1).get();
+    final VortexWorkerManager firstWorker = firstWorkerId.equals(worker1.getId()) ? worker1 : worker2;
+    final VortexWorkerManager secondWorker = firstWorker == worker1 ? worker2 : worker1;
+    policy.taskletLaunched(firstWorker, tasklet1);
+    assertEquals("The other worker is less loaded", secondWorker.getId(),
+        policy.trySchedule(testUtil.newTasklet()).get());
+
+    // Fill up the first worker
+    policy.taskletLaunched(firstWorker, testUtil.newTasklet());
+    assertEquals("Only the second worker has enough resources", secondWorker.getId(),
+        policy.trySchedule(testUtil.newTasklet()).get());
+    assertEquals("The idle second worker should take tasklets from the first one", firstWorker.getId(),
+        policy.tryRebalance(secondWorker).get());
+
+    // Give back a tasklet
+    policy.taskletsStolen(firstWorker, Collections.singletonList(tasklet1));
+    assertFalse("A worker with a single tasklet is not rebalanced", policy.tryRebalance(secondWorker).isPresent());
+  }
+
+  /**
+   * Test that AffinitySchedulingPolicy prefers the worker that already holds the function.
+   */
+  @Test
+  public void testAffinity() throws Exception {
+    final AffinitySchedulingPolicy policy = new AffinitySchedulingPolicy(2);
+    final VortexWorkerManager worker1 = testUtil.newWorker();
+    final VortexWorkerManager worker2 = testUtil.newWorker();
+    policy.workerAdded(worker1);
+    policy.workerAdded(worker2);
+
+    final VortexFunction<Void, Void> function = testUtil.newFunction();
+    final VortexFunction<Void, Void> otherFunction = testUtil.newFunction();
+    launch(policy, worker1, newTasklet(function));
+
+    assertEquals("The worker holding the function should be preferred", worker1.getId(),
+        policy.trySchedule(newTasklet(function)).get());
+    assertEquals("The least loaded worker should be chosen for a new function", worker2.getId(),
+        policy.trySchedule(newTasklet(otherFunction)).get());
+
+    // Fill up the first worker
+    launch(policy, worker1, newTasklet(function));
+    assertEquals("Only the second worker has enough resources", worker2.getId(),
+        policy.trySchedule(newTasklet(function)).get());
+    assertEquals("The idle second worker should take tasklets from the first one", worker1.getId(),
+        policy.tryRebalance(worker2).get());
+  }
+
+  private static void launch(final SchedulingPolicy policy, final VortexWorkerManager worker, final Tasklet tasklet) {
+    worker.launchTasklet(tasklet);
+    policy.taskletLaunched(worker, tasklet);
+  }
+
+  private Tasklet newTasklet(final VortexFunction<Void, Void> function) {
+    return new Tasklet<>(testUtil.newTasklet().getId(), Optional.<Integer>empty(), function, null, null);
+  }
+
   /**
    * Simple protocol tests.
    */
@@ -22,9 +22,12 @@ import org.apache.reef.driver.task.RunningTask;
 import org.apache.reef.tang.Tang;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.api.VortexAggregateException;
+import org.apache.reef.vortex.api.VortexAggregateFunction;
 import org.apache.reef.vortex.api.VortexFunction;
 import org.apache.reef.vortex.api.VortexFuture;
 import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
 import org.apache.reef.vortex.protocol.mastertoworker.TaskletCancellationRequest;
 import org.apache.reef.vortex.protocol.workertomaster.TaskletCancelledReport;
 import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
@@ -72,16 +75,19 @@ public final class TestUtil {
     doAnswer(new Answer() {
       @Override
       public Object answer(final InvocationOnMock invocation) throws Throwable {
-        final MasterToWorkerRequest request = (MasterToWorkerRequest)invocation.getArguments()[1];
-        if (request instanceof TaskletCancellationRequest) {
-          final WorkerToMasterReport cancelReport = new TaskletCancelledReport(
-              ((TaskletCancellationRequest)request).getTaskletId());
-          master.workerReported(workerManager.getId(), new WorkerToMasterReports(Collections.singleton(cancelReport)));
+        final MasterToWorkerRequests requests = (MasterToWorkerRequests)invocation.getArguments()[1];
+        for (final MasterToWorkerRequest request : requests.getRequests()) {
+          if (request instanceof TaskletCancellationRequest) {
+            final WorkerToMasterReport cancelReport = new TaskletCancelledReport(
+                ((TaskletCancellationRequest)request).getTaskletId());
+            master.workerReported(workerManager.getId(),
+                new WorkerToMasterReports(Collections.singleton(cancelReport)));
+          }
         }
 
         return null;
       }
-    }).when(vortexRequestor).sendAsync(any(RunningTask.class), any(MasterToWorkerRequest.class));
+    }).when(vortexRequestor).sendAsync(any(RunningTask.class), any(MasterToWorkerRequests.class));
 
     return workerManager;
   }
@@ -101,6 +107,13 @@ public final class TestUtil {
     return Tang.Factory.getTang().newInjector().getInstance(AggregateFunctionRepository.class);
   }
 
+  /**
+   * @return a new {@link StragglerDetector}, with speculative execution disabled
+   */
+  public StragglerDetector newStragglerDetector() throws InjectionException {
+    return Tang.Factory.getTang().newInjector().getInstance(StragglerDetector.class);
+  }
+
   /**
    * @return a new dummy function.
    */
@@ -137,6 +150,22 @@ public final class TestUtil {
     };
   }
 
+  /**
+   * @return an aggregate function that sums up integers.
+   */
+  public VortexAggregateFunction<Integer> newSumAggregateFunction() {
+    return new VortexAggregateFunction<Integer>() {
+      @Override
+      public Integer call(final List<Integer> taskletOutputs) throws VortexAggregateException {
+        int sum = 0;
+        for (final int output : taskletOutputs) {
+          sum += output;
+        }
+        return sum;
+      }
+    };
+  }
+
   /**
    * @return a dummy integer-integer function.
    */
@@ -161,6 +190,11 @@ public final class TestUtil {
       return policy.trySchedule(tasklet);
     }
 
+    @Override
+    public boolean hasCapacity(final VortexWorkerManager vortexWorker) {
+      return policy.hasCapacity(vortexWorker);
+    }
+
     @Override
     public void workerAdded(final VortexWorkerManager vortexWorker) {
       policy.workerAdded(vortexWorker);
@@ -184,6 +218,16 @@ public final class TestUtil {
       }
     }
 
+    @Override
+    public void taskletsStolen(final VortexWorkerManager vortexWorker, final List<Tasklet> tasklets) {
+      policy.taskletsStolen(vortexWorker, tasklets);
+    }
+
+    @Override
+    public Optional<String> tryRebalance(final VortexWorkerManager idleWorker) {
+      return policy.tryRebalance(idleWorker);
+    }
+
     /**
      * @return true if Tasklet with taskletId is done, false otherwise.
      */
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.reef.vortex.api.VortexMetrics;
+import org.apache.reef.vortex.common.LatencyHistogram;
+import org.apache.reef.vortex.driver.avro.AvroLatencyHistogram;
+import org.apache.reef.vortex.driver.avro.AvroVortexMetrics;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the JSON served by the metrics handler.
+ */
+public class VortexMetricsHttpHandlerTest {
+  /**
+   * Test that the JSON follows the Avro schema of the metrics, and keeps only the non-empty bins.
+   */
+  @Test
+  public void testToJson() throws IOException {
+    final LatencyHistogram pendingTime = new LatencyHistogram();
+    pendingTime.update(3);
+    pendingTime.update(3);
+    pendingTime.update(100);
+    final Map<String, Double> workerUtilization = new HashMap<>();
+    workerUtilization.put("worker-\"1\"", 0.5);
+
+    final String json = VortexMetricsHttpHandler.toJson(new VortexMetrics(pendingTime, new LatencyHistogram(),
+        new LatencyHistogram(), new LatencyHistogram(), workerUtilization));
+    assertTrue(json, json.contains("\"pendingTime\":{\"count\":3,\"p50\":4,\"p90\":128,\"p99\":128"));
+
+    final AvroVortexMetrics metrics = new SpecificDatumReader<>(AvroVortexMetrics.class).read(null,
+        DecoderFactory.get().jsonDecoder(AvroVortexMetrics.getClassSchema(), json));
+    final AvroLatencyHistogram avroPendingTime = metrics.getPendingTime();
+    assertEquals(3, (long) avroPendingTime.getCount());
+    assertEquals(2, avroPendingTime.getBins().size());
+    assertEquals(2, (long) getBin(avroPendingTime, "4"));
+    assertEquals(1, (long) getBin(avroPendingTime, "128"));
+    assertEquals(0, (long) metrics.getTurnaroundTime().getCount());
+    assertTrue(metrics.getTurnaroundTime().getBins().isEmpty());
+    assertEquals(1, metrics.getWorkerUtilization().size());
+    assertEquals(0.5, getUtilization(metrics, "worker-\"1\""), 0);
+  }
+
+  private static Long getBin(final AvroLatencyHistogram histogram, final String upperBound) {
+    for (final Map.Entry<CharSequence, Long> entry : histogram.getBins().entrySet()) {
+      if (entry.getKey().toString().equals(upperBound)) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  private static double getUtilization(final AvroVortexMetrics metrics, final String workerId) {
+    for (final Map.Entry<CharSequence, Double> entry : metrics.getWorkerUtilization().entrySet()) {
+      if (entry.getKey().toString().equals(workerId)) {
+        return entry.getValue();
+      }
+    }
+    throw new AssertionError("No utilization for " + workerId);
+  }
+}
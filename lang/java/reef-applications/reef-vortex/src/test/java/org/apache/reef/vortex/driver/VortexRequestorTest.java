@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.reef.driver.task.RunningTask;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.vortex.common.KryoUtils;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletCancellationRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the order in which VortexRequestor sends requests to a worker.
+ */
+public class VortexRequestorTest {
+  private static final int NUM_REQUESTS = 200;
+
+  /**
+   * Test that asynchronous sends reach a worker in the order in which they are made.
+   */
+  @Test
+  public void testSendOrderPerWorker() throws InjectionException {
+    final KryoUtils kryoUtils = Tang.Factory.getTang().newInjector().getInstance(KryoUtils.class);
+    final VortexRequestor vortexRequestor = new VortexRequestor(kryoUtils);
+    final RunningTask reefTask = mock(RunningTask.class);
+    when(reefTask.getId()).thenReturn("worker");
+
+    for (int i = 0; i < NUM_REQUESTS; i++) {
+      vortexRequestor.sendAsync(reefTask, new MasterToWorkerRequests(
+          Collections.<MasterToWorkerRequest>singletonList(new TaskletCancellationRequest(i))));
+    }
+
+    final ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+    verify(reefTask, timeout(10000).times(NUM_REQUESTS)).send(captor.capture());
+    final List<byte[]> sent = captor.getAllValues();
+    assertEquals(NUM_REQUESTS, sent.size());
+    for (int i = 0; i < NUM_REQUESTS; i++) {
+      final MasterToWorkerRequests requests = (MasterToWorkerRequests) kryoUtils.deserialize(sent.get(i));
+      assertEquals(i, ((TaskletCancellationRequest) requests.getRequests().get(0)).getTaskletId());
+    }
+  }
+
+  /**
+   * Test that a worker is closed after the requests sent to it before, and that later requests are dropped.
+   */
+  @Test
+  public void testCloseAfterSends() throws InjectionException {
+    final KryoUtils kryoUtils = Tang.Factory.getTang().newInjector().getInstance(KryoUtils.class);
+    final VortexRequestor vortexRequestor = new VortexRequestor(kryoUtils);
+    final RunningTask reefTask = mock(RunningTask.class);
+    when(reefTask.getId()).thenReturn("worker");
+
+    final MasterToWorkerRequests requests = new MasterToWorkerRequests(
+        Collections.<MasterToWorkerRequest>singletonList(new TaskletCancellationRequest(0)));
+    for (int i = 0; i < NUM_REQUESTS; i++) {
+      vortexRequestor.sendAsync(reefTask, requests);
+    }
+    vortexRequestor.close(reefTask);
+    vortexRequestor.sendAsync(reefTask, requests);
+
+    verify(reefTask, timeout(10000)).close();
+    final InOrder inOrder = inOrder(reefTask);
+    inOrder.verify(reefTask, times(NUM_REQUESTS)).send(any(byte[].class));
+    inOrder.verify(reefTask).close();
+    verify(reefTask, times(NUM_REQUESTS)).send(any(byte[].class));
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.driver;
+
+import org.apache.reef.driver.task.RunningTask;
+import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.api.VortexFunction;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.MasterToWorkerRequests;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletCancellationRequest;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletExecutionRequest;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the requests VortexWorkerManager sends to its worker.
+ */
+public class VortexWorkerManagerTest {
+  private final TestUtil testUtil = new TestUtil();
+  private int taskletId = 0;
+
+  /**
+   * Test that a function is shipped only with the first tasklet that uses it on a worker.
+   */
+  @Test
+  public void testFunctionShippedOnce() {
+    final VortexRequestor vortexRequestor = mock(VortexRequestor.class);
+    final VortexWorkerManager vortexWorkerManager =
+        new VortexWorkerManager(vortexRequestor, mock(RunningTask.class));
+    final VortexFunction<Void, Void> function = testUtil.newFunction();
+    final VortexFunction<Void, Void> otherFunction = testUtil.newFunction();
+
+    vortexWorkerManager.launchTasklet(newTasklet(function));
+    vortexWorkerManager.launchTasklet(newTasklet(function));
+    vortexWorkerManager.launchTasklet(newTasklet(otherFunction));
+    assertEquals(3, vortexWorkerManager.getNumPendingRequests());
+    vortexWorkerManager.flush();
+    assertEquals(0, vortexWorkerManager.getNumPendingRequests());
+
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    verify(vortexRequestor).sendAsync(any(RunningTask.class), captor.capture());
+    final List<TaskletExecutionRequest> firstBatch = getExecutionRequests(captor.getValue());
+    assertSame(function, firstBatch.get(0).getFunction());
+    assertNull(firstBatch.get(1).getFunction());
+    assertEquals(firstBatch.get(0).getFunctionId(), firstBatch.get(1).getFunctionId());
+    assertSame(otherFunction, firstBatch.get(2).getFunction());
+    assertNotEquals(firstBatch.get(0).getFunctionId(), firstBatch.get(2).getFunctionId());
+
+    // Later batches carry only the function IDs.
+    vortexWorkerManager.launchTasklet(newTasklet(function));
+    vortexWorkerManager.flush();
+    verify(vortexRequestor, times(2)).sendAsync(any(RunningTask.class), captor.capture());
+    final List<TaskletExecutionRequest> secondBatch = getExecutionRequests(captor.getValue());
+    assertNull(secondBatch.get(0).getFunction());
+    assertEquals(firstBatch.get(0).getFunctionId(), secondBatch.get(0).getFunctionId());
+  }
+
+  /**
+   * Test that a worker that replaces a preempted one receives the function again.
+   */
+  @Test
+  public void testFunctionShippedAgainAfterPreemption() {
+    final VortexFunction<Void, Void> function = testUtil.newFunction();
+    final Tasklet tasklet = newTasklet(function);
+
+    final VortexRequestor vortexRequestor1 = mock(VortexRequestor.class);
+    final VortexWorkerManager vortexWorkerManager1 =
+        new VortexWorkerManager(vortexRequestor1, mock(RunningTask.class));
+    vortexWorkerManager1.launchTasklet(tasklet);
+    vortexWorkerManager1.flush();
+    assertEquals(1, vortexWorkerManager1.removed().size());
+
+    final VortexRequestor vortexRequestor2 = mock(VortexRequestor.class);
+    final VortexWorkerManager vortexWorkerManager2 =
+        new VortexWorkerManager(vortexRequestor2, mock(RunningTask.class));
+    vortexWorkerManager2.launchTasklet(tasklet);
+    vortexWorkerManager2.flush();
+
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    verify(vortexRequestor2).sendAsync(any(RunningTask.class), captor.capture());
+    assertSame(function, getExecutionRequests(captor.getValue()).get(0).getFunction());
+  }
+
+  /**
+   * Test that the least recently used function is evicted when the cache is full,
+   * and that its ID is given to the new function, so that the worker cache is bounded.
+   */
+  @Test
+  public void testLeastRecentlyUsedFunctionEvicted() {
+    final VortexRequestor vortexRequestor = mock(VortexRequestor.class);
+    final VortexWorkerManager vortexWorkerManager =
+        new VortexWorkerManager(vortexRequestor, mock(RunningTask.class), 2);
+    final VortexFunction<Void, Void> function1 = testUtil.newFunction();
+    final VortexFunction<Void, Void> function2 = testUtil.newFunction();
+    final VortexFunction<Void, Void> function3 = testUtil.newFunction();
+
+    vortexWorkerManager.launchTasklet(newTasklet(function1));
+    vortexWorkerManager.launchTasklet(newTasklet(function2));
+    vortexWorkerManager.launchTasklet(newTasklet(function1));
+    vortexWorkerManager.launchTasklet(newTasklet(function3));
+    vortexWorkerManager.launchTasklet(newTasklet(function1));
+    vortexWorkerManager.launchTasklet(newTasklet(function2));
+    vortexWorkerManager.flush();
+
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    verify(vortexRequestor).sendAsync(any(RunningTask.class), captor.capture());
+    final List<TaskletExecutionRequest> batch = getExecutionRequests(captor.getValue());
+    final int id1 = batch.get(0).getFunctionId();
+    final int id2 = batch.get(1).getFunctionId();
+
+    // function2 is the least recently used one when function3 arrives.
+    assertSame(function3, batch.get(3).getFunction());
+    assertEquals(id2, batch.get(3).getFunctionId());
+    assertNull(batch.get(4).getFunction());
+    assertEquals(id1, batch.get(4).getFunctionId());
+    // function2 is shipped again, and takes the ID of function3, now the least recently used one.
+    assertSame(function2, batch.get(5).getFunction());
+    assertEquals(id2, batch.get(5).getFunctionId());
+  }
+
+  /**
+   * Test that a cancellation before the launch of a Tasklet is sent right after the launch only if the launch
+   * has been announced, and is otherwise not kept around.
+   */
+  @Test
+  public void testCancelBeforeLaunch() {
+    final VortexRequestor vortexRequestor = mock(VortexRequestor.class);
+    final VortexWorkerManager vortexWorkerManager =
+        new VortexWorkerManager(vortexRequestor, mock(RunningTask.class));
+    final Tasklet announcedTasklet = newTasklet(testUtil.newFunction());
+    final Tasklet otherTasklet = newTasklet(testUtil.newFunction());
+
+    vortexWorkerManager.launchAnnounced(announcedTasklet.getId());
+    vortexWorkerManager.cancelTasklet(announcedTasklet.getId());
+    vortexWorkerManager.cancelTasklet(otherTasklet.getId());
+    vortexWorkerManager.launchTasklet(announcedTasklet);
+    vortexWorkerManager.launchTasklet(otherTasklet);
+    vortexWorkerManager.flush();
+
+    final ArgumentCaptor<MasterToWorkerRequests> captor = ArgumentCaptor.forClass(MasterToWorkerRequests.class);
+    verify(vortexRequestor, times(2)).sendAsync(any(RunningTask.class), captor.capture());
+    final List<MasterToWorkerRequest> firstBatch = captor.getAllValues().get(0).getRequests();
+    assertEquals(2, firstBatch.size());
+    assertEquals(announcedTasklet.getId(), ((TaskletCancellationRequest) firstBatch.get(1)).getTaskletId());
+    final List<MasterToWorkerRequest> secondBatch = captor.getValue().getRequests();
+    assertEquals(1, secondBatch.size());
+    assertTrue("The other tasklet must not be cancelled", secondBatch.get(0) instanceof TaskletExecutionRequest);
+  }
+
+  private Tasklet newTasklet(final VortexFunction<Void, Void> function) {
+    return new Tasklet<>(taskletId++, Optional.<Integer>empty(), function, null, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<TaskletExecutionRequest> getExecutionRequests(final MasterToWorkerRequests requests) {
+    return (List<TaskletExecutionRequest>) (List) requests.getRequests();
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.evaluator;
+
+import org.apache.reef.tang.Tang;
+import org.apache.reef.task.HeartBeatTriggerManager;
+import org.apache.reef.vortex.api.VortexAggregateException;
+import org.apache.reef.vortex.api.VortexAggregateFunction;
+import org.apache.reef.vortex.api.VortexAggregatePolicy;
+import org.apache.reef.vortex.api.VortexFunction;
+import org.apache.reef.vortex.common.KryoUtils;
+import org.apache.reef.vortex.protocol.mastertoworker.TaskletAggregationRequest;
+import org.apache.reef.vortex.protocol.workertomaster.TaskletAggregationResultReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReport;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerToMasterReports;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the periodic aggregation of many aggregate functions on a worker.
+ */
+public class AggregateTimerTest {
+  private static final Logger LOG = Logger.getLogger(AggregateTimerTest.class.getName());
+  private static final int NUM_OF_AGGREGATE_FUNCTIONS = 1000;
+  private static final int PERIOD_MILLISECONDS = 100;
+  private static final int NUM_OF_THREADS = 4;
+
+  /**
+   * Test that the alarms of the aggregate functions share a thread, and that their reports are coalesced.
+   * The aggregations run on the given executor, whose threads are started beforehand.
+   */
+  @Test(timeout = 30000)
+  public void testCoalescedAlarms() throws Exception {
+    final HeartBeatTriggerManager heartBeatTriggerManager = mock(HeartBeatTriggerManager.class);
+    final KryoUtils kryoUtils = Tang.Factory.getTang().newInjector().getInstance(KryoUtils.class);
+    final BlockingDeque<byte[]> workerReports = new LinkedBlockingDeque<>();
+    final VortexAggregatePolicy policy = VortexAggregatePolicy.newBuilder()
+        .setTimerPeriodTrigger(PERIOD_MILLISECONDS)
+        .build();
+
+    final ThreadPoolExecutor aggregateExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(NUM_OF_THREADS);
+    aggregateExecutor.prestartAllCoreThreads();
+
+    final int numOfThreadsBefore = Thread.activeCount();
+    final long startTime = System.currentTimeMillis();
+    final AggregateTimer timer = new AggregateTimer(heartBeatTriggerManager, kryoUtils, workerReports,
+        aggregateExecutor);
+    for (int i = 0; i < NUM_OF_AGGREGATE_FUNCTIONS; i++) {
+      final AggregateContainer aggregateContainer = new AggregateContainer(timer,
+          new TaskletAggregationRequest<>(i, new SumFunction(), new IdentityFunction(), policy));
+      aggregateContainer.scheduleTasklet(i);
+      aggregateContainer.taskletComplete(i, 1);
+    }
+    final int numOfAdditionalThreads = Thread.activeCount() - numOfThreadsBefore;
+
+    int numOfAggregatedTasklets = 0;
+    int numOfMessages = 0;
+    while (numOfAggregatedTasklets < NUM_OF_AGGREGATE_FUNCTIONS) {
+      final WorkerToMasterReports reports = (WorkerToMasterReports) kryoUtils.deserialize(workerReports.takeFirst());
+      numOfMessages++;
+      for (final WorkerToMasterReport report : reports.getReports()) {
+        numOfAggregatedTasklets += ((TaskletAggregationResultReport) report).getTaskletIds().size();
+      }
+    }
+    final long elapsedTime = System.currentTimeMillis() - startTime;
+    timer.close();
+    aggregateExecutor.shutdown();
+
+    LOG.log(Level.INFO, "{0} aggregate functions: {1} additional threads, {2} messages in {3} ms",
+        new Object[]{NUM_OF_AGGREGATE_FUNCTIONS, numOfAdditionalThreads, numOfMessages, elapsedTime});
+    assertTrue("The aggregate functions should share a timer thread", numOfAdditionalThreads <= 1);
+    assertTrue("The reports should be coalesced", numOfMessages < NUM_OF_AGGREGATE_FUNCTIONS / 10);
+    assertEquals(0, workerReports.size());
+    verify(heartBeatTriggerManager, times(numOfMessages)).triggerHeartBeat();
+  }
+
+  /**
+   * Test that a slow aggregation runs off the timer thread, such that it does not delay the alarms of later ticks.
+   */
+  @Test(timeout = 30000)
+  public void testSlowAggregationDoesNotDelayTimer() throws Exception {
+    final HeartBeatTriggerManager heartBeatTriggerManager = mock(HeartBeatTriggerManager.class);
+    final KryoUtils kryoUtils = Tang.Factory.getTang().newInjector().getInstance(KryoUtils.class);
+    final BlockingDeque<byte[]> workerReports = new LinkedBlockingDeque<>();
+    final ThreadPoolExecutor aggregateExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(NUM_OF_THREADS);
+    final AggregateTimer timer = new AggregateTimer(heartBeatTriggerManager, kryoUtils, workerReports,
+        aggregateExecutor);
+
+    final CountDownLatch slowAggregationReleased = new CountDownLatch(1);
+    final AggregateContainer slowContainer = new AggregateContainer(timer, new TaskletAggregationRequest<>(0,
+        new VortexAggregateFunction<Integer>() {
+          @Override
+          public Integer call(final List<Integer> taskletOutputs) throws VortexAggregateException {
+            try {
+              slowAggregationReleased.await();
+            } catch (final InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+            return taskletOutputs.size();
+          }
+        }, new IdentityFunction(), VortexAggregatePolicy.newBuilder().setTimerPeriodTrigger(10).build()));
+    slowContainer.scheduleTasklet(0);
+    slowContainer.taskletComplete(0, 1);
+
+    final AggregateContainer container = new AggregateContainer(timer, new TaskletAggregationRequest<>(1,
+        new SumFunction(), new IdentityFunction(), VortexAggregatePolicy.newBuilder()
+        .setTimerPeriodTrigger(PERIOD_MILLISECONDS).build()));
+    container.scheduleTasklet(1);
+    container.taskletComplete(1, 1);
+
+    // The later alarm reports while the earlier aggregation still blocks
+    final byte[] report = workerReports.poll(10, TimeUnit.SECONDS);
+    slowAggregationReleased.countDown();
+    timer.close();
+    aggregateExecutor.shutdown();
+
+    assertNotNull("The later alarm should not wait for the slow aggregation", report);
+    final WorkerToMasterReports reports = (WorkerToMasterReports) kryoUtils.deserialize(report);
+    assertEquals(1, reports.getReports().size());
+    assertEquals(1, ((TaskletAggregationResultReport) reports.getReports().get(0)).getTaskletIds().get(0).intValue());
+  }
+
+  private static final class SumFunction implements VortexAggregateFunction<Integer> {
+    @Override
+    public Integer call(final List<Integer> taskletOutputs) throws VortexAggregateException {
+      int sum = 0;
+      for (final int output : taskletOutputs) {
+        sum += output;
+      }
+      return sum;
+    }
+  }
+
+  private static final class IdentityFunction implements VortexFunction<Integer, Integer> {
+    @Override
+    public Integer call(final Integer input) throws Exception {
+      return input;
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.vortex.evaluator;
+
+import org.apache.reef.util.Optional;
+import org.apache.reef.vortex.protocol.workertomaster.WorkerStatsReport;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test the timings recorded on a worker and their reports.
+ */
+public class WorkerStatsTest {
+  private static final int NUM_OF_THREADS = 2;
+
+  /**
+   * Test that the timings are only reported once per interval, and are reset by the report.
+   */
+  @Test(timeout = 10000)
+  public void testReport() throws InterruptedException {
+    final WorkerStats workerStats = new WorkerStats(NUM_OF_THREADS);
+    final long receivedNanos = System.nanoTime();
+    final long startNanos = workerStats.taskletStarted(receivedNanos);
+    assertTrue(startNanos >= receivedNanos);
+    workerStats.taskletFinished(startNanos);
+    assertFalse("The report should wait for the interval", workerStats.takeReportIfDue().isPresent());
+
+    Thread.sleep(TimeUnit.NANOSECONDS.toMillis(WorkerStats.REPORT_INTERVAL_NANOS));
+    final Optional<WorkerStatsReport> report = workerStats.takeReportIfDue();
+    assertTrue(report.isPresent());
+    assertEquals(1, sum(report.get().getQueueTimeBins()));
+    assertEquals(1, sum(report.get().getExecutionTimeBins()));
+    assertTrue(report.get().getUtilization() >= 0 && report.get().getUtilization() < 1.0 / NUM_OF_THREADS);
+    assertFalse("The next report should wait for the interval", workerStats.takeReportIfDue().isPresent());
+
+    Thread.sleep(TimeUnit.NANOSECONDS.toMillis(WorkerStats.REPORT_INTERVAL_NANOS));
+    final Optional<WorkerStatsReport> emptyReport = workerStats.takeReportIfDue();
+    assertTrue(emptyReport.isPresent());
+    assertEquals(0, sum(emptyReport.get().getQueueTimeBins()));
+    assertEquals(0, sum(emptyReport.get().getExecutionTimeBins()));
+    assertEquals(0, emptyReport.get().getUtilization(), 0);
+  }
+
+  /**
+   * Test that the utilization accounts for the busy time of all threads over the interval, up to 1.
+   */
+  @Test
+  public void testUtilization() {
+    final long intervalNanos = TimeUnit.SECONDS.toNanos(1);
+    final long[] bins = new long[0];
+    assertEquals(0.25, new WorkerStatsReport(bins, bins, intervalNanos / 2, intervalNanos, NUM_OF_THREADS)
+        .getUtilization(), 1e-9);
+    assertEquals(1.0, new WorkerStatsReport(bins, bins, 3 * intervalNanos, intervalNanos, NUM_OF_THREADS)
+        .getUtilization(), 0);
+    assertEquals(0, new WorkerStatsReport(bins, bins, intervalNanos, 0, NUM_OF_THREADS).getUtilization(), 0);
+  }
+
+  private static long sum(final long[] bins) {
+    long sum = 0;
+    for (final long value : bins) {
+      sum += value;
+    }
+    return sum;
+  }
+}
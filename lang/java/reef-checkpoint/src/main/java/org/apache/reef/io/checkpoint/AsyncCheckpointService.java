@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.checkpoint;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Future;
+
+/**
+ * A CheckpointService that writes checkpoints in the background.
+ * <p>
+ * The calling thread only takes a snapshot of the state; the returned Future completes with the CheckpointID
+ * once the checkpoint has been committed. Implementations may store only the parts of the state that changed
+ * since the previous checkpoint, as a delta that refers to that checkpoint as its base.
+ * {@link #restore(CheckpointID) restore} resolves such chains transparently.
+ */
+public interface AsyncCheckpointService extends CheckpointService {
+
+  /**
+   * Takes a snapshot of the bytes between the position and the limit of the given buffer and writes it
+   * to a new checkpoint in the background. The position and limit of the buffer are not changed,
+   * and the buffer may be modified as soon as this method returns.
+   *
+   * @param state the state to checkpoint
+   * @return a Future that completes with the CheckpointID of the committed checkpoint
+   */
+  Future<CheckpointID> checkpointAsync(ByteBuffer state);
+
+  /**
+   * Reads the state stored by {@link #checkpointAsync(ByteBuffer) checkpointAsync}.
+   *
+   * @param checkpointId CheckpointID returned by checkpointAsync
+   * @return a buffer holding the state of the checkpoint
+   * @throws IOException
+   * @throws InterruptedException
+   */
+  ByteBuffer restore(CheckpointID checkpointId) throws IOException, InterruptedException;
+}
@@ -0,0 +1,377 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.checkpoint.fs;
+
+import org.apache.reef.io.checkpoint.AsyncCheckpointService;
+import org.apache.reef.io.checkpoint.CheckpointID;
+import org.apache.reef.tang.annotations.Name;
+import org.apache.reef.tang.annotations.NamedParameter;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A FileSystem based AsyncCheckpointService.
+ *
+ * The state is divided into blocks. On each checkpoint the calling thread hashes every block and copies only
+ * the blocks whose hash changed since the previous checkpoint; a single background thread writes them through
+ * an FSCheckpointService, so each checkpoint file is still committed atomically.
+ * A delta checkpoint names the checkpoint it applies to in its header. Every consolidationInterval checkpoints,
+ * and whenever the size of the state changes or a write fails, is cancelled or is rejected, a full checkpoint
+ * starts a new chain. Deleting a checkpoint does not delete its bases.
+ *
+ * Blocks are compared by a 64 bit hash, not by their bytes: a block whose new contents collide with its previous
+ * hash is not written, and restoring a delta returns its older contents until the next full checkpoint.
+ */
+public class AsyncFSCheckpointService implements AsyncCheckpointService, AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(AsyncFSCheckpointService.class.getName());
+
+  private static final int MAGIC = 0x52454643;
+  private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+  private final FSCheckpointService fsService;
+  private final int blockSize;
+  private final int consolidationInterval;
+  private final boolean compress;
+  private final ExecutorService writer;
+
+  /**
+   * Hashes of the blocks of the last snapshot, or null before the first one. Guarded by this.
+   */
+  private long[] blockHashes;
+  private int stateLength;
+  private int checkpointsSinceFull;
+  private long lastSequence;
+
+  /**
+   * Set when a checkpoint fails, is cancelled or is rejected, so the next snapshot is taken in full.
+   */
+  private volatile boolean chainBroken = false;
+
+  /**
+   * The last checkpoint committed by the writer thread, or null if it failed.
+   */
+  private CheckpointID lastCommitted;
+
+  /**
+   * The sequence number of the snapshot of lastCommitted. Only used by the writer thread.
+   */
+  private long lastCommittedSequence;
+
+  @Inject
+  public AsyncFSCheckpointService(final FSCheckpointService fsService,
+                                  @Parameter(BlockSize.class) final int blockSize,
+                                  @Parameter(ConsolidationInterval.class) final int consolidationInterval,
+                                  @Parameter(CompressCheckpoints.class) final boolean compress) {
+    if (blockSize <= 0 || consolidationInterval <= 0) {
+      throw new IllegalArgumentException("Block size and consolidation interval must be positive");
+    }
+    this.fsService = fsService;
+    this.blockSize = blockSize;
+    this.consolidationInterval = consolidationInterval;
+    this.compress = compress;
+    this.writer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, "AsyncFSCheckpointService");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  @Override
+  public synchronized Future<CheckpointID> checkpointAsync(final ByteBuffer state) {
+    final int length = state.remaining();
+    final int numBlocks = (int) (((long) length + this.blockSize - 1) / this.blockSize);
+    final boolean full = this.chainBroken || this.blockHashes == null || length != this.stateLength
+        || this.checkpointsSinceFull >= this.consolidationInterval;
+    if (full) {
+      this.chainBroken = false;
+      this.blockHashes = new long[numBlocks];
+      this.stateLength = length;
+      this.checkpointsSinceFull = 0;
+    }
+    this.checkpointsSinceFull++;
+
+    final int[] changed = new int[numBlocks];
+    int numChanged = 0;
+    int changedBytes = 0;
+    for (int b = 0; b < numBlocks; b++) {
+      final int from = state.position() + b * this.blockSize;
+      final int to = Math.min(from + this.blockSize, state.limit());
+      final long hash = hash(state, from, to);
+      if (full || hash != this.blockHashes[b]) {
+        this.blockHashes[b] = hash;
+        changed[numChanged++] = b;
+        changedBytes += to - from;
+      }
+    }
+
+    final ByteBuffer blocks = ByteBuffer.allocate(changedBytes);
+    final ByteBuffer source = state.duplicate();
+    for (int i = 0; i < numChanged; i++) {
+      final int from = state.position() + changed[i] * this.blockSize;
+      source.limit(Math.min(from + this.blockSize, state.limit())).position(from);
+      blocks.put(source);
+    }
+    blocks.flip();
+
+    // blockHashes already describe this snapshot, so the writer refuses any delta whose base was not written.
+    final Snapshot snapshot =
+        new Snapshot(++this.lastSequence, full, length, Arrays.copyOf(changed, numChanged), blocks);
+    final FutureTask<CheckpointID> task = new FutureTask<CheckpointID>(new Callable<CheckpointID>() {
+      @Override
+      public CheckpointID call() throws IOException, InterruptedException {
+        return write(snapshot);
+      }
+    }) {
+      @Override
+      protected void done() {
+        if (isCancelled()) {
+          chainBroken = true;
+        }
+      }
+    };
+    try {
+      this.writer.execute(task);
+    } catch (final RejectedExecutionException e) {
+      this.chainBroken = true;
+      throw e;
+    }
+    return task;
+  }
+
+  @Override
+  public ByteBuffer restore(final CheckpointID checkpointId) throws IOException, InterruptedException {
+    try (final DataInputStream in = openCheckpoint(checkpointId)) {
+      final boolean compressed = in.readBoolean();
+      final CheckpointID base = readBase(in);
+      final int length = in.readInt();
+      final int checkpointBlockSize = in.readInt();
+      final int numBlocks = in.readInt();
+
+      final ByteBuffer state = base == null ? ByteBuffer.allocate(length) : restore(base);
+      if (state.remaining() != length) {
+        throw new IOException("Checkpoint " + checkpointId + " does not match the size of its base " + base);
+      }
+      final Inflater inflater = compressed ? new Inflater() : null;
+      try {
+        final DataInputStream body = inflater == null ? in
+            : new DataInputStream(new InflaterInputStream(in, inflater, STREAM_BUFFER_SIZE));
+        for (int i = 0; i < numBlocks; i++) {
+          final int index = body.readInt();
+          final int blockLength = body.readInt();
+          body.readFully(state.array(), state.arrayOffset() + index * checkpointBlockSize, blockLength);
+        }
+      } finally {
+        if (inflater != null) {
+          inflater.end();
+        }
+      }
+      return state;
+    }
+  }
+
+  /**
+   * @return the checkpoint the given checkpoint is a delta of, or null if it is a full checkpoint
+   */
+  CheckpointID getBase(final CheckpointID checkpointId) throws IOException, InterruptedException {
+    try (final DataInputStream in = openCheckpoint(checkpointId)) {
+      in.readBoolean();
+      return readBase(in);
+    }
+  }
+
+  /**
+   * Waits for the pending checkpoints to be written and stops the writer thread.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    this.writer.shutdown();
+    if (!this.writer.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+      LOG.log(Level.WARNING, "Pending checkpoints were not written");
+    }
+  }
+
+  @Override
+  public CheckpointWriteChannel create() throws IOException, InterruptedException {
+    return this.fsService.create();
+  }
+
+  @Override
+  public CheckpointID commit(final CheckpointWriteChannel channel) throws IOException, InterruptedException {
+    return this.fsService.commit(channel);
+  }
+
+  @Override
+  public void abort(final CheckpointWriteChannel channel) throws IOException, InterruptedException {
+    this.fsService.abort(channel);
+  }
+
+  @Override
+  public CheckpointReadChannel open(final CheckpointID checkpointId) throws IOException, InterruptedException {
+    return this.fsService.open(checkpointId);
+  }
+
+  @Override
+  public boolean delete(final CheckpointID checkpointId) throws IOException, InterruptedException {
+    return this.fsService.delete(checkpointId);
+  }
+
+  /**
+   * Writes a snapshot to a new checkpoint. Runs on the writer thread.
+   */
+  private CheckpointID write(final Snapshot snapshot) throws IOException, InterruptedException {
+    if (!snapshot.full && (this.lastCommitted == null || this.lastCommittedSequence != snapshot.sequence - 1)) {
+      this.lastCommitted = null;
+      this.chainBroken = true;
+      throw new IOException("The base of this delta checkpoint was not written");
+    }
+    final CheckpointWriteChannel channel = this.fsService.create();
+    try {
+      final DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Channels.newOutputStream(channel), STREAM_BUFFER_SIZE));
+      out.writeInt(MAGIC);
+      out.writeBoolean(this.compress);
+      out.writeBoolean(!snapshot.full);
+      if (!snapshot.full) {
+        this.lastCommitted.write(out);
+      }
+      out.writeInt(snapshot.length);
+      out.writeInt(this.blockSize);
+      out.writeInt(snapshot.changed.length);
+
+      final Deflater deflater = this.compress ? new Deflater(Deflater.BEST_SPEED) : null;
+      try (final DataOutputStream body = deflater == null ? out
+          : new DataOutputStream(new DeflaterOutputStream(out, deflater, STREAM_BUFFER_SIZE))) {
+        final ByteBuffer blocks = snapshot.blocks;
+        for (final int index : snapshot.changed) {
+          final int blockLength = Math.min(this.blockSize, snapshot.length - index * this.blockSize);
+          body.writeInt(index);
+          body.writeInt(blockLength);
+          body.write(blocks.array(), blocks.arrayOffset() + blocks.position(), blockLength);
+          blocks.position(blocks.position() + blockLength);
+        }
+      } finally {
+        if (deflater != null) {
+          deflater.end();
+        }
+      }
+
+      final CheckpointID checkpointId = this.fsService.commit(channel);
+      this.lastCommitted = checkpointId;
+      this.lastCommittedSequence = snapshot.sequence;
+      return checkpointId;
+    } catch (final IOException | RuntimeException e) {
+      this.lastCommitted = null;
+      this.chainBroken = true;
+      try {
+        this.fsService.abort(channel);
+      } catch (final IOException abortException) {
+        LOG.log(Level.FINE, "Failed to abort the checkpoint", abortException);
+      }
+      throw e;
+    }
+  }
+
+  private DataInputStream openCheckpoint(final CheckpointID checkpointId) throws IOException, InterruptedException {
+    final DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Channels.newInputStream(this.fsService.open(checkpointId)), STREAM_BUFFER_SIZE));
+    if (in.readInt() != MAGIC) {
+      in.close();
+      throw new IOException("Checkpoint " + checkpointId + " was not written by " + getClass().getSimpleName());
+    }
+    return in;
+  }
+
+  private static CheckpointID readBase(final DataInput in) throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    final FSCheckpointID base = new FSCheckpointID();
+    base.readFields(in);
+    return base;
+  }
+
+  /**
+   * A 64 bit hash of the bytes [from, to) of the buffer. Blocks with equal hashes are assumed unchanged.
+   * The hash is not cryptographic: a changed block keeps its hash with a probability of about 2^-64, and its
+   * change is then missing from the delta checkpoints until the next full checkpoint rewrites every block.
+   */
+  private static long hash(final ByteBuffer buffer, final int from, final int to) {
+    long hash = 0x9E3779B97F4A7C15L ^ (to - from);
+    int i = from;
+    for (; i + 8 <= to; i += 8) {
+      hash = (hash ^ buffer.getLong(i)) * 0xFF51AFD7ED558CCDL;
+      hash ^= hash >>> 33;
+    }
+    for (; i < to; i++) {
+      hash = (hash ^ buffer.get(i)) * 0xFF51AFD7ED558CCDL;
+      hash ^= hash >>> 33;
+    }
+    return hash;
+  }
+
+  /**
+   * The blocks of the state that a checkpoint stores.
+   */
+  private static final class Snapshot {
+    private final long sequence;
+    private final boolean full;
+    private final int length;
+    private final int[] changed;
+    private final ByteBuffer blocks;
+
+    Snapshot(final long sequence, final boolean full, final int length, final int[] changed,
+             final ByteBuffer blocks) {
+      this.sequence = sequence;
+      this.full = full;
+      this.length = length;
+      this.changed = changed;
+      this.blocks = blocks;
+    }
+  }
+
+  @NamedParameter(doc = "The size in bytes of the blocks that are compared between checkpoints by their 64 bit hash."
+      + " A change that keeps the hash of its block is only written by the next full checkpoint.",
+      default_value = "65536")
+  static class BlockSize implements Name<Integer> {
+  }
+
+  @NamedParameter(doc = "The number of checkpoints after which a full checkpoint is written.", default_value = "8")
+  static class ConsolidationInterval implements Name<Integer> {
+  }
+
+  @NamedParameter(doc = "Whether checkpoints are compressed.", default_value = "false")
+  static class CompressCheckpoints implements Name<Boolean> {
+  }
+}
@@ -22,6 +22,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.reef.annotations.audience.DriverSide;
 import org.apache.reef.annotations.audience.Public;
+import org.apache.reef.io.checkpoint.AsyncCheckpointService;
 import org.apache.reef.io.checkpoint.CheckpointID;
 import org.apache.reef.io.checkpoint.CheckpointNamingService;
 import org.apache.reef.io.checkpoint.CheckpointService;
@@ -66,10 +67,26 @@ public class FSCheckPointServiceConfiguration extends ConfigurationModuleBuilder
    */
   public static final OptionalParameter<String> PREFIX = new OptionalParameter<>();
 
+  /**
+   * Size in bytes of the blocks compared between asynchronous checkpoints (optional).
+   */
+  public static final OptionalParameter<Integer> BLOCK_SIZE = new OptionalParameter<>();
+
+  /**
+   * Number of asynchronous checkpoints after which a full checkpoint is written (optional).
+   */
+  public static final OptionalParameter<Integer> CONSOLIDATION_INTERVAL = new OptionalParameter<>();
+
+  /**
+   * Whether asynchronous checkpoints are compressed (optional).
+   */
+  public static final OptionalParameter<Boolean> COMPRESS = new OptionalParameter<>();
+
 
   public static final ConfigurationModule CONF = new FSCheckPointServiceConfiguration()
 
       .bindImplementation(CheckpointService.class, FSCheckpointService.class) // Use the HDFS based checkpoints
+      .bindImplementation(AsyncCheckpointService.class, AsyncFSCheckpointService.class)
       .bindImplementation(CheckpointNamingService.class, RandomNameCNS.class) // Use Random Names for the checkpoints
       .bindImplementation(CheckpointID.class, FSCheckpointID.class)
       .bindConstructor(FileSystem.class, FileSystemConstructor.class)
@@ -78,6 +95,9 @@ public class FSCheckPointServiceConfiguration extends ConfigurationModuleBuilder
       .bindNamedParameter(FSCheckpointService.PATH.class, PATH)
       .bindNamedParameter(FSCheckpointService.ReplicationFactor.class, REPLICATION_FACTOR)
       .bindNamedParameter(RandomNameCNS.PREFIX.class, PREFIX)
+      .bindNamedParameter(AsyncFSCheckpointService.BlockSize.class, BLOCK_SIZE)
+      .bindNamedParameter(AsyncFSCheckpointService.ConsolidationInterval.class, CONSOLIDATION_INTERVAL)
+      .bindNamedParameter(AsyncFSCheckpointService.CompressCheckpoints.class, COMPRESS)
       .build();
 
   /**
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.checkpoint.fs;
+
+import org.apache.reef.io.checkpoint.CheckpointID;
+import org.apache.reef.io.checkpoint.CheckpointService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of AsyncFSCheckpointService on the local file system. Run with the benchmark profile.
+ */
+public final class AsyncFSCheckpointServiceBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(AsyncFSCheckpointServiceBenchmark.class.getName());
+
+  private File checkpointDir;
+  private FSCheckpointService fsService;
+
+  @Before
+  public void setUp() throws IOException {
+    this.checkpointDir = Files.createTempDirectory("AsyncFSCheckpointServiceBenchmark").toFile();
+    this.fsService = AsyncFSCheckpointServiceTest.newFSCheckpointService(this.checkpointDir);
+  }
+
+  @After
+  public void tearDown() {
+    AsyncFSCheckpointServiceTest.delete(this.checkpointDir);
+  }
+
+  /**
+   * Compares how long a task is paused by a synchronous full checkpoint and by an asynchronous one
+   * when a small part of the state changes between checkpoints.
+   */
+  @Test
+  public void benchmarkPauseTime() throws IOException, InterruptedException, ExecutionException {
+    final AsyncFSCheckpointService service =
+        new AsyncFSCheckpointService(this.fsService, 64 * 1024, 8, false);
+    final Random random = new Random(7);
+    final ByteBuffer state = ByteBuffer.allocate(32 * 1024 * 1024);
+    random.nextBytes(state.array());
+    final int numCheckpoints = 5;
+
+    long syncPause = 0;
+    for (int i = 0; i < numCheckpoints; i++) {
+      AsyncFSCheckpointServiceTest.mutate(state, random, 10);
+      final long start = System.nanoTime();
+      final CheckpointService.CheckpointWriteChannel channel = service.create();
+      final ByteBuffer source = state.duplicate();
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
+      service.delete(service.commit(channel));
+      syncPause += System.nanoTime() - start;
+    }
+
+    long asyncPause = 0;
+    long asyncTotal = 0;
+    for (int i = 0; i < numCheckpoints; i++) {
+      AsyncFSCheckpointServiceTest.mutate(state, random, 10);
+      final long start = System.nanoTime();
+      final Future<CheckpointID> future = service.checkpointAsync(state);
+      asyncPause += System.nanoTime() - start;
+      future.get();
+      asyncTotal += System.nanoTime() - start;
+    }
+    service.close();
+
+    LOG.log(Level.INFO, "Pause per checkpoint of {0} bytes: sync {1} us, async {2} us (written in {3} us)",
+        new Object[]{state.capacity(), syncPause / numCheckpoints / 1000, asyncPause / numCheckpoints / 1000,
+            asyncTotal / numCheckpoints / 1000});
+  }
+}
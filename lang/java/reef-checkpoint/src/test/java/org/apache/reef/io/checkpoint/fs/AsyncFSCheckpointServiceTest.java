@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.checkpoint.fs;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.reef.io.checkpoint.CheckpointID;
+import org.apache.reef.io.checkpoint.CheckpointNamingService;
+import org.apache.reef.io.checkpoint.CheckpointService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for AsyncFSCheckpointService on the local file system.
+ */
+public final class AsyncFSCheckpointServiceTest {
+
+  private static final int BLOCK_SIZE = 4096;
+
+  private File checkpointDir;
+  private FSCheckpointService fsService;
+
+  @Before
+  public void setUp() throws IOException {
+    this.checkpointDir = Files.createTempDirectory("AsyncFSCheckpointServiceTest").toFile();
+    this.fsService = newFSCheckpointService(this.checkpointDir);
+  }
+
+  @After
+  public void tearDown() {
+    delete(this.checkpointDir);
+  }
+
+  @Test
+  public void testDeltaCheckpoints() throws Exception {
+    testCheckpoints(false);
+  }
+
+  @Test
+  public void testCompressedDeltaCheckpoints() throws Exception {
+    testCheckpoints(true);
+  }
+
+  private void testCheckpoints(final boolean compress) throws Exception {
+    final AsyncFSCheckpointService service = new AsyncFSCheckpointService(this.fsService, BLOCK_SIZE, 4, compress);
+    final Random random = new Random(42);
+    // Not a multiple of the block size, so the last block is partial.
+    final ByteBuffer state = ByteBuffer.allocate(100 * BLOCK_SIZE + 123);
+    random.nextBytes(state.array());
+
+    final CheckpointID[] ids = new CheckpointID[10];
+    final byte[][] expected = new byte[ids.length][];
+    for (int i = 0; i < ids.length; i++) {
+      mutate(state, random, 3);
+      expected[i] = state.array().clone();
+      ids[i] = service.checkpointAsync(state).get();
+    }
+    service.close();
+
+    for (int i = 0; i < ids.length; i++) {
+      final ByteBuffer restored = service.restore(ids[i]);
+      Assert.assertArrayEquals(expected[i], toArray(restored));
+      // Every fourth checkpoint starts a new chain.
+      final CheckpointID base = service.getBase(ids[i]);
+      if (i % 4 == 0) {
+        Assert.assertNull(base);
+      } else {
+        Assert.assertEquals(ids[i - 1], base);
+      }
+    }
+    Assert.assertTrue(checkpointFile(ids[1]).length() < checkpointFile(ids[0]).length() / 10);
+  }
+
+  @Test
+  public void testStateChangesWhileWriting() throws Exception {
+    final AsyncFSCheckpointService service = new AsyncFSCheckpointService(this.fsService, BLOCK_SIZE, 8, false);
+    final ByteBuffer state = ByteBuffer.allocate(16 * BLOCK_SIZE);
+    state.put(0, (byte) 1);
+    final byte[] expected = state.array().clone();
+    final CheckpointID id = service.checkpointAsync(state).get();
+    // The snapshot was taken by checkpointAsync, so the write does not see later changes.
+    state.put(1, (byte) 2);
+    service.checkpointAsync(state);
+    Assert.assertArrayEquals(expected, toArray(service.restore(id)));
+
+    // A change in size starts a new chain.
+    final ByteBuffer larger = ByteBuffer.allocate(20 * BLOCK_SIZE);
+    final CheckpointID largerId = service.checkpointAsync(larger).get();
+    Assert.assertNull(service.getBase(largerId));
+    Assert.assertEquals(20 * BLOCK_SIZE, service.restore(largerId).remaining());
+    service.close();
+  }
+
+  @Test
+  public void testSynchronousApi() throws Exception {
+    final AsyncFSCheckpointService service = new AsyncFSCheckpointService(this.fsService, BLOCK_SIZE, 8, false);
+    final CheckpointService.CheckpointWriteChannel channel = service.create();
+    channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    final CheckpointID id = service.commit(channel);
+    final ByteBuffer read = ByteBuffer.allocate(4);
+    try (final CheckpointService.CheckpointReadChannel in = service.open(id)) {
+      in.read(read);
+    }
+    Assert.assertEquals(3, read.position());
+    Assert.assertTrue(service.delete(id));
+    service.close();
+  }
+
+  static FSCheckpointService newFSCheckpointService(final File checkpointDir) throws IOException {
+    final AtomicInteger counter = new AtomicInteger();
+    final CheckpointNamingService namingService = new CheckpointNamingService() {
+      @Override
+      public String getNewName() {
+        return "checkpoint_" + counter.getAndIncrement();
+      }
+    };
+    return new FSCheckpointService(FileSystem.getLocal(new Configuration()),
+        new Path(checkpointDir.getAbsolutePath()), namingService, (short) 1);
+  }
+
+  static void delete(final File checkpointDir) {
+    final File[] files = checkpointDir.listFiles();
+    if (files != null) {
+      for (final File file : files) {
+        if (!file.delete()) {
+          file.deleteOnExit();
+        }
+      }
+    }
+    if (!checkpointDir.delete()) {
+      checkpointDir.deleteOnExit();
+    }
+  }
+
+  /**
+   * Overwrites a few random blocks of the state.
+   */
+  static void mutate(final ByteBuffer state, final Random random, final int numBlocks) {
+    for (int i = 0; i < numBlocks; i++) {
+      final int offset = random.nextInt(state.capacity());
+      state.put(offset, (byte) (state.get(offset) + 1));
+    }
+  }
+
+  private static byte[] toArray(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  private static File checkpointFile(final CheckpointID id) {
+    return new File(((FSCheckpointID) id).getPath().toUri().getPath());
+  }
+}
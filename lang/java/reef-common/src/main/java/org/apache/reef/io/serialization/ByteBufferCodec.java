@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Codec that can also decode objects directly from a ByteBuffer, e.g. a slice of a
+ * memory-mapped file, without copying the bytes into an array first.
+ *
+ * @param <T> The type of the objects (de-)serialized
+ */
+public interface ByteBufferCodec<T> extends Codec<T> {
+
+  /**
+   * Decodes an object from the remaining bytes of the given buffer.
+   * The buffer is only valid during the call, so the object must not keep a reference to it.
+   *
+   * @param buf
+   * @return the decoded object
+   */
+  T decode(ByteBuffer buf);
+}
@@ -19,6 +19,7 @@
 package org.apache.reef.runtime.common;
 
 import org.apache.reef.runtime.common.evaluator.PIDStoreStartHandler;
+import org.apache.reef.runtime.common.files.REEFFileNames;
 import org.apache.reef.runtime.common.launch.REEFErrorHandler;
 import org.apache.reef.runtime.common.launch.REEFMessageCodec;
 import org.apache.reef.runtime.common.launch.REEFUncaughtExceptionHandler;
@@ -28,6 +29,8 @@ import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
+import org.apache.reef.tang.implementation.TangImpl;
+import org.apache.reef.tang.implementation.avro.AvroClassHierarchySerializer;
 import org.apache.reef.util.EnvironmentUtils;
 import org.apache.reef.util.ThreadLogger;
 import org.apache.reef.util.logging.LoggingSetup;
@@ -50,7 +53,7 @@ public final class REEFLauncher {
 
   private static final Logger LOG = Logger.getLogger(REEFLauncher.class.getName());
 
-  private static final Tang TANG = Tang.Factory.getTang();
+  private static final Tang TANG = getTang();
 
   private static final Configuration LAUNCHER_STATIC_CONFIG =
       TANG.newConfigurationBuilder()
@@ -88,6 +91,31 @@ public final class REEFLauncher {
         readConfigurationFromDisk(configurationPath, configurationSerializer));
   }
 
+  /**
+   * Get the Tang instance used by the launcher. If the Driver has shipped a class hierarchy snapshot
+   * in the global folder, the default class hierarchy is pre-populated from it first, so that the
+   * classes referenced by the configuration need not be reflected upon again in this process.
+   * A missing or unreadable snapshot is not an error: Tang then falls back to reflection.
+   * @return The Tang instance to use.
+   */
+  private static Tang getTang() {
+
+    final File snapshotFile = new File(new REEFFileNames().getClassHierarchySnapshotPath());
+
+    if (snapshotFile.canRead()) {
+      final long startTime = System.currentTimeMillis();
+      try {
+        TangImpl.setDefaultClassHierarchySnapshot(new AvroClassHierarchySerializer().fromMappedFile(snapshotFile));
+        LOG.log(Level.FINE, "Loaded class hierarchy snapshot {0} in {1} ms",
+            new Object[] {snapshotFile, System.currentTimeMillis() - startTime});
+      } catch (final IOException | IllegalArgumentException | IllegalStateException e) {
+        LOG.log(Level.WARNING, "Unable to load class hierarchy snapshot " + snapshotFile, e);
+      }
+    }
+
+    return Tang.Factory.getTang();
+  }
+
   /**
    * Instantiate REEF Launcher. This method is called from REEFLauncher.main().
    * @param clockConfigPath Path to the local file that contains serialized configuration
@@ -173,7 +201,9 @@ public final class REEFLauncher {
       throw fatal(message, new IllegalArgumentException(message));
     }
 
+    final long startTime = System.currentTimeMillis();
     final REEFLauncher launcher = getREEFLauncher(args[0]);
+    LOG.log(Level.FINE, "Configuration loaded in {0} ms", System.currentTimeMillis() - startTime);
 
     Thread.setDefaultUncaughtExceptionHandler(new REEFUncaughtExceptionHandler(launcher.envConfig));
 
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.common;
+
+import org.apache.reef.runtime.common.evaluator.EvaluatorConfiguration;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The entry point of a pre-spawned ("warm") Evaluator process.
+ * It starts the JVM and loads and initializes the REEF launcher classes ahead of time,
+ * and then waits for the path of the Evaluator configuration file on its standard input.
+ * No Tang class hierarchy is resolved in advance: the Evaluator configuration is only known once it arrives.
+ * As REEFLauncher sets up its Tang instance during class initialization, a class hierarchy snapshot is only
+ * used if it was in the global folder when the process was spawned.
+ * Once it is received, control is handed over to {@link REEFLauncher}.
+ * If the standard input is closed before that, the process exits.
+ */
+public final class WarmREEFLauncher {
+
+  private static final Logger LOG = Logger.getLogger(WarmREEFLauncher.class.getName());
+
+  /**
+   * Launches a warm REEF Evaluator process.
+   * @param args Command-line arguments. Ignored.
+   * @throws IOException if the standard input can not be read.
+   */
+  public static void main(final String[] args) throws IOException {
+
+    LOG.log(Level.INFO, "Entering WarmREEFLauncher.main().");
+
+    final long startTime = System.currentTimeMillis();
+    warmUp();
+    LOG.log(Level.FINE, "Warmed up in {0} ms", System.currentTimeMillis() - startTime);
+
+    final BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+    final String configurationPath = stdin.readLine();
+
+    if (configurationPath == null || configurationPath.isEmpty()) {
+      LOG.log(Level.INFO, "No configuration received. Exiting WarmREEFLauncher.main()");
+      System.exit(0);
+    }
+
+    LOG.log(Level.FINE, "Received configuration path {0}", configurationPath);
+    REEFLauncher.main(new String[] {configurationPath});
+  }
+
+  /**
+   * Load and initialize the launcher classes and the Evaluator configuration module,
+   * so that their class loading and static initialization is not paid for when the configuration arrives.
+   */
+  private static void warmUp() {
+    try {
+      Class.forName(REEFLauncher.class.getName());
+      Class.forName(REEFEnvironment.class.getName());
+    } catch (final ClassNotFoundException e) {
+      throw new IllegalStateException("REEF runtime classes are not on the classpath", e);
+    }
+    LOG.log(Level.FINEST, "Evaluator configuration module loaded: {0}", EvaluatorConfiguration.CONF);
+  }
+
+  /**
+   * Empty private constructor to prohibit instantiation of utility class.
+   */
+  private WarmREEFLauncher() {
+  }
+}
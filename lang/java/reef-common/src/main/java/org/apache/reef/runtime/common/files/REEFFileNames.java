@@ -40,6 +40,9 @@ public final class REEFFileNames {
   private static final String EVALUATOR_CONFIGURATION_NAME = "evaluator.conf";
   private static final String EVALUATOR_CONFIGURATION_PATH =
       LOCAL_FOLDER_PATH + '/' + EVALUATOR_CONFIGURATION_NAME;
+  private static final String CLASS_HIERARCHY_SNAPSHOT_NAME = "classhierarchy.bin";
+  private static final String CLASS_HIERARCHY_SNAPSHOT_PATH =
+      GLOBAL_FOLDER_PATH + '/' + CLASS_HIERARCHY_SNAPSHOT_NAME;
   private static final String JAR_FILE_SUFFIX = ".jar";
   private static final String JOB_FOLDER_PREFIX = "reef-job-";
   private static final String EVALUATOR_FOLDER_PREFIX = "reef-evaluator-";
@@ -162,6 +165,20 @@ public final class REEFFileNames {
     return EVALUATOR_CONFIGURATION_PATH;
   }
 
+  /**
+   * @return The name under which the class hierarchy snapshot will be stored in REEF_BASE_FOLDER/GLOBAL_FOLDER
+   */
+  public String getClassHierarchySnapshotName() {
+    return CLASS_HIERARCHY_SNAPSHOT_NAME;
+  }
+
+  /**
+   * @return the path to the class hierarchy snapshot that evaluators load on startup, if present.
+   */
+  public String getClassHierarchySnapshotPath() {
+    return CLASS_HIERARCHY_SNAPSHOT_PATH;
+  }
+
   /**
    * @return The suffix used for JAR files, including the "."
    */
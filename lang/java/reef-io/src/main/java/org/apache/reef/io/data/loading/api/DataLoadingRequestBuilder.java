@@ -56,6 +56,11 @@ public final class DataLoadingRequestBuilder
   private final List<EvaluatorRequest> computeRequests = new ArrayList<>();
   private final List<EvaluatorRequest> dataRequests = new ArrayList<>();
   private boolean inMemory = false;
+  private boolean compactInMemory = false;
+  private boolean inMemoryOffHeap = false;
+  private int prefetchBufferSize = Integer.parseInt(PrefetchBufferSize.DEFAULT_PREFETCH_BUFFER_SIZE);
+  private int numberOfReadersPerSplit = Integer.parseInt(NumberOfReadersPerSplit.DEFAULT_NUMBER_OF_READERS);
+  private boolean reuseRecords = false;
   private boolean renewFailedEvaluators = true;
   private ConfigurationModule driverConfigurationModule = null;
   private String inputFormatClass;
@@ -140,6 +145,63 @@ public final class DataLoadingRequestBuilder
     return this;
   }
 
+  /**
+   * Caches the data loaded into memory serialized in large pages rather than as objects.
+   *
+   * @param compactInMemory
+   *          whether to serialize the cached records
+   * @param inMemoryOffHeap
+   *          whether to allocate the pages outside the Java heap
+   * @return this
+   */
+  @SuppressWarnings("checkstyle:hiddenfield")
+  public DataLoadingRequestBuilder compactInMemory(final boolean compactInMemory, final boolean inMemoryOffHeap) {
+    this.compactInMemory = compactInMemory;
+    this.inMemoryOffHeap = inMemoryOffHeap;
+    return this;
+  }
+
+  /**
+   * Reads records ahead on a background thread when the data is not loaded into memory.
+   *
+   * @param prefetchBufferSize
+   *          the number of records read ahead, or 0 to read them when they are iterated
+   * @return this
+   */
+  @SuppressWarnings("checkstyle:hiddenfield")
+  public DataLoadingRequestBuilder setPrefetchBufferSize(final int prefetchBufferSize) {
+    this.prefetchBufferSize = prefetchBufferSize;
+    return this;
+  }
+
+  /**
+   * Reads each splitable, uncompressed file split with several record readers in parallel,
+   * when the data is not loaded into memory. The records of the readers interleave.
+   *
+   * @param numberOfReadersPerSplit
+   *          the number of record readers per split
+   * @return this
+   */
+  @SuppressWarnings("checkstyle:hiddenfield")
+  public DataLoadingRequestBuilder setNumberOfReadersPerSplit(final int numberOfReadersPerSplit) {
+    this.numberOfReadersPerSplit = numberOfReadersPerSplit;
+    return this;
+  }
+
+  /**
+   * Reuses the key and value objects of the records, when the data is not loaded into memory.
+   * A record is then only valid until the iterator is advanced.
+   *
+   * @param reuseRecords
+   *          whether to reuse records
+   * @return this
+   */
+  @SuppressWarnings("checkstyle:hiddenfield")
+  public DataLoadingRequestBuilder reuseRecords(final boolean reuseRecords) {
+    this.reuseRecords = reuseRecords;
+    return this;
+  }
+
   @SuppressWarnings("checkstyle:hiddenfield")
   public DataLoadingRequestBuilder renewFailedEvaluators(final boolean renewFailedEvaluators) {
     this.renewFailedEvaluators = renewFailedEvaluators;
@@ -258,6 +320,11 @@ public final class DataLoadingRequestBuilder
     }
 
     jcb.bindNamedParameter(LoadDataIntoMemory.class, Boolean.toString(this.inMemory))
+       .bindNamedParameter(CompactInMemory.class, Boolean.toString(this.compactInMemory))
+       .bindNamedParameter(InMemoryOffHeap.class, Boolean.toString(this.inMemoryOffHeap))
+       .bindNamedParameter(PrefetchBufferSize.class, Integer.toString(this.prefetchBufferSize))
+       .bindNamedParameter(NumberOfReadersPerSplit.class, Integer.toString(this.numberOfReadersPerSplit))
+       .bindNamedParameter(ReuseRecords.class, Boolean.toString(this.reuseRecords))
        .bindNamedParameter(JobConfExternalConstructor.InputFormatClass.class, inputFormatClass);
 
     final Iterator<DistributedDataSetPartition> partitions = this.distributedDataSet.iterator();
@@ -304,4 +371,31 @@ public final class DataLoadingRequestBuilder
   @NamedParameter(default_value = "false")
   public static final class LoadDataIntoMemory implements Name<Boolean> {
   }
+
+  @NamedParameter(doc = "Whether the data loaded into memory is cached serialized rather than as objects",
+      default_value = "false")
+  public static final class CompactInMemory implements Name<Boolean> {
+  }
+
+  @NamedParameter(doc = "Whether the serialized data loaded into memory is kept outside the Java heap",
+      default_value = "false")
+  public static final class InMemoryOffHeap implements Name<Boolean> {
+  }
+
+  @NamedParameter(doc = "The number of records read ahead, or 0 to read them when they are iterated",
+      default_value = PrefetchBufferSize.DEFAULT_PREFETCH_BUFFER_SIZE)
+  public static final class PrefetchBufferSize implements Name<Integer> {
+    static final String DEFAULT_PREFETCH_BUFFER_SIZE = "0";
+  }
+
+  @NamedParameter(doc = "The number of record readers a splitable file split is read with in parallel",
+      default_value = NumberOfReadersPerSplit.DEFAULT_NUMBER_OF_READERS)
+  public static final class NumberOfReadersPerSplit implements Name<Integer> {
+    static final String DEFAULT_NUMBER_OF_READERS = "1";
+  }
+
+  @NamedParameter(doc = "Whether the key and value objects of the records are reused while iterating",
+      default_value = "false")
+  public static final class ReuseRecords implements Name<Boolean> {
+  }
 }
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A DataInput that reads from a ByteBuffer, so that Writables can be read from heap or direct memory.
+ */
+final class ByteBufferDataInput implements DataInput {
+
+  private ByteBuffer buffer;
+
+  /**
+   * @param buffer the buffer to read from, from its position up to its limit
+   */
+  void reset(final ByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * @return whether there are bytes left to read
+   */
+  boolean hasRemaining() {
+    return this.buffer.hasRemaining();
+  }
+
+  @Override
+  public void readFully(final byte[] b) throws IOException {
+    readFully(b, 0, b.length);
+  }
+
+  @Override
+  public void readFully(final byte[] b, final int off, final int len) throws IOException {
+    try {
+      this.buffer.get(b, off, len);
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public int skipBytes(final int n) {
+    final int skipped = Math.min(n, this.buffer.remaining());
+    this.buffer.position(this.buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  @Override
+  public byte readByte() throws IOException {
+    try {
+      return this.buffer.get();
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public int readUnsignedByte() throws IOException {
+    return readByte() & 0xFF;
+  }
+
+  @Override
+  public short readShort() throws IOException {
+    try {
+      return this.buffer.getShort();
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public int readUnsignedShort() throws IOException {
+    return readShort() & 0xFFFF;
+  }
+
+  @Override
+  public char readChar() throws IOException {
+    return (char) readShort();
+  }
+
+  @Override
+  public int readInt() throws IOException {
+    try {
+      return this.buffer.getInt();
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public long readLong() throws IOException {
+    try {
+      return this.buffer.getLong();
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException();
+    }
+  }
+
+  @Override
+  public float readFloat() throws IOException {
+    return Float.intBitsToFloat(readInt());
+  }
+
+  @Override
+  public double readDouble() throws IOException {
+    return Double.longBitsToDouble(readLong());
+  }
+
+  /**
+   * Reads a line as {@link DataInputStream#readLine()} does: each byte is a character,
+   * and the line ends with a line feed, a carriage return, or both.
+   *
+   * @return the line without its terminator, or null if there are no bytes left to read
+   */
+  @Override
+  public String readLine() {
+    if (!this.buffer.hasRemaining()) {
+      return null;
+    }
+    final StringBuilder line = new StringBuilder();
+    while (this.buffer.hasRemaining()) {
+      final int c = this.buffer.get() & 0xFF;
+      if (c == '\n') {
+        break;
+      }
+      if (c == '\r') {
+        if (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+          this.buffer.get();
+        }
+        break;
+      }
+      line.append((char) c);
+    }
+    return line.toString();
+  }
+
+  @Override
+  public String readUTF() throws IOException {
+    return DataInputStream.readUTF(this);
+  }
+}
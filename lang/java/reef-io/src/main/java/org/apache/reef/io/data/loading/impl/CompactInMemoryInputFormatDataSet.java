@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.io.data.loading.api.DataLoadingRequestBuilder;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link DataSet} that caches the records of an {@link InputFormatDataSet} in memory,
+ * serialized back to back in large pages on or off the Java heap rather than as objects.
+ * <p>
+ * The iterator deserializes new key and value objects for each record.
+ * A {@link Cursor} deserializes all records into a single key and value instead.
+ *
+ * @param <K>
+ * @param <V>
+ */
+@TaskSide
+public final class CompactInMemoryInputFormatDataSet<K extends WritableComparable<K>, V extends Writable>
+    implements DataSet<K, V> {
+
+  /**
+   * The size of a page. A record larger than that gets a page of its own.
+   */
+  private static final int PAGE_SIZE = 4 * 1024 * 1024;
+
+  private final InputFormatDataSet<K, V> inputFormatDataSet;
+  private final JobConf jobConf;
+  private final boolean offHeap;
+
+  private volatile List<ByteBuffer> pages = null;
+  private Class<? extends K> keyClass;
+  private Class<? extends V> valueClass;
+  private long numberOfRecords;
+
+  @Inject
+  public CompactInMemoryInputFormatDataSet(
+      final InputFormatDataSet<K, V> inputFormatDataSet,
+      final JobConf jobConf,
+      @Parameter(DataLoadingRequestBuilder.InMemoryOffHeap.class) final boolean offHeap) {
+    this.inputFormatDataSet = inputFormatDataSet;
+    this.jobConf = jobConf;
+    this.offHeap = offHeap;
+  }
+
+  @Override
+  public Iterator<Pair<K, V>> iterator() {
+    final Cursor<K, V> cursor = cursor();
+    return new Iterator<Pair<K, V>>() {
+      private boolean fetched = false;
+      private boolean hasNext;
+
+      @Override
+      public boolean hasNext() {
+        if (!this.fetched) {
+          this.hasNext = getNumberOfRecords() > 0 && cursor.next(newKey(), newValue());
+          this.fetched = true;
+        }
+        return this.hasNext;
+      }
+
+      @Override
+      public Pair<K, V> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        this.fetched = false;
+        return new Pair<>(cursor.getKey(), cursor.getValue());
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException("Remove is not supported on a cached DataSet");
+      }
+    };
+  }
+
+  /**
+   * Returns a cursor over the records that reads every record into the same key and value objects.
+   *
+   * @return a cursor positioned before the first record
+   */
+  public Cursor<K, V> cursor() {
+    final List<ByteBuffer> loadedPages = load();
+    if (loadedPages.isEmpty()) {
+      return new PageCursor(loadedPages, 0, null, null);
+    }
+    return new PageCursor(loadedPages, this.numberOfRecords, newKey(), newValue());
+  }
+
+  /**
+   * @return the number of cached records
+   */
+  public long getNumberOfRecords() {
+    load();
+    return this.numberOfRecords;
+  }
+
+  /**
+   * @return the number of bytes the cached records take
+   */
+  public long getSizeInBytes() {
+    long size = 0;
+    for (final ByteBuffer page : load()) {
+      size += page.capacity();
+    }
+    return size;
+  }
+
+  private K newKey() {
+    return ReflectionUtils.newInstance(this.keyClass, this.jobConf);
+  }
+
+  private V newValue() {
+    return ReflectionUtils.newInstance(this.valueClass, this.jobConf);
+  }
+
+  /**
+   * Reads and serializes all records the first time it is called.
+   */
+  private List<ByteBuffer> load() {
+    List<ByteBuffer> ret = this.pages;
+    if (ret != null) {
+      return ret;
+    }
+    synchronized (this) {
+      if (this.pages == null) {
+        this.pages = Collections.unmodifiableList(serializeRecords());
+      }
+      return this.pages;
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<ByteBuffer> serializeRecords() {
+    final List<ByteBuffer> newPages = new ArrayList<>();
+    final DataOutputBuffer out = new DataOutputBuffer();
+    ByteBuffer page = null;
+    try {
+      for (final Pair<K, V> record : this.inputFormatDataSet) {
+        if (this.keyClass == null) {
+          this.keyClass = (Class<? extends K>) record.getFirst().getClass();
+          this.valueClass = (Class<? extends V>) record.getSecond().getClass();
+        }
+        out.reset();
+        record.getFirst().write(out);
+        record.getSecond().write(out);
+        if (page == null || page.remaining() < out.getLength()) {
+          if (page != null) {
+            newPages.add(seal(page));
+          }
+          page = allocate(Math.max(PAGE_SIZE, out.getLength()));
+        }
+        page.put(out.getData(), 0, out.getLength());
+        this.numberOfRecords++;
+      }
+    } catch (final IOException ex) {
+      throw new RuntimeException("Unable to serialize record", ex);
+    }
+    if (page != null) {
+      newPages.add(seal(page));
+    }
+    return newPages;
+  }
+
+  private ByteBuffer allocate(final int capacity) {
+    return this.offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+  }
+
+  /**
+   * Flips a full page for reading, and shrinks it to its content if less than half of it is used.
+   */
+  private ByteBuffer seal(final ByteBuffer page) {
+    page.flip();
+    if (page.limit() >= page.capacity() / 2) {
+      return page;
+    }
+    final ByteBuffer trimmed = allocate(page.limit());
+    trimmed.put(page);
+    trimmed.flip();
+    return trimmed;
+  }
+
+  /**
+   * Iterates over records by reading them into the same key and value objects.
+   *
+   * @param <K>
+   * @param <V>
+   */
+  public interface Cursor<K, V> {
+
+    /**
+     * Moves to the next record.
+     *
+     * @return false if there are no more records
+     */
+    boolean next();
+
+    /**
+     * Moves to the next record, reading it into the given key and value.
+     *
+     * @return false if there are no more records
+     */
+    boolean next(K key, V value);
+
+    /**
+     * @return the key of the current record, valid until the cursor moves
+     */
+    K getKey();
+
+    /**
+     * @return the value of the current record, valid until the cursor moves
+     */
+    V getValue();
+  }
+
+  private final class PageCursor implements Cursor<K, V> {
+
+    private final List<ByteBuffer> cursorPages;
+    private final ByteBufferDataInput in = new ByteBufferDataInput();
+    private final K reusedKey;
+    private final V reusedValue;
+    private K key;
+    private V value;
+    private int nextPage = 0;
+
+    /**
+     * Records can serialize to no bytes, so the end is found by counting them rather than by the bytes left.
+     */
+    private long remainingRecords;
+
+    PageCursor(final List<ByteBuffer> cursorPages, final long numberOfRecords, final K reusedKey,
+               final V reusedValue) {
+      this.cursorPages = cursorPages;
+      this.remainingRecords = numberOfRecords;
+      this.reusedKey = reusedKey;
+      this.reusedValue = reusedValue;
+      this.in.reset(ByteBuffer.allocate(0));
+    }
+
+    @Override
+    public boolean next() {
+      return next(this.reusedKey, this.reusedValue);
+    }
+
+    @Override
+    public boolean next(final K nextKey, final V nextValue) {
+      if (this.remainingRecords == 0) {
+        this.key = null;
+        this.value = null;
+        return false;
+      }
+      while (!this.in.hasRemaining() && this.nextPage < this.cursorPages.size()) {
+        this.in.reset(this.cursorPages.get(this.nextPage++).duplicate());
+      }
+      try {
+        nextKey.readFields(this.in);
+        nextValue.readFields(this.in);
+      } catch (final IOException ex) {
+        throw new RuntimeException("Unable to deserialize record", ex);
+      }
+      this.remainingRecords--;
+      this.key = nextKey;
+      this.value = nextValue;
+      return true;
+    }
+
+    @Override
+    public K getKey() {
+      return this.key;
+    }
+
+    @Override
+    public V getValue() {
+      return this.value;
+    }
+  }
+}
@@ -64,14 +64,34 @@ public class InputFormatLoadingService<K, V> implements DataLoadingService {
 
   private final boolean inMemory;
 
+  private final boolean compactInMemory;
+
+  private final boolean inMemoryOffHeap;
+
+  private final int prefetchBufferSize;
+
+  private final int numberOfReadersPerSplit;
+
+  private final boolean reuseRecords;
+
   private final String inputFormatClass;
 
   @Inject
   public InputFormatLoadingService(
       final EvaluatorToPartitionStrategy<InputSplit> evaluatorToPartitionStrategy,
       @Parameter(DataLoadingRequestBuilder.LoadDataIntoMemory.class) final boolean inMemory,
+      @Parameter(DataLoadingRequestBuilder.CompactInMemory.class) final boolean compactInMemory,
+      @Parameter(DataLoadingRequestBuilder.InMemoryOffHeap.class) final boolean inMemoryOffHeap,
+      @Parameter(DataLoadingRequestBuilder.PrefetchBufferSize.class) final int prefetchBufferSize,
+      @Parameter(DataLoadingRequestBuilder.NumberOfReadersPerSplit.class) final int numberOfReadersPerSplit,
+      @Parameter(DataLoadingRequestBuilder.ReuseRecords.class) final boolean reuseRecords,
       @Parameter(JobConfExternalConstructor.InputFormatClass.class) final String inputFormatClass) {
     this.inMemory = inMemory;
+    this.compactInMemory = compactInMemory;
+    this.inMemoryOffHeap = inMemoryOffHeap;
+    this.prefetchBufferSize = prefetchBufferSize;
+    this.numberOfReadersPerSplit = numberOfReadersPerSplit;
+    this.reuseRecords = reuseRecords;
     this.inputFormatClass = inputFormatClass;
     this.evaluatorToPartitionStrategy = evaluatorToPartitionStrategy;
   }
@@ -108,15 +128,38 @@ public class InputFormatLoadingService<K, V> implements DataLoadingService {
               allocatedEvaluator.getEvaluatorDescriptor().getNodeDescriptor(),
               allocatedEvaluator.getId());
 
-      final Configuration serviceConfiguration = ServiceConfiguration.CONF
-          .set(ServiceConfiguration.SERVICES,
-              this.inMemory ? InMemoryInputFormatDataSet.class : InputFormatDataSet.class)
-          .build();
+      final Class<? extends DataSet> dataSetClass;
+      if (this.inMemory && this.compactInMemory) {
+        dataSetClass = CompactInMemoryInputFormatDataSet.class;
+      } else if (this.inMemory) {
+        dataSetClass = InMemoryInputFormatDataSet.class;
+      } else if (this.prefetchBufferSize > 0 || this.numberOfReadersPerSplit > 1 || this.reuseRecords) {
+        dataSetClass = PrefetchingInputFormatDataSet.class;
+      } else {
+        dataSetClass = InputFormatDataSet.class;
+      }
+
+      final Configuration serviceConfiguration;
+      if (dataSetClass == PrefetchingInputFormatDataSet.class) {
+        // Stops the readers of the iterators a task leaves open.
+        serviceConfiguration = ServiceConfiguration.CONF
+            .set(ServiceConfiguration.SERVICES, dataSetClass)
+            .set(ServiceConfiguration.ON_TASK_STOP, PrefetchingInputFormatDataSet.TaskStopHandler.class)
+            .build();
+      } else {
+        serviceConfiguration = ServiceConfiguration.CONF
+            .set(ServiceConfiguration.SERVICES, dataSetClass)
+            .build();
+      }
 
       return Tang.Factory.getTang().newConfigurationBuilder(serviceConfiguration)
-          .bindImplementation(
-              DataSet.class,
-              this.inMemory ? InMemoryInputFormatDataSet.class : InputFormatDataSet.class)
+          .bindImplementation(DataSet.class, dataSetClass)
+          .bindNamedParameter(DataLoadingRequestBuilder.PrefetchBufferSize.class,
+              Integer.toString(this.prefetchBufferSize))
+          .bindNamedParameter(DataLoadingRequestBuilder.NumberOfReadersPerSplit.class,
+              Integer.toString(this.numberOfReadersPerSplit))
+          .bindNamedParameter(DataLoadingRequestBuilder.ReuseRecords.class, Boolean.toString(this.reuseRecords))
+          .bindNamedParameter(DataLoadingRequestBuilder.InMemoryOffHeap.class, Boolean.toString(this.inMemoryOffHeap))
           .bindNamedParameter(JobConfExternalConstructor.InputFormatClass.class, inputFormatClass)
           .bindNamedParameter(JobConfExternalConstructor.InputPath.class, numberedSplit.getPath())
           .bindNamedParameter(
@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.mapred.*;
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.io.data.loading.api.DataLoadingRequestBuilder;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.task.events.TaskStop;
+import org.apache.reef.wake.EventHandler;
+
+import javax.inject.Inject;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An implementation of {@link DataSet} that reads the records of an InputSplit
+ * ahead on background threads into a bounded buffer.
+ * <p>
+ * A FileSplit whose InputFormat can split it can be divided into byte ranges that are read by
+ * several RecordReaders in parallel, in which case the records of the ranges interleave.
+ * <p>
+ * The iterators are {@link Closeable}: an iterator that is abandoned before its end
+ * should be closed, to stop its reader threads and close their RecordReaders.
+ * The iterators that are still open when a task stops are closed by {@link TaskStopHandler},
+ * which the data loading service registers with the DataSet.
+ * <p>
+ * If records are reused, each iterator recycles a fixed pool of key/value pairs:
+ * a pair returned by next() is only valid until the following call to hasNext() or next().
+ *
+ * @param <K>
+ * @param <V>
+ */
+@TaskSide
+public final class PrefetchingInputFormatDataSet<K extends WritableComparable<K>, V extends Writable>
+    implements DataSet<K, V> {
+
+  private static final Logger LOG = Logger.getLogger(PrefetchingInputFormatDataSet.class.getName());
+
+  /**
+   * The smallest byte range that is read by a RecordReader of its own.
+   */
+  private static final long MIN_RANGE_SIZE = 1024 * 1024;
+
+  private final JobConf jobConf;
+  private final InputFormat<K, V> inputFormat;
+  private final InputSplit split;
+  private final int bufferSize;
+  private final int numberOfReaders;
+  private final boolean reuseRecords;
+
+  /**
+   * The iterators whose readers may still be running.
+   */
+  private final Set<PrefetchingIterator> openIterators =
+      Collections.newSetFromMap(new ConcurrentHashMap<PrefetchingIterator, Boolean>());
+
+  @Inject
+  public PrefetchingInputFormatDataSet(
+      final InputSplit split,
+      final JobConf jobConf,
+      @Parameter(DataLoadingRequestBuilder.PrefetchBufferSize.class) final int bufferSize,
+      @Parameter(DataLoadingRequestBuilder.NumberOfReadersPerSplit.class) final int numberOfReaders,
+      @Parameter(DataLoadingRequestBuilder.ReuseRecords.class) final boolean reuseRecords) {
+    this.jobConf = jobConf;
+    this.inputFormat = this.jobConf.getInputFormat();
+    this.split = split;
+    this.bufferSize = Math.max(1, bufferSize);
+    this.numberOfReaders = Math.max(1, numberOfReaders);
+    this.reuseRecords = reuseRecords;
+  }
+
+  @Override
+  public Iterator<Pair<K, V>> iterator() {
+    final List<RecordReader<K, V>> recordReaders = new ArrayList<>();
+    try {
+      for (final InputSplit range : getRanges()) {
+        recordReaders.add(this.inputFormat.getRecordReader(range, this.jobConf, Reporter.NULL));
+      }
+    } catch (final IOException ex) {
+      for (final RecordReader<K, V> recordReader : recordReaders) {
+        closeQuietly(recordReader);
+      }
+      throw new RuntimeException("Can't instantiate iterator.", ex);
+    }
+    final PrefetchingIterator iterator = new PrefetchingIterator(recordReaders);
+    this.openIterators.add(iterator);
+    return iterator;
+  }
+
+  /**
+   * Closes the iterators that are still open, which stops their readers.
+   */
+  void closeIterators() {
+    for (final PrefetchingIterator iterator : this.openIterators) {
+      iterator.close();
+    }
+  }
+
+  /**
+   * Divides the split into byte ranges for the readers, if it is a FileSplit that the InputFormat can split.
+   */
+  private List<InputSplit> getRanges() throws IOException {
+    final List<InputSplit> ranges = new ArrayList<>();
+    if (this.numberOfReaders == 1 || !(this.split instanceof FileSplit)) {
+      ranges.add(this.split);
+      return ranges;
+    }
+    final FileSplit fileSplit = (FileSplit) this.split;
+    final Path path = fileSplit.getPath();
+    final int numberOfRanges = (int) Math.max(1,
+        Math.min(this.numberOfReaders, fileSplit.getLength() / MIN_RANGE_SIZE));
+    if (numberOfRanges == 1
+        || new CompressionCodecFactory(this.jobConf).getCodec(path) != null || !isSplitable(path)) {
+      ranges.add(this.split);
+      return ranges;
+    }
+    final long rangeSize = fileSplit.getLength() / numberOfRanges;
+    long start = fileSplit.getStart();
+    for (int i = 0; i < numberOfRanges; i++) {
+      final long end = i == numberOfRanges - 1 ? fileSplit.getStart() + fileSplit.getLength() : start + rangeSize;
+      ranges.add(new FileSplit(path, start, end - start, fileSplit.getLocations()));
+      start = end;
+    }
+    LOG.log(Level.FINE, "Reading {0} with {1} readers", new Object[]{fileSplit, numberOfRanges});
+    return ranges;
+  }
+
+  /**
+   * Asks the InputFormat whether the file can be split, by asking it for two splits of the file:
+   * a FileInputFormat returns the whole file as one split if it cannot split it.
+   * InputFormats that are not FileInputFormats are not split.
+   */
+  private boolean isSplitable(final Path path) throws IOException {
+    if (!(this.inputFormat instanceof FileInputFormat)) {
+      return false;
+    }
+    final JobConf fileJobConf = new JobConf(this.jobConf);
+    FileInputFormat.setInputPaths(fileJobConf, path);
+    // A minimum split size as large as the file would make it one split whether it can be split or not.
+    fileJobConf.setLong(org.apache.hadoop.mapreduce.lib.input.FileInputFormat.SPLIT_MINSIZE, 1);
+    return this.inputFormat.getSplits(fileJobConf, 2).length > 1;
+  }
+
+  private static void closeQuietly(final RecordReader<?, ?> recordReader) {
+    try {
+      recordReader.close();
+    } catch (final IOException ex) {
+      LOG.log(Level.WARNING, "Unable to close RecordReader", ex);
+    }
+  }
+
+  private final class PrefetchingIterator implements Iterator<Pair<K, V>>, Closeable {
+
+    /**
+     * Put into the buffer by a reader once it has read all of its records.
+     */
+    private final Pair<K, V> endOfRange = new Pair<>(null, null);
+
+    private final BlockingQueue<Pair<K, V>> buffer;
+
+    /**
+     * The pairs the readers can read into, or null if records are not reused.
+     */
+    private final BlockingQueue<Pair<K, V>> freePairs;
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final List<Thread> readerThreads = new ArrayList<>();
+    private volatile boolean closed = false;
+    private int runningReaders;
+    private Pair<K, V> nextPair = null;
+    private Pair<K, V> lastPair = null;
+
+    PrefetchingIterator(final List<RecordReader<K, V>> recordReaders) {
+      this.runningReaders = recordReaders.size();
+      if (reuseRecords) {
+        // Enough pairs for a full buffer, one being read by each reader and one held by the caller.
+        final int numberOfPairs = bufferSize + recordReaders.size() + 1;
+        this.freePairs = new ArrayBlockingQueue<>(numberOfPairs);
+        for (int i = 0; i < numberOfPairs; i++) {
+          final RecordReader<K, V> recordReader = recordReaders.get(i % recordReaders.size());
+          this.freePairs.add(new Pair<>(recordReader.createKey(), recordReader.createValue()));
+        }
+        this.buffer = new LinkedBlockingQueue<>();
+      } else {
+        this.freePairs = null;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+      }
+
+      for (int i = 0; i < recordReaders.size(); i++) {
+        final RecordReader<K, V> recordReader = recordReaders.get(i);
+        final Thread thread = new Thread(new Runnable() {
+          @Override
+          public void run() {
+            read(recordReader);
+          }
+        }, "PrefetchingInputFormatDataSet-" + i);
+        thread.setDaemon(true);
+        this.readerThreads.add(thread);
+        thread.start();
+      }
+    }
+
+    private void read(final RecordReader<K, V> recordReader) {
+      try {
+        while (!closed) {
+          final Pair<K, V> pair = freePairs != null ? freePairs.take()
+              : new Pair<>(recordReader.createKey(), recordReader.createValue());
+          if (!recordReader.next(pair.getFirst(), pair.getSecond())) {
+            if (freePairs != null) {
+              freePairs.put(pair);
+            }
+            break;
+          }
+          buffer.put(pair);
+        }
+      } catch (final IOException | RuntimeException ex) {
+        failure.compareAndSet(null, ex);
+      } catch (final InterruptedException ex) {
+        if (!closed) {
+          failure.compareAndSet(null, ex);
+        }
+        Thread.currentThread().interrupt();
+      } finally {
+        closeQuietly(recordReader);
+        putEndOfRange();
+      }
+    }
+
+    /**
+     * Puts the end of the range into the buffer, unless the iterator is closed and nobody takes it.
+     */
+    private void putEndOfRange() {
+      boolean interrupted = false;
+      while (!closed) {
+        try {
+          buffer.put(endOfRange);
+          break;
+        } catch (final InterruptedException ex) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (this.nextPair != null) {
+        return true;
+      }
+      recycleLastPair();
+      while (this.runningReaders > 0 && !this.closed) {
+        final Pair<K, V> pair;
+        try {
+          pair = this.buffer.take();
+        } catch (final InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          throw new RuntimeException("Interrupted while waiting for records", ex);
+        }
+        if (pair != this.endOfRange) {
+          this.nextPair = pair;
+          return true;
+        }
+        this.runningReaders--;
+        if (this.runningReaders == 0) {
+          openIterators.remove(this);
+        }
+        final Throwable cause = this.failure.get();
+        if (cause != null) {
+          throw new RuntimeException("Unable to read the records of " + split, cause);
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Pair<K, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      this.lastPair = this.nextPair;
+      this.nextPair = null;
+      return this.lastPair;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException("Remove is not supported on RecordReader iterator");
+    }
+
+    /**
+     * Stops the readers, which close their RecordReaders. The records that have been read ahead are dropped.
+     */
+    @Override
+    public void close() {
+      if (this.closed) {
+        return;
+      }
+      this.closed = true;
+      openIterators.remove(this);
+      for (final Thread thread : this.readerThreads) {
+        thread.interrupt();
+      }
+      this.buffer.clear();
+      this.nextPair = null;
+      this.lastPair = null;
+    }
+
+    private void recycleLastPair() {
+      if (this.freePairs != null && this.lastPair != null) {
+        this.freePairs.add(this.lastPair);
+      }
+      this.lastPair = null;
+    }
+  }
+
+  /**
+   * Closes the iterators of the DataSet that are still open when the task stops,
+   * since tasks usually do not close the iterators they abandon.
+   */
+  public static final class TaskStopHandler implements EventHandler<TaskStop> {
+
+    private final PrefetchingInputFormatDataSet<?, ?> dataSet;
+
+    @Inject
+    private TaskStopHandler(final PrefetchingInputFormatDataSet<?, ?> dataSet) {
+      this.dataSet = dataSet;
+    }
+
+    @Override
+    public void onNext(final TaskStop taskStop) {
+      this.dataSet.closeIterators();
+    }
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.output;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * An OutputStream that copies writes into direct buffers and hands full buffers to a background writer thread.
+ * The stream owns a fixed number of buffers: a writer that gets ahead of the disk blocks until a buffer
+ * has been written out, so the memory a stream uses is bounded by bufferSize * numberOfBuffers.
+ * Failures of the background writer are rethrown as IOExceptions by the next call on the stream.
+ */
+final class AsyncOutputStream extends OutputStream {
+
+  private static final Logger LOG = Logger.getLogger(AsyncOutputStream.class.getName());
+
+  /**
+   * Marks the end of the stream in the queue of full buffers.
+   */
+  private static final ByteBuffer END_OF_STREAM = ByteBuffer.allocate(0);
+
+  /**
+   * How often a task waiting for the writer checks whether the writer has failed.
+   */
+  private static final long WRITER_CHECK_MILLISECONDS = 100;
+
+  private final BlockingQueue<ByteBuffer> freeBuffers;
+  private final BlockingQueue<ByteBuffer> fullBuffers;
+  private final int numberOfBuffers;
+  private final Thread writerThread;
+
+  /**
+   * The buffer writes go to, or null if it has been handed to the writer.
+   */
+  private ByteBuffer current;
+  private volatile Throwable writerException;
+  private boolean closed = false;
+
+  /**
+   * @param out             the stream to write to; closed with this stream
+   * @param name            the name of the stream, used to name the writer thread
+   * @param bufferSize      the size of each buffer in bytes
+   * @param numberOfBuffers the number of buffers; two or more let the task fill one while the other is written
+   * @param compress        whether to deflate the output in the writer thread
+   */
+  AsyncOutputStream(final OutputStream out,
+                    final String name,
+                    final int bufferSize,
+                    final int numberOfBuffers,
+                    final boolean compress) {
+    if (bufferSize <= 0 || numberOfBuffers <= 0) {
+      throw new IllegalArgumentException("Buffer size and number of buffers must be positive");
+    }
+    this.numberOfBuffers = numberOfBuffers;
+    this.freeBuffers = new ArrayBlockingQueue<>(numberOfBuffers);
+    this.fullBuffers = new ArrayBlockingQueue<>(numberOfBuffers + 1);
+    for (int i = 0; i < numberOfBuffers; i++) {
+      this.freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+    }
+    this.writerThread = new Thread(new Writer(out, compress, bufferSize), "AsyncOutputStream:" + name);
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    buffer().put((byte) b);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      final ByteBuffer buffer = buffer();
+      final int n = Math.min(remaining, buffer.remaining());
+      buffer.put(b, offset, n);
+      offset += n;
+      remaining -= n;
+    }
+  }
+
+  /**
+   * Hands the buffered bytes to the writer and waits until everything written so far has reached the
+   * underlying stream. Flushing a closed stream does nothing, as closing it has written everything.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    checkWriter();
+    handOff();
+    awaitWriter();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.closed) {
+      return;
+    }
+    try {
+      handOff();
+      putFull(END_OF_STREAM);
+      // Only closed once the writer has been told to stop, such that a failed close can be retried.
+      this.closed = true;
+      this.writerThread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while closing the stream");
+    }
+    checkWriter();
+  }
+
+  /**
+   * @return the current buffer, with at least one byte free
+   */
+  private ByteBuffer buffer() throws IOException {
+    ensureOpen();
+    if (this.current != null && !this.current.hasRemaining()) {
+      handOff();
+    }
+    while (this.current == null) {
+      try {
+        this.current = this.freeBuffers.poll(WRITER_CHECK_MILLISECONDS, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a free buffer");
+      }
+      checkWriter();
+      if (this.current == null) {
+        checkWriterAlive();
+      }
+    }
+    return this.current;
+  }
+
+  private void handOff() throws IOException {
+    if (this.current == null) {
+      return;
+    }
+    if (this.current.position() == 0) {
+      this.freeBuffers.add(this.current);
+    } else {
+      this.current.flip();
+      try {
+        putFull(this.current);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while handing off a buffer");
+      }
+    }
+    this.current = null;
+  }
+
+  private void putFull(final ByteBuffer buffer) throws InterruptedException {
+    this.fullBuffers.put(buffer);
+  }
+
+  /**
+   * Waits until the writer has returned every buffer, which it does after writing and flushing it.
+   */
+  private void awaitWriter() throws IOException {
+    synchronized (this.freeBuffers) {
+      while (this.freeBuffers.size() < this.numberOfBuffers && this.writerException == null) {
+        checkWriterAlive();
+        try {
+          this.freeBuffers.wait(WRITER_CHECK_MILLISECONDS);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while flushing the stream");
+        }
+      }
+    }
+    checkWriter();
+  }
+
+  private void ensureOpen() throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+    checkWriter();
+  }
+
+  private void checkWriter() throws IOException {
+    if (this.writerException != null) {
+      throw new IOException("Background write failed", this.writerException);
+    }
+  }
+
+  private void checkWriterAlive() throws IOException {
+    if (!this.writerThread.isAlive()) {
+      checkWriter();
+      throw new IOException("Background writer stopped");
+    }
+  }
+
+  /**
+   * Writes full buffers to the underlying stream in the order they were handed off.
+   */
+  private final class Writer implements Runnable {
+
+    private final OutputStream rawOut;
+    private final Deflater deflater;
+    private final OutputStream out;
+    private final FileChannel channel;
+    private final byte[] chunk;
+
+    Writer(final OutputStream rawOut, final boolean compress, final int bufferSize) {
+      this.rawOut = rawOut;
+      this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+      this.out = compress ? new DeflaterOutputStream(rawOut, this.deflater, bufferSize) : rawOut;
+      // Direct buffers go to a file without a copy; other streams need the bytes on the heap.
+      this.channel = !compress && rawOut instanceof FileOutputStream
+          ? ((FileOutputStream) rawOut).getChannel() : null;
+      this.chunk = this.channel == null ? new byte[Math.min(bufferSize, 64 * 1024)] : null;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (true) {
+          final ByteBuffer buffer = fullBuffers.take();
+          if (buffer == END_OF_STREAM) {
+            break;
+          }
+          if (writerException == null) {
+            try {
+              write(buffer);
+              if (fullBuffers.isEmpty()) {
+                this.out.flush();
+              }
+            } catch (final IOException | RuntimeException e) {
+              LOG.log(Level.WARNING, "Background write failed", e);
+              writerException = e;
+            }
+          }
+          buffer.clear();
+          synchronized (freeBuffers) {
+            freeBuffers.add(buffer);
+            freeBuffers.notifyAll();
+          }
+        }
+      } catch (final InterruptedException e) {
+        writerException = new InterruptedIOException("Writer interrupted");
+      } catch (final Throwable e) {
+        LOG.log(Level.SEVERE, "Background writer failed", e);
+        writerException = e;
+      } finally {
+        close();
+        // Wake up a flush waiting for buffers that will not be returned.
+        synchronized (freeBuffers) {
+          freeBuffers.notifyAll();
+        }
+      }
+    }
+
+    private void write(final ByteBuffer buffer) throws IOException {
+      if (this.channel != null) {
+        while (buffer.hasRemaining()) {
+          this.channel.write(buffer);
+        }
+        return;
+      }
+      while (buffer.hasRemaining()) {
+        final int n = Math.min(buffer.remaining(), this.chunk.length);
+        buffer.get(this.chunk, 0, n);
+        this.out.write(this.chunk, 0, n);
+      }
+    }
+
+    private void close() {
+      try {
+        // Closing the deflater stream writes the trailer and closes the raw stream.
+        this.out.close();
+      } catch (final IOException | RuntimeException e) {
+        if (writerException == null) {
+          writerException = e;
+        }
+      } finally {
+        // A deflater passed to DeflaterOutputStream is not ended by it.
+        if (this.deflater != null) {
+          this.deflater.end();
+        }
+        try {
+          this.rawOut.close();
+        } catch (final IOException | RuntimeException e) {
+          LOG.log(Level.FINE, "Failed to close the underlying stream", e);
+        }
+      }
+    }
+  }
+}
@@ -55,18 +55,35 @@ public final class TaskOutputService implements OutputService {
    */
   private final String outputPath;
 
+  private final boolean asyncOutput;
+  private final int outputBufferSize;
+  private final int numberOfOutputBuffers;
+  private final boolean compressOutput;
+
   /**
    * Service constructor - instantiated via TANG.
    *
    * @param taskOutputStreamProvider Output stream provider object through which tasks create file output streams.
    * @param outputPath Path of the directory where output files are created.
+   * @param asyncOutput Whether output streams are written by a background thread.
+   * @param outputBufferSize Size of each buffer of an asynchronous output stream.
+   * @param numberOfOutputBuffers Number of buffers of an asynchronous output stream.
+   * @param compressOutput Whether output streams are compressed.
    */
   @Inject
   private TaskOutputService(
       final TaskOutputStreamProvider taskOutputStreamProvider,
-      @Parameter(OutputPath.class) final String outputPath) {
+      @Parameter(OutputPath.class) final String outputPath,
+      @Parameter(AsyncOutput.class) final boolean asyncOutput,
+      @Parameter(OutputBufferSize.class) final int outputBufferSize,
+      @Parameter(NumberOfOutputBuffers.class) final int numberOfOutputBuffers,
+      @Parameter(CompressOutput.class) final boolean compressOutput) {
     this.taskOutputStreamProvider = taskOutputStreamProvider;
     this.outputPath = outputPath;
+    this.asyncOutput = asyncOutput;
+    this.outputBufferSize = outputBufferSize;
+    this.numberOfOutputBuffers = numberOfOutputBuffers;
+    this.compressOutput = compressOutput;
   }
 
   /**
@@ -88,6 +105,10 @@ public final class TaskOutputService implements OutputService {
         .bindImplementation(OutputStreamProvider.class, taskOutputStreamProvider.getClass())
         .bindImplementation(TaskOutputStreamProvider.class, taskOutputStreamProvider.getClass())
         .bindNamedParameter(OutputPath.class, outputPath)
+        .bindNamedParameter(AsyncOutput.class, Boolean.toString(asyncOutput))
+        .bindNamedParameter(OutputBufferSize.class, Integer.toString(outputBufferSize))
+        .bindNamedParameter(NumberOfOutputBuffers.class, Integer.toString(numberOfOutputBuffers))
+        .bindNamedParameter(CompressOutput.class, Boolean.toString(compressOutput))
         .build();
   }
 
@@ -123,4 +144,32 @@ public final class TaskOutputService implements OutputService {
   @NamedParameter(doc = "Path of the directory where output files are created")
   public static final class OutputPath implements Name<String> {
   }
+
+  /**
+   * Whether output streams are buffered and written by a background thread instead of the task thread.
+   */
+  @NamedParameter(doc = "Whether output streams are written by a background thread", default_value = "false")
+  public static final class AsyncOutput implements Name<Boolean> {
+  }
+
+  /**
+   * Size in bytes of each buffer of an asynchronous output stream.
+   */
+  @NamedParameter(doc = "Size in bytes of each buffer of an asynchronous output stream", default_value = "1048576")
+  public static final class OutputBufferSize implements Name<Integer> {
+  }
+
+  /**
+   * Number of buffers of an asynchronous output stream. The task blocks when all of them wait to be written.
+   */
+  @NamedParameter(doc = "Number of buffers of an asynchronous output stream", default_value = "2")
+  public static final class NumberOfOutputBuffers implements Name<Integer> {
+  }
+
+  /**
+   * Whether output streams are compressed with Deflate.
+   */
+  @NamedParameter(doc = "Whether output streams are compressed with Deflate", default_value = "false")
+  public static final class CompressOutput implements Name<Boolean> {
+  }
 }
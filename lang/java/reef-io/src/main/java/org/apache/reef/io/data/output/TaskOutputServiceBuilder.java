@@ -20,6 +20,7 @@ package org.apache.reef.io.data.output;
 
 import org.apache.reef.tang.formats.ConfigurationModule;
 import org.apache.reef.tang.formats.ConfigurationModuleBuilder;
+import org.apache.reef.tang.formats.OptionalParameter;
 import org.apache.reef.tang.formats.RequiredImpl;
 import org.apache.reef.tang.formats.RequiredParameter;
 
@@ -38,9 +39,33 @@ public final class TaskOutputServiceBuilder extends ConfigurationModuleBuilder {
    */
   public static final RequiredParameter<String> OUTPUT_PATH = new RequiredParameter<>();
 
+  /**
+   * Whether output streams are buffered and written by a background thread. Defaults to false.
+   */
+  public static final OptionalParameter<Boolean> ASYNC_OUTPUT = new OptionalParameter<>();
+
+  /**
+   * Size in bytes of each buffer of an asynchronous output stream.
+   */
+  public static final OptionalParameter<Integer> OUTPUT_BUFFER_SIZE = new OptionalParameter<>();
+
+  /**
+   * Number of buffers of an asynchronous output stream; bounds the memory each stream uses.
+   */
+  public static final OptionalParameter<Integer> NUMBER_OF_OUTPUT_BUFFERS = new OptionalParameter<>();
+
+  /**
+   * Whether output streams are compressed with Deflate. Defaults to false.
+   */
+  public static final OptionalParameter<Boolean> COMPRESS_OUTPUT = new OptionalParameter<>();
+
   public static final ConfigurationModule CONF = new TaskOutputServiceBuilder()
       .bindImplementation(OutputService.class, TaskOutputService.class)
       .bindImplementation(TaskOutputStreamProvider.class, TASK_OUTPUT_STREAM_PROVIDER)
       .bindNamedParameter(TaskOutputService.OutputPath.class, OUTPUT_PATH)
+      .bindNamedParameter(TaskOutputService.AsyncOutput.class, ASYNC_OUTPUT)
+      .bindNamedParameter(TaskOutputService.OutputBufferSize.class, OUTPUT_BUFFER_SIZE)
+      .bindNamedParameter(TaskOutputService.NumberOfOutputBuffers.class, NUMBER_OF_OUTPUT_BUFFERS)
+      .bindNamedParameter(TaskOutputService.CompressOutput.class, COMPRESS_OUTPUT)
       .build();
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.output;
+
+import org.apache.reef.annotations.audience.TaskSide;
+import org.apache.reef.tang.annotations.Parameter;
+
+import javax.inject.Inject;
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Wraps the streams created by a TaskOutputStreamProvider according to the output mode of the service:
+ * either written directly from the task thread, or buffered and written by a background thread.
+ */
+@TaskSide
+public final class TaskOutputStreamFactory {
+
+  private final boolean asyncOutput;
+  private final int bufferSize;
+  private final int numberOfBuffers;
+  private final boolean compressOutput;
+
+  @Inject
+  private TaskOutputStreamFactory(
+      @Parameter(TaskOutputService.AsyncOutput.class) final boolean asyncOutput,
+      @Parameter(TaskOutputService.OutputBufferSize.class) final int bufferSize,
+      @Parameter(TaskOutputService.NumberOfOutputBuffers.class) final int numberOfBuffers,
+      @Parameter(TaskOutputService.CompressOutput.class) final boolean compressOutput) {
+    this.asyncOutput = asyncOutput;
+    this.bufferSize = bufferSize;
+    this.numberOfBuffers = numberOfBuffers;
+    this.compressOutput = compressOutput;
+  }
+
+  /**
+   * @param out  the stream to the output file
+   * @param name name of the output stream
+   * @return a DataOutputStream writing to the given stream
+   */
+  DataOutputStream create(final OutputStream out, final String name) {
+    if (this.asyncOutput) {
+      return new DataOutputStream(
+          new AsyncOutputStream(out, name, this.bufferSize, this.numberOfBuffers, this.compressOutput));
+    }
+    if (this.compressOutput) {
+      return new DataOutputStream(new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED), this.bufferSize));
+    }
+    return out instanceof DataOutputStream ? (DataOutputStream) out : new DataOutputStream(out);
+  }
+}
@@ -45,15 +45,23 @@ public final class TaskOutputStreamProviderHDFS extends TaskOutputStreamProvider
    */
   private FileSystem fs;
 
+  /**
+   * Factory that wraps the created file streams according to the output mode.
+   */
+  private final TaskOutputStreamFactory streamFactory;
+
   /**
    * Constructor - instantiated via TANG.
    *
    * @param outputPath path of the output directory on HDFS to write outputs.
+   * @param streamFactory factory that wraps the created file streams according to the output mode.
    */
   @Inject
   private TaskOutputStreamProviderHDFS(
-      @Parameter(TaskOutputService.OutputPath.class) final String outputPath) throws IOException {
+      @Parameter(TaskOutputService.OutputPath.class) final String outputPath,
+      final TaskOutputStreamFactory streamFactory) throws IOException {
     this.outputPath = outputPath;
+    this.streamFactory = streamFactory;
     final JobConf jobConf = new JobConf();
     fs = FileSystem.get(jobConf);
   }
@@ -73,7 +81,7 @@ public final class TaskOutputStreamProviderHDFS extends TaskOutputStreamProvider
     if (!fs.exists(new Path(directoryPath))) {
       fs.mkdirs(new Path(directoryPath));
     }
-    return fs.create(new Path(directoryPath + Path.SEPARATOR + getTaskId()));
+    return streamFactory.create(fs.create(new Path(directoryPath + Path.SEPARATOR + getTaskId())), name);
   }
 
   @Override
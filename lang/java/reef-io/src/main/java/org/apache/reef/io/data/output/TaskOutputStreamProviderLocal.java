@@ -25,30 +25,35 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.nio.file.Files;
 
 /**
  * Implementation of {@link TaskOutputStreamProvider}.
  * It provides FileOutputStreams on the local file system.
  */
 public final class TaskOutputStreamProviderLocal extends TaskOutputStreamProvider {
-  private static final Logger LOG = Logger.getLogger(TaskOutputStreamProviderLocal.class.getName());
-
   /**
    * Path of the output directory on the local disk to write outputs.
    */
   private final String outputPath;
 
+  /**
+   * Factory that wraps the created file streams according to the output mode.
+   */
+  private final TaskOutputStreamFactory streamFactory;
+
   /**
    * Constructor - instantiated via TANG.
    *
    * @param outputPath path of the output directory on the local disk to write outputs.
+   * @param streamFactory factory that wraps the created file streams according to the output mode.
    */
   @Inject
   private TaskOutputStreamProviderLocal(
-      @Parameter(TaskOutputService.OutputPath.class) final String outputPath) {
+      @Parameter(TaskOutputService.OutputPath.class) final String outputPath,
+      final TaskOutputStreamFactory streamFactory) {
     this.outputPath = outputPath;
+    this.streamFactory = streamFactory;
   }
 
   /**
@@ -65,14 +70,11 @@ public final class TaskOutputStreamProviderLocal extends TaskOutputStreamProvide
     final String directoryPath = outputPath + File.separator + name;
     final File directory = new File(directoryPath);
 
-    synchronized (TaskOutputStreamProviderLocal.class) {
-      if (!directory.exists() && !directory.mkdirs()) {
-        LOG.log(Level.WARNING, "Failed to create [{0}]", directory.getAbsolutePath());
-      }
-    }
+    // createDirectories tolerates concurrent creation of the same directory.
+    Files.createDirectories(directory.toPath());
 
     final File file = new File(directoryPath + File.separator + getTaskId());
-    return new DataOutputStream(new FileOutputStream(file));
+    return streamFactory.create(new FileOutputStream(file), name);
   }
 
   @Override
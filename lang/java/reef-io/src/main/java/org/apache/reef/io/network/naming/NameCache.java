@@ -26,13 +26,18 @@ import org.apache.reef.wake.Identifier;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Naming cache implementation.
+ * It caches the lookups of identifiers rather than their addresses, such that
+ * concurrent lookups of an identifier that is not cached share a single request to the name server.
+ * Failed lookups are invalidated, such that the next lookup of the identifier is sent to the name server again.
  */
 public class NameCache implements Cache<Identifier, InetSocketAddress> {
 
-  private final Cache<Identifier, InetSocketAddress> cache;
+  private final Cache<Identifier, Future<InetSocketAddress>> cache;
 
   /**
    * Constructs a naming cache.
@@ -54,7 +59,56 @@ public class NameCache implements Cache<Identifier, InetSocketAddress> {
   @Override
   public InetSocketAddress get(final Identifier key,
                                final Callable<InetSocketAddress> valueFetcher) throws ExecutionException {
-    return cache.get(key, valueFetcher);
+    final Future<InetSocketAddress> lookup = getAsync(key, new Callable<NameLookupFuture>() {
+      @Override
+      public NameLookupFuture call() {
+        final NameLookupFuture future = new NameLookupFuture();
+        try {
+          future.complete(valueFetcher.call());
+        } catch (final Exception e) {
+          future.fail(e);
+        }
+        return future;
+      }
+    });
+
+    try {
+      return lookup.get();
+    } catch (final InterruptedException e) {
+      throw new ExecutionException(e);
+    }
+  }
+
+  /**
+   * Gets the lookup of an identifier, which is started if the identifier is not cached.
+   * A cached lookup that has failed is invalidated and replaced by a new one.
+   *
+   * @param key           an identifier
+   * @param lookupStarter a callable that starts a lookup for the identifier and returns without blocking
+   * @return the lookup of the identifier
+   * @throws ExecutionException
+   */
+  Future<InetSocketAddress> getAsync(final Identifier key,
+                                     final Callable<NameLookupFuture> lookupStarter) throws ExecutionException {
+    final AtomicBoolean started = new AtomicBoolean(false);
+    final Callable<Future<InetSocketAddress>> starter = new Callable<Future<InetSocketAddress>>() {
+      @Override
+      public Future<InetSocketAddress> call() throws Exception {
+        started.set(true);
+        return lookupStarter.call();
+      }
+    };
+
+    while (true) {
+      final Future<InetSocketAddress> lookup = cache.get(key, starter);
+      if (!lookup.isDone() || !failed(lookup)) {
+        return lookup;
+      }
+      cache.invalidate(key);
+      if (started.get()) {
+        return lookup;
+      }
+    }
   }
 
   /**
@@ -67,4 +121,12 @@ public class NameCache implements Cache<Identifier, InetSocketAddress> {
     cache.invalidate(key);
   }
 
+  private static boolean failed(final Future<InetSocketAddress> lookup) {
+    try {
+      lookup.get();
+      return false;
+    } catch (final InterruptedException | ExecutionException e) {
+      return true;
+    }
+  }
 }
@@ -18,11 +18,15 @@
  */
 package org.apache.reef.io.network.naming;
 
+import org.apache.reef.io.network.naming.exception.NamingException;
 import org.apache.reef.io.network.naming.exception.NamingRuntimeException;
 import org.apache.reef.io.network.naming.parameters.*;
+import org.apache.reef.io.network.naming.serialization.NamingBulkLookupResponse;
+import org.apache.reef.io.network.naming.serialization.NamingBulkRegisterResponse;
 import org.apache.reef.io.network.naming.serialization.NamingLookupResponse;
 import org.apache.reef.io.network.naming.serialization.NamingMessage;
 import org.apache.reef.io.network.naming.serialization.NamingRegisterResponse;
+import org.apache.reef.io.network.naming.serialization.NamingSubscriptionUpdate;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
@@ -37,8 +41,9 @@ import org.apache.reef.wake.remote.transport.TransportFactory;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -75,20 +80,18 @@ public final class NameClient implements NameResolver {
       final LocalAddressProvider localAddressProvider,
       final TransportFactory tpFactory) {
 
-    final BlockingQueue<NamingLookupResponse> replyLookupQueue = new LinkedBlockingQueue<>();
-    final BlockingQueue<NamingRegisterResponse> replyRegisterQueue = new LinkedBlockingQueue<>();
     final Codec<NamingMessage> codec = NamingCodecFactory.createFullCodec(factory);
 
     this.transport = tpFactory.newInstance(localAddressProvider.getLocalAddress(), 0,
         new SyncStage<>(new NamingClientEventHandler(
-            new NamingResponseHandler(replyLookupQueue, replyRegisterQueue), codec)),
+            new NamingResponseHandler(new LookupMessageHandler(), new RegistryMessageHandler()), codec)),
         null, retryCount, retryTimeout);
 
     this.lookupClient = new NameLookupClient(serverAddr, serverPort, timeout, factory,
-        retryCount, retryTimeout, replyLookupQueue, this.transport);
+        retryCount, retryTimeout, this.transport);
 
     this.registryClient = new NameRegistryClient(serverAddr, serverPort, timeout,
-        factory, replyRegisterQueue, this.transport);
+        factory, this.transport);
   }
 
   /**
@@ -114,6 +117,25 @@ public final class NameClient implements NameResolver {
     this.registryClient.unregister(id);
   }
 
+  /**
+   * Registers (identifier, address) mappings in a single request.
+   *
+   * @param addrs the address of each identifier
+   */
+  public void register(final Map<Identifier, InetSocketAddress> addrs) throws NamingException {
+    LOG.log(Level.FINE, "Register {0} identifiers", addrs.size());
+    this.registryClient.register(addrs);
+  }
+
+  /**
+   * Unregisters identifiers in a single request.
+   *
+   * @param ids identifiers
+   */
+  public void unregister(final Collection<Identifier> ids) throws IOException {
+    this.registryClient.unregister(ids);
+  }
+
   /**
    * Finds an address for an identifier.
    *
@@ -136,6 +158,45 @@ public final class NameClient implements NameResolver {
     return this.lookupClient.remoteLookup(id);
   }
 
+  /**
+   * Finds the addresses of identifiers, looking up all those that are not cached in a single request.
+   *
+   * @param ids identifiers
+   * @return the Internet socket address of each identifier
+   */
+  public Map<Identifier, InetSocketAddress> lookup(final Collection<Identifier> ids) throws Exception {
+    return this.lookupClient.lookup(ids);
+  }
+
+  /**
+   * Starts to look up the addresses of identifiers without blocking.
+   *
+   * @param ids identifiers
+   * @return the lookup of each identifier
+   */
+  public Map<Identifier, Future<InetSocketAddress>> lookupAsync(final Collection<Identifier> ids) throws Exception {
+    return this.lookupClient.lookupAsync(ids);
+  }
+
+  /**
+   * Subscribes to the identifiers that start with the prefix, such that their addresses are pushed
+   * by the name server rather than looked up and cached.
+   *
+   * @param prefix the prefix of the identifiers
+   */
+  public void subscribe(final String prefix) throws NamingException {
+    this.lookupClient.subscribe(prefix);
+  }
+
+  /**
+   * Cancels the subscription to the identifiers that start with the prefix.
+   *
+   * @param prefix the prefix of the identifiers
+   */
+  public void unsubscribe(final String prefix) {
+    this.lookupClient.unsubscribe(prefix);
+  }
+
   /**
    * Closes resources.
    */
@@ -154,6 +215,26 @@ public final class NameClient implements NameResolver {
       this.transport.close();
     }
   }
+
+  /**
+   * Passes the lookup responses and subscription updates to the lookup client.
+   */
+  private final class LookupMessageHandler implements EventHandler<NamingMessage> {
+    @Override
+    public void onNext(final NamingMessage value) {
+      lookupClient.onNamingMessage(value);
+    }
+  }
+
+  /**
+   * Passes the registration responses to the registry client.
+   */
+  private final class RegistryMessageHandler implements EventHandler<NamingMessage> {
+    @Override
+    public void onNext(final NamingMessage value) {
+      registryClient.onNamingMessage(value);
+    }
+  }
 }
 
 /**
@@ -185,25 +266,22 @@ class NamingClientEventHandler implements EventHandler<TransportEvent> {
 class NamingResponseHandler implements EventHandler<NamingMessage> {
   private static final Logger LOG = Logger.getLogger(NamingResponseHandler.class.getName());
 
-  private final BlockingQueue<NamingLookupResponse> replyLookupQueue;
-  private final BlockingQueue<NamingRegisterResponse> replyRegisterQueue;
+  private final EventHandler<NamingMessage> lookupMessageHandler;
+  private final EventHandler<NamingMessage> registryMessageHandler;
 
-  NamingResponseHandler(final BlockingQueue<NamingLookupResponse> replyLookupQueue,
-                        final BlockingQueue<NamingRegisterResponse> replyRegisterQueue) {
-    this.replyLookupQueue = replyLookupQueue;
-    this.replyRegisterQueue = replyRegisterQueue;
+  NamingResponseHandler(final EventHandler<NamingMessage> lookupMessageHandler,
+                        final EventHandler<NamingMessage> registryMessageHandler) {
+    this.lookupMessageHandler = lookupMessageHandler;
+    this.registryMessageHandler = registryMessageHandler;
   }
 
   @Override
   public void onNext(final NamingMessage value) {
-    if (value instanceof NamingLookupResponse) {
-      if (!replyLookupQueue.offer((NamingLookupResponse) value)) {
-        LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
-      }
-    } else if (value instanceof NamingRegisterResponse) {
-      if (!replyRegisterQueue.offer((NamingRegisterResponse) value)) {
-        LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
-      }
+    if (value instanceof NamingLookupResponse || value instanceof NamingBulkLookupResponse
+        || value instanceof NamingSubscriptionUpdate) {
+      lookupMessageHandler.onNext(value);
+    } else if (value instanceof NamingBulkRegisterResponse || value instanceof NamingRegisterResponse) {
+      registryMessageHandler.onNext(value);
     } else {
       throw new NamingRuntimeException("Unknown naming response message");
     }
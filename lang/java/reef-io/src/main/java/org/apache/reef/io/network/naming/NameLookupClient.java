@@ -21,17 +21,22 @@ package org.apache.reef.io.network.naming;
 import org.apache.reef.io.naming.NameAssignment;
 import org.apache.reef.io.naming.NamingLookup;
 import org.apache.reef.io.network.naming.exception.NamingException;
+import org.apache.reef.io.network.naming.exception.NamingRuntimeException;
 import org.apache.reef.io.network.naming.parameters.NameResolverCacheTimeout;
 import org.apache.reef.io.network.naming.parameters.NameResolverIdentifierFactory;
 import org.apache.reef.io.network.naming.parameters.NameResolverNameServerAddr;
 import org.apache.reef.io.network.naming.parameters.NameResolverNameServerPort;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryCount;
 import org.apache.reef.io.network.naming.parameters.NameResolverRetryTimeout;
+import org.apache.reef.io.network.naming.serialization.NamingBulkLookupRequest;
+import org.apache.reef.io.network.naming.serialization.NamingBulkLookupResponse;
 import org.apache.reef.io.network.naming.serialization.NamingLookupRequest;
 import org.apache.reef.io.network.naming.serialization.NamingLookupResponse;
 import org.apache.reef.io.network.naming.serialization.NamingMessage;
+import org.apache.reef.io.network.naming.serialization.NamingSubscribeRequest;
+import org.apache.reef.io.network.naming.serialization.NamingSubscriptionUpdate;
+import org.apache.reef.io.network.naming.serialization.NamingUnsubscribeRequest;
 import org.apache.reef.tang.annotations.Parameter;
-import org.apache.reef.util.cache.Cache;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 import org.apache.reef.wake.IdentifierFactory;
@@ -41,24 +46,54 @@ import org.apache.reef.wake.remote.Codec;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
 import org.apache.reef.wake.remote.transport.Link;
+import org.apache.reef.wake.remote.transport.LinkListener;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.TransportFactory;
 import org.apache.reef.wake.remote.transport.netty.LoggingLinkListener;
 
 import javax.inject.Inject;
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Naming lookup client.
+ * Lookups are pipelined: a batch of identifiers is resolved in a single request, which carries an id that the
+ * name server echoes in its response, such that any number of requests can be outstanding.
+ * The lookup of a single identifier is sent as a plain {@link NamingLookupRequest}, which every name server
+ * understands. Its response is matched to the oldest pending request it can answer.
+ * Concurrent lookups of an identifier that is not cached are coalesced by the {@link NameCache}.
+ *
+ * A client can also subscribe to the identifiers that start with a prefix, in which case the name server
+ * pushes their registrations and un-registrations. Their addresses are then resolved locally without expiry.
+ * A subscription is re-established with a fresh snapshot when the name server appears to be unreachable,
+ * at most once per request timeout.
  */
 public final class NameLookupClient implements Stage, NamingLookup {
 
@@ -66,15 +101,27 @@ public final class NameLookupClient implements Stage, NamingLookup {
   private final SocketAddress serverSocketAddr;
   private final Transport transport;
   private final Codec<NamingMessage> codec;
-  private final BlockingQueue<NamingLookupResponse> replyQueue;
   private final long timeout;
-  private final Cache<Identifier, InetSocketAddress> cache;
+  private final NameCache cache;
   private final int retryCount;
   private final int retryTimeout;
 
+  private final AtomicLong lastRequestId = new AtomicLong();
+  private final ConcurrentMap<Long, PendingLookup> pendingLookups = new ConcurrentHashMap<>();
+
+  /**
+   * The ids of the pending lookups of a single identifier, in the order they were sent.
+   */
+  private final Queue<Long> singleLookupRequestIds = new ConcurrentLinkedQueue<>();
+  private final ConcurrentMap<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Identifier, InetSocketAddress> subscribedAddresses = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService timer;
+  private final AtomicLong lastResync = new AtomicLong();
+  private volatile boolean closed = false;
 
   /**
    * Constructs a naming lookup client.
+   * The messages received by the transport must be passed to {@link #onNamingMessage(NamingMessage)}.
    *
    * @param serverAddr a server address
    * @param serverPort a server port number
@@ -82,7 +129,6 @@ public final class NameLookupClient implements Stage, NamingLookup {
    * @param factory    an identifier factory
    * @param retryCount a count of retrying lookup
    * @param retryTimeout retry timeout
-   * @param replyQueue a reply queue
    * @param transport  a transport
    */
   NameLookupClient(final String serverAddr,
@@ -91,16 +137,15 @@ public final class NameLookupClient implements Stage, NamingLookup {
                           final IdentifierFactory factory,
                           final int retryCount,
                           final int retryTimeout,
-                          final BlockingQueue<NamingLookupResponse> replyQueue,
                           final Transport transport) {
     this.serverSocketAddr = new InetSocketAddress(serverAddr, serverPort);
     this.timeout = timeout;
     this.cache = new NameCache(timeout);
     this.codec = NamingCodecFactory.createFullCodec(factory);
-    this.replyQueue = replyQueue;
     this.retryCount = retryCount;
     this.retryTimeout = retryTimeout;
     this.transport = transport;
+    this.timer = newTimer();
   }
 
   /**
@@ -126,17 +171,30 @@ public final class NameLookupClient implements Stage, NamingLookup {
     this.timeout = timeout;
     this.cache = new NameCache(timeout);
     this.codec = NamingCodecFactory.createLookupCodec(factory);
-    this.replyQueue = new LinkedBlockingQueue<>();
+    this.timer = newTimer();
 
     this.transport = tpFactory.newInstance(localAddressProvider.getLocalAddress(), 0,
             new SyncStage<>(new NamingLookupClientHandler(
-                    new NamingLookupResponseHandler(this.replyQueue), this.codec)),
+                    new NamingLookupResponseHandler(this), this.codec)),
             null, retryCount, retryTimeout);
 
     this.retryCount = retryCount;
     this.retryTimeout = retryTimeout;
   }
 
+  private static ScheduledExecutorService newTimer() {
+    final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+      @Override
+      public Thread newThread(final Runnable r) {
+        final Thread thread = new Thread(r, "NameLookupClientTimer");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+
   /**
    * Finds an address for an identifier.
    *
@@ -145,34 +203,59 @@ public final class NameLookupClient implements Stage, NamingLookup {
    */
   @Override
   public InetSocketAddress lookup(final Identifier id) throws Exception {
+    return lookupAsync(Collections.singletonList(id)).get(id).get();
+  }
 
-    return cache.get(id, new Callable<InetSocketAddress>() {
+  /**
+   * Finds the addresses of identifiers, looking up all those that are not cached in a single request.
+   *
+   * @param ids identifiers
+   * @return the Internet socket address of each identifier
+   * @throws java.util.concurrent.ExecutionException if the lookup of an identifier failed after all retries
+   */
+  public Map<Identifier, InetSocketAddress> lookup(final Collection<Identifier> ids) throws Exception {
+    final Map<Identifier, Future<InetSocketAddress>> lookups = lookupAsync(ids);
+    final Map<Identifier, InetSocketAddress> addresses = new HashMap<>(lookups.size());
+    for (final Map.Entry<Identifier, Future<InetSocketAddress>> lookup : lookups.entrySet()) {
+      addresses.put(lookup.getKey(), lookup.getValue().get());
+    }
+    return addresses;
+  }
 
-      @Override
-      public InetSocketAddress call() throws Exception {
-        final int origRetryCount = NameLookupClient.this.retryCount;
-        int retriesLeft = origRetryCount;
-        while (true) {
-          try {
-            return remoteLookup(id);
-          } catch (final NamingException e) {
-            if (retriesLeft <= 0) {
-              throw e;
-            } else {
-              final int currentRetryTimeout = NameLookupClient.this.retryTimeout
-                  * (origRetryCount - retriesLeft + 1);
-              LOG.log(Level.WARNING,
-                  "Caught Naming Exception while looking up " + id
-                      + " with Name Server. Will retry " + retriesLeft
-                      + " time(s) after waiting for " + currentRetryTimeout + " msec.");
-              Thread.sleep(currentRetryTimeout);
-              --retriesLeft;
-            }
-          }
-        }
+  /**
+   * Starts to look up the addresses of identifiers without blocking.
+   * The identifiers that are neither cached nor being looked up are sent to the name server in a single request,
+   * which is retried for those that are not found.
+   *
+   * @param ids identifiers
+   * @return the lookup of each identifier, which fails if the address could not be found after all retries
+   */
+  public Map<Identifier, Future<InetSocketAddress>> lookupAsync(final Collection<Identifier> ids) throws Exception {
+    final Map<Identifier, Future<InetSocketAddress>> lookups = new HashMap<>(ids.size());
+    final Map<Identifier, NameLookupFuture> misses = new HashMap<>();
+    for (final Identifier id : ids) {
+      final InetSocketAddress subscribedAddress = subscribedAddresses.get(id);
+      if (subscribedAddress != null) {
+        final NameLookupFuture lookup = new NameLookupFuture();
+        lookup.complete(subscribedAddress);
+        lookups.put(id, lookup);
+        continue;
       }
 
-    });
+      lookups.put(id, cache.getAsync(id, new Callable<NameLookupFuture>() {
+        @Override
+        public NameLookupFuture call() {
+          final NameLookupFuture future = new NameLookupFuture();
+          misses.put(id, future);
+          return future;
+        }
+      }));
+    }
+
+    if (!misses.isEmpty()) {
+      sendLookupRequest(misses, 0);
+    }
+    return lookups;
   }
 
   /**
@@ -183,35 +266,387 @@ public final class NameLookupClient implements Stage, NamingLookup {
    * @throws Exception
    */
   public InetSocketAddress remoteLookup(final Identifier id) throws Exception {
-    // the lookup is not thread-safe, because concurrent replies may
-    // be read by the wrong thread.
-    // TODO: better fix uses a map of id's after REEF-198
-    synchronized (this) {
+    final NameLookupFuture future = new NameLookupFuture();
+    sendLookupRequest(Collections.singletonMap(id, future), retryCount);
+    try {
+      return future.get();
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof NamingException) {
+        throw (NamingException) e.getCause();
+      }
+      throw e;
+    }
+  }
 
-      LOG.log(Level.INFO, "Looking up {0} on NameServer {1}", new Object[]{id, serverSocketAddr});
+  /**
+   * Sends a request for the identifiers, which times out if the name server does not respond in time.
+   *
+   * @param lookups the lookups of the identifiers to request
+   * @param attempt the number of times the identifiers have been requested before
+   */
+  private void sendLookupRequest(final Map<Identifier, NameLookupFuture> lookups, final int attempt) {
+    if (closed) {
+      failClosed(lookups);
+      return;
+    }
+
+    final long requestId = lastRequestId.incrementAndGet();
+    final PendingLookup pendingLookup = new PendingLookup(lookups, attempt);
+    pendingLookups.put(requestId, pendingLookup);
+    final List<Identifier> ids = new ArrayList<>(lookups.keySet());
+    if (ids.size() == 1) {
+      singleLookupRequestIds.add(requestId);
+    }
 
-      final List<Identifier> ids = Arrays.asList(id);
+    LOG.log(Level.FINE, "Looking up {0} on NameServer {1}", new Object[]{ids, serverSocketAddr});
+
+    try {
       final Link<NamingMessage> link = transport.open(serverSocketAddr, codec,
           new LoggingLinkListener<NamingMessage>());
-      link.write(new NamingLookupRequest(ids));
-
-      final NamingLookupResponse resp;
-      for (;;) {
-        try {
-          resp = replyQueue.poll(timeout, TimeUnit.MILLISECONDS);
-          break;
-        } catch (final InterruptedException e) {
-          LOG.log(Level.INFO, "Lookup interrupted", e);
-          throw new NamingException(e);
+      link.write(ids.size() == 1 ? new NamingLookupRequest(ids) : new NamingBulkLookupRequest(requestId, ids));
+    } catch (final IOException e) {
+      if (removePendingLookup(requestId) != null) {
+        retryOrFail(lookups, attempt, new NamingException(e));
+      }
+      resyncAfterFailure();
+      return;
+    }
+
+    final ScheduledFuture<?> scheduledTimeout = schedule(new Runnable() {
+      @Override
+      public void run() {
+        if (removePendingLookup(requestId) != null) {
+          retryOrFail(lookups, attempt, new NamingException("Lookup of " + lookups.keySet()
+              + " on NameServer " + serverSocketAddr + " timed out after " + timeout + " msec"));
+          resyncAfterFailure();
+        }
+      }
+    }, timeout);
+    if (scheduledTimeout == null) {
+      if (removePendingLookup(requestId) != null) {
+        failClosed(lookups);
+      }
+    } else {
+      pendingLookup.setTimeout(scheduledTimeout);
+    }
+  }
+
+  private PendingLookup removePendingLookup(final long requestId) {
+    singleLookupRequestIds.remove(requestId);
+    return pendingLookups.remove(requestId);
+  }
+
+  /**
+   * Subscribes to the identifiers that start with the prefix, and waits for their snapshot.
+   * An identifier can be subscribed to by using it as the prefix.
+   *
+   * @param prefix the prefix of the identifiers
+   * @throws NamingException if the snapshot was not received in time, in which case the subscription is retried
+   */
+  public void subscribe(final String prefix) throws NamingException {
+    final Subscription newSubscription = new Subscription(prefix);
+    final Subscription existingSubscription = subscriptions.putIfAbsent(prefix, newSubscription);
+    final Subscription subscription = existingSubscription == null ? newSubscription : existingSubscription;
+    if (existingSubscription == null) {
+      sendSubscribeRequest(subscription);
+    }
+
+    try {
+      if (!subscription.awaitSnapshot(timeout)) {
+        throw new NamingException("Subscription to " + prefix + " on NameServer " + serverSocketAddr
+            + " timed out after " + timeout + " msec");
+      }
+    } catch (final InterruptedException e) {
+      throw new NamingException(e);
+    }
+  }
+
+  /**
+   * Cancels the subscription to the identifiers that start with the prefix.
+   * Their addresses are looked up on the name server and cached again.
+   *
+   * @param prefix the prefix of the identifiers
+   */
+  public void unsubscribe(final String prefix) {
+    final Subscription subscription = subscriptions.remove(prefix);
+    if (subscription == null) {
+      return;
+    }
+
+    sendUnsubscribeRequest(subscription.getSubscriptionId(), prefix);
+
+    synchronized (subscription) {
+      for (final Identifier id : subscribedAddresses.keySet()) {
+        if (subscription.matches(id) && !isSubscribed(id)) {
+          subscribedAddresses.remove(id);
         }
       }
+    }
+  }
+
+  /**
+   * Re-establishes all subscriptions, replacing their identifiers with fresh snapshots.
+   * This is done automatically when a request to the name server fails or times out,
+   * and should be called after switching to another name server.
+   */
+  public void resync() {
+    lastResync.set(System.currentTimeMillis());
+    for (final Subscription subscription : subscriptions.values()) {
+      if (subscription.isSynced()) {
+        LOG.log(Level.INFO, "Re-subscribing to {0} on NameServer {1}",
+            new Object[]{subscription.getPrefix(), serverSocketAddr});
+        sendSubscribeRequest(subscription);
+      }
+    }
+  }
+
+  /**
+   * Re-establishes the subscriptions after a failed request, unless that was done less than a request timeout ago,
+   * such that a run of failures does not flood the name server with snapshot requests.
+   */
+  private void resyncAfterFailure() {
+    final long now = System.currentTimeMillis();
+    final long previousResync = lastResync.get();
+    if (now - previousResync >= timeout && lastResync.compareAndSet(previousResync, now)) {
+      resync();
+    }
+  }
 
-      final List<NameAssignment> list = resp.getNameAssignments();
-      if (list.isEmpty()) {
-        throw new NamingException("Cannot find " + id + " from the name server");
-      } else {
-        return list.get(0).getAddress();
+  /**
+   * Sends a subscription request, which is retried if no snapshot is received in time.
+   * The former request of the subscription is cancelled on the name server, and its updates are ignored.
+   */
+  private void sendSubscribeRequest(final Subscription subscription) {
+    final long subscriptionId = lastRequestId.incrementAndGet();
+    final long previousSubscriptionId = subscription.resubscribe(subscriptionId);
+    if (previousSubscriptionId != Subscription.NONE) {
+      sendUnsubscribeRequest(previousSubscriptionId, subscription.getPrefix());
+    }
+
+    final Runnable retry = new Runnable() {
+      @Override
+      public void run() {
+        if (subscriptions.get(subscription.getPrefix()) == subscription
+            && subscription.getSubscriptionId() == subscriptionId && !subscription.isSynced()) {
+          sendSubscribeRequest(subscription);
+        }
       }
+    };
+
+    try {
+      transport.open(serverSocketAddr, codec, new LinkListener<NamingMessage>() {
+        @Override
+        public void onSuccess(final NamingMessage message) {
+        }
+
+        @Override
+        public void onException(final Throwable cause, final SocketAddress remoteAddress,
+                                final NamingMessage message) {
+          LOG.log(Level.WARNING, "Failed to subscribe to " + subscription.getPrefix()
+              + " on NameServer " + remoteAddress + ". Will retry after " + retryTimeout + " msec.", cause);
+          schedule(retry, retryTimeout);
+        }
+      }).write(new NamingSubscribeRequest(subscriptionId, subscription.getPrefix()));
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Failed to subscribe to " + subscription.getPrefix()
+          + " on NameServer " + serverSocketAddr + ". Will retry after " + retryTimeout + " msec.", e);
+      schedule(retry, retryTimeout);
+      return;
+    }
+    schedule(retry, timeout);
+  }
+
+  private void sendUnsubscribeRequest(final long subscriptionId, final String prefix) {
+    try {
+      transport.open(serverSocketAddr, codec, new LoggingLinkListener<NamingMessage>())
+          .write(new NamingUnsubscribeRequest(subscriptionId));
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Failed to cancel the subscription to " + prefix + " on the name server", e);
+    }
+  }
+
+  /**
+   * Schedules a task on the timer, unless the client is closed.
+   *
+   * @return the scheduled task, or null if the client is closed
+   */
+  private ScheduledFuture<?> schedule(final Runnable task, final long delay) {
+    if (closed) {
+      return null;
+    }
+    try {
+      return timer.schedule(task, delay, TimeUnit.MILLISECONDS);
+    } catch (final RejectedExecutionException e) {
+      LOG.log(Level.FINE, "NameLookupClient was closed", e);
+      return null;
+    }
+  }
+
+  private static void failClosed(final Map<Identifier, NameLookupFuture> lookups) {
+    final NamingException cause = new NamingException("NameLookupClient is closed");
+    for (final NameLookupFuture lookup : lookups.values()) {
+      lookup.fail(cause);
+    }
+  }
+
+  /**
+   * @return true if a subscription covers the identifier
+   */
+  private boolean isSubscribed(final Identifier id) {
+    for (final Subscription subscription : subscriptions.values()) {
+      if (subscription.matches(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Dispatches a message received from the name server.
+   *
+   * @param message a lookup response or a subscription update
+   */
+  void onNamingMessage(final NamingMessage message) {
+    if (message instanceof NamingBulkLookupResponse) {
+      onLookupResponse((NamingBulkLookupResponse) message);
+    } else if (message instanceof NamingLookupResponse) {
+      onLookupResponse((NamingLookupResponse) message);
+    } else if (message instanceof NamingSubscriptionUpdate) {
+      onSubscriptionUpdate((NamingSubscriptionUpdate) message);
+    } else {
+      throw new NamingRuntimeException("Unknown naming response message");
+    }
+  }
+
+  /**
+   * Applies a snapshot or change to the addresses of a subscription.
+   *
+   * @param update a subscription update of the name server
+   */
+  private void onSubscriptionUpdate(final NamingSubscriptionUpdate update) {
+    Subscription subscription = null;
+    for (final Subscription candidate : subscriptions.values()) {
+      if (candidate.getSubscriptionId() == update.getSubscriptionId()) {
+        subscription = candidate;
+        break;
+      }
+    }
+    if (subscription == null) {
+      LOG.log(Level.FINE, "Ignoring update of subscription {0}, which has been replaced",
+          update.getSubscriptionId());
+      return;
+    }
+
+    synchronized (subscription) {
+      if (update.isSnapshot()) {
+        final Set<Identifier> snapshotIds = new HashSet<>();
+        for (final NameAssignment nameAssignment : update.getRegistered()) {
+          snapshotIds.add(nameAssignment.getIdentifier());
+        }
+        for (final Identifier id : subscribedAddresses.keySet()) {
+          if (subscription.matches(id) && !snapshotIds.contains(id)) {
+            subscribedAddresses.remove(id);
+          }
+        }
+      }
+      for (final NameAssignment nameAssignment : update.getRegistered()) {
+        subscribedAddresses.put(nameAssignment.getIdentifier(), nameAssignment.getAddress());
+        cache.invalidate(nameAssignment.getIdentifier());
+      }
+      for (final Identifier id : update.getUnregistered()) {
+        subscribedAddresses.remove(id);
+        cache.invalidate(id);
+      }
+      if (update.isSnapshot()) {
+        subscription.synced(update.getSubscriptionId());
+      }
+    }
+  }
+
+  /**
+   * Completes the lookups of the request that the response belongs to.
+   *
+   * @param response a lookup response of the name server
+   */
+  private void onLookupResponse(final NamingBulkLookupResponse response) {
+    final PendingLookup pendingLookup = pendingLookups.remove(response.getRequestId());
+    if (pendingLookup == null) {
+      LOG.log(Level.FINE, "Ignoring the response to lookup request {0}, which has timed out",
+          response.getRequestId());
+      return;
+    }
+    completeLookups(pendingLookup, response.getNameAssignments());
+  }
+
+  /**
+   * Completes the oldest pending lookup of a single identifier that the response can answer.
+   * The name server answers the requests of a link in order, so a response without any address
+   * is the not-found answer of the oldest pending lookup.
+   *
+   * @param response a lookup response of the name server
+   */
+  private void onLookupResponse(final NamingLookupResponse response) {
+    final List<NameAssignment> nameAssignments = response.getNameAssignments();
+    final Identifier id = nameAssignments.isEmpty() ? null : nameAssignments.get(0).getIdentifier();
+    PendingLookup pendingLookup = null;
+    synchronized (singleLookupRequestIds) {
+      final Iterator<Long> requestIds = singleLookupRequestIds.iterator();
+      while (pendingLookup == null && requestIds.hasNext()) {
+        final Long requestId = requestIds.next();
+        final PendingLookup candidate = pendingLookups.get(requestId);
+        if (candidate == null || id == null || candidate.getLookups().containsKey(id)) {
+          requestIds.remove();
+          if (candidate != null) {
+            pendingLookup = pendingLookups.remove(requestId);
+          }
+        }
+      }
+    }
+    if (pendingLookup == null) {
+      LOG.log(Level.FINE, "Ignoring the response to the lookup of {0}, which has timed out", id);
+      return;
+    }
+    completeLookups(pendingLookup, nameAssignments);
+  }
+
+  private void completeLookups(final PendingLookup pendingLookup, final List<NameAssignment> nameAssignments) {
+    pendingLookup.cancelTimeout();
+
+    final Map<Identifier, NameLookupFuture> notFound = new HashMap<>(pendingLookup.getLookups());
+    for (final NameAssignment nameAssignment : nameAssignments) {
+      final NameLookupFuture lookup = notFound.remove(nameAssignment.getIdentifier());
+      if (lookup != null) {
+        lookup.complete(nameAssignment.getAddress());
+      }
+    }
+
+    if (!notFound.isEmpty()) {
+      retryOrFail(notFound, pendingLookup.getAttempt(),
+          new NamingException("Cannot find " + notFound.keySet() + " from the name server"));
+    }
+  }
+
+  private void retryOrFail(final Map<Identifier, NameLookupFuture> lookups, final int attempt,
+                           final NamingException cause) {
+    if (attempt >= retryCount || closed) {
+      for (final NameLookupFuture lookup : lookups.values()) {
+        lookup.fail(cause);
+      }
+      return;
+    }
+
+    final int currentRetryTimeout = retryTimeout * (attempt + 1);
+    LOG.log(Level.WARNING, "Caught Naming Exception while looking up " + lookups.keySet()
+        + " with Name Server. Will retry " + (retryCount - attempt)
+        + " time(s) after waiting for " + currentRetryTimeout + " msec.", cause);
+    final ScheduledFuture<?> retry = schedule(new Runnable() {
+      @Override
+      public void run() {
+        sendLookupRequest(lookups, attempt + 1);
+      }
+    }, currentRetryTimeout);
+    if (retry == null) {
+      failClosed(lookups);
     }
   }
 
@@ -222,6 +657,106 @@ public final class NameLookupClient implements Stage, NamingLookup {
   public void close() throws Exception {
     // Should not close transport as we did not
     // create it
+    closed = true;
+    timer.shutdownNow();
+    for (final Long requestId : pendingLookups.keySet()) {
+      final PendingLookup pendingLookup = removePendingLookup(requestId);
+      if (pendingLookup != null) {
+        failClosed(pendingLookup.getLookups());
+      }
+    }
+    subscriptions.clear();
+    subscribedAddresses.clear();
+  }
+
+  /**
+   * A subscription to the identifiers that start with a prefix.
+   * It is identified by the id of its latest request, as it is re-established after failures.
+   */
+  private static final class Subscription {
+    /**
+     * The id of a subscription that has not been requested yet. Request ids start from 1.
+     */
+    static final long NONE = 0;
+
+    private final String prefix;
+    private volatile long subscriptionId = NONE;
+    private volatile boolean synced;
+    private final CountDownLatch firstSnapshot = new CountDownLatch(1);
+
+    Subscription(final String prefix) {
+      this.prefix = prefix;
+    }
+
+    String getPrefix() {
+      return prefix;
+    }
+
+    long getSubscriptionId() {
+      return subscriptionId;
+    }
+
+    boolean isSynced() {
+      return synced;
+    }
+
+    boolean matches(final Identifier id) {
+      return id.toString().startsWith(prefix);
+    }
+
+    /**
+     * @return the id of the request that is replaced, or {@link #NONE} if this is the first one
+     */
+    synchronized long resubscribe(final long newSubscriptionId) {
+      final long previousSubscriptionId = subscriptionId;
+      subscriptionId = newSubscriptionId;
+      synced = false;
+      return previousSubscriptionId;
+    }
+
+    synchronized void synced(final long snapshotSubscriptionId) {
+      if (subscriptionId == snapshotSubscriptionId) {
+        synced = true;
+        firstSnapshot.countDown();
+      }
+    }
+
+    boolean awaitSnapshot(final long timeoutMillis) throws InterruptedException {
+      return firstSnapshot.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * The lookups of a request that has not been responded to.
+   */
+  private static final class PendingLookup {
+    private final Map<Identifier, NameLookupFuture> lookups;
+    private final int attempt;
+    private volatile ScheduledFuture<?> timeout;
+
+    PendingLookup(final Map<Identifier, NameLookupFuture> lookups, final int attempt) {
+      this.lookups = lookups;
+      this.attempt = attempt;
+    }
+
+    Map<Identifier, NameLookupFuture> getLookups() {
+      return lookups;
+    }
+
+    int getAttempt() {
+      return attempt;
+    }
+
+    void setTimeout(final ScheduledFuture<?> timeout) {
+      this.timeout = timeout;
+    }
+
+    void cancelTimeout() {
+      final ScheduledFuture<?> scheduledTimeout = timeout;
+      if (scheduledTimeout != null) {
+        scheduledTimeout.cancel(false);
+      }
+    }
   }
 }
 
@@ -230,17 +765,17 @@ public final class NameLookupClient implements Stage, NamingLookup {
  */
 class NamingLookupClientHandler implements EventHandler<TransportEvent> {
 
-  private final EventHandler<NamingLookupResponse> handler;
+  private final EventHandler<NamingMessage> handler;
   private final Codec<NamingMessage> codec;
 
-  NamingLookupClientHandler(final EventHandler<NamingLookupResponse> handler, final Codec<NamingMessage> codec) {
+  NamingLookupClientHandler(final EventHandler<NamingMessage> handler, final Codec<NamingMessage> codec) {
     this.handler = handler;
     this.codec = codec;
   }
 
   @Override
   public void onNext(final TransportEvent value) {
-    handler.onNext((NamingLookupResponse) codec.decode(value.getData()));
+    handler.onNext(codec.decode(value.getData()));
   }
 
 }
@@ -248,19 +783,16 @@ class NamingLookupClientHandler implements EventHandler<TransportEvent> {
 /**
  * Naming lookup response handler.
  */
-class NamingLookupResponseHandler implements EventHandler<NamingLookupResponse> {
-  private static final Logger LOG = Logger.getLogger(NamingLookupResponseHandler.class.getName());
+class NamingLookupResponseHandler implements EventHandler<NamingMessage> {
 
-  private final BlockingQueue<NamingLookupResponse> replyQueue;
+  private final NameLookupClient lookupClient;
 
-  NamingLookupResponseHandler(final BlockingQueue<NamingLookupResponse> replyQueue) {
-    this.replyQueue = replyQueue;
+  NamingLookupResponseHandler(final NameLookupClient lookupClient) {
+    this.lookupClient = lookupClient;
   }
 
   @Override
-  public void onNext(final NamingLookupResponse value) {
-    if (!replyQueue.offer(value)) {
-      LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
-    }
+  public void onNext(final NamingMessage value) {
+    lookupClient.onNamingMessage(value);
   }
 }
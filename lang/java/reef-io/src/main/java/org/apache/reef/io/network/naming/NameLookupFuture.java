@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The address of an identifier, which is set once the name server has answered a lookup.
+ */
+final class NameLookupFuture extends FutureTask<InetSocketAddress> {
+  private static final Callable<InetSocketAddress> UNUSED = new Callable<InetSocketAddress>() {
+    @Override
+    public InetSocketAddress call() {
+      throw new UnsupportedOperationException("A NameLookupFuture is completed explicitly");
+    }
+  };
+
+  NameLookupFuture() {
+    super(UNUSED);
+  }
+
+  /**
+   * @param address the address the identifier is registered with
+   */
+  void complete(final InetSocketAddress address) {
+    set(address);
+  }
+
+  /**
+   * @param cause the reason why the address could not be looked up
+   */
+  void fail(final Throwable cause) {
+    setException(cause);
+  }
+
+  @Override
+  public void run() {
+    throw new UnsupportedOperationException("A NameLookupFuture is completed explicitly");
+  }
+}
@@ -18,8 +18,12 @@
  */
 package org.apache.reef.io.network.naming;
 
+import org.apache.reef.io.naming.NameAssignment;
 import org.apache.reef.io.naming.NamingRegistry;
 import org.apache.reef.io.network.naming.exception.NamingException;
+import org.apache.reef.io.network.naming.serialization.NamingBulkRegisterRequest;
+import org.apache.reef.io.network.naming.serialization.NamingBulkRegisterResponse;
+import org.apache.reef.io.network.naming.serialization.NamingBulkUnregisterRequest;
 import org.apache.reef.io.network.naming.serialization.NamingMessage;
 import org.apache.reef.io.network.naming.serialization.NamingRegisterRequest;
 import org.apache.reef.io.network.naming.serialization.NamingRegisterResponse;
@@ -44,14 +48,23 @@ import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Naming registry client.
+ * Any number of threads can wait for the responses to their registrations at once:
+ * single registrations are matched to their responses by identifier, bulk registrations by request id.
+ * Single registrations and un-registrations use the original messages, which every name server serves.
  */
 public class NameRegistryClient implements Stage, NamingRegistry {
 
@@ -60,9 +73,25 @@ public class NameRegistryClient implements Stage, NamingRegistry {
   private final SocketAddress serverSocketAddr;
   private final Transport transport;
   private final Codec<NamingMessage> codec;
-  private final BlockingQueue<NamingRegisterResponse> replyQueue;
   private final long timeout;
 
+  /**
+   * Whether the transport was created by this client and has to be closed with it.
+   */
+  private final boolean ownsTransport;
+
+  private final AtomicLong lastRequestId = new AtomicLong();
+
+  /**
+   * The registrations waiting for their responses, by request id.
+   */
+  private final ConcurrentMap<Long, CountDownLatch> pendingRegistrations = new ConcurrentHashMap<>();
+
+  /**
+   * The single registrations waiting for their responses, by identifier.
+   */
+  private final ConcurrentMap<Identifier, CountDownLatch> pendingSingleRegistrations = new ConcurrentHashMap<>();
+
   /**
    * Constructs a naming registry client.
    *
@@ -93,12 +122,17 @@ public class NameRegistryClient implements Stage, NamingRegistry {
     this.serverSocketAddr = new InetSocketAddress(serverAddr, serverPort);
     this.timeout = timeout;
     this.codec = NamingCodecFactory.createRegistryCodec(factory);
-    this.replyQueue = new LinkedBlockingQueue<>();
+    this.ownsTransport = true;
 
     final Injector injector = Tang.Factory.getTang().newInjector();
     injector.bindVolatileParameter(RemoteConfiguration.HostAddress.class, localAddressProvider.getLocalAddress());
     injector.bindVolatileParameter(RemoteConfiguration.RemoteClientStage.class,
-        new SyncStage<>(new NamingRegistryClientHandler(new NamingRegistryResponseHandler(replyQueue), codec)));
+        new SyncStage<>(new NamingRegistryClientHandler(new EventHandler<NamingMessage>() {
+          @Override
+          public void onNext(final NamingMessage value) {
+            onNamingMessage(value);
+          }
+        }, codec)));
 
     try {
       this.transport = injector.getInstance(NettyMessagingTransport.class);
@@ -107,14 +141,17 @@ public class NameRegistryClient implements Stage, NamingRegistry {
     }
   }
 
+  /**
+   * Constructs a naming registry client on a shared transport,
+   * whose responses have to be passed to {@link #onNamingMessage(NamingMessage)}.
+   */
   NameRegistryClient(final String serverAddr, final int serverPort,
                             final long timeout, final IdentifierFactory factory,
-                            final BlockingQueue<NamingRegisterResponse> replyQueue,
                             final Transport transport) {
     this.serverSocketAddr = new InetSocketAddress(serverAddr, serverPort);
     this.timeout = timeout;
     this.codec = NamingCodecFactory.createFullCodec(factory);
-    this.replyQueue = replyQueue;
+    this.ownsTransport = false;
     this.transport = transport;
   }
 
@@ -126,27 +163,70 @@ public class NameRegistryClient implements Stage, NamingRegistry {
    */
   @Override
   public void register(final Identifier id, final InetSocketAddress addr) throws Exception {
+    LOG.log(Level.FINE, "Register {0} : {1}", new Object[]{id, addr});
+    final CountDownLatch responded = new CountDownLatch(1);
+    this.pendingSingleRegistrations.put(id, responded);
+    try {
+      final Link<NamingMessage> link = this.transport.open(
+          this.serverSocketAddr, this.codec, new LoggingLinkListener<NamingMessage>());
+      link.write(new NamingRegisterRequest(new NameAssignmentTuple(id, addr)));
+      awaitResponse(responded, 1);
+    } catch (final IOException e) {
+      throw new NamingException(e);
+    } finally {
+      this.pendingSingleRegistrations.remove(id, responded);
+    }
+  }
 
-    // needed to keep threads from reading the wrong response
-    // TODO: better fix matches replies to threads with a map after REEF-198
-    synchronized (this) {
+  /**
+   * Registers (identifier, address) mappings in a single request.
+   * The name server has to serve bulk registrations.
+   * As for a single registration, a missing response is logged rather than failing the registration.
+   *
+   * @param addrs the address of each identifier
+   */
+  public void register(final Map<Identifier, InetSocketAddress> addrs) throws NamingException {
+    tryRegister(addrs);
+  }
 
-      LOG.log(Level.FINE, "Register {0} : {1}", new Object[]{id, addr});
+  /**
+   * Registers (identifier, address) mappings in a single request, like {@link #register(Map)}.
+   *
+   * @param addrs the address of each identifier
+   * @return true if the name server confirmed the registration within the timeout
+   */
+  boolean tryRegister(final Map<Identifier, InetSocketAddress> addrs) throws NamingException {
+    final List<NameAssignment> nas = new ArrayList<>(addrs.size());
+    for (final Map.Entry<Identifier, InetSocketAddress> entry : addrs.entrySet()) {
+      nas.add(new NameAssignmentTuple(entry.getKey(), entry.getValue()));
+    }
 
+    final long requestId = this.lastRequestId.incrementAndGet();
+    final CountDownLatch responded = new CountDownLatch(1);
+    this.pendingRegistrations.put(requestId, responded);
+    try {
       final Link<NamingMessage> link = this.transport.open(
           this.serverSocketAddr, this.codec, new LoggingLinkListener<NamingMessage>());
+      link.write(new NamingBulkRegisterRequest(requestId, nas));
+      return awaitResponse(responded, nas.size());
+    } catch (final IOException e) {
+      throw new NamingException(e);
+    } finally {
+      this.pendingRegistrations.remove(requestId);
+    }
+  }
 
-      link.write(new NamingRegisterRequest(new NameAssignmentTuple(id, addr)));
-
-      for (;;) {
-        try {
-          this.replyQueue.poll(this.timeout, TimeUnit.MILLISECONDS);
-          break;
-        } catch (final InterruptedException e) {
-          LOG.log(Level.INFO, "Interrupted", e);
-          throw new NamingException(e);
-        }
+  private boolean awaitResponse(final CountDownLatch responded, final int numOfIds) throws NamingException {
+    try {
+      if (!responded.await(this.timeout, TimeUnit.MILLISECONDS)) {
+        LOG.log(Level.WARNING, "No response to the registration of {0} identifiers within {1} ms",
+            new Object[]{numOfIds, this.timeout});
+        return false;
       }
+      return true;
+    } catch (final InterruptedException e) {
+      LOG.log(Level.INFO, "Interrupted", e);
+      throw new NamingException(e);
     }
   }
 
@@ -162,13 +242,64 @@ public class NameRegistryClient implements Stage, NamingRegistry {
     link.write(new NamingUnregisterRequest(id));
   }
 
+  /**
+   * Unregisters identifiers in a single request.
+   * The name server has to serve bulk un-registrations.
+   *
+   * @param ids identifiers
+   */
+  public void unregister(final Collection<Identifier> ids) throws IOException {
+    final Link<NamingMessage> link = transport.open(serverSocketAddr, codec,
+        new LoggingLinkListener<NamingMessage>());
+    link.write(new NamingBulkUnregisterRequest(new ArrayList<>(ids)));
+  }
+
+  /**
+   * Gets the time to wait for the response to a registration.
+   *
+   * @return timeout in ms
+   */
+  long getTimeout() {
+    return this.timeout;
+  }
+
+  /**
+   * Handles a registration response from the name server.
+   *
+   * @param value a naming message
+   */
+  void onNamingMessage(final NamingMessage value) {
+    if (value instanceof NamingBulkRegisterResponse) {
+      final CountDownLatch responded =
+          this.pendingRegistrations.remove(((NamingBulkRegisterResponse) value).getRequestId());
+      if (responded != null) {
+        responded.countDown();
+      } else {
+        LOG.log(Level.FINEST, "Response to registration {0} arrived after its timeout",
+            ((NamingBulkRegisterResponse) value).getRequestId());
+      }
+    } else if (value instanceof NamingRegisterResponse) {
+      final Identifier id = ((NamingRegisterResponse) value).getRequest().getNameAssignment().getIdentifier();
+      final CountDownLatch responded = this.pendingSingleRegistrations.remove(id);
+      if (responded != null) {
+        responded.countDown();
+      } else {
+        LOG.log(Level.FINEST, "Response to the registration of {0} arrived after its timeout", id);
+      }
+    } else {
+      LOG.log(Level.WARNING, "Unexpected naming message {0}", value);
+    }
+  }
+
   /**
    * Closes resources.
    */
   @Override
   public void close() throws Exception {
-    // Should not close transport as we did not
-    // create it
+    // Only close the transport if we created it
+    if (this.ownsTransport) {
+      this.transport.close();
+    }
   }
 }
 
@@ -178,10 +309,10 @@ public class NameRegistryClient implements Stage, NamingRegistry {
 class NamingRegistryClientHandler implements EventHandler<TransportEvent> {
   private static final Logger LOG = Logger.getLogger(NamingRegistryClientHandler.class.getName());
 
-  private final EventHandler<NamingRegisterResponse> handler;
+  private final EventHandler<NamingMessage> handler;
   private final Codec<NamingMessage> codec;
 
-  NamingRegistryClientHandler(final EventHandler<NamingRegisterResponse> handler, final Codec<NamingMessage> codec) {
+  NamingRegistryClientHandler(final EventHandler<NamingMessage> handler, final Codec<NamingMessage> codec) {
     this.handler = handler;
     this.codec = codec;
   }
@@ -189,26 +320,6 @@ class NamingRegistryClientHandler implements EventHandler<TransportEvent> {
   @Override
   public void onNext(final TransportEvent value) {
     LOG.log(Level.FINE, value.toString());
-    handler.onNext((NamingRegisterResponse) codec.decode(value.getData()));
-  }
-}
-
-/**
- * Naming register response handler.
- */
-class NamingRegistryResponseHandler implements EventHandler<NamingRegisterResponse> {
-  private static final Logger LOG = Logger.getLogger(NamingRegistryResponseHandler.class.getName());
-
-  private final BlockingQueue<NamingRegisterResponse> replyQueue;
-
-  NamingRegistryResponseHandler(final BlockingQueue<NamingRegisterResponse> replyQueue) {
-    this.replyQueue = replyQueue;
-  }
-
-  @Override
-  public void onNext(final NamingRegisterResponse value) {
-    if (!replyQueue.offer(value)) {
-      LOG.log(Level.FINEST, "Element {0} was not added to the queue", value);
-    }
+    handler.onNext(codec.decode(value.getData()));
   }
 }
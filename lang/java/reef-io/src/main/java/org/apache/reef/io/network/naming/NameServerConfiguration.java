@@ -41,11 +41,21 @@ public final class NameServerConfiguration extends ConfigurationModuleBuilder {
    * Identifier factory for the name service.
    */
   public static final OptionalParameter<IdentifierFactory> NAME_SERVER_IDENTIFIER_FACTORY = new OptionalParameter<>();
+  /**
+   * DNS hostname of a standby name service the registrations are replicated to.
+   */
+  public static final OptionalParameter<String> NAME_SERVER_REPLICA_HOSTNAME = new OptionalParameter<>();
+  /**
+   * The port of the standby name service the registrations are replicated to.
+   */
+  public static final OptionalParameter<Integer> NAME_SERVER_REPLICA_PORT = new OptionalParameter<>();
 
   public static final ConfigurationModule CONF = new NameServerConfiguration()
       .bindNamedParameter(NameServerParameters.NameServerPort.class, NAME_SERVICE_PORT)
       .bindNamedParameter(NameServerParameters.NameServerAddr.class, NAME_SERVER_HOSTNAME)
       .bindNamedParameter(NameServerParameters.NameServerIdentifierFactory.class, NAME_SERVER_IDENTIFIER_FACTORY)
+      .bindNamedParameter(NameServerParameters.NameServerReplicaAddr.class, NAME_SERVER_REPLICA_HOSTNAME)
+      .bindNamedParameter(NameServerParameters.NameServerReplicaPort.class, NAME_SERVER_REPLICA_PORT)
       .bindImplementation(NameServer.class, NameServerImpl.class)
       .build();
 }
@@ -27,12 +27,14 @@ import org.apache.reef.tang.exceptions.InjectionException;
 import org.apache.reef.wake.EventHandler;
 import org.apache.reef.wake.Identifier;
 import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.impl.DefaultThreadFactory;
 import org.apache.reef.wake.impl.MultiEventHandler;
 import org.apache.reef.wake.impl.SyncStage;
 import org.apache.reef.wake.remote.Codec;
 import org.apache.reef.wake.remote.RemoteConfiguration;
 import org.apache.reef.wake.remote.address.LocalAddressProvider;
 import org.apache.reef.wake.remote.impl.TransportEvent;
+import org.apache.reef.wake.remote.transport.Link;
 import org.apache.reef.wake.remote.transport.Transport;
 import org.apache.reef.wake.remote.transport.netty.NettyMessagingTransport;
 import org.apache.reef.webserver.ReefEventStateManager;
@@ -40,25 +42,62 @@ import org.apache.reef.webserver.ReefEventStateManager;
 import javax.inject.Inject;
 import java.net.InetSocketAddress;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Naming server implementation.
+ * Besides answering lookups, it pushes the registrations and un-registrations of identifiers
+ * to the clients that subscribed to a prefix of them.
+ * The registry is split into shards: lookups do not lock, and changes only lock the shard of their identifiers.
+ * If a standby name server is configured, all changes are replicated to it asynchronously and in order.
+ * When a change fails to reach the standby, it is marked stale and resynced with a full snapshot of the registry,
+ * which is retried until it succeeds.
  */
 public final class NameServerImpl implements NameServer {
 
   private static final Logger LOG = Logger.getLogger(NameServer.class.getName());
 
+  /**
+   * The number of shards of the registry.
+   */
+  private static final int NUM_SHARDS = 16;
+
+  /**
+   * The time between the attempts to resync a stale standby name server.
+   */
+  private static final long REPLICA_RESYNC_DELAY_MILLIS = 1000;
+
   private final Transport transport;
-  private final Map<Identifier, InetSocketAddress> idToAddrMap;
+  private final Shard[] shards;
   private final ReefEventStateManager reefEventStateManager;
   private final int port;
   private final LocalAddressProvider localAddressProvider;
+  private final Codec<NamingMessage> codec;
+
+  /**
+   * The client of the standby name server, or null if changes are not replicated.
+   */
+  private final NameRegistryClient replica;
+  private final ScheduledThreadPoolExecutor replicationExecutor;
+
+  /**
+   * Whether a change failed to reach the standby name server since its last resync.
+   * Only accessed by the replication thread.
+   */
+  private boolean replicaStale = false;
+
+  /**
+   * The identifiers changed while the standby name server was stale. Only accessed by the replication thread.
+   */
+  private final Set<Identifier> unreplicatedIds = new HashSet<>();
 
   /**
    * @param port    a listening port number
    * @param factory an identifier factory
+   * @param replicaAddr the address of a standby name server, or an empty string for none
+   * @param replicaPort the port of the standby name server
    * @param localAddressProvider a local address provider
    * Constructs a name server
    */
@@ -66,13 +105,15 @@ public final class NameServerImpl implements NameServer {
   private NameServerImpl(
       @Parameter(NameServerParameters.NameServerPort.class) final int port,
       @Parameter(NameServerParameters.NameServerIdentifierFactory.class) final IdentifierFactory factory,
+      @Parameter(NameServerParameters.NameServerReplicaAddr.class) final String replicaAddr,
+      @Parameter(NameServerParameters.NameServerReplicaPort.class) final int replicaPort,
       final LocalAddressProvider localAddressProvider) {
 
     final Injector injector = Tang.Factory.getTang().newInjector();
 
     this.localAddressProvider = localAddressProvider;
     this.reefEventStateManager = null;
-    final Codec<NamingMessage> codec = NamingCodecFactory.createFullCodec(factory);
+    this.codec = NamingCodecFactory.createFullCodec(factory);
     final EventHandler<NamingMessage> handler = createEventHandler(codec);
 
     injector.bindVolatileParameter(RemoteConfiguration.HostAddress.class, localAddressProvider.getLocalAddress());
@@ -87,7 +128,21 @@ public final class NameServerImpl implements NameServer {
     }
 
     this.port = transport.getListeningPort();
-    this.idToAddrMap = Collections.synchronizedMap(new HashMap<Identifier, InetSocketAddress>());
+    this.shards = new Shard[NUM_SHARDS];
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      this.shards[i] = new Shard();
+    }
+
+    if (replicaAddr.isEmpty()) {
+      this.replica = null;
+      this.replicationExecutor = null;
+    } else {
+      LOG.log(Level.FINE, "Replicating registrations to {0}:{1}", new Object[]{replicaAddr, replicaPort});
+      this.replica = new NameRegistryClient(replicaAddr, replicaPort, factory, localAddressProvider);
+      this.replicationExecutor =
+          new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory("NameServerReplication"));
+      this.replicationExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
 
     LOG.log(Level.FINE, "NameServer starting, listening at port {0}", this.port);
   }
@@ -98,8 +153,13 @@ public final class NameServerImpl implements NameServer {
         clazzToHandlerMap = new HashMap<>();
 
     clazzToHandlerMap.put(NamingLookupRequest.class, new NamingLookupRequestHandler(this, codec));
+    clazzToHandlerMap.put(NamingBulkLookupRequest.class, new NamingBulkLookupRequestHandler(this, codec));
     clazzToHandlerMap.put(NamingRegisterRequest.class, new NamingRegisterRequestHandler(this, codec));
     clazzToHandlerMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestHandler(this));
+    clazzToHandlerMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestHandler(this, codec));
+    clazzToHandlerMap.put(NamingBulkUnregisterRequest.class, new NamingBulkUnregisterRequestHandler(this));
+    clazzToHandlerMap.put(NamingSubscribeRequest.class, new NamingSubscribeRequestHandler(this));
+    clazzToHandlerMap.put(NamingUnsubscribeRequest.class, new NamingUnsubscribeRequestHandler(this));
     final EventHandler<NamingMessage> handler = new MultiEventHandler<>(clazzToHandlerMap);
 
     return handler;
@@ -117,7 +177,19 @@ public final class NameServerImpl implements NameServer {
    */
   @Override
   public void close() throws Exception {
+    for (final Shard shard : shards) {
+      synchronized (shard) {
+        shard.subscriptions.clear();
+      }
+    }
     transport.close();
+    if (replica != null) {
+      replicationExecutor.shutdown();
+      if (!replicationExecutor.awaitTermination(replica.getTimeout(), TimeUnit.MILLISECONDS)) {
+        LOG.log(Level.WARNING, "Replication to the standby name server did not finish in time");
+      }
+      replica.close();
+    }
   }
 
   /**
@@ -128,8 +200,48 @@ public final class NameServerImpl implements NameServer {
    */
   @Override
   public void register(final Identifier id, final InetSocketAddress addr) {
-    LOG.log(Level.FINE, "id: " + id + " addr: " + addr);
-    idToAddrMap.put(id, addr);
+    register(Collections.<NameAssignment>singletonList(new NameAssignmentTuple(id, addr)));
+  }
+
+  /**
+   * Registers (identifier, address) mappings locally, locking each shard they fall into once.
+   *
+   * @param nas the name assignments
+   */
+  void register(final List<NameAssignment> nas) {
+    LOG.log(Level.FINE, "Register {0} name assignments", nas.size());
+    final List<List<NameAssignment>> nasPerShard = new ArrayList<>(NUM_SHARDS);
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      nasPerShard.add(new ArrayList<NameAssignment>());
+    }
+    for (final NameAssignment nameAssignment : nas) {
+      LOG.log(Level.FINEST, "id: {0} addr: {1}", new Object[]{nameAssignment.getIdentifier(),
+          nameAssignment.getAddress()});
+      nasPerShard.get(shardIndex(nameAssignment.getIdentifier())).add(nameAssignment);
+    }
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      final List<NameAssignment> shardNas = nasPerShard.get(i);
+      if (shardNas.isEmpty()) {
+        continue;
+      }
+      final Shard shard = shards[i];
+      synchronized (shard) {
+        for (final NameAssignment nameAssignment : shardNas) {
+          shard.idToAddrMap.put(nameAssignment.getIdentifier(), nameAssignment.getAddress());
+        }
+        shard.publish(shardNas, Collections.<Identifier>emptyList(), codec);
+      }
+    }
+    final Map<Identifier, InetSocketAddress> addrs = new LinkedHashMap<>();
+    for (final NameAssignment nameAssignment : nas) {
+      addrs.put(nameAssignment.getIdentifier(), nameAssignment.getAddress());
+    }
+    replicate(addrs.keySet(), new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        return replica.tryRegister(addrs);
+      }
+    });
   }
 
   /**
@@ -139,8 +251,47 @@ public final class NameServerImpl implements NameServer {
    */
   @Override
   public void unregister(final Identifier id) {
-    LOG.log(Level.FINE, "id: " + id);
-    idToAddrMap.remove(id);
+    unregister(Collections.singletonList(id));
+  }
+
+  /**
+   * Unregisters identifiers locally, locking each shard they fall into once.
+   *
+   * @param ids the identifiers
+   */
+  void unregister(final List<Identifier> ids) {
+    LOG.log(Level.FINE, "Unregister {0} identifiers", ids.size());
+    final List<List<Identifier>> idsPerShard = new ArrayList<>(NUM_SHARDS);
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      idsPerShard.add(new ArrayList<Identifier>());
+    }
+    for (final Identifier id : ids) {
+      LOG.log(Level.FINEST, "id: {0}", id);
+      idsPerShard.get(shardIndex(id)).add(id);
+    }
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      final List<Identifier> shardIds = idsPerShard.get(i);
+      if (shardIds.isEmpty()) {
+        continue;
+      }
+      final Shard shard = shards[i];
+      synchronized (shard) {
+        final List<Identifier> removed = new ArrayList<>(shardIds.size());
+        for (final Identifier id : shardIds) {
+          if (shard.idToAddrMap.remove(id) != null) {
+            removed.add(id);
+          }
+        }
+        shard.publish(Collections.<NameAssignment>emptyList(), removed, codec);
+      }
+    }
+    replicate(ids, new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        replica.unregister(ids);
+        return true;
+      }
+    });
   }
 
   /**
@@ -152,7 +303,7 @@ public final class NameServerImpl implements NameServer {
   @Override
   public InetSocketAddress lookup(final Identifier id) {
     LOG.log(Level.FINE, "id: {0}", id);
-    return idToAddrMap.get(id);
+    return shards[shardIndex(id)].idToAddrMap.get(id);
   }
 
   /**
@@ -166,7 +317,7 @@ public final class NameServerImpl implements NameServer {
     LOG.log(Level.FINE, "identifiers");
     final List<NameAssignment> nas = new ArrayList<>();
     for (final Identifier id : identifiers) {
-      final InetSocketAddress addr = idToAddrMap.get(id);
+      final InetSocketAddress addr = shards[shardIndex(id)].idToAddrMap.get(id);
       LOG.log(Level.FINEST, "id : {0} addr: {1}", new Object[]{id, addr});
       if (addr != null) {
         nas.add(new NameAssignmentTuple(id, addr));
@@ -175,9 +326,283 @@ public final class NameServerImpl implements NameServer {
     return nas;
   }
 
+  /**
+   * Subscribes a client to the identifiers that start with the prefix.
+   * The client receives a snapshot of those identifiers first, followed by their changes.
+   * The shards are snapshotted one by one; changes made to a shard after its snapshot
+   * are held back until the whole snapshot has been sent.
+   *
+   * @param subscriptionId the id the updates of the subscription are tagged with
+   * @param prefix         the prefix of the identifiers
+   * @param link           the link to the client
+   */
+  void subscribe(final long subscriptionId, final String prefix, final Link<byte[]> link) {
+    LOG.log(Level.FINE, "subscription: {0} prefix: {1} link: {2}", new Object[]{subscriptionId, prefix, link});
+    final Subscription subscription = new Subscription(subscriptionId, prefix, link, transport);
+    final List<NameAssignment> snapshot = new ArrayList<>();
+    for (final Shard shard : shards) {
+      synchronized (shard) {
+        for (final Map.Entry<Identifier, InetSocketAddress> entry : shard.idToAddrMap.entrySet()) {
+          if (subscription.matches(entry.getKey())) {
+            snapshot.add(new NameAssignmentTuple(entry.getKey(), entry.getValue()));
+          }
+        }
+        shard.subscriptions.add(subscription);
+      }
+    }
+    if (!subscription.sendSnapshot(snapshot, codec)) {
+      drop(subscription);
+    }
+  }
+
+  /**
+   * Cancels a subscription of a client.
+   *
+   * @param subscriptionId the id of the subscription
+   * @param link           the link to the client
+   */
+  void unsubscribe(final long subscriptionId, final Link<byte[]> link) {
+    LOG.log(Level.FINE, "subscription: {0} link: {1}", new Object[]{subscriptionId, link});
+    for (final Shard shard : shards) {
+      synchronized (shard) {
+        final Iterator<Subscription> iterator = shard.subscriptions.iterator();
+        while (iterator.hasNext()) {
+          final Subscription subscription = iterator.next();
+          if (subscription.subscriptionId == subscriptionId
+              && subscription.link.getRemoteAddress().equals(link.getRemoteAddress())) {
+            iterator.remove();
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes a subscription whose link to the client is gone from all shards.
+   */
+  private void drop(final Subscription subscription) {
+    for (final Shard shard : shards) {
+      synchronized (shard) {
+        shard.subscriptions.remove(subscription);
+      }
+    }
+  }
+
+  private int shardIndex(final Identifier id) {
+    return (id.hashCode() & Integer.MAX_VALUE) % NUM_SHARDS;
+  }
+
+  /**
+   * Hands a change over to the replication thread, if a standby name server is configured.
+   * While the standby is stale, the change is only recorded, as the pending resync covers it.
+   *
+   * @param ids         the identifiers of the change
+   * @param replication sends the change to the standby, and returns whether the standby confirmed it
+   */
+  private void replicate(final Collection<Identifier> ids, final Callable<Boolean> replication) {
+    if (replica == null) {
+      return;
+    }
+    try {
+      replicationExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          if (replicaStale) {
+            unreplicatedIds.addAll(ids);
+            return;
+          }
+          boolean replicated;
+          try {
+            replicated = replication.call();
+          } catch (final Exception e) {
+            LOG.log(Level.WARNING, "Failed to replicate to the standby name server", e);
+            replicated = false;
+          }
+          if (!replicated) {
+            LOG.log(Level.WARNING, "Standby name server is stale, resyncing it with a full snapshot");
+            replicaStale = true;
+            unreplicatedIds.addAll(ids);
+            scheduleReplicaResync();
+          }
+        }
+      });
+    } catch (final RejectedExecutionException e) {
+      LOG.log(Level.WARNING, "Name server is closed, the change is not replicated", e);
+    }
+  }
+
+  private void scheduleReplicaResync() {
+    try {
+      replicationExecutor.schedule(new Runnable() {
+        @Override
+        public void run() {
+          resyncReplica();
+        }
+      }, REPLICA_RESYNC_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (final RejectedExecutionException e) {
+      LOG.log(Level.WARNING, "Name server is closed, the standby name server is left stale", e);
+    }
+  }
+
+  /**
+   * Registers a full snapshot of the registry on the stale standby name server, and un-registers the identifiers
+   * that were removed while it was stale. Retried until it succeeds. Runs on the replication thread,
+   * so the changes queued after it are replicated on top of the snapshot.
+   */
+  private void resyncReplica() {
+    final Map<Identifier, InetSocketAddress> snapshot = new HashMap<>();
+    for (final Shard shard : shards) {
+      synchronized (shard) {
+        snapshot.putAll(shard.idToAddrMap);
+      }
+    }
+    final List<Identifier> removed = new ArrayList<>();
+    for (final Identifier id : unreplicatedIds) {
+      if (!snapshot.containsKey(id)) {
+        removed.add(id);
+      }
+    }
+
+    boolean resynced;
+    try {
+      resynced = snapshot.isEmpty() || replica.tryRegister(snapshot);
+      if (resynced && !removed.isEmpty()) {
+        replica.unregister(removed);
+      }
+    } catch (final Exception e) {
+      LOG.log(Level.WARNING, "Failed to resync the standby name server", e);
+      resynced = false;
+    }
+
+    if (resynced) {
+      LOG.log(Level.INFO, "Resynced the standby name server with {0} identifiers", snapshot.size());
+      replicaStale = false;
+      unreplicatedIds.clear();
+    } else {
+      scheduleReplicaResync();
+    }
+  }
+
   private String getNameServerId() {
     return this.localAddressProvider.getLocalAddress() + ":" + getPort();
   }
+
+  /**
+   * A part of the registry. Its mappings are read without locking,
+   * changes and its subscriptions are guarded by the shard itself.
+   */
+  private static final class Shard {
+    private final ConcurrentMap<Identifier, InetSocketAddress> idToAddrMap = new ConcurrentHashMap<>();
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    /**
+     * Pushes changes to the subscriptions they match. Must be called while holding the lock on the shard.
+     * Subscriptions whose link to the client is gone are dropped.
+     */
+    void publish(final List<NameAssignment> registered, final List<Identifier> unregistered,
+                 final Codec<NamingMessage> codec) {
+      if (registered.isEmpty() && unregistered.isEmpty()) {
+        return;
+      }
+      final Iterator<Subscription> iterator = subscriptions.iterator();
+      while (iterator.hasNext()) {
+        final Subscription subscription = iterator.next();
+        final List<NameAssignment> matchingRegistered = new ArrayList<>(registered.size());
+        for (final NameAssignment nameAssignment : registered) {
+          if (subscription.matches(nameAssignment.getIdentifier())) {
+            matchingRegistered.add(nameAssignment);
+          }
+        }
+        final List<Identifier> matchingUnregistered = new ArrayList<>(unregistered.size());
+        for (final Identifier id : unregistered) {
+          if (subscription.matches(id)) {
+            matchingUnregistered.add(id);
+          }
+        }
+        if ((!matchingRegistered.isEmpty() || !matchingUnregistered.isEmpty())
+            && !subscription.send(new NamingSubscriptionUpdate(
+                subscription.subscriptionId, false, matchingRegistered, matchingUnregistered), codec)) {
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * A prefix of identifiers a client subscribed to.
+   * Updates are held back until the snapshot has been sent.
+   */
+  private static final class Subscription {
+    private final long subscriptionId;
+    private final String prefix;
+    private final Link<byte[]> link;
+    private final Transport transport;
+
+    /**
+     * The updates waiting for the snapshot, or null once it has been sent. Guarded by the subscription.
+     */
+    private List<NamingSubscriptionUpdate> pendingUpdates = new ArrayList<>();
+
+    Subscription(final long subscriptionId, final String prefix, final Link<byte[]> link,
+                 final Transport transport) {
+      this.subscriptionId = subscriptionId;
+      this.prefix = prefix;
+      this.link = link;
+      this.transport = transport;
+    }
+
+    boolean matches(final Identifier id) {
+      return id.toString().startsWith(prefix);
+    }
+
+    /**
+     * @return false if the link to the client is gone, and the subscription should be dropped
+     */
+    synchronized boolean send(final NamingSubscriptionUpdate update, final Codec<NamingMessage> codec) {
+      if (pendingUpdates != null) {
+        pendingUpdates.add(update);
+        return true;
+      }
+      return write(update, codec);
+    }
+
+    /**
+     * @return false if the link to the client is gone, and the subscription should be dropped
+     */
+    synchronized boolean sendSnapshot(final List<NameAssignment> snapshot, final Codec<NamingMessage> codec) {
+      final List<NamingSubscriptionUpdate> updates = pendingUpdates;
+      pendingUpdates = null;
+      if (!write(new NamingSubscriptionUpdate(subscriptionId, true, snapshot, Collections.<Identifier>emptyList()),
+          codec)) {
+        return false;
+      }
+      for (final NamingSubscriptionUpdate update : updates) {
+        if (!write(update, codec)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Writes an update to the client, unless the transport has closed the link to it.
+     */
+    private boolean write(final NamingSubscriptionUpdate update, final Codec<NamingMessage> codec) {
+      if (transport.get(link.getRemoteAddress()) == null) {
+        LOG.log(Level.FINE, "Dropping subscription {0}: the link to {1} is closed",
+            new Object[]{subscriptionId, link.getRemoteAddress()});
+        return false;
+      }
+      try {
+        link.write(codec.encode(update));
+        return true;
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Dropping subscription " + subscriptionId + ": failed to write to "
+            + link.getRemoteAddress(), e);
+        return false;
+      }
+    }
+  }
 }
 
 /**
@@ -226,6 +651,27 @@ class NamingLookupRequestHandler implements EventHandler<NamingLookupRequest> {
   }
 }
 
+/**
+ * Naming bulk lookup request handler.
+ */
+class NamingBulkLookupRequestHandler implements EventHandler<NamingBulkLookupRequest> {
+
+  private final NameServer server;
+  private final Codec<NamingMessage> codec;
+
+  NamingBulkLookupRequestHandler(final NameServer server, final Codec<NamingMessage> codec) {
+    this.server = server;
+    this.codec = codec;
+  }
+
+  @Override
+  public void onNext(final NamingBulkLookupRequest value) {
+    final List<NameAssignment> nas = server.lookup(value.getIdentifiers());
+    final byte[] resp = codec.encode(new NamingBulkLookupResponse(value.getRequestId(), nas));
+    value.getLink().write(resp);
+  }
+}
+
 /**
  * Naming register request handler.
  */
@@ -266,3 +712,74 @@ class NamingUnregisterRequestHandler implements EventHandler<NamingUnregisterReq
     server.unregister(value.getIdentifier());
   }
 }
+
+/**
+ * Naming bulk register request handler.
+ */
+class NamingBulkRegisterRequestHandler implements EventHandler<NamingBulkRegisterRequest> {
+
+  private final NameServerImpl server;
+  private final Codec<NamingMessage> codec;
+
+  NamingBulkRegisterRequestHandler(final NameServerImpl server, final Codec<NamingMessage> codec) {
+    this.server = server;
+    this.codec = codec;
+  }
+
+  @Override
+  public void onNext(final NamingBulkRegisterRequest value) {
+    server.register(value.getNameAssignments());
+    value.getLink().write(codec.encode(new NamingBulkRegisterResponse(value.getRequestId())));
+  }
+}
+
+/**
+ * Naming bulk unregister request handler.
+ */
+class NamingBulkUnregisterRequestHandler implements EventHandler<NamingBulkUnregisterRequest> {
+
+  private final NameServerImpl server;
+
+  NamingBulkUnregisterRequestHandler(final NameServerImpl server) {
+    this.server = server;
+  }
+
+  @Override
+  public void onNext(final NamingBulkUnregisterRequest value) {
+    server.unregister(value.getIdentifiers());
+  }
+}
+
+/**
+ * Naming subscription request handler.
+ */
+class NamingSubscribeRequestHandler implements EventHandler<NamingSubscribeRequest> {
+
+  private final NameServerImpl server;
+
+  NamingSubscribeRequestHandler(final NameServerImpl server) {
+    this.server = server;
+  }
+
+  @Override
+  public void onNext(final NamingSubscribeRequest value) {
+    server.subscribe(value.getSubscriptionId(), value.getPrefix(), value.getLink());
+  }
+}
+
+/**
+ * Naming un-subscription request handler.
+ */
+class NamingUnsubscribeRequestHandler implements EventHandler<NamingUnsubscribeRequest> {
+
+  private final NameServerImpl server;
+
+  NamingUnsubscribeRequestHandler(final NameServerImpl server) {
+    this.server = server;
+  }
+
+  @Override
+  public void onNext(final NamingUnsubscribeRequest value) {
+    server.unsubscribe(value.getSubscriptionId(), value.getLink());
+  }
+}
@@ -37,4 +37,13 @@ public class NameServerParameters {
   public class NameServerIdentifierFactory implements Name<IdentifierFactory> {
   }
 
+  @NamedParameter(doc = "DNS hostname of a standby name service the registrations are replicated to, if any",
+      default_value = "")
+  public class NameServerReplicaAddr implements Name<String> {
+  }
+
+  @NamedParameter(doc = "port of the standby name service the registrations are replicated to", default_value = "0")
+  public class NameServerReplicaPort implements Name<Integer> {
+  }
+
 }
@@ -32,7 +32,7 @@ import java.util.Map;
 final class NamingCodecFactory {
 
   /**
-   * Creates a codec only for lookup.
+   * Creates a codec only for lookup and subscription.
    *
    * @param factory an identifier factory
    * @return a codec
@@ -42,6 +42,11 @@ final class NamingCodecFactory {
         = new HashMap<>();
     clazzToCodecMap.put(NamingLookupRequest.class, new NamingLookupRequestCodec(factory));
     clazzToCodecMap.put(NamingLookupResponse.class, new NamingLookupResponseCodec(factory));
+    clazzToCodecMap.put(NamingBulkLookupRequest.class, new NamingBulkLookupRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkLookupResponse.class, new NamingBulkLookupResponseCodec(factory));
+    clazzToCodecMap.put(NamingSubscribeRequest.class, new NamingSubscribeRequestCodec());
+    clazzToCodecMap.put(NamingUnsubscribeRequest.class, new NamingUnsubscribeRequestCodec());
+    clazzToCodecMap.put(NamingSubscriptionUpdate.class, new NamingSubscriptionUpdateCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
   }
@@ -59,6 +64,9 @@ final class NamingCodecFactory {
     clazzToCodecMap.put(NamingRegisterResponse.class,
         new NamingRegisterResponseCodec(new NamingRegisterRequestCodec(factory)));
     clazzToCodecMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterResponse.class, new NamingBulkRegisterResponseCodec());
+    clazzToCodecMap.put(NamingBulkUnregisterRequest.class, new NamingBulkUnregisterRequestCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
   }
@@ -74,10 +82,18 @@ final class NamingCodecFactory {
         = new HashMap<>();
     clazzToCodecMap.put(NamingLookupRequest.class, new NamingLookupRequestCodec(factory));
     clazzToCodecMap.put(NamingLookupResponse.class, new NamingLookupResponseCodec(factory));
+    clazzToCodecMap.put(NamingBulkLookupRequest.class, new NamingBulkLookupRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkLookupResponse.class, new NamingBulkLookupResponseCodec(factory));
+    clazzToCodecMap.put(NamingSubscribeRequest.class, new NamingSubscribeRequestCodec());
+    clazzToCodecMap.put(NamingUnsubscribeRequest.class, new NamingUnsubscribeRequestCodec());
+    clazzToCodecMap.put(NamingSubscriptionUpdate.class, new NamingSubscriptionUpdateCodec(factory));
     clazzToCodecMap.put(NamingRegisterRequest.class, new NamingRegisterRequestCodec(factory));
     clazzToCodecMap.put(NamingRegisterResponse.class,
         new NamingRegisterResponseCodec(new NamingRegisterRequestCodec(factory)));
     clazzToCodecMap.put(NamingUnregisterRequest.class, new NamingUnregisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterRequest.class, new NamingBulkRegisterRequestCodec(factory));
+    clazzToCodecMap.put(NamingBulkRegisterResponse.class, new NamingBulkRegisterResponseCodec());
+    clazzToCodecMap.put(NamingBulkUnregisterRequest.class, new NamingBulkUnregisterRequestCodec(factory));
     final Codec<NamingMessage> codec = new MultiCodec<>(clazzToCodecMap);
     return codec;
   }
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.wake.Identifier;
+
+/**
+ * Naming bulk lookup request.
+ * Unlike {@link NamingLookupRequest}, it is tagged with a request id, such that many can be in flight.
+ */
+public class NamingBulkLookupRequest extends NamingMessage {
+  private final long requestId;
+  private final Iterable<Identifier> ids;
+
+  /**
+   * Constructs a naming bulk lookup request.
+   *
+   * @param requestId the id the response to this request is tagged with
+   * @param ids the iterable of identifiers
+   */
+  public NamingBulkLookupRequest(final long requestId, final Iterable<Identifier> ids) {
+    this.requestId = requestId;
+    this.ids = ids;
+  }
+
+  /**
+   * Gets the request id.
+   *
+   * @return the id the response to this request is tagged with
+   */
+  public long getRequestId() {
+    return requestId;
+  }
+
+  /**
+   * Gets identifiers.
+   *
+   * @return an iterable of identifiers
+   */
+  public Iterable<Identifier> getIdentifiers() {
+    return ids;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+/**
+ * Naming subscription request.
+ * The name server responds with a snapshot of the identifiers that start with the prefix,
+ * followed by an update for each of their later registrations and un-registrations.
+ */
+public class NamingSubscribeRequest extends NamingMessage {
+  private final long subscriptionId;
+  private final String prefix;
+
+  /**
+   * Constructs a naming subscription request.
+   *
+   * @param subscriptionId the id the updates of this subscription are tagged with
+   * @param prefix the prefix of the identifiers to subscribe to
+   */
+  public NamingSubscribeRequest(final long subscriptionId, final String prefix) {
+    this.subscriptionId = subscriptionId;
+    this.prefix = prefix;
+  }
+
+  /**
+   * Gets the subscription id.
+   *
+   * @return the id the updates of this subscription are tagged with
+   */
+  public long getSubscriptionId() {
+    return subscriptionId;
+  }
+
+  /**
+   * Gets the prefix.
+   *
+   * @return the prefix of the identifiers to subscribe to
+   */
+  public String getPrefix() {
+    return prefix;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.naming.NameAssignment;
+import org.apache.reef.wake.Identifier;
+
+import java.util.List;
+
+/**
+ * Naming subscription update, which the name server pushes to a subscriber.
+ */
+public class NamingSubscriptionUpdate extends NamingMessage {
+  private final long subscriptionId;
+  private final boolean snapshot;
+  private final List<NameAssignment> registered;
+  private final List<Identifier> unregistered;
+
+  /**
+   * Constructs a naming subscription update.
+   *
+   * @param subscriptionId the id of the subscription
+   * @param snapshot whether the update holds all identifiers of the subscription, rather than a change
+   * @param registered the name assignments that have been registered
+   * @param unregistered the identifiers that have been un-registered
+   */
+  public NamingSubscriptionUpdate(final long subscriptionId,
+                                  final boolean snapshot,
+                                  final List<NameAssignment> registered,
+                                  final List<Identifier> unregistered) {
+    this.subscriptionId = subscriptionId;
+    this.snapshot = snapshot;
+    this.registered = registered;
+    this.unregistered = unregistered;
+  }
+
+  /**
+   * Gets the subscription id.
+   *
+   * @return the id of the subscription
+   */
+  public long getSubscriptionId() {
+    return subscriptionId;
+  }
+
+  /**
+   * Checks whether this is a snapshot.
+   *
+   * @return true if the update holds all identifiers of the subscription, rather than a change
+   */
+  public boolean isSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Gets registered name assignments.
+   *
+   * @return the name assignments that have been registered
+   */
+  public List<NameAssignment> getRegistered() {
+    return registered;
+  }
+
+  /**
+   * Gets un-registered identifiers.
+   *
+   * @return the identifiers that have been un-registered
+   */
+  public List<Identifier> getUnregistered() {
+    return unregistered;
+  }
+}
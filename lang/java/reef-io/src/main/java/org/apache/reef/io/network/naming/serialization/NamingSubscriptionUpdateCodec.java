@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.naming.NameAssignment;
+import org.apache.reef.io.network.naming.NameAssignmentTuple;
+import org.apache.reef.io.network.naming.avro.AvroNamingAssignment;
+import org.apache.reef.io.network.naming.avro.AvroNamingSubscriptionUpdate;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Naming subscription update codec.
+ */
+public final class NamingSubscriptionUpdateCodec implements Codec<NamingSubscriptionUpdate> {
+
+  private final IdentifierFactory factory;
+
+  /**
+   * Constructs a naming subscription update codec.
+   *
+   * @param factory the identifier factory
+   */
+  @Inject
+  public NamingSubscriptionUpdateCodec(final IdentifierFactory factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Encodes the naming subscription update to bytes.
+   *
+   * @param obj the naming subscription update
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingSubscriptionUpdate obj) {
+    final List<AvroNamingAssignment> registered = new ArrayList<>(obj.getRegistered().size());
+    for (final NameAssignment nameAssignment : obj.getRegistered()) {
+      registered.add(AvroNamingAssignment.newBuilder()
+          .setId(nameAssignment.getIdentifier().toString())
+          .setHost(nameAssignment.getAddress().getHostName())
+          .setPort(nameAssignment.getAddress().getPort())
+          .build());
+    }
+    final List<CharSequence> unregistered = new ArrayList<>(obj.getUnregistered().size());
+    for (final Identifier id : obj.getUnregistered()) {
+      unregistered.add(id.toString());
+    }
+    final AvroNamingSubscriptionUpdate result = AvroNamingSubscriptionUpdate.newBuilder()
+        .setSubscriptionId(obj.getSubscriptionId())
+        .setSnapshot(obj.isSnapshot())
+        .setRegistered(registered)
+        .setUnregistered(unregistered)
+        .build();
+    return AvroUtils.toBytes(result, AvroNamingSubscriptionUpdate.class);
+  }
+
+  /**
+   * Decodes the bytes to a naming subscription update.
+   *
+   * @param buf the byte array
+   * @return a naming subscription update
+   * @throws org.apache.reef.io.network.naming.exception.NamingRuntimeException
+   */
+  @Override
+  public NamingSubscriptionUpdate decode(final byte[] buf) {
+    final AvroNamingSubscriptionUpdate result = AvroUtils.fromBytes(buf, AvroNamingSubscriptionUpdate.class);
+    final List<NameAssignment> registered = new ArrayList<>(result.getRegistered().size());
+    for (final AvroNamingAssignment tuple : result.getRegistered()) {
+      registered.add(
+          new NameAssignmentTuple(
+              factory.getNewInstance(tuple.getId().toString()),
+              new InetSocketAddress(tuple.getHost().toString(), tuple.getPort())
+          )
+      );
+    }
+    final List<Identifier> unregistered = new ArrayList<>(result.getUnregistered().size());
+    for (final CharSequence id : result.getUnregistered()) {
+      unregistered.add(factory.getNewInstance(id.toString()));
+    }
+    return new NamingSubscriptionUpdate(result.getSubscriptionId(), result.getSnapshot(), registered, unregistered);
+  }
+
+}
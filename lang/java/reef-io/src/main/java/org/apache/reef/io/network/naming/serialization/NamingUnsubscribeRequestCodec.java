@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming.serialization;
+
+import org.apache.reef.io.network.naming.avro.AvroNamingUnsubscribeRequest;
+import org.apache.reef.wake.remote.Codec;
+
+import javax.inject.Inject;
+
+/**
+ * Naming un-subscription request codec.
+ */
+public final class NamingUnsubscribeRequestCodec implements Codec<NamingUnsubscribeRequest> {
+
+  /**
+   * Constructs a naming un-subscription request codec.
+   */
+  @Inject
+  public NamingUnsubscribeRequestCodec() {
+  }
+
+  /**
+   * Encodes the naming un-subscription request to bytes.
+   *
+   * @param obj the naming un-subscription request
+   * @return a byte array
+   */
+  @Override
+  public byte[] encode(final NamingUnsubscribeRequest obj) {
+    final AvroNamingUnsubscribeRequest result = AvroNamingUnsubscribeRequest.newBuilder()
+        .setSubscriptionId(obj.getSubscriptionId())
+        .build();
+    return AvroUtils.toBytes(result, AvroNamingUnsubscribeRequest.class);
+  }
+
+  /**
+   * Decodes the bytes to a naming un-subscription request.
+   *
+   * @param buf the byte array
+   * @return a naming un-subscription request
+   * @throws org.apache.reef.io.network.naming.exception.NamingRuntimeException
+   */
+  @Override
+  public NamingUnsubscribeRequest decode(final byte[] buf) {
+    final AvroNamingUnsubscribeRequest result = AvroUtils.fromBytes(buf, AvroNamingUnsubscribeRequest.class);
+    return new NamingUnsubscribeRequest(result.getSubscriptionId());
+  }
+
+}
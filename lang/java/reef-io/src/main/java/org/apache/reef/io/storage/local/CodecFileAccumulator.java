@@ -24,23 +24,75 @@ import org.apache.reef.io.Accumulator;
 import org.apache.reef.io.serialization.Codec;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DeflaterOutputStream;
 
+/**
+ * Writes length-prefixed records, terminated by a length of -1, as read by CodecFileIterator.
+ * Uncompressed files are written through a direct buffer to a FileChannel.
+ */
 final class CodecFileAccumulator<T> implements Accumulator<T> {
 
+  static final int BUFFER_SIZE = 64 * 1024;
+
   private final Codec<T> codec;
-  private final ObjectOutputStream out;
+
+  /**
+   * The channel of an uncompressed file, or null.
+   */
+  private final FileChannel channel;
+  private final ByteBuffer buffer;
+
+  /**
+   * The stream of a compressed file, or null.
+   */
+  private final DataOutputStream out;
 
   CodecFileAccumulator(final Codec<T> codec, final File file) throws IOException {
+    this(codec, file, false);
+  }
+
+  /**
+   * @param compressed whether to deflate the file, to be read by a compressed CodecFileIterator.
+   */
+  CodecFileAccumulator(final Codec<T> codec, final File file, final boolean compressed) throws IOException {
     this.codec = codec;
-    this.out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    if (compressed) {
+      this.channel = null;
+      this.buffer = null;
+      this.out = new DataOutputStream(new BufferedOutputStream(
+          new DeflaterOutputStream(new FileOutputStream(file)), BUFFER_SIZE));
+    } else {
+      this.channel = FileChannel.open(file.toPath(),
+          StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+      this.out = null;
+    }
   }
 
   @Override
   public void add(final T datum) throws ServiceException {
     final byte[] buf = codec.encode(datum);
     try {
-      this.out.writeInt(buf.length);
-      this.out.write(buf);
+      if (this.out != null) {
+        this.out.writeInt(buf.length);
+        this.out.write(buf);
+        return;
+      }
+      if (this.buffer.remaining() < 4 + buf.length) {
+        flush();
+      }
+      if (this.buffer.remaining() < 4 + buf.length) {
+        // Larger than the buffer: write the record directly after its length.
+        this.buffer.putInt(buf.length);
+        flush();
+        writeFully(ByteBuffer.wrap(buf));
+      } else {
+        this.buffer.putInt(buf.length);
+        this.buffer.put(buf);
+      }
     } catch (final IOException e) {
       throw new StorageException(e);
     }
@@ -49,10 +101,31 @@ final class CodecFileAccumulator<T> implements Accumulator<T> {
   @Override
   public void close() throws ServiceException {
     try {
-      this.out.writeInt(-1);
-      this.out.close();
+      if (this.out != null) {
+        this.out.writeInt(-1);
+        this.out.close();
+        return;
+      }
+      if (this.buffer.remaining() < 4) {
+        flush();
+      }
+      this.buffer.putInt(-1);
+      flush();
+      this.channel.close();
     } catch (final IOException e) {
       throw new ServiceException(e);
     }
   }
+
+  private void flush() throws IOException {
+    this.buffer.flip();
+    writeFully(this.buffer);
+    this.buffer.clear();
+  }
+
+  private void writeFully(final ByteBuffer src) throws IOException {
+    while (src.hasRemaining()) {
+      this.channel.write(src);
+    }
+  }
 }
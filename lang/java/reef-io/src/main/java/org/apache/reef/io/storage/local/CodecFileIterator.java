@@ -20,39 +20,118 @@ package org.apache.reef.io.storage.local;
 
 import org.apache.reef.exception.evaluator.ServiceRuntimeException;
 import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.serialization.ByteBufferCodec;
 import org.apache.reef.io.serialization.Codec;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.zip.InflaterInputStream;
 
+/**
+ * Reads the records written by CodecFileAccumulator.
+ * Uncompressed files are memory-mapped in windows; a ByteBufferCodec decodes
+ * records straight from the mapped file, other codecs get a copy of the bytes.
+ */
 final class CodecFileIterator<T> implements Iterator<T> {
 
+  /**
+   * The size of the mapped windows of a file. A window is larger if a record does not fit.
+   */
+  static final int MAP_WINDOW_SIZE = 64 * 1024 * 1024;
+
   private final Codec<T> codec;
-  private final ObjectInputStream in;
+
+  /**
+   * The channel of an uncompressed file, or null. Closed once the file has been read.
+   */
+  private final FileChannel channel;
+  private final long fileSize;
+
+  /**
+   * The mapped window of an uncompressed file, and the position in the file it starts at.
+   */
+  private ByteBuffer window;
+  private long windowStart = 0;
+
+  /**
+   * The stream of a compressed file, or null.
+   */
+  private final DataInputStream in;
+
   private int sz = 0;
 
   CodecFileIterator(final Codec<T> codec, final File file) throws IOException {
-    this.in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+    this(codec, file, false);
+  }
+
+  /**
+   * @param compressed whether the file was written by a compressed CodecFileAccumulator.
+   */
+  CodecFileIterator(final Codec<T> codec, final File file, final boolean compressed) throws IOException {
     this.codec = codec;
+    if (compressed) {
+      this.channel = null;
+      this.fileSize = -1;
+      this.in = new DataInputStream(new BufferedInputStream(
+          new InflaterInputStream(new FileInputStream(file)), CodecFileAccumulator.BUFFER_SIZE));
+    } else {
+      this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+      this.fileSize = this.channel.size();
+      this.window = ByteBuffer.allocate(0);
+      this.in = null;
+    }
     this.readNextSize();
   }
 
   private void readNextSize() throws IOException {
     if (this.hasNext()) {
       try {
-        this.sz = this.in.readInt();
+        if (this.in != null) {
+          this.sz = this.in.readInt();
+        } else {
+          ensureMapped(4);
+          this.sz = this.window.getInt();
+        }
         if (this.sz == -1) {
-          this.in.close();
+          this.close();
         }
       } catch (final IOException ex) {
         this.sz = -1; // Don't read from that file again.
-        this.in.close();
+        this.close();
         throw ex;
       }
     }
   }
 
+  /**
+   * Maps a new window if the current one has less than the given number of bytes left.
+   */
+  private void ensureMapped(final int length) throws IOException {
+    if (this.window.remaining() >= length) {
+      return;
+    }
+    final long position = this.windowStart + this.window.position();
+    if (position + length > this.fileSize) {
+      throw new EOFException("Truncated record file");
+    }
+    final long size = Math.min(this.fileSize - position, Math.max(MAP_WINDOW_SIZE, length));
+    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    this.windowStart = position;
+  }
+
+  private void close() throws IOException {
+    // Mapped windows stay valid after the channel is closed.
+    if (this.in != null) {
+      this.in.close();
+    } else {
+      this.channel.close();
+    }
+  }
+
   @Override
   public boolean hasNext() {
     return this.sz != -1;
@@ -64,12 +143,26 @@ final class CodecFileIterator<T> implements Iterator<T> {
       throw new NoSuchElementException("Moving past the end of the file.");
     }
     try {
-      final byte[] buf = new byte[this.sz];
-      for (int rem = buf.length; rem > 0;) {
-        rem -= this.in.read(buf, buf.length - rem, rem);
+      final T ret;
+      if (this.in != null) {
+        final byte[] buf = new byte[this.sz];
+        this.in.readFully(buf);
+        ret = this.codec.decode(buf);
+      } else {
+        ensureMapped(this.sz);
+        final ByteBuffer record = this.window.slice();
+        record.limit(this.sz);
+        this.window.position(this.window.position() + this.sz);
+        if (this.codec instanceof ByteBufferCodec) {
+          ret = ((ByteBufferCodec<T>) this.codec).decode(record.asReadOnlyBuffer());
+        } else {
+          final byte[] buf = new byte[this.sz];
+          record.get(buf);
+          ret = this.codec.decode(buf);
+        }
       }
       this.readNextSize();
-      return this.codec.decode(buf);
+      return ret;
     } catch (final IOException e) {
       throw new ServiceRuntimeException(new StorageException(e));
     }
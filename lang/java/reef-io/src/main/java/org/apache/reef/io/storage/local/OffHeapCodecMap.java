@@ -0,0 +1,437 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage.local;
+
+import org.apache.reef.exception.evaluator.ServiceRuntimeException;
+import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.ExternalMap;
+import org.apache.reef.io.serialization.ByteBufferCodec;
+import org.apache.reef.io.serialization.Codec;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * An ExternalMap that keeps encoded entries off the Java heap.
+ * <p>
+ * Entries are appended to segments of direct memory. The index is an open addressing
+ * hash table of two primitive arrays, so an entry costs no objects on the heap.
+ * When more than a fixed number of segments are in memory, the least recently read
+ * one is spilled to the scratch space and read through a memory mapping from then on.
+ * Segments whose entries are mostly overwritten or removed are compacted.
+ * <p>
+ * All methods synchronize on the map.
+ *
+ * @param <T> the type of the values
+ */
+public final class OffHeapCodecMap<T> implements ExternalMap<T> {
+
+  private static final long EMPTY = -1;
+  private static final long REMOVED = -2;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * A segment other than the one being appended to is compacted
+   * once less than this fraction of its bytes belong to live entries.
+   */
+  private static final double COMPACTION_THRESHOLD = 0.25;
+
+  private final LocalScratchSpace scratchSpace;
+  private final Codec<T> codec;
+  private final int segmentSize;
+  private final int maxResidentSegments;
+
+  private final List<Segment> segments = new ArrayList<>();
+  private Segment active;
+  private int numResidentSegments = 0;
+  private long clock = 0;
+
+  /**
+   * The location of each entry, as segment id in the upper and offset in the lower 32 bits,
+   * or EMPTY or REMOVED.
+   */
+  private long[] locations;
+  private int[] hashes;
+  private int size = 0;
+  private int used = 0;
+
+  /**
+   * @param service             the storage service whose scratch space cold segments are spilled to.
+   * @param codec               the codec of the values.
+   * @param segmentSize         the size of a segment in bytes.
+   * @param maxResidentSegments the number of segments kept in direct memory.
+   */
+  public OffHeapCodecMap(final LocalStorageService service, final Codec<T> codec,
+                         final int segmentSize, final int maxResidentSegments) {
+    if (segmentSize <= 0 || maxResidentSegments <= 0) {
+      throw new IllegalArgumentException("segmentSize and maxResidentSegments must be positive");
+    }
+    this.scratchSpace = service.getScratchSpace();
+    this.codec = codec;
+    this.segmentSize = segmentSize;
+    this.maxResidentSegments = maxResidentSegments;
+    this.locations = new long[INITIAL_CAPACITY];
+    this.hashes = new int[INITIAL_CAPACITY];
+    Arrays.fill(this.locations, EMPTY);
+  }
+
+  /**
+   * @return the number of entries.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of segments, in memory or spilled.
+   */
+  public synchronized int getNumberOfSegments() {
+    return segments.size() - Collections.frequency(segments, null);
+  }
+
+  /**
+   * @return the number of segments spilled to the scratch space.
+   */
+  public synchronized int getNumberOfSpilledSegments() {
+    return getNumberOfSegments() - numResidentSegments;
+  }
+
+  @Override
+  public synchronized boolean containsKey(final CharSequence key) {
+    return find(encodeKey(key), hash(key)) >= 0;
+  }
+
+  @Override
+  public synchronized T get(final CharSequence key) {
+    final int slot = find(encodeKey(key), hash(key));
+    return slot >= 0 ? readValue(locations[slot]) : null;
+  }
+
+  @Override
+  public synchronized T put(final CharSequence key, final T value) {
+    final byte[] keyBytes = encodeKey(key);
+    final int hash = hash(key);
+    final byte[] valueBytes = codec.encode(value);
+
+    int slot = find(keyBytes, hash);
+    final long previous = slot >= 0 ? locations[slot] : EMPTY;
+    final T ret = slot >= 0 ? readValue(previous) : null;
+
+    final long location = append(keyBytes, valueBytes);
+    if (slot < 0) {
+      if (used + 1 > locations.length / 2) {
+        rehash();
+      }
+      slot = findInsertionSlot(hash);
+      if (locations[slot] == EMPTY) {
+        used++;
+      }
+      size++;
+      hashes[slot] = hash;
+    }
+    locations[slot] = location;
+    if (previous >= 0) {
+      release(previous);
+    }
+    return ret;
+  }
+
+  @Override
+  public synchronized T remove(final CharSequence key) {
+    final int slot = find(encodeKey(key), hash(key));
+    if (slot < 0) {
+      return null;
+    }
+    final long location = locations[slot];
+    final T ret = readValue(location);
+    locations[slot] = REMOVED;
+    size--;
+    release(location);
+    return ret;
+  }
+
+  @Override
+  public synchronized void putAll(final Map<? extends CharSequence, ? extends T> m) {
+    for (final Map.Entry<? extends CharSequence, ? extends T> entry : m.entrySet()) {
+      put(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Looks up all keys at once, reading the entries in the order they are stored.
+   */
+  @Override
+  public synchronized Iterable<Map.Entry<CharSequence, T>> getAll(final Set<? extends CharSequence> keys) {
+    final List<Map.Entry<CharSequence, Long>> found = new ArrayList<>(keys.size());
+    for (final CharSequence key : keys) {
+      final int slot = find(encodeKey(key), hash(key));
+      if (slot >= 0) {
+        found.add(new AbstractMap.SimpleImmutableEntry<CharSequence, Long>(key, locations[slot]));
+      }
+    }
+    Collections.sort(found, new Comparator<Map.Entry<CharSequence, Long>>() {
+      @Override
+      public int compare(final Map.Entry<CharSequence, Long> o1, final Map.Entry<CharSequence, Long> o2) {
+        return o1.getValue().compareTo(o2.getValue());
+      }
+    });
+    final List<Map.Entry<CharSequence, T>> ret = new ArrayList<>(found.size());
+    for (final Map.Entry<CharSequence, Long> entry : found) {
+      ret.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), readValue(entry.getValue())));
+    }
+    return Collections.unmodifiableList(ret);
+  }
+
+  private static byte[] encodeKey(final CharSequence key) {
+    return key.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static int hash(final CharSequence key) {
+    final int h = key.toString().hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return the slot of the key, or -1 if it is not in the map.
+   */
+  private int find(final byte[] keyBytes, final int hash) {
+    final int mask = locations.length - 1;
+    for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+      final long location = locations[slot];
+      if (location == EMPTY) {
+        return -1;
+      }
+      if (location != REMOVED && hashes[slot] == hash && keyEquals(location, keyBytes)) {
+        return slot;
+      }
+    }
+  }
+
+  private int findInsertionSlot(final int hash) {
+    final int mask = locations.length - 1;
+    int slot = hash & mask;
+    while (locations[slot] >= 0) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Rebuilds the index without removed slots, doubling its capacity if more than a quarter is live.
+   */
+  private void rehash() {
+    final long[] oldLocations = locations;
+    final int[] oldHashes = hashes;
+    final int capacity = size + 1 > oldLocations.length / 4 ? oldLocations.length * 2 : oldLocations.length;
+    locations = new long[capacity];
+    hashes = new int[capacity];
+    Arrays.fill(locations, EMPTY);
+    for (int i = 0; i < oldLocations.length; i++) {
+      if (oldLocations[i] >= 0) {
+        final int slot = findInsertionSlot(oldHashes[i]);
+        locations[slot] = oldLocations[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+    used = size;
+  }
+
+  private boolean keyEquals(final long location, final byte[] keyBytes) {
+    final ByteBuffer buffer = segments.get(segmentId(location)).buffer;
+    final int offset = offset(location);
+    if (buffer.getInt(offset) != keyBytes.length) {
+      return false;
+    }
+    for (int i = 0; i < keyBytes.length; i++) {
+      if (buffer.get(offset + 8 + i) != keyBytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private T readValue(final long location) {
+    final Segment segment = segments.get(segmentId(location));
+    segment.lastAccess = ++clock;
+    final int offset = offset(location);
+    final int keyLength = segment.buffer.getInt(offset);
+    final int valueLength = segment.buffer.getInt(offset + 4);
+    final ByteBuffer value = segment.buffer.duplicate();
+    value.position(offset + 8 + keyLength);
+    value.limit(offset + 8 + keyLength + valueLength);
+    if (codec instanceof ByteBufferCodec) {
+      return ((ByteBufferCodec<T>) codec).decode(value.slice().asReadOnlyBuffer());
+    }
+    final byte[] buf = new byte[valueLength];
+    value.get(buf);
+    return codec.decode(buf);
+  }
+
+  private static int segmentId(final long location) {
+    return (int) (location >>> 32);
+  }
+
+  private static int offset(final long location) {
+    return (int) location;
+  }
+
+  /**
+   * Appends an entry to the active segment, starting a new one if it does not fit.
+   *
+   * @return the location of the entry
+   */
+  private long append(final byte[] keyBytes, final byte[] valueBytes) {
+    final int length = 8 + keyBytes.length + valueBytes.length;
+    if (active == null || active.buffer.remaining() < length) {
+      newActiveSegment(Math.max(segmentSize, length));
+    }
+    final int offset = active.buffer.position();
+    active.buffer.putInt(keyBytes.length).putInt(valueBytes.length).put(keyBytes).put(valueBytes);
+    active.liveBytes += length;
+    return ((long) active.id << 32) | offset;
+  }
+
+  private void newActiveSegment(final int capacity) {
+    int id = segments.indexOf(null);
+    if (id < 0) {
+      id = segments.size();
+      segments.add(null);
+    }
+    active = new Segment(id, ByteBuffer.allocateDirect(capacity));
+    active.lastAccess = ++clock;
+    segments.set(id, active);
+    numResidentSegments++;
+    while (numResidentSegments > maxResidentSegments) {
+      spill(leastRecentlyReadResidentSegment());
+    }
+  }
+
+  private Segment leastRecentlyReadResidentSegment() {
+    Segment ret = null;
+    for (final Segment segment : segments) {
+      if (segment != null && segment != active && segment.file == null
+          && (ret == null || segment.lastAccess < ret.lastAccess)) {
+        ret = segment;
+      }
+    }
+    return ret;
+  }
+
+  /**
+   * Writes a full segment to the scratch space and maps it in place of its direct memory.
+   */
+  private void spill(final Segment segment) {
+    final File file = scratchSpace.newFile();
+    final ByteBuffer content = segment.buffer.duplicate();
+    content.flip();
+    try (final FileChannel channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      final int length = content.remaining();
+      while (content.hasRemaining()) {
+        channel.write(content);
+      }
+      segment.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+    } catch (final IOException e) {
+      throw new ServiceRuntimeException(new StorageException(e));
+    }
+    segment.file = file;
+    numResidentSegments--;
+  }
+
+  /**
+   * Accounts for an entry that was overwritten or removed, and frees or compacts its segment.
+   */
+  private void release(final long location) {
+    final Segment segment = segments.get(segmentId(location));
+    final int offset = offset(location);
+    segment.liveBytes -= 8 + segment.buffer.getInt(offset) + segment.buffer.getInt(offset + 4);
+    if (segment == active) {
+      return;
+    }
+    if (segment.liveBytes == 0) {
+      free(segment);
+    } else if (segment.liveBytes < COMPACTION_THRESHOLD * segment.length()) {
+      compact(segment);
+    }
+  }
+
+  /**
+   * Moves the live entries of a segment to the active one.
+   * The segment is walked entry by entry, and an entry is live if the index still points to it,
+   * so a compaction takes time in the size of the segment rather than of the index.
+   */
+  private void compact(final Segment segment) {
+    final int length = segment.length();
+    int offset = 0;
+    while (offset < length) {
+      final int keyLength = segment.buffer.getInt(offset);
+      final int valueLength = segment.buffer.getInt(offset + 4);
+      final ByteBuffer entry = segment.buffer.duplicate();
+      entry.position(offset + 8);
+      final byte[] keyBytes = new byte[keyLength];
+      entry.get(keyBytes);
+      final int slot = find(keyBytes, hash(new String(keyBytes, StandardCharsets.UTF_8)));
+      if (slot >= 0 && locations[slot] == (((long) segment.id << 32) | offset)) {
+        final byte[] valueBytes = new byte[valueLength];
+        entry.get(valueBytes);
+        locations[slot] = append(keyBytes, valueBytes);
+      }
+      offset += 8 + keyLength + valueLength;
+    }
+    free(segment);
+  }
+
+  private void free(final Segment segment) {
+    segments.set(segment.id, null);
+    if (segment.file == null) {
+      numResidentSegments--;
+    } else if (!segment.file.delete()) {
+      // A mapped file can not be deleted on some platforms until the mapping is collected.
+      segment.file.deleteOnExit();
+    }
+  }
+
+  /**
+   * A buffer the entries are appended to. Once spilled, the buffer is the mapping of its file.
+   */
+  private static final class Segment {
+    private final int id;
+    private ByteBuffer buffer;
+    private File file = null;
+    private int liveBytes = 0;
+    private long lastAccess = 0;
+
+    Segment(final int id, final ByteBuffer buffer) {
+      this.id = id;
+      this.buffer = buffer;
+    }
+
+    /**
+     * @return the number of bytes appended to the segment.
+     */
+    int length() {
+      return file == null ? buffer.position() : buffer.limit();
+    }
+  }
+}
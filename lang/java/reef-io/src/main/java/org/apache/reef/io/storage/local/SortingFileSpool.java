@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage.local;
+
+import org.apache.reef.exception.evaluator.ServiceException;
+import org.apache.reef.exception.evaluator.ServiceRuntimeException;
+import org.apache.reef.exception.evaluator.StorageException;
+import org.apache.reef.io.Accumulator;
+import org.apache.reef.io.Spool;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.storage.MergingIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A sorting Spool that holds at most a fixed number of records in memory.
+ * Whenever the in-memory buffer is full, it is sorted and spilled as a run to
+ * the scratch space. The iterator merges the runs and whatever is left in memory.
+ *
+ * @param <T> the type of the records
+ */
+public final class SortingFileSpool<T> implements Spool<T> {
+
+  /**
+   * The maximum number of runs that are merged at once. If there are more runs
+   * when the accumulator is closed, they are merged into longer runs first.
+   */
+  private static final int MAX_MERGE_FAN_IN = 64;
+
+  private final LocalScratchSpace scratchSpace;
+  private final Codec<T> codec;
+  private final Comparator<T> comparator;
+  private final int maxRecordsInMemory;
+  private final boolean compressRuns;
+
+  private final List<T> buffer = new ArrayList<>();
+  private final List<File> runs = new ArrayList<>();
+  private boolean ready = false;
+  private boolean canGetAccumulator = true;
+
+  /**
+   * @param service            the storage service whose scratch space the runs are spilled to.
+   * @param codec              the codec of the records.
+   * @param comparator         the order of the records.
+   * @param maxRecordsInMemory the number of records that are sorted in memory before they are spilled.
+   */
+  public SortingFileSpool(final LocalStorageService service, final Codec<T> codec,
+                          final Comparator<T> comparator, final int maxRecordsInMemory) {
+    this(service, codec, comparator, maxRecordsInMemory, false);
+  }
+
+  /**
+   * @param service            the storage service whose scratch space the runs are spilled to.
+   * @param codec              the codec of the records.
+   * @param comparator         the order of the records.
+   * @param maxRecordsInMemory the number of records that are sorted in memory before they are spilled.
+   * @param compressRuns       whether to deflate the spilled runs.
+   */
+  public SortingFileSpool(final LocalStorageService service, final Codec<T> codec,
+                          final Comparator<T> comparator, final int maxRecordsInMemory,
+                          final boolean compressRuns) {
+    if (maxRecordsInMemory <= 0) {
+      throw new IllegalArgumentException("maxRecordsInMemory must be positive: " + maxRecordsInMemory);
+    }
+    this.scratchSpace = service.getScratchSpace();
+    this.codec = codec;
+    this.comparator = comparator;
+    this.maxRecordsInMemory = maxRecordsInMemory;
+    this.compressRuns = compressRuns;
+  }
+
+  /**
+   * @return the number of runs spilled to the scratch space.
+   */
+  public int getNumberOfRuns() {
+    return runs.size();
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    if (!ready) {
+      throw new IllegalStateException("Cannot call iterator() while accumulator is still open!");
+    }
+    if (runs.isEmpty()) {
+      return Collections.unmodifiableList(buffer).iterator();
+    }
+    @SuppressWarnings("unchecked")
+    final Iterator<T>[] its = new Iterator[runs.size() + 1];
+    for (int i = 0; i < runs.size(); i++) {
+      its[i] = openRun(runs.get(i));
+    }
+    its[runs.size()] = Collections.unmodifiableList(buffer).iterator();
+    return new MergingIterator<>(comparator, its);
+  }
+
+  @Override
+  public Accumulator<T> accumulator() {
+    if (!canGetAccumulator) {
+      throw new UnsupportedOperationException("Can only getAccumulator() once!");
+    }
+    canGetAccumulator = false;
+    return new Accumulator<T>() {
+      @Override
+      public void add(final T datum) throws ServiceException {
+        if (ready) {
+          throw new IllegalStateException("add called after close!");
+        }
+        buffer.add(datum);
+        if (buffer.size() >= maxRecordsInMemory) {
+          Collections.sort(buffer, comparator);
+          runs.add(spill(buffer.iterator()));
+          buffer.clear();
+        }
+      }
+
+      @Override
+      public void close() throws ServiceException {
+        if (ready) {
+          return;
+        }
+        Collections.sort(buffer, comparator);
+        // The buffer is merged as one more run, so leave room for it.
+        while (runs.size() >= MAX_MERGE_FAN_IN) {
+          final List<File> merged = new ArrayList<>(runs.subList(0, MAX_MERGE_FAN_IN));
+          runs.subList(0, MAX_MERGE_FAN_IN).clear();
+          runs.add(merge(merged));
+        }
+        ready = true;
+      }
+    };
+  }
+
+  /**
+   * Writes sorted records to a new run.
+   */
+  private File spill(final Iterator<T> sorted) throws ServiceException {
+    final File run = scratchSpace.newFile();
+    try {
+      final CodecFileAccumulator<T> acc = new CodecFileAccumulator<>(codec, run, compressRuns);
+      while (sorted.hasNext()) {
+        acc.add(sorted.next());
+      }
+      acc.close();
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+    return run;
+  }
+
+  /**
+   * Merges runs into a new one, and deletes them.
+   */
+  private File merge(final List<File> toMerge) throws ServiceException {
+    @SuppressWarnings("unchecked")
+    final Iterator<T>[] its = new Iterator[toMerge.size()];
+    for (int i = 0; i < toMerge.size(); i++) {
+      its[i] = openRun(toMerge.get(i));
+    }
+    final File merged = spill(new MergingIterator<>(comparator, its));
+    for (final File run : toMerge) {
+      if (!run.delete()) {
+        run.deleteOnExit();
+      }
+    }
+    return merged;
+  }
+
+  private Iterator<T> openRun(final File run) {
+    try {
+      return new CodecFileIterator<>(codec, run, compressRuns);
+    } catch (final IOException e) {
+      throw new ServiceRuntimeException(new StorageException(e));
+    }
+  }
+}
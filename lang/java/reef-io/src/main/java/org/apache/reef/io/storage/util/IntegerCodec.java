@@ -18,11 +18,12 @@
  */
 package org.apache.reef.io.storage.util;
 
-import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.serialization.ByteBufferCodec;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
-public class IntegerCodec implements Codec<Integer> {
+public class IntegerCodec implements ByteBufferCodec<Integer> {
 
   @Override
   public byte[] encode(final Integer obj) {
@@ -34,4 +35,29 @@ public class IntegerCodec implements Codec<Integer> {
     return Integer.decode(new String(buf, StandardCharsets.UTF_8));
   }
 
+  /**
+   * Parses the decimal digits written by encode() without copying them out of the buffer.
+   */
+  @Override
+  public Integer decode(final ByteBuffer buf) {
+    final int start = buf.position();
+    final boolean negative = buf.limit() > start && buf.get(start) == '-';
+    if (buf.limit() == start + (negative ? 1 : 0)) {
+      throw new NumberFormatException("Empty integer");
+    }
+    // Accumulate negatively, so that Integer.MIN_VALUE does not overflow.
+    int result = 0;
+    for (int i = start + (negative ? 1 : 0); i < buf.limit(); i++) {
+      final int digit = buf.get(i) - '0';
+      if (digit < 0 || digit > 9 || result < (Integer.MIN_VALUE + digit) / 10) {
+        throw new NumberFormatException("Not an integer at position " + i);
+      }
+      result = result * 10 - digit;
+    }
+    if (!negative && result == Integer.MIN_VALUE) {
+      throw new NumberFormatException("Integer overflow");
+    }
+    return negative ? result : -result;
+  }
+
 }
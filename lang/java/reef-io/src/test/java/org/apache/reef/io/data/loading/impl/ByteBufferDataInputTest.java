@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test ByteBufferDataInput against DataInputStream.
+ */
+public class ByteBufferDataInputTest {
+
+  @Test
+  @SuppressWarnings("deprecation")
+  public void testReadLine() throws IOException {
+    final byte[] bytes = "first\nsecond\r\nthird\rfourth\n\nlast".getBytes(StandardCharsets.ISO_8859_1);
+    for (final boolean direct : new boolean[]{false, true}) {
+      final DataInputStream expected = new DataInputStream(new ByteArrayInputStream(bytes));
+      final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(bytes.length) : ByteBuffer.allocate(bytes.length);
+      buffer.put(bytes).flip();
+      final ByteBufferDataInput input = new ByteBufferDataInput();
+      input.reset(buffer);
+
+      String line;
+      do {
+        line = expected.readLine();
+        Assert.assertEquals(line, input.readLine());
+      } while (line != null);
+      Assert.assertFalse(input.hasRemaining());
+    }
+  }
+}
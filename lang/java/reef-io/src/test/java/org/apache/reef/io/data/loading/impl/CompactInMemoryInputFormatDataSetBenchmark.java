@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of CompactInMemoryInputFormatDataSet against InMemoryInputFormatDataSet. Run with the benchmark profile.
+ */
+public class CompactInMemoryInputFormatDataSetBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(CompactInMemoryInputFormatDataSetBenchmark.class.getName());
+
+  private static final int NUM_LINES = 2000000;
+
+  private static File inputFile;
+
+  @BeforeClass
+  public static void setUp() throws IOException {
+    inputFile = File.createTempFile("CompactInMemoryInputFormatDataSetBenchmark", ".txt");
+    try (final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(inputFile), StandardCharsets.UTF_8))) {
+      for (int i = 0; i < NUM_LINES; i++) {
+        writer.write(i + "," + (i * 31 % 1000) + "," + (i % 7));
+        writer.write('\n');
+      }
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    if (!inputFile.delete()) {
+      inputFile.deleteOnExit();
+    }
+  }
+
+  /**
+   * Compares the heap used by both caches and the time it takes to scan them.
+   */
+  @Test
+  public void benchmarkFootprintAndScanTime() {
+    final long before = usedHeap();
+    final InMemoryInputFormatDataSet<LongWritable, Text> objects =
+        new InMemoryInputFormatDataSet<>(newInputFormatDataSet());
+    Assert.assertEquals(NUM_LINES, scan(objects));
+    final long objectsHeap = usedHeap() - before;
+
+    final CompactInMemoryInputFormatDataSet<LongWritable, Text> compact = newCompactDataSet(false);
+    Assert.assertEquals(NUM_LINES, compact.getNumberOfRecords());
+    final long compactHeap = usedHeap() - before - objectsHeap;
+
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(NUM_LINES, scan(objects));
+    }
+    final long objectsScan = System.currentTimeMillis() - start;
+
+    start = System.currentTimeMillis();
+    for (int i = 0; i < 10; i++) {
+      final CompactInMemoryInputFormatDataSet.Cursor<LongWritable, Text> cursor = compact.cursor();
+      long sum = 0;
+      int count = 0;
+      while (cursor.next()) {
+        sum += cursor.getValue().getLength();
+        count++;
+      }
+      Assert.assertEquals(NUM_LINES, count);
+      Assert.assertTrue(sum > 0);
+    }
+    final long compactScan = System.currentTimeMillis() - start;
+
+    LOG.log(Level.INFO, "objects: {0} bytes, 10 scans in {1} ms; compact: {2} bytes ({3} in pages), "
+        + "10 cursor scans in {4} ms", new Object[]{objectsHeap, objectsScan, compactHeap,
+        compact.getSizeInBytes(), compactScan});
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+  }
+
+  private static InputFormatDataSet<LongWritable, Text> newInputFormatDataSet() {
+    final JobConf jobConf = new JobConf();
+    jobConf.setInputFormat(TextInputFormat.class);
+    return new InputFormatDataSet<>(
+        new FileSplit(new Path(inputFile.toURI()), 0, inputFile.length(), (String[]) null), jobConf);
+  }
+
+  private static CompactInMemoryInputFormatDataSet<LongWritable, Text> newCompactDataSet(final boolean offHeap) {
+    return new CompactInMemoryInputFormatDataSet<>(newInputFormatDataSet(), new JobConf(), offHeap);
+  }
+
+  private static int scan(final DataSet<LongWritable, Text> dataSet) {
+    int count = 0;
+    for (@SuppressWarnings("unused") final Pair<LongWritable, Text> record : dataSet) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.SequenceFileInputFormat;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test CompactInMemoryInputFormatDataSet against InMemoryInputFormatDataSet on a local text file.
+ */
+public class CompactInMemoryInputFormatDataSetTest {
+
+  private static final int NUM_LINES = 500000;
+
+  private static File inputFile;
+
+  @BeforeClass
+  public static void setUp() throws IOException {
+    inputFile = File.createTempFile("CompactInMemoryInputFormatDataSetTest", ".txt");
+    try (final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(inputFile), StandardCharsets.UTF_8))) {
+      for (int i = 0; i < NUM_LINES; i++) {
+        writer.write(i + "," + (i * 31 % 1000) + "," + (i % 7));
+        writer.write('\n');
+      }
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    if (!inputFile.delete()) {
+      inputFile.deleteOnExit();
+    }
+  }
+
+  @Test
+  public void testSameRecords() {
+    for (final boolean offHeap : new boolean[]{false, true}) {
+      final CompactInMemoryInputFormatDataSet<LongWritable, Text> compact = newCompactDataSet(offHeap);
+      final List<String> expected = read(new InMemoryInputFormatDataSet<>(newInputFormatDataSet()));
+      Assert.assertEquals(expected, read(compact));
+      // The records are cached, so they can be read again.
+      Assert.assertEquals(expected, read(compact));
+      Assert.assertEquals(NUM_LINES, compact.getNumberOfRecords());
+    }
+  }
+
+  @Test
+  public void testCursor() {
+    final CompactInMemoryInputFormatDataSet<LongWritable, Text> compact = newCompactDataSet(false);
+    final List<String> expected = read(compact);
+    final CompactInMemoryInputFormatDataSet.Cursor<LongWritable, Text> cursor = compact.cursor();
+    Text lastValue = null;
+    int i = 0;
+    while (cursor.next()) {
+      Assert.assertEquals(expected.get(i), cursor.getKey().get() + ":" + cursor.getValue());
+      if (lastValue != null) {
+        Assert.assertSame(lastValue, cursor.getValue());
+      }
+      lastValue = cursor.getValue();
+      i++;
+    }
+    Assert.assertEquals(NUM_LINES, i);
+    Assert.assertNull(cursor.getValue());
+  }
+
+  /**
+   * Records that serialize to no bytes are still counted and returned.
+   */
+  @Test
+  public void testEmptyRecords() throws IOException {
+    final int numRecords = 1000;
+    final File file = File.createTempFile("CompactInMemoryInputFormatDataSetTest", ".seq");
+    try {
+      final JobConf jobConf = new JobConf();
+      final Path path = new Path(file.toURI());
+      try (final SequenceFile.Writer writer = SequenceFile.createWriter(
+          FileSystem.getLocal(jobConf), jobConf, path, NullWritable.class, NullWritable.class)) {
+        for (int i = 0; i < numRecords; i++) {
+          writer.append(NullWritable.get(), NullWritable.get());
+        }
+      }
+      jobConf.setInputFormat(SequenceFileInputFormat.class);
+      final CompactInMemoryInputFormatDataSet<NullWritable, NullWritable> compact =
+          new CompactInMemoryInputFormatDataSet<>(new InputFormatDataSet<NullWritable, NullWritable>(
+              new FileSplit(path, 0, file.length(), (String[]) null), jobConf), jobConf, false);
+
+      int read = 0;
+      for (final Pair<NullWritable, NullWritable> record : compact) {
+        Assert.assertNotNull(record.getFirst());
+        read++;
+      }
+      Assert.assertEquals(numRecords, read);
+      Assert.assertEquals(numRecords, compact.getNumberOfRecords());
+    } finally {
+      for (final File written : new File[]{file, new File(file.getParent(), "." + file.getName() + ".crc")}) {
+        if (!written.delete()) {
+          written.deleteOnExit();
+        }
+      }
+    }
+  }
+
+  private static InputFormatDataSet<LongWritable, Text> newInputFormatDataSet() {
+    final JobConf jobConf = new JobConf();
+    jobConf.setInputFormat(TextInputFormat.class);
+    return new InputFormatDataSet<>(
+        new FileSplit(new Path(inputFile.toURI()), 0, inputFile.length(), (String[]) null), jobConf);
+  }
+
+  private static CompactInMemoryInputFormatDataSet<LongWritable, Text> newCompactDataSet(final boolean offHeap) {
+    return new CompactInMemoryInputFormatDataSet<>(newInputFormatDataSet(), new JobConf(), offHeap);
+  }
+
+  private static List<String> read(final DataSet<LongWritable, Text> dataSet) {
+    final List<String> read = new ArrayList<>(NUM_LINES);
+    for (final Pair<LongWritable, Text> record : dataSet) {
+      read.add(record.getFirst().get() + ":" + record.getSecond());
+    }
+    return read;
+  }
+}
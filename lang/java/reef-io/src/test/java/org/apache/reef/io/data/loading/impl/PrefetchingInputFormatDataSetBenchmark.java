@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the data sets that load a local text file. Run with the benchmark profile.
+ */
+public class PrefetchingInputFormatDataSetBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(PrefetchingInputFormatDataSetBenchmark.class.getName());
+
+  private static final int NUM_LINES = 2000000;
+
+  private static File inputFile;
+
+  @BeforeClass
+  public static void setUp() throws IOException {
+    inputFile = File.createTempFile("PrefetchingInputFormatDataSetBenchmark", ".txt");
+    try (final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(inputFile), StandardCharsets.UTF_8))) {
+      for (int i = 0; i < NUM_LINES; i++) {
+        writer.write("record " + i + " of the prefetching benchmark");
+        writer.write('\n');
+      }
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    if (!inputFile.delete()) {
+      inputFile.deleteOnExit();
+    }
+  }
+
+  /**
+   * Measures how long loading the file takes with the synchronous and the prefetching data sets.
+   */
+  @Test
+  public void benchmarkLoadTime() {
+    for (int trial = 0; trial < 2; trial++) { // The first trial warms up the JIT and the page cache.
+      long start = System.currentTimeMillis();
+      Assert.assertEquals(NUM_LINES, count(new InputFormatDataSet<LongWritable, Text>(newSplit(), newJobConf())));
+      LOG.log(Level.INFO, "InputFormatDataSet: {0} ms", System.currentTimeMillis() - start);
+
+      for (final int numberOfReaders : new int[]{1, 2, 4}) {
+        for (final boolean reuseRecords : new boolean[]{false, true}) {
+          start = System.currentTimeMillis();
+          Assert.assertEquals(NUM_LINES, count(new PrefetchingInputFormatDataSet<LongWritable, Text>(
+              newSplit(), newJobConf(), 1024, numberOfReaders, reuseRecords)));
+          LOG.log(Level.INFO, "PrefetchingInputFormatDataSet with {0} readers, reuse {1}: {2} ms",
+              new Object[]{numberOfReaders, reuseRecords, System.currentTimeMillis() - start});
+        }
+      }
+    }
+  }
+
+  private static JobConf newJobConf() {
+    final JobConf jobConf = new JobConf();
+    jobConf.setInputFormat(TextInputFormat.class);
+    return jobConf;
+  }
+
+  private static FileSplit newSplit() {
+    return new FileSplit(new Path(inputFile.toURI()), 0, inputFile.length(), (String[]) null);
+  }
+
+  private static int count(final DataSet<LongWritable, Text> dataSet) {
+    int count = 0;
+    for (@SuppressWarnings("unused") final Pair<LongWritable, Text> record : dataSet) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.loading.impl;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.reef.io.data.loading.api.DataSet;
+import org.apache.reef.io.network.util.Pair;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Test PrefetchingInputFormatDataSet on a local text file.
+ */
+public class PrefetchingInputFormatDataSetTest {
+
+  private static final int NUM_LINES = 500000;
+
+  private static File inputFile;
+  private static List<String> lines;
+
+  @BeforeClass
+  public static void setUp() throws IOException {
+    inputFile = File.createTempFile("PrefetchingInputFormatDataSetTest", ".txt");
+    lines = new ArrayList<>(NUM_LINES);
+    try (final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(new FileOutputStream(inputFile), StandardCharsets.UTF_8))) {
+      for (int i = 0; i < NUM_LINES; i++) {
+        final String line = "record " + i + " of the prefetching test";
+        lines.add(line);
+        writer.write(line);
+        writer.write('\n');
+      }
+    }
+  }
+
+  @AfterClass
+  public static void tearDown() {
+    if (!inputFile.delete()) {
+      inputFile.deleteOnExit();
+    }
+  }
+
+  @Test
+  public void testPrefetchInOrder() {
+    Assert.assertEquals(lines, read(newDataSet(16, 1, false)));
+  }
+
+  @Test
+  public void testParallelReaders() {
+    final List<String> read = read(newDataSet(1024, 4, false));
+    Collections.sort(read);
+    final List<String> expected = new ArrayList<>(lines);
+    Collections.sort(expected);
+    Assert.assertEquals(expected, read);
+  }
+
+  @Test
+  public void testReuseRecords() {
+    final List<String> read = read(newDataSet(16, 4, true));
+    Collections.sort(read);
+    final List<String> expected = new ArrayList<>(lines);
+    Collections.sort(expected);
+    Assert.assertEquals(expected, read);
+  }
+
+  @Test
+  public void testReadTwice() {
+    final DataSet<LongWritable, Text> dataSet = newDataSet(16, 2, false);
+    Assert.assertEquals(NUM_LINES, read(dataSet).size());
+    Assert.assertEquals(NUM_LINES, read(dataSet).size());
+  }
+
+  @Test
+  public void testUnsplitableFileIsReadByOneReader() {
+    final JobConf jobConf = newJobConf();
+    jobConf.setInputFormat(UnsplitableTextInputFormat.class);
+    final DataSet<LongWritable, Text> dataSet = new PrefetchingInputFormatDataSet<LongWritable, Text>(
+        newSplit(), jobConf, 16, 4, false);
+    Assert.assertEquals(lines, read(dataSet));
+  }
+
+  @Test
+  public void testCloseStopsReaders() throws IOException, InterruptedException {
+    final Iterator<Pair<LongWritable, Text>> iterator = newDataSet(16, 4, true).iterator();
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(iterator.hasNext());
+      iterator.next();
+    }
+    ((Closeable) iterator).close();
+    Assert.assertFalse(iterator.hasNext());
+
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (hasReaderThreads()) {
+      Assert.assertTrue("The readers did not stop", System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  @Test
+  public void testTaskStopClosesOpenIterators() throws InterruptedException {
+    final PrefetchingInputFormatDataSet<LongWritable, Text> dataSet =
+        new PrefetchingInputFormatDataSet<>(newSplit(), newJobConf(), 16, 4, true);
+    final Iterator<Pair<LongWritable, Text>> iterator = dataSet.iterator();
+    Assert.assertTrue(iterator.hasNext());
+    // The iterator is abandoned without being closed, as tasks do.
+    dataSet.closeIterators();
+    Assert.assertFalse(iterator.hasNext());
+
+    final long deadline = System.currentTimeMillis() + 10000;
+    while (hasReaderThreads()) {
+      Assert.assertTrue("The readers did not stop", System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private static JobConf newJobConf() {
+    final JobConf jobConf = new JobConf();
+    jobConf.setInputFormat(TextInputFormat.class);
+    return jobConf;
+  }
+
+  private static FileSplit newSplit() {
+    return new FileSplit(new Path(inputFile.toURI()), 0, inputFile.length(), (String[]) null);
+  }
+
+  private static DataSet<LongWritable, Text> newDataSet(
+      final int bufferSize, final int numberOfReaders, final boolean reuseRecords) {
+    return new PrefetchingInputFormatDataSet<LongWritable, Text>(
+        newSplit(), newJobConf(), bufferSize, numberOfReaders, reuseRecords);
+  }
+
+  private static List<String> read(final DataSet<LongWritable, Text> dataSet) {
+    final List<String> read = new ArrayList<>(NUM_LINES);
+    for (final Pair<LongWritable, Text> record : dataSet) {
+      read.add(record.getSecond().toString());
+    }
+    return read;
+  }
+
+  private static boolean hasReaderThreads() {
+    for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith("PrefetchingInputFormatDataSet-")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A TextInputFormat whose files cannot be split.
+   */
+  public static final class UnsplitableTextInputFormat extends TextInputFormat {
+    @Override
+    protected boolean isSplitable(final FileSystem fs, final Path file) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.output;
+
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the synchronous and asynchronous modes of TaskOutputStreamProviderLocal.
+ * Run with the benchmark profile.
+ */
+public final class TaskOutputStreamProviderLocalBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(TaskOutputStreamProviderLocalBenchmark.class.getName());
+
+  private File outputDir;
+
+  @Before
+  public void setUp() throws IOException {
+    this.outputDir = Files.createTempDirectory("TaskOutputStreamProviderLocalBenchmark").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    TaskOutputStreamProviderLocalTest.delete(this.outputDir);
+  }
+
+  /**
+   * Compares the time a task spends writing small records in both modes.
+   */
+  @Test
+  public void benchmarkOutputRate() throws InjectionException, IOException {
+    final int numRecords = 10000000;
+    for (final boolean async : new boolean[]{false, true}) {
+      final TaskOutputStreamProvider provider =
+          TaskOutputStreamProviderLocalTest.newProvider(this.outputDir, async, 1024 * 1024, 2, false);
+      final long start = System.currentTimeMillis();
+      TaskOutputStreamProviderLocalTest.writeRecords(provider, "rate" + async, numRecords);
+      final long time = System.currentTimeMillis() - start;
+      provider.close();
+      LOG.log(Level.INFO, "async={0}: {1} records in {2} ms, {3} records/sec",
+          new Object[]{async, numRecords, time, numRecords * 1000L / Math.max(1, time)});
+    }
+  }
+}
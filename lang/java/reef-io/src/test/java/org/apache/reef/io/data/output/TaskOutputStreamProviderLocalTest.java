@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.data.output;
+
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Tests for the synchronous and asynchronous modes of TaskOutputStreamProviderLocal.
+ */
+public final class TaskOutputStreamProviderLocalTest {
+
+  private static final Logger LOG = Logger.getLogger(TaskOutputStreamProviderLocalTest.class.getName());
+
+  private static final int NUM_RECORDS = 200000;
+
+  private File outputDir;
+
+  @Before
+  public void setUp() throws IOException {
+    this.outputDir = Files.createTempDirectory("TaskOutputStreamProviderLocalTest").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    delete(this.outputDir);
+  }
+
+  @Test
+  public void testSyncOutput() throws InjectionException, IOException {
+    final TaskOutputStreamProvider provider = newProvider(false, 1024 * 1024, 2, false);
+    writeRecords(provider, "sync", NUM_RECORDS);
+    provider.close();
+    checkRecords(new FileInputStream(new File(new File(this.outputDir, "sync"), "task")), NUM_RECORDS);
+  }
+
+  @Test
+  public void testAsyncOutput() throws InjectionException, IOException {
+    // Small buffers force the task to wait for the writer thread.
+    final TaskOutputStreamProvider provider = newProvider(true, 1000, 2, false);
+    writeRecords(provider, "async", NUM_RECORDS);
+    provider.close();
+    checkRecords(new FileInputStream(new File(new File(this.outputDir, "async"), "task")), NUM_RECORDS);
+  }
+
+  @Test
+  public void testAsyncCompressedOutput() throws InjectionException, IOException {
+    final TaskOutputStreamProvider provider = newProvider(true, 64 * 1024, 3, true);
+    writeRecords(provider, "compressed", NUM_RECORDS);
+    provider.close();
+    final File file = new File(new File(this.outputDir, "compressed"), "task");
+    Assert.assertTrue(file.length() < NUM_RECORDS * 8L);
+    checkRecords(new InflaterInputStream(new FileInputStream(file)), NUM_RECORDS);
+  }
+
+  @Test
+  public void testAsyncFlush() throws InjectionException, IOException {
+    final TaskOutputStreamProvider provider = newProvider(true, 1024 * 1024, 2, false);
+    final File file = new File(new File(this.outputDir, "flush"), "task");
+    try (final DataOutputStream out = provider.create("flush")) {
+      out.writeInt(1);
+      out.writeLong(2L);
+      Assert.assertEquals(0, file.length());
+      out.flush();
+      Assert.assertEquals(12, file.length());
+    }
+    try (final DataOutputStream out = provider.create("flush")) {
+      out.close();
+      try {
+        out.writeInt(1);
+        Assert.fail("Writing to a closed stream must fail");
+      } catch (final IOException expected) {
+        LOG.log(Level.FINEST, "Expected exception", expected);
+      }
+    }
+  }
+
+  @Test(timeout = 10000)
+  public void testWriterFailure() throws IOException {
+    final OutputStream failing = new OutputStream() {
+      @Override
+      public void write(final int b) {
+        throw new Error("Write failed");
+      }
+
+      @Override
+      public void write(final byte[] b, final int off, final int len) {
+        throw new Error("Write failed");
+      }
+    };
+    final AsyncOutputStream out = new AsyncOutputStream(failing, "failing", 16, 2, false);
+    try {
+      // More than the buffers hold, so the task has to wait for the failed writer.
+      for (int i = 0; i < 1000; i++) {
+        out.write(i);
+      }
+      out.flush();
+      Assert.fail("A failed background write must be reported");
+    } catch (final IOException expected) {
+      LOG.log(Level.FINEST, "Expected exception", expected);
+    }
+    try {
+      out.close();
+      Assert.fail("A failed background write must be reported on close");
+    } catch (final IOException expected) {
+      LOG.log(Level.FINEST, "Expected exception", expected);
+    }
+  }
+
+  private TaskOutputStreamProvider newProvider(final boolean async,
+                                               final int bufferSize,
+                                               final int numberOfBuffers,
+                                               final boolean compress) throws InjectionException {
+    return newProvider(this.outputDir, async, bufferSize, numberOfBuffers, compress);
+  }
+
+  static TaskOutputStreamProvider newProvider(final File outputDir,
+                                              final boolean async,
+                                              final int bufferSize,
+                                              final int numberOfBuffers,
+                                              final boolean compress) throws InjectionException {
+    final Configuration conf = Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(TaskOutputService.OutputPath.class, outputDir.getAbsolutePath())
+        .bindNamedParameter(TaskOutputService.AsyncOutput.class, Boolean.toString(async))
+        .bindNamedParameter(TaskOutputService.OutputBufferSize.class, Integer.toString(bufferSize))
+        .bindNamedParameter(TaskOutputService.NumberOfOutputBuffers.class, Integer.toString(numberOfBuffers))
+        .bindNamedParameter(TaskOutputService.CompressOutput.class, Boolean.toString(compress))
+        .build();
+    final TaskOutputStreamProvider provider =
+        Tang.Factory.getTang().newInjector(conf).getInstance(TaskOutputStreamProviderLocal.class);
+    provider.setTaskId("task");
+    return provider;
+  }
+
+  static void writeRecords(final TaskOutputStreamProvider provider, final String name, final int numRecords)
+      throws IOException {
+    try (final DataOutputStream out = provider.create(name)) {
+      for (int i = 0; i < numRecords; i++) {
+        out.writeInt(i);
+        out.writeInt(i % 100);
+      }
+    }
+  }
+
+  private static void checkRecords(final InputStream in, final int numRecords) throws IOException {
+    try (final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in))) {
+      for (int i = 0; i < numRecords; i++) {
+        Assert.assertEquals(i, dataIn.readInt());
+        Assert.assertEquals(i % 100, dataIn.readInt());
+      }
+      Assert.assertEquals(-1, dataIn.read());
+    }
+  }
+
+  static void delete(final File file) {
+    final File[] children = file.listFiles();
+    if (children != null) {
+      for (final File child : children) {
+        delete(child);
+      }
+    }
+    if (!file.delete()) {
+      file.deleteOnExit();
+    }
+  }
+}
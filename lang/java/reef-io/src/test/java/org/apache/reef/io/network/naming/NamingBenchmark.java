@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.network.naming;
+
+import org.apache.reef.io.network.util.StringIdentifierFactory;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.wake.Identifier;
+import org.apache.reef.wake.IdentifierFactory;
+import org.apache.reef.wake.remote.address.LocalAddressProvider;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the name server registrations. Run with the benchmark profile.
+ */
+public class NamingBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(NamingBenchmark.class.getName());
+
+  private final LocalAddressProvider localAddressProvider;
+  private final IdentifierFactory factory = new StringIdentifierFactory();
+
+  public NamingBenchmark() throws InjectionException {
+    this.localAddressProvider = Tang.Factory.getTang().newInjector().getInstance(LocalAddressProvider.class);
+  }
+
+  /**
+   * Measures how many identifiers per second are registered by concurrent single and bulk registrations.
+   */
+  @Test
+  public void benchmarkNamingRegistryRate() throws Exception {
+    final int numThreads = 8;
+    final int numIdsPerThread = 500;
+    final int bulkSize = 100;
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      try (final NameRegistryClient client =
+          new NameRegistryClient(localAddress, server.getPort(), this.factory, this.localAddressProvider)) {
+
+        for (final int size : new int[]{1, bulkSize}) {
+          final ExecutorService e = Executors.newFixedThreadPool(numThreads);
+          final Set<Identifier> ids = Collections.newSetFromMap(new ConcurrentHashMap<Identifier, Boolean>());
+          final long start = System.currentTimeMillis();
+          for (int t = 0; t < numThreads; t++) {
+            final String prefix = "bulk" + size + "-thread" + t + "-task";
+            e.submit(new Callable<Void>() {
+              @Override
+              public Void call() throws Exception {
+                for (int i = 0; i < numIdsPerThread; i += size) {
+                  final Map<Identifier, InetSocketAddress> addrs = new HashMap<>();
+                  for (int j = i; j < i + size; j++) {
+                    addrs.put(factory.getNewInstance(prefix + j), new InetSocketAddress(localAddress, 7000 + j));
+                  }
+                  if (size == 1) {
+                    final Map.Entry<Identifier, InetSocketAddress> entry = addrs.entrySet().iterator().next();
+                    client.register(entry.getKey(), entry.getValue());
+                  } else {
+                    client.register(addrs);
+                  }
+                  ids.addAll(addrs.keySet());
+                }
+                return null;
+              }
+            });
+          }
+          e.shutdown();
+          Assert.assertTrue(e.awaitTermination(60, TimeUnit.SECONDS));
+          final long end = System.currentTimeMillis();
+
+          Assert.assertEquals(numThreads * numIdsPerThread, ids.size());
+          NamingTest.busyWait(server, ids.size(), ids);
+
+          final double runtime = ((double) end - start) / 1000.0;
+          LOG.log(Level.INFO, "size: {0}; registrations/s: {1}",
+              new Object[]{size, ids.size() / runtime});
+
+          client.unregister(ids);
+          NamingTest.busyWait(server, 0, ids);
+        }
+      }
+    }
+  }
+}
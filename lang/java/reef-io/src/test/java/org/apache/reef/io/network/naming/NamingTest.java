@@ -19,6 +19,7 @@
 package org.apache.reef.io.network.naming;
 
 import org.apache.reef.io.naming.NameAssignment;
+import org.apache.reef.io.network.naming.exception.NamingException;
 import org.apache.reef.io.network.naming.parameters.*;
 import org.apache.reef.io.network.util.StringIdentifierFactory;
 import org.apache.reef.tang.Configuration;
@@ -35,6 +36,7 @@ import org.junit.Test;
 import org.junit.rules.TestName;
 
 import java.net.InetSocketAddress;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -123,6 +125,144 @@ public class NamingTest {
     }
   }
 
+  /**
+   * Test that a batch of identifiers is resolved by a single lookup, and that unknown identifiers fail.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testBatchNamingLookup() throws Exception {
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final Map<Identifier, InetSocketAddress> idToAddrMap = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      idToAddrMap.put(this.factory.getNewInstance("task" + i), new InetSocketAddress(localAddress, 7000 + i));
+    }
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      this.port = server.getPort();
+      for (final Identifier id : idToAddrMap.keySet()) {
+        server.register(id, idToAddrMap.get(id));
+      }
+
+      try (final NameLookupClient client =
+               getNewNameLookupClient(localAddress, port, TTL, RETRY_COUNT, RETRY_TIMEOUT,
+                   Optional.of(this.localAddressProvider), Optional.of(this.factory))) {
+
+        // concurrent batches overlap, such that some of their lookups are coalesced
+        final Map<Identifier, Future<InetSocketAddress>> lookups1 = client.lookupAsync(idToAddrMap.keySet());
+        final Map<Identifier, Future<InetSocketAddress>> lookups2 = client.lookupAsync(idToAddrMap.keySet());
+        for (final Identifier id : idToAddrMap.keySet()) {
+          Assert.assertEquals(idToAddrMap.get(id), lookups1.get(id).get());
+          Assert.assertEquals(idToAddrMap.get(id), lookups2.get(id).get());
+        }
+        Assert.assertTrue(isEqual(idToAddrMap, client.lookup(idToAddrMap.keySet())));
+
+        final Identifier unknownId = this.factory.getNewInstance("unknown");
+        final Future<InetSocketAddress> unknownLookup =
+            client.lookupAsync(Collections.singletonList(unknownId)).get(unknownId);
+        try {
+          unknownLookup.get();
+          Assert.fail("The lookup of an unknown identifier should fail");
+        } catch (final ExecutionException e) {
+          LOG.log(Level.FINEST, "Expected failure", e);
+        }
+
+        // a failed lookup is not cached
+        final InetSocketAddress unknownAddr = new InetSocketAddress(localAddress, 8000);
+        server.register(unknownId, unknownAddr);
+        Assert.assertEquals(unknownAddr, client.lookup(unknownId));
+      }
+    }
+  }
+
+  /**
+   * Test that a lookup on a closed client fails with a NamingException.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testLookupAfterClose() throws Exception {
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final NameLookupClient client = getNewNameLookupClient(localAddress, 0, TTL, RETRY_COUNT, RETRY_TIMEOUT,
+        Optional.of(this.localAddressProvider), Optional.of(this.factory));
+    client.close();
+    try {
+      client.lookup(this.factory.getNewInstance("task1"));
+      Assert.fail("The lookup on a closed client should fail");
+    } catch (final ExecutionException e) {
+      Assert.assertTrue(e.getCause() instanceof NamingException);
+    }
+  }
+
+  /**
+   * Test that the registrations and un-registrations of subscribed identifiers are pushed to the client,
+   * rather than served from its cache until they expire.
+   *
+   * @throws Exception
+   */
+  @Test(timeout = 30000)
+  public void testSubscription() throws Exception {
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final Identifier id1 = this.factory.getNewInstance("task1");
+    final InetSocketAddress addr1 = new InetSocketAddress(localAddress, 7001);
+    final InetSocketAddress movedAddr1 = new InetSocketAddress(localAddress, 7101);
+    final Identifier id2 = this.factory.getNewInstance("task2");
+    final InetSocketAddress addr2 = new InetSocketAddress(localAddress, 7002);
+    final InetSocketAddress movedAddr2 = new InetSocketAddress(localAddress, 7102);
+
+    final Injector injector = Tang.Factory.getTang().newInjector();
+    injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer server = injector.getInstance(NameServer.class)) {
+      this.port = server.getPort();
+      server.register(id1, addr1);
+
+      try (final NameLookupClient client =
+               getNewNameLookupClient(localAddress, port, TTL, RETRY_COUNT, RETRY_TIMEOUT,
+                   Optional.of(this.localAddressProvider), Optional.of(this.factory))) {
+
+        // The subscribed identifiers are never looked up on the name server, and the cache outlives the test,
+        // so only the pushed updates can change what the client resolves.
+        client.subscribe("task");
+        Assert.assertEquals(addr1, client.lookup(id1));
+
+        // The updates of a subscription are pushed in order, so task2 has arrived once task1 has moved.
+        server.register(id2, addr2);
+        server.register(id1, movedAddr1);
+        while (!movedAddr1.equals(client.lookup(id1))) {
+          Thread.sleep(10);
+        }
+        final Future<InetSocketAddress> lookup2 = client.lookupAsync(Collections.singletonList(id2)).get(id2);
+        Assert.assertTrue("task2 should be resolved without a request to the name server", lookup2.isDone());
+        Assert.assertEquals(addr2, lookup2.get());
+
+        server.unregister(id1);
+        server.register(id2, movedAddr2);
+        while (!movedAddr2.equals(client.lookup(id2))) {
+          Thread.sleep(10);
+        }
+        try {
+          client.lookup(id1);
+          Assert.fail("The lookup of an unregistered identifier should fail");
+        } catch (final ExecutionException e) {
+          LOG.log(Level.FINEST, "Expected failure", e);
+        }
+      }
+    }
+  }
+
   private static NameLookupClient getNewNameLookupClient(final String serverAddr,
                                                          final int serverPort,
                                                          final long timeout,
@@ -316,6 +456,60 @@ public class NamingTest {
     }
   }
 
+  /**
+   * Test that identifiers registered in bulk are replicated to a standby name server, and un-registered in bulk.
+   *
+   * @throws Exception
+   */
+  @Test(timeout = 30000)
+  public void testBulkNamingRegistryReplication() throws Exception {
+
+    LOG.log(Level.FINEST, this.name.getMethodName());
+
+    final String localAddress = localAddressProvider.getLocalAddress();
+    final Injector standbyInjector = Tang.Factory.getTang().newInjector();
+    standbyInjector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+    standbyInjector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+    try (final NameServer standby = standbyInjector.getInstance(NameServer.class)) {
+
+      final Injector injector = Tang.Factory.getTang().newInjector();
+      injector.bindVolatileParameter(NameServerParameters.NameServerIdentifierFactory.class, this.factory);
+      injector.bindVolatileParameter(NameServerParameters.NameServerReplicaAddr.class, localAddress);
+      injector.bindVolatileParameter(NameServerParameters.NameServerReplicaPort.class, standby.getPort());
+      injector.bindVolatileInstance(LocalAddressProvider.class, this.localAddressProvider);
+      try (final NameServer server = injector.getInstance(NameServer.class)) {
+        this.port = server.getPort();
+
+        final Map<Identifier, InetSocketAddress> idToAddrMap = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+          idToAddrMap.put(this.factory.getNewInstance("task" + i), new InetSocketAddress(localAddress, 7000 + i));
+        }
+        final Set<Identifier> ids = idToAddrMap.keySet();
+
+        try (final NameRegistryClient client =
+            new NameRegistryClient(localAddress, this.port, this.factory, this.localAddressProvider)) {
+          client.register(idToAddrMap);
+
+          // the response is sent once the registration is done
+          final Map<Identifier, InetSocketAddress> serverMap = new HashMap<>();
+          for (final NameAssignment na : server.lookup(ids)) {
+            serverMap.put(na.getIdentifier(), na.getAddress());
+          }
+          Assert.assertTrue(isEqual(idToAddrMap, serverMap));
+
+          busyWait(standby, ids.size(), ids);
+          for (final Identifier id : ids) {
+            Assert.assertEquals(idToAddrMap.get(id), standby.lookup(id));
+          }
+
+          client.unregister(ids);
+          busyWait(server, 0, ids);
+          busyWait(standby, 0, ids);
+        }
+      }
+    }
+  }
+
   /**
    * NameServer and NameClient test.
    *
@@ -414,7 +608,7 @@ public class NamingTest {
     return true;
   }
 
-  private void busyWait(final NameServer server, final int expected, final Set<Identifier> ids) {
+  static void busyWait(final NameServer server, final int expected, final Set<Identifier> ids) {
     int count = 0;
     for (;;) {
       final Iterable<NameAssignment> nas = server.lookup(ids);
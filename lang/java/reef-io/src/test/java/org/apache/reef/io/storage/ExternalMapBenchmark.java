@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage;
+
+import org.apache.reef.io.ExternalMap;
+import org.apache.reef.io.storage.local.LocalStorageService;
+import org.apache.reef.io.storage.local.OffHeapCodecMap;
+import org.apache.reef.io.storage.ram.CodecRamMap;
+import org.apache.reef.io.storage.ram.RamStorageService;
+import org.apache.reef.io.storage.util.IntegerCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the external maps. Run with the benchmark profile.
+ */
+public class ExternalMapBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(ExternalMapBenchmark.class.getName());
+
+  /**
+   * Measures the throughput and the garbage collection time of filling and reading a large map.
+   */
+  @Test
+  public void benchmarkExternalMapRate() {
+    final int n = 1000000;
+    final LocalStorageService service = new LocalStorageService("mapTest", "mapTestEval");
+    final List<ExternalMap<Integer>> maps = Arrays.<ExternalMap<Integer>>asList(
+        new CodecRamMap<>(new RamStorageService(), new IntegerCodec()),
+        new OffHeapCodecMap<>(service, new IntegerCodec(), 8 * 1024 * 1024, 4));
+    for (final ExternalMap<Integer> m : maps) {
+      final long gcStart = getGarbageCollectionTime();
+      final long start = System.currentTimeMillis();
+      for (int i = 0; i < n; i++) {
+        m.put("key" + i, i);
+      }
+      final long filled = System.currentTimeMillis();
+      for (int i = 0; i < n; i++) {
+        Assert.assertEquals(i, (int) m.get("key" + i));
+      }
+      final long end = System.currentTimeMillis();
+      // Collect with the map still referenced, so the pause reflects the entries it holds.
+      System.gc();
+      final long gcTime = getGarbageCollectionTime() - gcStart;
+      Assert.assertTrue(m.containsKey("key0"));
+
+      LOG.log(Level.INFO, "map: {0}; puts/s: {1}; gets/s: {2}; gc ms: {3}", new Object[]{
+          m.getClass().getSimpleName(),
+          n / (((double) filled - start) / 1000.0),
+          n / (((double) end - filled) / 1000.0),
+          gcTime});
+    }
+    service.getScratchSpace().delete();
+  }
+
+  private static long getGarbageCollectionTime() {
+    long ret = 0;
+    for (final GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      ret += Math.max(0, gc.getCollectionTime());
+    }
+    return ret;
+  }
+}
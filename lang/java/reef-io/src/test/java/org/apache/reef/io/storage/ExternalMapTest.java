@@ -20,6 +20,8 @@ package org.apache.reef.io.storage;
 
 import org.apache.reef.io.ExternalMap;
 import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.storage.local.LocalStorageService;
+import org.apache.reef.io.storage.local.OffHeapCodecMap;
 import org.apache.reef.io.storage.ram.CodecRamMap;
 import org.apache.reef.io.storage.ram.RamMap;
 import org.apache.reef.io.storage.ram.RamStorageService;
@@ -46,6 +48,54 @@ public class ExternalMapTest {
     genericTest(m);
   }
 
+  @Test
+  public void testOffHeapMap() {
+    final LocalStorageService service = new LocalStorageService("mapTest", "mapTestEval");
+    final ExternalMap<Integer> m = new OffHeapCodecMap<>(service, new IntegerCodec(), 1024, 2);
+    genericTest(m);
+    service.getScratchSpace().delete();
+  }
+
+  @Test
+  public void testOffHeapMapSpillAndCompaction() {
+    final LocalStorageService service = new LocalStorageService("mapTest", "mapTestEval");
+    final OffHeapCodecMap<Integer> m = new OffHeapCodecMap<>(service, new IntegerCodec(), 1024, 2);
+    final int n = 10000;
+    for (int i = 0; i < n; i++) {
+      Assert.assertNull(m.put("key" + i, i));
+    }
+    Assert.assertEquals(n, m.size());
+    Assert.assertTrue(m.getNumberOfSpilledSegments() > 0);
+    final int segments = m.getNumberOfSegments();
+
+    // Overwriting every entry leaves the old segments dead, so they are freed or compacted.
+    for (int i = 0; i < n; i++) {
+      Assert.assertEquals(i, (int) m.put("key" + i, -i));
+    }
+    Assert.assertEquals(n, m.size());
+    Assert.assertTrue(m.getNumberOfSegments() < 2 * segments);
+
+    for (int i = 0; i < n; i += 2) {
+      Assert.assertEquals(-i, (int) m.remove("key" + i));
+    }
+    Assert.assertEquals(n / 2, m.size());
+    for (int i = 0; i < n; i++) {
+      Assert.assertEquals(i % 2 == 0 ? null : Integer.valueOf(-i), m.get("key" + i));
+    }
+
+    final Set<String> keys = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      keys.add("key" + i);
+    }
+    int found = 0;
+    for (final Map.Entry<CharSequence, Integer> e : m.getAll(keys)) {
+      Assert.assertEquals(e.getKey(), "key" + -e.getValue());
+      found++;
+    }
+    Assert.assertEquals(50, found);
+    service.getScratchSpace().delete();
+  }
+
 
   void genericTest(final ExternalMap<Integer> m) {
     m.put("foo", 42);
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage;
+
+import org.apache.reef.exception.evaluator.ServiceException;
+import org.apache.reef.io.Accumulator;
+import org.apache.reef.io.storage.local.LocalStorageService;
+import org.apache.reef.io.storage.local.SortingFileSpool;
+import org.apache.reef.io.storage.util.IntegerCodec;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the sorting spools. Run with the benchmark profile.
+ */
+public class SortingSpoolBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(SortingSpoolBenchmark.class.getName());
+
+  private final Comparator<Integer> ascending = new Comparator<Integer>() {
+
+    @Override
+    public int compare(final Integer o1, final Integer o2) {
+      return Integer.compare(o1, o2);
+    }
+
+  };
+
+  /**
+   * Sorts ten times as many records as are held in memory, and logs the throughput.
+   */
+  @Test
+  public void benchmarkFileSpoolRate() throws ServiceException {
+    final int maxRecordsInMemory = 100000;
+    final int numRecords = 10 * maxRecordsInMemory;
+    for (final boolean compressRuns : new boolean[]{false, true}) {
+      final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+      final SortingFileSpool<Integer> s =
+          new SortingFileSpool<>(service, new IntegerCodec(), ascending, maxRecordsInMemory, compressRuns);
+      final Random r = new Random(42);
+      final long start = System.currentTimeMillis();
+      final Accumulator<Integer> a = s.accumulator();
+      for (int i = 0; i < numRecords; i++) {
+        a.add(r.nextInt());
+      }
+      a.close();
+      SortingSpoolTest.genericTestSorted(s, ascending, numRecords);
+      final long end = System.currentTimeMillis();
+
+      final double runtime = ((double) end - start) / 1000.0;
+      LOG.log(Level.INFO, "compressed: {0}; runs: {1}; spilled bytes: {2}; records/s: {3}",
+          new Object[]{compressRuns, s.getNumberOfRuns(), service.getScratchSpace().usedSpace(),
+              numRecords / runtime});
+      service.getScratchSpace().delete();
+    }
+  }
+}
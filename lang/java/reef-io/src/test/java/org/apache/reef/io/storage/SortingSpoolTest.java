@@ -21,7 +21,10 @@ package org.apache.reef.io.storage;
 import org.apache.reef.exception.evaluator.ServiceException;
 import org.apache.reef.io.Accumulator;
 import org.apache.reef.io.Spool;
+import org.apache.reef.io.storage.local.LocalStorageService;
+import org.apache.reef.io.storage.local.SortingFileSpool;
 import org.apache.reef.io.storage.ram.SortingRamSpool;
+import org.apache.reef.io.storage.util.IntegerCodec;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -29,6 +32,15 @@ import java.util.*;
 
 public class SortingSpoolTest {
 
+  private final Comparator<Integer> ascending = new Comparator<Integer>() {
+
+    @Override
+    public int compare(final Integer o1, final Integer o2) {
+      return Integer.compare(o1, o2);
+    }
+
+  };
+
   @Test
   public void testRamSpool() throws ServiceException {
     genericTest(new SortingRamSpool<Integer>(), new Comparator<Integer>() {
@@ -72,6 +84,63 @@ public class SortingSpoolTest {
     genericIteratorBeforeClose(s);
   }
 
+  @Test
+  public void testFileSpool() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+    final SortingFileSpool<Integer> s = new SortingFileSpool<>(service, new IntegerCodec(), ascending, 7);
+    genericTest(s, ascending);
+    Assert.assertEquals(14, s.getNumberOfRuns());
+    service.getScratchSpace().delete();
+  }
+
+  @Test
+  public void testFileSpoolInMemory() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+    final SortingFileSpool<Integer> s = new SortingFileSpool<>(service, new IntegerCodec(), ascending, 1000);
+    genericTest(s, ascending);
+    Assert.assertEquals(0, s.getNumberOfRuns());
+    service.getScratchSpace().delete();
+  }
+
+  @Test
+  public void testFileSpoolCompressedMultiPassMerge() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+    // 100 records in runs of one are more runs than are merged at once.
+    final SortingFileSpool<Integer> s = new SortingFileSpool<>(service, new IntegerCodec(), ascending, 1, true);
+    genericTest(s, ascending);
+    Assert.assertTrue(s.getNumberOfRuns() < 64);
+    // The spool can be read more than once.
+    genericTestSorted(s, ascending, 100);
+    service.getScratchSpace().delete();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFileSpoolAddAfterClose() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+    final Spool<Integer> s = new SortingFileSpool<>(service, new IntegerCodec(), ascending, 10);
+    genericAddAfterCloseTest(s);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testFileSpoolCantRemove() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "spoolTestEval");
+    final Spool<Integer> s = new SortingFileSpool<>(service, new IntegerCodec(), ascending, 10);
+    genericCantRemove(s);
+  }
+
+  static void genericTestSorted(final Spool<Integer> s, final Comparator<Integer> comparator, final int expectedSize) {
+    Integer last = null;
+    int size = 0;
+    for (final Integer i : s) {
+      if (last != null) {
+        Assert.assertTrue(comparator.compare(last, i) <= 0);
+      }
+      last = i;
+      size++;
+    }
+    Assert.assertEquals(expectedSize, size);
+  }
+
   void genericTest(final Spool<Integer> s, final Comparator<Integer> comparator)
       throws ServiceException {
     final List<Integer> l = new ArrayList<>();
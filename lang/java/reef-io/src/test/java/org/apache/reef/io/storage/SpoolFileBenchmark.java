@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.io.storage;
+
+import org.apache.reef.exception.evaluator.ServiceException;
+import org.apache.reef.io.Accumulator;
+import org.apache.reef.io.serialization.Codec;
+import org.apache.reef.io.storage.local.CodecFileAccumulable;
+import org.apache.reef.io.storage.local.CodecFileIterable;
+import org.apache.reef.io.storage.local.LocalStorageService;
+import org.apache.reef.io.storage.util.IntegerCodec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of the local codec files. Run with the benchmark profile.
+ */
+public class SpoolFileBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(SpoolFileBenchmark.class.getName());
+
+  private static final int NUM_RECORDS = 1000000;
+
+  /**
+   * Measures how many records per second are written and read back,
+   * decoded from the mapped file and from copies of the records.
+   */
+  @Test
+  public void benchmarkCodecFileRate() throws ServiceException {
+    final IntegerCodec integerCodec = new IntegerCodec();
+    final Codec<Integer> copyingCodec = new Codec<Integer>() {
+      @Override
+      public byte[] encode(final Integer obj) {
+        return integerCodec.encode(obj);
+      }
+
+      @Override
+      public Integer decode(final byte[] buf) {
+        return integerCodec.decode(buf);
+      }
+    };
+
+    for (final Codec<Integer> c : Arrays.<Codec<Integer>>asList(integerCodec, copyingCodec)) {
+      final LocalStorageService service = new LocalStorageService("spoolTest", "file");
+      final CodecFileAccumulable<Integer, Codec<Integer>> f = new CodecFileAccumulable<>(service, c);
+
+      final long start = System.currentTimeMillis();
+      try (Accumulator<Integer> acc = f.accumulator()) {
+        for (int i = 0; i < NUM_RECORDS; i++) {
+          acc.add(i);
+        }
+      }
+      final long written = System.currentTimeMillis();
+      int i = 0;
+      for (final int j : new CodecFileIterable<>(new File(f.getName()), c)) {
+        Assert.assertEquals(i, j);
+        i++;
+      }
+      final long end = System.currentTimeMillis();
+      Assert.assertEquals(NUM_RECORDS, i);
+
+      LOG.log(Level.INFO, "codec: {0}; written records/s: {1}; read records/s: {2}", new Object[]{
+          c.getClass().getName(),
+          NUM_RECORDS / (((double) written - start) / 1000.0),
+          NUM_RECORDS / (((double) end - written) / 1000.0)});
+      service.getScratchSpace().delete();
+    }
+  }
+
+  /**
+   * Measures the same records in the format the codec files used before they went through a FileChannel:
+   * length-prefixed records in an ObjectOutputStream, read back into a new byte[] each.
+   */
+  @Test
+  public void benchmarkObjectStreamBaseline() throws IOException {
+    final IntegerCodec codec = new IntegerCodec();
+    final File file = File.createTempFile("SpoolFileBenchmark", ".bin");
+    try {
+      final long start = System.currentTimeMillis();
+      try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+        for (int i = 0; i < NUM_RECORDS; i++) {
+          final byte[] buf = codec.encode(i);
+          out.writeInt(buf.length);
+          out.write(buf);
+        }
+        out.writeInt(-1);
+      }
+      final long written = System.currentTimeMillis();
+      int i = 0;
+      try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+        for (int sz = in.readInt(); sz != -1; sz = in.readInt()) {
+          final byte[] buf = new byte[sz];
+          in.readFully(buf);
+          Assert.assertEquals(i, (int) codec.decode(buf));
+          i++;
+        }
+      }
+      final long end = System.currentTimeMillis();
+      Assert.assertEquals(NUM_RECORDS, i);
+
+      LOG.log(Level.INFO, "ObjectStream baseline; written records/s: {0}; read records/s: {1}", new Object[]{
+          NUM_RECORDS / (((double) written - start) / 1000.0),
+          NUM_RECORDS / (((double) end - written) / 1000.0)});
+    } finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+}
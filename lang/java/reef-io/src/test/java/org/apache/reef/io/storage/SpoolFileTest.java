@@ -46,7 +46,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 public class SpoolFileTest {
   private final Serializer<Integer, OutputStream> serializer = new Serializer<Integer, OutputStream>() {
@@ -171,6 +175,67 @@ public class SpoolFileTest {
     service.getScratchSpace().delete();
   }
 
+  @Test
+  public void testInteropByteArrayCodec() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "file");
+    final IntegerCodec integerCodec = new IntegerCodec();
+    // Only implements Codec, so records are copied out of the mapped file.
+    final Codec<Integer> c = new Codec<Integer>() {
+      @Override
+      public byte[] encode(final Integer obj) {
+        return integerCodec.encode(obj);
+      }
+
+      @Override
+      public Integer decode(final byte[] buf) {
+        return integerCodec.decode(buf);
+      }
+    };
+
+    final CodecFileAccumulable<Integer, Codec<Integer>> f = new CodecFileAccumulable<>(
+        service, c);
+    final CodecFileIterable<Integer, Codec<Integer>> g = new CodecFileIterable<>(
+        new File(f.getName()), c);
+    test(f, g);
+    service.getScratchSpace().delete();
+  }
+
+  @Test
+  public void testLargeRecords() throws ServiceException {
+    final LocalStorageService service = new LocalStorageService("spoolTest", "file");
+    final Codec<String> c = new Codec<String>() {
+      @Override
+      public byte[] encode(final String obj) {
+        return obj.getBytes(StandardCharsets.UTF_8);
+      }
+
+      @Override
+      public String decode(final byte[] buf) {
+        return new String(buf, StandardCharsets.UTF_8);
+      }
+    };
+
+    final CodecFileAccumulable<String, Codec<String>> f = new CodecFileAccumulable<>(service, c);
+    final List<String> records = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      // Records of up to 200KB, larger than the write buffer
+      final char[] chars = new char[i * 20000 + 1];
+      Arrays.fill(chars, (char) ('a' + i));
+      records.add(new String(chars));
+    }
+    try (Accumulator<String> acc = f.accumulator()) {
+      for (final String record : records) {
+        acc.add(record);
+      }
+    }
+    final List<String> read = new ArrayList<>();
+    for (final String record : new CodecFileIterable<>(new File(f.getName()), c)) {
+      read.add(record);
+    }
+    Assert.assertEquals(records, read);
+    service.getScratchSpace().delete();
+  }
+
   protected void test(final Spool<Integer> f) throws ServiceException {
     test(f, f);
   }
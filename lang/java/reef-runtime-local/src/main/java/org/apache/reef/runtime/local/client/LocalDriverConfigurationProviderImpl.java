@@ -20,8 +20,10 @@ package org.apache.reef.runtime.local.client;
 
 import org.apache.reef.runtime.common.client.DriverConfigurationProvider;
 import org.apache.reef.runtime.common.parameters.JVMHeapSlack;
+import org.apache.reef.runtime.local.client.parameters.ClassHierarchySnapshot;
 import org.apache.reef.runtime.local.client.parameters.MaxNumberOfEvaluators;
 import org.apache.reef.runtime.local.client.parameters.RackNames;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
 import org.apache.reef.runtime.local.driver.LocalDriverConfiguration;
 import org.apache.reef.runtime.local.driver.RuntimeIdentifier;
 import org.apache.reef.tang.Configuration;
@@ -42,14 +44,20 @@ final class LocalDriverConfigurationProviderImpl implements DriverConfigurationP
   private final int maxEvaluators;
   private final double jvmHeapSlack;
   private final Set<String> rackNames;
+  private final boolean classHierarchySnapshot;
+  private final int warmPoolSize;
 
   @Inject
   LocalDriverConfigurationProviderImpl(@Parameter(MaxNumberOfEvaluators.class) final int maxEvaluators,
                                        @Parameter(JVMHeapSlack.class) final double jvmHeapSlack,
-                                       @Parameter(RackNames.class) final Set<String> rackNames) {
+                                       @Parameter(RackNames.class) final Set<String> rackNames,
+                                       @Parameter(ClassHierarchySnapshot.class) final boolean classHierarchySnapshot,
+                                       @Parameter(WarmPoolSize.class) final int warmPoolSize) {
     this.maxEvaluators = maxEvaluators;
     this.jvmHeapSlack = jvmHeapSlack;
     this.rackNames = rackNames;
+    this.classHierarchySnapshot = classHierarchySnapshot;
+    this.warmPoolSize = warmPoolSize;
   }
 
   private Configuration getDriverConfiguration(final URI jobFolder,
@@ -59,6 +67,8 @@ final class LocalDriverConfigurationProviderImpl implements DriverConfigurationP
         .set(LocalDriverConfiguration.MAX_NUMBER_OF_EVALUATORS, this.maxEvaluators)
         .set(LocalDriverConfiguration.ROOT_FOLDER, jobFolder.getPath())
         .set(LocalDriverConfiguration.JVM_HEAP_SLACK, this.jvmHeapSlack)
+        .set(LocalDriverConfiguration.CLASS_HIERARCHY_SNAPSHOT, this.classHierarchySnapshot)
+        .set(LocalDriverConfiguration.WARM_POOL_SIZE, this.warmPoolSize)
         .set(LocalDriverConfiguration.CLIENT_REMOTE_IDENTIFIER, clientRemoteId)
         .set(LocalDriverConfiguration.JOB_IDENTIFIER, jobId)
         .set(LocalDriverConfiguration.RUNTIME_NAMES, RuntimeIdentifier.RUNTIME_NAME);
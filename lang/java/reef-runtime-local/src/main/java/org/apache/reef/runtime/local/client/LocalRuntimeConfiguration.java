@@ -26,9 +26,11 @@ import org.apache.reef.runtime.common.driver.parameters.DefinedRuntimes;
 import org.apache.reef.runtime.common.files.RuntimeClasspathProvider;
 import org.apache.reef.runtime.common.parameters.JVMHeapSlack;
 import org.apache.reef.runtime.local.LocalClasspathProvider;
+import org.apache.reef.runtime.local.client.parameters.ClassHierarchySnapshot;
 import org.apache.reef.runtime.local.client.parameters.MaxNumberOfEvaluators;
 import org.apache.reef.runtime.local.client.parameters.RackNames;
 import org.apache.reef.runtime.local.client.parameters.RootFolder;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
 import org.apache.reef.runtime.local.driver.RuntimeIdentifier;
 import org.apache.reef.tang.ConfigurationProvider;
 import org.apache.reef.tang.formats.*;
@@ -71,6 +73,20 @@ public class LocalRuntimeConfiguration extends ConfigurationModuleBuilder {
    */
   public static final OptionalParameter<String> RACK_NAMES = new OptionalParameter<>();
 
+  /**
+   * Whether the Driver ships a snapshot of its resolved class hierarchy to the Evaluators, so that they
+   * need not reflect over all the configured classes on startup. Defaults to false.
+   */
+  public static final OptionalParameter<Boolean> CLASS_HIERARCHY_SNAPSHOT = new OptionalParameter<>();
+
+  /**
+   * The number of idle Evaluator processes the local resourcemanager pre-spawns and keeps ready, so that allocated
+   * Evaluators skip JVM startup and class loading. Together with the allocated ones, these never exceed
+   * MAX_NUMBER_OF_EVALUATORS. Evaluators launched from the pool use the default memory size and ignore per-request
+   * JVM options; launches that need them fall back to a fresh process. Defaults to 0, i.e. no warm pool.
+   */
+  public static final OptionalParameter<Integer> WARM_POOL_SIZE = new OptionalParameter<>();
+
   /**
    * The ConfigurationModule for the local resourcemanager.
    */
@@ -87,6 +103,8 @@ public class LocalRuntimeConfiguration extends ConfigurationModuleBuilder {
       .bindNamedParameter(JVMHeapSlack.class, JVM_HEAP_SLACK)
       .bindSetEntry(DriverConfigurationProviders.class, DRIVER_CONFIGURATION_PROVIDERS)
       .bindSetEntry(RackNames.class, RACK_NAMES)
+      .bindNamedParameter(ClassHierarchySnapshot.class, CLASS_HIERARCHY_SNAPSHOT)
+      .bindNamedParameter(WarmPoolSize.class, WARM_POOL_SIZE)
       .bindSetEntry(DefinedRuntimes.class, RuntimeIdentifier.RUNTIME_NAME)
       .build();
 
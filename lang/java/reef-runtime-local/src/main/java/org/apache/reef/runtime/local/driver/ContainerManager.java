@@ -96,6 +96,7 @@ final class ContainerManager implements AutoCloseable {
   private final ReefRunnableProcessObserver processObserver;
   private final String localAddress;
   private final Collection<String> availableRacks;
+  private final WarmProcessPool warmProcessPool;
 
   @Inject
   private ContainerManager(
@@ -109,7 +110,8 @@ final class ContainerManager implements AutoCloseable {
       final ReefRunnableProcessObserver processObserver,
       final LocalAddressProvider localAddressProvider,
       @Parameter(DefaultMemorySize.class) final int defaultMemorySize,
-      @Parameter(DefaultNumberOfCores.class) final int defaultNumberOfCores) {
+      @Parameter(DefaultNumberOfCores.class) final int defaultNumberOfCores,
+      final WarmProcessPool warmProcessPool) {
 
     this.capacity = capacity;
     this.defaultMemorySize = defaultMemorySize;
@@ -121,6 +123,7 @@ final class ContainerManager implements AutoCloseable {
     this.rootFolder = new File(rootFolderName);
     this.localAddress = localAddressProvider.getLocalAddress();
     this.availableRacks = normalize(rackNames);
+    this.warmProcessPool = warmProcessPool;
 
     LOG.log(Level.FINEST, "Initializing Container Manager with {0} containers", capacity);
 
@@ -213,6 +216,7 @@ final class ContainerManager implements AutoCloseable {
 
   synchronized void start() {
     sendNodeDescriptors();
+    this.warmProcessPool.fill(0);
   }
 
   private void sendNodeDescriptors() {
@@ -362,20 +366,29 @@ final class ContainerManager implements AutoCloseable {
   private Container allocate(
       final int megaBytes, final int numberOfCores, final String nodeId, final String rackName) {
 
-    final String processID = nodeId + "-" + String.valueOf(System.currentTimeMillis());
+    final Optional<WarmProcessPool.WarmProcess> warmProcess = this.warmProcessPool.take(megaBytes);
 
-    final File processFolder = new File(this.rootFolder, processID);
-    if (!processFolder.exists() && !processFolder.mkdirs()) {
-      LOG.log(Level.WARNING, "Failed to create [{0}]", processFolder.getAbsolutePath());
+    // The container gets an ID of its own even in a warm process, so that it can fall back to a fresh process.
+    final String processID = nodeId + "-" + String.valueOf(System.currentTimeMillis());
+    final File processFolder;
+    if (warmProcess.isPresent()) {
+      processFolder = warmProcess.get().getFolder();
+    } else {
+      processFolder = new File(this.rootFolder, processID);
+      if (!processFolder.exists() && !processFolder.mkdirs()) {
+        LOG.log(Level.WARNING, "Failed to create [{0}]", processFolder.getAbsolutePath());
+      }
     }
 
     final ProcessContainer container = new ProcessContainer(
-        this.errorHandlerRID, nodeId, processID, processFolder, megaBytes,
-        numberOfCores, rackName, this.fileNames, this.processObserver, this.containerThreads);
+        this.errorHandlerRID, nodeId, processID, processFolder, megaBytes, numberOfCores, rackName,
+        this.fileNames, this.processObserver, this.containerThreads, warmProcess.orElse(null));
 
     this.containers.put(container.getContainerID(), container);
     LOG.log(Level.FINE, "Allocated {0}", container.getContainerID());
 
+    this.warmProcessPool.fill(this.containers.size());
+
     return container;
   }
 
@@ -389,6 +402,7 @@ final class ContainerManager implements AutoCloseable {
         }
         this.freeNodesPerRack.get(ctr.getRackName()).put(ctr.getNodeID(), Boolean.TRUE);
         this.containers.remove(ctr.getContainerID());
+        this.warmProcessPool.fill(this.containers.size());
       } else {
         LOG.log(Level.INFO, "Ignoring release request for unknown containerID [{0}]", containerID);
       }
@@ -410,6 +424,7 @@ final class ContainerManager implements AutoCloseable {
 
   @Override
   public synchronized void close() {
+    this.warmProcessPool.close();
     synchronized (this.containers) {
       if (this.containers.isEmpty()) {
         LOG.log(Level.FINEST, "Clean shutdown with no outstanding containers.");
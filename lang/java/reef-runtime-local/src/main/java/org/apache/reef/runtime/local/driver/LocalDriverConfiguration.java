@@ -28,9 +28,11 @@ import org.apache.reef.runtime.common.launch.parameters.ErrorHandlerRID;
 import org.apache.reef.runtime.common.launch.parameters.LaunchID;
 import org.apache.reef.runtime.common.parameters.JVMHeapSlack;
 import org.apache.reef.runtime.local.LocalClasspathProvider;
+import org.apache.reef.runtime.local.client.parameters.ClassHierarchySnapshot;
 import org.apache.reef.runtime.local.client.parameters.MaxNumberOfEvaluators;
 import org.apache.reef.runtime.local.client.parameters.RackNames;
 import org.apache.reef.runtime.local.client.parameters.RootFolder;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
 import org.apache.reef.tang.formats.*;
 
 /**
@@ -60,6 +62,16 @@ public class LocalDriverConfiguration extends ConfigurationModuleBuilder {
   */
   public static final OptionalParameter<String> RACK_NAMES = new OptionalParameter<>();
 
+  /**
+   * Whether to ship a snapshot of the resolved class hierarchy to the Evaluators.
+   */
+  public static final OptionalParameter<Boolean> CLASS_HIERARCHY_SNAPSHOT = new OptionalParameter<>();
+
+  /**
+   * The number of idle Evaluator processes to pre-spawn and keep ready.
+   */
+  public static final OptionalParameter<Integer> WARM_POOL_SIZE = new OptionalParameter<>();
+
   /**
    * The remote identifier to use for communications back to the client.
    */
@@ -90,6 +102,8 @@ public class LocalDriverConfiguration extends ConfigurationModuleBuilder {
       .bindNamedParameter(RootFolder.class, ROOT_FOLDER)
       .bindNamedParameter(JVMHeapSlack.class, JVM_HEAP_SLACK)
       .bindSetEntry(RackNames.class, RACK_NAMES)
+      .bindNamedParameter(ClassHierarchySnapshot.class, CLASS_HIERARCHY_SNAPSHOT)
+      .bindNamedParameter(WarmPoolSize.class, WARM_POOL_SIZE)
       .bindImplementation(RuntimeClasspathProvider.class, LocalClasspathProvider.class)
       .bindSetEntry(DefinedRuntimes.class, RUNTIME_NAMES)
       .build();
@@ -27,8 +27,12 @@ import org.apache.reef.runtime.local.process.RunnableProcessObserver;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
@@ -45,25 +49,35 @@ public final class ProcessContainer implements Container {
 
   private final String errorHandlerRID;
   private final String nodeID;
-  private final File folder;
   private final String containedID;
   private final int megaBytes;
   private final int numberOfCores;
   private final String rackName;
   private final REEFFileNames fileNames;
-  private final File localFolder;
-  private final File globalFolder;
+  /**
+   * The folder of the Evaluator, which moves when a warm process can not run it.
+   */
+  private File folder;
+  private File localFolder;
+  private File globalFolder;
   private final RunnableProcessObserver processObserver;
   private final ThreadGroup threadGroup;
 
   private Thread theThread;
   private RunnableProcess process;
 
+  /**
+   * The pre-spawned process to run the Evaluator in, or null if a fresh process is launched.
+   */
+  private WarmProcessPool.WarmProcess warmProcess;
+  private boolean localFilesAdded = false;
+
   /**
    * @param errorHandlerRID the remoteID of the error handler.
    * @param nodeID          the ID of the (fake) node this Container is instantiated on
    * @param containedID     the  ID used to identify this container uniquely
    * @param folder          the folder in which logs etc. will be deposited
+   * @param warmProcess     the pre-spawned process running in the folder, or null if there is none
    */
   ProcessContainer(final String errorHandlerRID,
                    final String nodeID,
@@ -74,12 +88,18 @@ public final class ProcessContainer implements Container {
                    final String rackName,
                    final REEFFileNames fileNames,
                    final ReefRunnableProcessObserver processObserver,
-                   final ThreadGroup threadGroup) {
+                   final ThreadGroup threadGroup,
+                   final WarmProcessPool.WarmProcess warmProcess) {
+
+    this.warmProcess = warmProcess;
+    if (warmProcess != null) {
+      this.process = warmProcess.getProcess();
+      this.theThread = warmProcess.getThread();
+    }
 
     this.errorHandlerRID = errorHandlerRID;
     this.nodeID = nodeID;
     this.containedID = containedID;
-    this.folder = folder;
     this.megaBytes = megaBytes;
     this.numberOfCores = numberOfCores;
     this.rackName = rackName;
@@ -87,22 +107,77 @@ public final class ProcessContainer implements Container {
     this.processObserver = processObserver;
     this.threadGroup = threadGroup;
 
-    final File reefFolder = new File(folder, fileNames.getREEFFolderName());
+    this.setFolder(folder);
+  }
+
+  private void setFolder(final File folder) {
 
-    this.localFolder = new File(reefFolder, fileNames.getLocalFolderName());
+    this.folder = folder;
+
+    final File reefFolder = new File(folder, this.fileNames.getREEFFolderName());
+
+    this.localFolder = new File(reefFolder, this.fileNames.getLocalFolderName());
     if (!this.localFolder.exists() && !this.localFolder.mkdirs()) {
       LOG.log(Level.WARNING, "Failed to create [{0}]", this.localFolder.getAbsolutePath());
     }
 
-    this.globalFolder = new File(reefFolder, fileNames.getGlobalFolderName());
+    this.globalFolder = new File(reefFolder, this.fileNames.getGlobalFolderName());
     if (!this.globalFolder.exists() && !this.globalFolder.mkdirs()) {
       LOG.log(Level.WARNING, "Failed to create [{0}]", this.globalFolder.getAbsolutePath());
     }
   }
 
-  private static void copy(final Iterable<File> files, final File folder) throws IOException {
+  /**
+   * Moves the Evaluator out of the folder of a discarded warm process, which may still write its output there.
+   * The files prepared for the Evaluator are copied into a folder named after the container.
+   */
+  private void moveToFreshFolder() {
+    final File oldReefFolder = new File(this.folder, this.fileNames.getREEFFolderName());
+    this.setFolder(new File(this.folder.getParentFile(), this.containedID));
+    try {
+      copyTree(oldReefFolder.toPath(), new File(this.folder, this.fileNames.getREEFFolderName()).toPath());
+    } catch (final IOException e) {
+      throw new RuntimeException("Unable to copy files to the evaluator folder.", e);
+    }
+  }
+
+  /**
+   * Copies a folder with its subfolders, keeping symbolic links as links.
+   */
+  private static void copyTree(final Path source, final Path target) throws IOException {
+    Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(target.resolve(source.relativize(dir)));
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+        Files.copy(file, target.resolve(source.relativize(file)),
+            java.nio.file.StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  static void copy(final Iterable<File> files, final File folder) throws IOException {
+    copy(files, folder, true);
+  }
+
+  /**
+   * @param replaceExisting whether to overwrite files that are already present in the folder.
+   */
+  private static boolean copy(final Iterable<File> files, final File folder, final boolean replaceExisting)
+      throws IOException {
+    boolean copied = false;
     for (final File sourceFile : files) {
       final File destinationFile = new File(folder, sourceFile.getName());
+      if (Files.exists(destinationFile.toPath(), LinkOption.NOFOLLOW_LINKS)
+          && (!replaceExisting || Files.isSymbolicLink(destinationFile.toPath()))) {
+        continue;
+      }
+      copied = true;
       if (Files.isSymbolicLink(sourceFile.toPath())) {
         final Path linkTargetPath = Files.readSymbolicLink(sourceFile.toPath());
         Files.createSymbolicLink(destinationFile.toPath(), linkTargetPath);
@@ -110,12 +185,15 @@ public final class ProcessContainer implements Container {
         Files.copy(sourceFile.toPath(), destinationFile.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
       }
     }
+    return copied;
   }
 
   @Override
   public void addLocalFiles(final Iterable<File> files) {
     try {
-      copy(files, this.localFolder);
+      if (copy(files, this.localFolder, true)) {
+        this.localFilesAdded = true;
+      }
     } catch (final IOException e) {
       throw new RuntimeException("Unable to copy files to the evaluator folder.", e);
     }
@@ -126,7 +204,8 @@ public final class ProcessContainer implements Container {
     try {
       final File[] files = globalFilesFolder.listFiles();
       if (files != null) {
-        copy(Arrays.asList(files), this.globalFolder);
+        // A warm process has the global files on its classpath already.
+        copy(Arrays.asList(files), this.globalFolder, this.warmProcess == null);
       }
     } catch (final IOException e) {
       throw new RuntimeException("Unable to copy files to the evaluator folder.", e);
@@ -136,6 +215,19 @@ public final class ProcessContainer implements Container {
   @Override
   public void run(final List<String> commandLine) {
 
+    if (this.warmProcess != null) {
+      final WarmProcessPool.WarmProcess warm = this.warmProcess;
+      this.warmProcess = null;
+      // The classpath of a warm process was expanded before the local files were added.
+      if (!this.localFilesAdded && warm.launch(this.containedID, commandLine)) {
+        LOG.log(Level.FINEST, "Launched Evaluator in warm process: {0}", this);
+        return;
+      }
+      LOG.log(Level.FINE, "Warm process can not run the Evaluator, starting a fresh one: {0}", this);
+      warm.discard();
+      this.moveToFreshFolder();
+    }
+
     this.process = new RunnableProcess(
         commandLine,
         this.containedID,
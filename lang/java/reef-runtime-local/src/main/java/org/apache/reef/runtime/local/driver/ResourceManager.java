@@ -34,9 +34,12 @@ import org.apache.reef.runtime.common.files.FileResource;
 import org.apache.reef.runtime.common.files.REEFFileNames;
 import org.apache.reef.runtime.common.parameters.JVMHeapSlack;
 import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.runtime.local.client.parameters.ClassHierarchySnapshot;
+import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.annotations.Parameter;
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.formats.ConfigurationSerializer;
+import org.apache.reef.tang.implementation.avro.AvroClassHierarchySerializer;
 import org.apache.reef.util.Optional;
 import org.apache.reef.util.logging.LoggingScope;
 import org.apache.reef.util.logging.LoggingScopeFactory;
@@ -70,6 +73,13 @@ public final class ResourceManager {
   private final REEFFileNames fileNames;
   private final double jvmHeapFactor;
   private final LoggingScopeFactory loggingScopeFactory;
+  private final boolean classHierarchySnapshot;
+
+  /**
+   * Guards classHierarchySnapshotWritten and the snapshot file.
+   */
+  private final Object snapshotLock = new Object();
+  private boolean classHierarchySnapshotWritten = false;
 
   @Inject
   ResourceManager(
@@ -82,7 +92,8 @@ public final class ResourceManager {
       final ConfigurationSerializer configurationSerializer,
       final RemoteManager remoteManager,
       final REEFFileNames fileNames,
-      final LoggingScopeFactory loggingScopeFactory) {
+      final LoggingScopeFactory loggingScopeFactory,
+      @Parameter(ClassHierarchySnapshot.class) final boolean classHierarchySnapshot) {
 
     this.theContainers = containerManager;
     this.allocationHandler = allocationHandler;
@@ -92,6 +103,7 @@ public final class ResourceManager {
     this.fileNames = fileNames;
     this.jvmHeapFactor = 1.0 - jvmHeapSlack;
     this.loggingScopeFactory = loggingScopeFactory;
+    this.classHierarchySnapshot = classHierarchySnapshot;
 
     LOG.log(Level.FINE, "Instantiated 'ResourceManager'");
   }
@@ -163,6 +175,10 @@ public final class ResourceManager {
 
       try (final LoggingScope lb = this.loggingScopeFactory
           .getNewLoggingScope("ResourceManager.onResourceLaunchRequest:evaluatorConfigurationFile")) {
+        if (this.classHierarchySnapshot) {
+          this.writeClassHierarchySnapshot(launchRequest.getEvaluatorConf().getClassHierarchy());
+        }
+
         // Add the global files and libraries.
         c.addGlobalFiles(this.fileNames.getGlobalFolder());
         c.addLocalFiles(getLocalFiles(launchRequest));
@@ -187,6 +203,32 @@ public final class ResourceManager {
     }
   }
 
+  /**
+   * Writes the class hierarchy the evaluator configurations were built against into the global folder,
+   * from where it is shared with all evaluators. REEFLauncher pre-populates Tang from it on startup.
+   * This is done once, on the first launch; classes that are resolved later are simply looked up by reflection.
+   *
+   * @param classHierarchy the class hierarchy of the evaluator configuration.
+   */
+  private void writeClassHierarchySnapshot(final ClassHierarchy classHierarchy) {
+    synchronized (this.snapshotLock) {
+      if (this.classHierarchySnapshotWritten) {
+        return;
+      }
+      this.classHierarchySnapshotWritten = true;
+      final File snapshotFile = new File(this.fileNames.getClassHierarchySnapshotPath());
+      try {
+        new AvroClassHierarchySerializer().toBinaryFile(classHierarchy, snapshotFile);
+        LOG.log(Level.FINE, "Wrote class hierarchy snapshot to {0}", snapshotFile.getAbsolutePath());
+      } catch (final IOException e) {
+        LOG.log(Level.WARNING, "Unable to write class hierarchy snapshot. Evaluators will use reflection instead.", e);
+        if (snapshotFile.exists() && !snapshotFile.delete()) {
+          LOG.log(Level.WARNING, "Unable to delete incomplete class hierarchy snapshot {0}", snapshotFile);
+        }
+      }
+    }
+  }
+
   private List<String> getLaunchCommand(final ResourceLaunchEvent launchRequest,
                                         final int containerMemory) {
     final EvaluatorProcess process = launchRequest.getProcess()
@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.local.driver;
+
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.runtime.common.REEFLauncher;
+import org.apache.reef.runtime.common.WarmREEFLauncher;
+import org.apache.reef.runtime.common.files.ClasspathProvider;
+import org.apache.reef.runtime.common.files.REEFFileNames;
+import org.apache.reef.runtime.common.files.RuntimePathProvider;
+import org.apache.reef.runtime.common.launch.JavaLaunchCommandBuilder;
+import org.apache.reef.runtime.common.parameters.JVMHeapSlack;
+import org.apache.reef.runtime.local.client.parameters.DefaultMemorySize;
+import org.apache.reef.runtime.local.client.parameters.MaxNumberOfEvaluators;
+import org.apache.reef.runtime.local.client.parameters.RootFolder;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
+import org.apache.reef.runtime.local.process.ReefRunnableProcessObserver;
+import org.apache.reef.runtime.local.process.RunnableProcess;
+import org.apache.reef.runtime.local.process.RunnableProcessObserver;
+import org.apache.reef.tang.annotations.Parameter;
+import org.apache.reef.util.Optional;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of pre-spawned ("warm") Evaluator processes.
+ * <p>
+ * Each warm process runs {@link WarmREEFLauncher} in its own container folder, with the global files of the job
+ * already in place. It has loaded the REEF runtime and waits for the path of its Evaluator configuration.
+ * ContainerManager hands warm processes out on allocation, and the pool spawns new ones to replace them.
+ * Processes are not reused after their Evaluator exits, as the Evaluator runtime holds process-wide state.
+ * <p>
+ * New processes are only spawned while the number of idle and starting processes is below the WarmPoolSize,
+ * and, together with the allocated containers, below the MaxNumberOfEvaluators of the local runtime.
+ * <p>
+ * Warm processes are started with the heap of the DefaultMemorySize, as the size of the next request is not known
+ * in advance. They are therefore only handed out for containers of exactly that size; all others are launched
+ * as fresh processes with the heap they ask for.
+ */
+@Private
+@DriverSide
+final class WarmProcessPool implements AutoCloseable {
+
+  private static final Logger LOG = Logger.getLogger(WarmProcessPool.class.getName());
+
+  private final ThreadGroup warmThreads = new ThreadGroup("LocalWarmProcessPoolThreadGroup");
+  private final IDMaker idMaker = new IDMaker("Warm-");
+  private final WarmProcessObserver warmProcessObserver = new WarmProcessObserver();
+
+  /**
+   * Warm processes that have been spawned, but have not started yet. Keyed by process ID.
+   */
+  private final Map<String, WarmProcess> startingProcesses = new HashMap<>();
+
+  /**
+   * Warm processes that are running and ready to be handed out, oldest first.
+   */
+  private final Deque<WarmProcess> idleProcesses = new ArrayDeque<>();
+
+  /**
+   * The container IDs of the warm processes that have launched an Evaluator, keyed by process ID.
+   * Only their exit is reported to the local runtime, under the container ID.
+   */
+  private final Map<String, String> launchedContainerIds = new HashMap<>();
+
+  private final int poolSize;
+  private final int capacity;
+  private final int memory;
+  private final List<String> command;
+  private final File rootFolder;
+  private final REEFFileNames fileNames;
+  private final ReefRunnableProcessObserver processObserver;
+
+  private boolean closed = false;
+
+  @Inject
+  private WarmProcessPool(
+      @Parameter(WarmPoolSize.class) final int warmPoolSize,
+      @Parameter(MaxNumberOfEvaluators.class) final int capacity,
+      @Parameter(DefaultMemorySize.class) final int defaultMemorySize,
+      @Parameter(JVMHeapSlack.class) final double jvmHeapSlack,
+      @Parameter(RootFolder.class) final String rootFolderName,
+      final RuntimePathProvider runtimePathProvider,
+      final ClasspathProvider classpathProvider,
+      final REEFFileNames fileNames,
+      final ReefRunnableProcessObserver processObserver) {
+
+    this.poolSize = Math.min(warmPoolSize, capacity);
+    this.capacity = capacity;
+    this.memory = defaultMemorySize;
+    this.rootFolder = new File(rootFolderName);
+    this.fileNames = fileNames;
+    this.processObserver = processObserver;
+    this.command = new JavaLaunchCommandBuilder(WarmREEFLauncher.class, null)
+        .setJavaPath(runtimePathProvider.getPath())
+        .setClassPath(classpathProvider.getEvaluatorClasspath())
+        .setMemory((int) ((1.0 - jvmHeapSlack) * defaultMemorySize))
+        .build();
+
+    LOG.log(Level.FINE, "Initialized warm process pool of size {0}", this.poolSize);
+  }
+
+  /**
+   * Spawns warm processes until the pool is full.
+   * @param numAllocated the number of currently allocated containers.
+   */
+  synchronized void fill(final int numAllocated) {
+    while (!this.closed && this.getNumPooled() < this.poolSize
+        && this.getNumPooled() + numAllocated < this.capacity) {
+      this.spawn();
+    }
+  }
+
+  /**
+   * Takes the oldest idle warm process out of the pool, if its heap matches a container of the given size.
+   * @param megaBytes the memory size of the container to be allocated.
+   * @return the warm process, or an empty optional if there is none to fit.
+   */
+  synchronized Optional<WarmProcess> take(final int megaBytes) {
+    if (megaBytes != this.memory || this.idleProcesses.isEmpty()) {
+      return Optional.empty();
+    }
+    final WarmProcess warmProcess = this.idleProcesses.poll();
+    LOG.log(Level.FINE, "Handing out warm process {0}", warmProcess.getId());
+    return Optional.of(warmProcess);
+  }
+
+  /**
+   * Shuts down all idle warm processes, and stops spawning new ones.
+   */
+  @Override
+  public synchronized void close() {
+    this.closed = true;
+    for (final WarmProcess warmProcess : this.idleProcesses) {
+      warmProcess.shutdown();
+    }
+    this.idleProcesses.clear();
+    for (final WarmProcess warmProcess : this.startingProcesses.values()) {
+      warmProcess.discard();
+    }
+    this.startingProcesses.clear();
+  }
+
+  /**
+   * A warm process can stand in for a cold launch if the command line only differs from the warm one
+   * in the heap size, and if it runs REEFLauncher on a single configuration file.
+   * Evaluators with custom JVM options or a different launcher are started as fresh processes instead.
+   * @param commandLine the command line the Evaluator would be launched with.
+   * @return the configuration path to hand to the warm process, or an empty optional if it can not be used.
+   */
+  private Optional<String> getConfigurationPath(final List<String> commandLine) {
+    final List<String> coldCommand = withoutHeapSize(commandLine);
+    final List<String> warmCommand = withoutHeapSize(this.command);
+    final int launcherIndex = warmCommand.size() - 1;
+    if (coldCommand.size() != warmCommand.size() + 1
+        || !coldCommand.subList(0, launcherIndex).equals(warmCommand.subList(0, launcherIndex))
+        || !coldCommand.get(launcherIndex).equals(REEFLauncher.class.getName())) {
+      return Optional.empty();
+    }
+    return Optional.of(coldCommand.get(launcherIndex + 1));
+  }
+
+  private static List<String> withoutHeapSize(final List<String> commandLine) {
+    final List<String> result = new ArrayList<>(commandLine.size());
+    for (final String arg : commandLine) {
+      if (!arg.startsWith("-Xmx")) {
+        result.add(arg);
+      }
+    }
+    return result;
+  }
+
+  private int getNumPooled() {
+    return this.idleProcesses.size() + this.startingProcesses.size();
+  }
+
+  private void spawn() {
+
+    final String processId = this.idMaker.getNextID() + "-" + String.valueOf(System.currentTimeMillis());
+    final File folder = new File(this.rootFolder, processId);
+    final File globalFolder = new File(new File(folder, this.fileNames.getREEFFolderName()),
+        this.fileNames.getGlobalFolderName());
+
+    if (!globalFolder.exists() && !globalFolder.mkdirs()) {
+      LOG.log(Level.WARNING, "Failed to create [{0}]", globalFolder.getAbsolutePath());
+    }
+
+    try {
+      final File[] globalFiles = this.fileNames.getGlobalFolder().listFiles();
+      if (globalFiles != null) {
+        ProcessContainer.copy(Arrays.asList(globalFiles), globalFolder);
+      }
+    } catch (final IOException e) {
+      LOG.log(Level.WARNING, "Unable to copy the global files for warm process " + processId, e);
+      return;
+    }
+
+    final WarmProcess warmProcess = new WarmProcess(processId, folder, new RunnableProcess(
+        this.command,
+        processId,
+        folder,
+        this.warmProcessObserver,
+        this.fileNames.getEvaluatorStdoutFileName(),
+        this.fileNames.getEvaluatorStderrFileName()));
+
+    this.startingProcesses.put(processId, warmProcess);
+    warmProcess.thread.start();
+
+    LOG.log(Level.FINEST, "Spawned warm process {0}", processId);
+  }
+
+  /**
+   * Tracks the warm processes while they are in the pool,
+   * and reports their exit to the local runtime once they have been handed out.
+   */
+  private final class WarmProcessObserver implements RunnableProcessObserver {
+
+    @Override
+    public void onProcessStarted(final String processId) {
+      synchronized (WarmProcessPool.this) {
+        final WarmProcess warmProcess = startingProcesses.remove(processId);
+        if (warmProcess != null) {
+          idleProcesses.add(warmProcess);
+          LOG.log(Level.FINEST, "Warm process {0} is ready", processId);
+        }
+      }
+    }
+
+    @Override
+    public void onProcessExit(final String processId, final int exitCode) {
+
+      final String containerId;
+      synchronized (WarmProcessPool.this) {
+        containerId = launchedContainerIds.remove(processId);
+        if (containerId == null && startingProcesses.remove(processId) == null) {
+          for (final Iterator<WarmProcess> it = idleProcesses.iterator(); it.hasNext();) {
+            if (it.next().getId().equals(processId)) {
+              it.remove();
+              break;
+            }
+          }
+        }
+      }
+
+      if (containerId != null) {
+        processObserver.onProcessExit(containerId, exitCode);
+      } else {
+        LOG.log(exitCode == 0 ? Level.FINE : Level.WARNING,
+            "Warm process {0} exited with return code {1} before it was used",
+            new Object[] {processId, exitCode});
+      }
+    }
+  }
+
+  /**
+   * A pre-spawned Evaluator process.
+   */
+  final class WarmProcess {
+
+    private final String id;
+    private final File folder;
+    private final RunnableProcess process;
+    private final Thread thread;
+
+    private WarmProcess(final String id, final File folder, final RunnableProcess process) {
+      this.id = id;
+      this.folder = folder;
+      this.process = process;
+      this.thread = new Thread(warmThreads, process, "WarmProcess:" + id);
+    }
+
+    String getId() {
+      return this.id;
+    }
+
+    File getFolder() {
+      return this.folder;
+    }
+
+    RunnableProcess getProcess() {
+      return this.process;
+    }
+
+    Thread getThread() {
+      return this.thread;
+    }
+
+    /**
+     * Hands the Evaluator configuration to the process, if it can run the given command line.
+     * From then on, the exit of the process is reported to the local runtime as the exit of the container.
+     * @param containerId the ID of the container the Evaluator runs in.
+     * @param commandLine the command line the Evaluator would be launched with in a fresh process.
+     * @return true if the Evaluator was launched, false if the command line requires a fresh process
+     * or the process can no longer be reached.
+     */
+    boolean launch(final String containerId, final List<String> commandLine) {
+      final Optional<String> configurationPath = getConfigurationPath(commandLine);
+      if (!configurationPath.isPresent()) {
+        return false;
+      }
+      synchronized (WarmProcessPool.this) {
+        launchedContainerIds.put(this.id, containerId);
+      }
+      try {
+        this.process.writeLine(configurationPath.get());
+      } catch (final IOException | IllegalStateException e) {
+        LOG.log(Level.WARNING, "Unable to launch the Evaluator in warm process " + this.id, e);
+        synchronized (WarmProcessPool.this) {
+          launchedContainerIds.remove(this.id);
+        }
+        return false;
+      }
+      processObserver.onProcessStarted(containerId);
+      return true;
+    }
+
+    /**
+     * Asks an idle process to exit by closing its launch channel with an empty line.
+     */
+    private void shutdown() {
+      try {
+        this.process.writeLine("");
+      } catch (final IOException | IllegalStateException e) {
+        LOG.log(Level.FINE, "Unable to shut down warm process " + this.id + " gracefully", e);
+        this.process.cancel();
+      }
+    }
+
+    /**
+     * Kills a process that will not be used. Its exit is not reported to the local runtime.
+     */
+    void discard() {
+      LOG.log(Level.FINE, "Discarding warm process {0}", this.id);
+      this.process.cancel();
+    }
+  }
+}
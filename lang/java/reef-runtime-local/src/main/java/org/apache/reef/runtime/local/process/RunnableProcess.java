@@ -268,6 +268,32 @@ public final class RunnableProcess implements Runnable {
     }
   }
 
+  /**
+   * Writes a line to the standard input of the running process and flushes it.
+   * This is used to hand the Evaluator configuration to a pre-spawned process.
+   * @param line the line to write, without the line separator.
+   * @throws IOException if the line can't be written.
+   * @throws IllegalStateException if the process is not running.
+   */
+  public void writeLine(final String line) throws IOException {
+
+    this.stateLock.lock();
+
+    try {
+
+      if (this.state != RunnableProcessState.RUNNING) {
+        throw new IllegalStateException("Can't write to process " + this.id + " in state " + this.state);
+      }
+
+      final OutputStream stdin = this.process.getOutputStream();
+      stdin.write((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+      stdin.flush();
+
+    } finally {
+      this.stateLock.unlock();
+    }
+  }
+
   /**
    * @return the PID stored in the PID file.
    * @throws IOException if the file can't be read.
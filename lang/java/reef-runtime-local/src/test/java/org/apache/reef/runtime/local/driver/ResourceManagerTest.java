@@ -26,7 +26,9 @@ import org.apache.reef.runtime.common.driver.resourcemanager.ResourceAllocationE
 import org.apache.reef.runtime.common.driver.resourcemanager.ResourceStatusEvent;
 import org.apache.reef.runtime.common.driver.resourcemanager.RuntimeStatusEvent;
 import org.apache.reef.runtime.common.files.REEFFileNames;
+import org.apache.reef.runtime.common.files.RuntimeClasspathProvider;
 import org.apache.reef.runtime.common.utils.RemoteManager;
+import org.apache.reef.runtime.local.LocalClasspathProvider;
 import org.apache.reef.runtime.local.client.parameters.MaxNumberOfEvaluators;
 import org.apache.reef.runtime.local.client.parameters.RackNames;
 import org.apache.reef.runtime.local.client.parameters.RootFolder;
@@ -76,6 +78,7 @@ public class ResourceManagerTest {
   public void setUp() throws InjectionException {
     final JavaConfigurationBuilder cb = Tang.Factory.getTang().newConfigurationBuilder();
     cb.bindNamedParameter(RootFolder.class, "target/REEF_LOCAL_RUNTIME");
+    cb.bindImplementation(RuntimeClasspathProvider.class, LocalClasspathProvider.class);
     injector = Tang.Factory.getTang().newInjector(cb.build());
     remoteManager = injector.getInstance(RemoteManager.class);
     mockRuntimeResourceStatusHandler = mock(EventHandler.class);
@@ -127,7 +130,7 @@ public class ResourceManagerTest {
     containerManager = injector.getInstance(ContainerManager.class);
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
-        JVM_HEAP_SLACK, configurationSerializer, remoteManager, filenames, loggingScopeFactory);
+        JVM_HEAP_SLACK, configurationSerializer, remoteManager, filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(1).setVirtualCores(1)
         .setMemorySize(64).build();
     // When
@@ -144,7 +147,7 @@ public class ResourceManagerTest {
     // not sending notifications, there are no available free slots in the container manager
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(2).setVirtualCores(1)
         .setMemorySize(64).build();
     // When
@@ -165,7 +168,7 @@ public class ResourceManagerTest {
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(2).setVirtualCores(1)
         .setMemorySize(64).addRackName(availableRacks.get(0)).addRackName(availableRacks.get(1)).build();
     // When
@@ -186,7 +189,7 @@ public class ResourceManagerTest {
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(2).setVirtualCores(1)
         .setMemorySize(64).build();
     // When
@@ -207,7 +210,7 @@ public class ResourceManagerTest {
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(3).setVirtualCores(1)
         .setMemorySize(64).addRackName("dc1/*").addRackName("/dc2/*").build();
     // When
@@ -230,7 +233,7 @@ public class ResourceManagerTest {
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(3).setVirtualCores(1)
         .setMemorySize(64).addNodeName("Node-8").build();
     // When
@@ -260,7 +263,7 @@ public class ResourceManagerTest {
     sendNodeDescriptors();
     resourceManager = new ResourceManager(containerManager, mockResourceAllocationHandler, mockRuntimeStatusHandler,
         JVM_HEAP_SLACK, configurationSerializer, remoteManager,
-        filenames, loggingScopeFactory);
+        filenames, loggingScopeFactory, false);
     final ResourceRequestEvent request = ResourceRequestEventImpl.newBuilder().setResourceCount(3).setVirtualCores(1)
         .setMemorySize(64).addRackName("/dc3/rack1").addRackName("/*").build();
     // When
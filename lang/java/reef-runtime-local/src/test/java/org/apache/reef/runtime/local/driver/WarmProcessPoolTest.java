@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.local.driver;
+
+import org.apache.reef.runtime.common.driver.api.RuntimeParameters;
+import org.apache.reef.runtime.common.files.REEFFileNames;
+import org.apache.reef.runtime.common.files.RuntimeClasspathProvider;
+import org.apache.reef.runtime.local.LocalClasspathProvider;
+import org.apache.reef.runtime.local.client.parameters.RootFolder;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
+import org.apache.reef.runtime.local.process.ReefRunnableProcessObserver;
+import org.apache.reef.tang.Injector;
+import org.apache.reef.tang.JavaConfigurationBuilder;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.util.Optional;
+import org.apache.reef.wake.EventHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for WarmProcessPool, with warm processes that run WarmREEFLauncher without ever launching an Evaluator.
+ */
+public class WarmProcessPoolTest {
+
+  private static final int DEFAULT_MEMORY = 512;
+  private static final long TIMEOUT_MILLIS = 30000;
+
+  private Injector injector;
+  private WarmProcessPool pool;
+
+  @SuppressWarnings("unchecked")
+  @Before
+  public void setUp() throws InjectionException {
+    final JavaConfigurationBuilder cb = Tang.Factory.getTang().newConfigurationBuilder();
+    cb.bindNamedParameter(RootFolder.class, "target/REEF_LOCAL_RUNTIME");
+    cb.bindImplementation(RuntimeClasspathProvider.class, LocalClasspathProvider.class);
+    cb.bindNamedParameter(WarmPoolSize.class, "1");
+    this.injector = Tang.Factory.getTang().newInjector(cb.build());
+    this.injector.bindVolatileParameter(RuntimeParameters.ResourceStatusHandler.class, mock(EventHandler.class));
+    this.injector.bindVolatileParameter(RuntimeParameters.NodeDescriptorHandler.class, mock(EventHandler.class));
+    this.injector.bindVolatileParameter(RuntimeParameters.ResourceAllocationHandler.class,
+        mock(EventHandler.class));
+    this.injector.bindVolatileParameter(RuntimeParameters.RuntimeStatusHandler.class, mock(EventHandler.class));
+    this.pool = this.injector.getInstance(WarmProcessPool.class);
+  }
+
+  @After
+  public void tearDown() {
+    this.pool.close();
+  }
+
+  @Test
+  public void testTakeOnlyForDefaultMemory() throws InterruptedException {
+    this.pool.fill(0);
+    Assert.assertFalse(this.pool.take(2 * DEFAULT_MEMORY).isPresent());
+    final WarmProcessPool.WarmProcess warmProcess = awaitWarmProcess();
+    // The pool holds a single process, which has been handed out.
+    Assert.assertFalse(this.pool.take(DEFAULT_MEMORY).isPresent());
+    warmProcess.discard();
+  }
+
+  @Test
+  public void testColdFallbackGetsFreshIdAndFolder() throws InjectionException, IOException, InterruptedException {
+    this.pool.fill(0);
+    final WarmProcessPool.WarmProcess warmProcess = awaitWarmProcess();
+
+    final String containerId = "Node-1-" + System.currentTimeMillis();
+    final ProcessContainer container = new ProcessContainer("errorHandler", "Node-1", containerId,
+        warmProcess.getFolder(), DEFAULT_MEMORY, 1, "/default-rack",
+        this.injector.getInstance(REEFFileNames.class),
+        this.injector.getInstance(ReefRunnableProcessObserver.class), new ThreadGroup("WarmProcessPoolTest"),
+        warmProcess);
+    Assert.assertNotEquals(warmProcess.getId(), container.getContainerID());
+
+    final REEFFileNames fileNames = this.injector.getInstance(REEFFileNames.class);
+    final File configurationFile = new File(container.getFolder(), fileNames.getEvaluatorConfigurationPath());
+    Files.write(configurationFile.toPath(), "configuration".getBytes(StandardCharsets.UTF_8));
+
+    // A command line with custom JVM options can not run in the warm process.
+    container.run(Arrays.asList(
+        new File(new File(System.getProperty("java.home"), "bin"), "java").getPath(), "-Xss4m", "-version"));
+
+    Assert.assertEquals(containerId, container.getContainerID());
+    Assert.assertNotEquals(warmProcess.getFolder(), container.getFolder());
+    Assert.assertEquals(containerId, container.getFolder().getName());
+    Assert.assertArrayEquals(Files.readAllBytes(configurationFile.toPath()), Files.readAllBytes(
+        new File(container.getFolder(), fileNames.getEvaluatorConfigurationPath()).toPath()));
+
+    // The warm process was discarded.
+    warmProcess.getThread().join(TIMEOUT_MILLIS);
+    Assert.assertFalse(warmProcess.getThread().isAlive());
+
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (container.isRunning()) {
+      Assert.assertTrue("The fresh process did not exit", System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+  }
+
+  private WarmProcessPool.WarmProcess awaitWarmProcess() throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      final Optional<WarmProcessPool.WarmProcess> warmProcess = this.pool.take(DEFAULT_MEMORY);
+      if (warmProcess.isPresent()) {
+        return warmProcess.get();
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("No warm process became ready");
+  }
+}
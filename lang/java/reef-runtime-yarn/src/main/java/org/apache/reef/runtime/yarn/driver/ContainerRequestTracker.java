@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver;
+
+import org.apache.hadoop.yarn.api.records.Container;
+import org.apache.hadoop.yarn.api.records.Priority;
+import org.apache.hadoop.yarn.client.api.AMRMClient;
+import org.apache.hadoop.yarn.client.api.async.AMRMClientAsync;
+import org.apache.reef.annotations.audience.DriverSide;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.util.Optional;
+
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps track of the container requests of the Driver, and of the ones that are outstanding at the RM.
+ * <p>
+ * Requests of different priorities are outstanding at the same time, and so are requests of the same priority
+ * that only differ in their preferred nodes and racks. RM keeps one ask per priority and location,
+ * so requests of the same priority with a different capability or locality relaxation are held back
+ * until the outstanding ones of that priority have been served. Requests of one priority are sent in order.
+ * <p>
+ * Allocated containers are matched with the best fitting outstanding request.
+ * Not thread-safe: callers synchronize on YarnContainerManager.
+ */
+@Private
+@DriverSide
+final class ContainerRequestTracker {
+
+  private static final Logger LOG = Logger.getLogger(ContainerRequestTracker.class.getName());
+
+  private final AMRMClientAsync<AMRMClient.ContainerRequest> resourceManager;
+
+  /**
+   * Requests that have not been sent to the RM yet, in the order the Driver made them.
+   */
+  private final Queue<AMRMClient.ContainerRequest> requestsBeforeSentToRM = new ArrayDeque<>();
+
+  /**
+   * Requests that have been sent to the RM and are not matched with a container yet, in the order they were sent.
+   */
+  private final List<AMRMClient.ContainerRequest> requestsAfterSentToRM = new LinkedList<>();
+
+  ContainerRequestTracker(final AMRMClientAsync<AMRMClient.ContainerRequest> resourceManager) {
+    this.resourceManager = resourceManager;
+  }
+
+  /**
+   * Queues the given requests and sends all requests to the RM that can be outstanding together.
+   * @param containerRequests new container requests of the Driver.
+   */
+  void add(final AMRMClient.ContainerRequest... containerRequests) {
+    this.requestsBeforeSentToRM.addAll(Arrays.asList(containerRequests));
+    this.sendRequests();
+  }
+
+  /**
+   * Matches the container with the outstanding request it fits best, and forgets that request.
+   * Requests held back by the matched one are sent to the RM.
+   * @param container newly allocated YARN container.
+   * @param rackName the rack of the node the container was allocated on, or null if unknown.
+   * @return the matched request, or an empty optional if the container does not fit any outstanding request.
+   */
+  Optional<AMRMClient.ContainerRequest> match(final Container container, final String rackName) {
+
+    AMRMClient.ContainerRequest bestRequest = null;
+    for (final AMRMClient.ContainerRequest request : this.requestsAfterSentToRM) {
+      if (isSatisfiedBy(request, container, rackName)
+          && (bestRequest == null || isBetterMatch(request, bestRequest, container))) {
+        bestRequest = request;
+      }
+    }
+
+    if (bestRequest == null) {
+      return Optional.empty();
+    }
+
+    this.requestsAfterSentToRM.remove(bestRequest);
+
+    // Due to the bug YARN-314 and the workings of AMRMCClientAsync, when x-priority m-capacity zero-container
+    // request and x-priority n-capacity nonzero-container request are sent together, where m > n, RM ignores
+    // the latter.
+    // Therefore it is necessary avoid sending zero-container request, even if it means getting extra containers.
+    // Requests of other priorities are not affected, so only the last outstanding request of a priority is kept.
+    if (this.hasOutstandingRequest(bestRequest.getPriority())) {
+      try {
+        this.resourceManager.removeContainerRequest(bestRequest);
+      } catch (final Exception e) {
+        LOG.log(Level.WARNING, "Error removing request from Async AMRM client queue: " + bestRequest, e);
+      }
+    }
+
+    this.sendRequests();
+
+    return Optional.of(bestRequest);
+  }
+
+  /**
+   * @return the number of requests that have been sent to the RM and are not matched with a container yet.
+   */
+  int getNumOutstandingRequests() {
+    return this.requestsAfterSentToRM.size();
+  }
+
+  /**
+   * @return the number of requests that are held back from the RM.
+   */
+  int getNumHeldBackRequests() {
+    return this.requestsBeforeSentToRM.size();
+  }
+
+  /**
+   * Sends every queued request that can be outstanding together with the ones already sent.
+   * Once a request is held back, later requests of the same priority are held back as well.
+   */
+  private void sendRequests() {
+
+    final Set<Priority> blockedPriorities = new HashSet<>();
+
+    for (final Iterator<AMRMClient.ContainerRequest> it = this.requestsBeforeSentToRM.iterator(); it.hasNext();) {
+      final AMRMClient.ContainerRequest request = it.next();
+      if (!blockedPriorities.contains(request.getPriority()) && this.canBeOutstanding(request)) {
+        it.remove();
+        this.resourceManager.addContainerRequest(request);
+        this.requestsAfterSentToRM.add(request);
+      } else {
+        blockedPriorities.add(request.getPriority());
+      }
+    }
+
+    LOG.log(Level.FINEST, "Outstanding container requests: {0}, held back: {1}",
+        new Object[] {this.requestsAfterSentToRM.size(), this.requestsBeforeSentToRM.size()});
+  }
+
+  private boolean canBeOutstanding(final AMRMClient.ContainerRequest request) {
+    for (final AMRMClient.ContainerRequest outstanding : this.requestsAfterSentToRM) {
+      if (outstanding.getPriority().compareTo(request.getPriority()) == 0
+          && !(outstanding.getCapability().compareTo(request.getCapability()) == 0
+               && outstanding.getRelaxLocality() == request.getRelaxLocality())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean hasOutstandingRequest(final Priority priority) {
+    for (final AMRMClient.ContainerRequest outstanding : this.requestsAfterSentToRM) {
+      if (outstanding.getPriority().compareTo(priority) == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Match to see whether the container satisfies the request.
+   * We take into consideration that RM has some freedom in rounding
+   * up the allocation and in placing containers on other machines.
+   */
+  private static boolean isSatisfiedBy(
+      final AMRMClient.ContainerRequest request, final Container container, final String rackName) {
+
+    final boolean resourceCondition = container.getResource().getMemory() >= request.getCapability().getMemory();
+
+    // TODO[JIRA REEF-35]: check vcores once YARN-2380 is resolved
+    final boolean nodeCondition = request.getNodes() == null
+        || request.getNodes().contains(container.getNodeId().getHost());
+
+    final boolean rackCondition = request.getRacks() == null
+        || request.getRacks().contains(rackName);
+
+    return resourceCondition && (request.getRelaxLocality() || rackCondition && nodeCondition);
+  }
+
+  /**
+   * Prefers the request of the priority the RM allocated the container for, then a request with matching
+   * preferred nodes or racks, then the request of the largest capability that fits. Ties go to the older request.
+   */
+  private static boolean isBetterMatch(
+      final AMRMClient.ContainerRequest candidate, final AMRMClient.ContainerRequest best, final Container container) {
+
+    final boolean candidatePriority = container.getPriority() != null
+        && candidate.getPriority().compareTo(container.getPriority()) == 0;
+    final boolean bestPriority = container.getPriority() != null
+        && best.getPriority().compareTo(container.getPriority()) == 0;
+    if (candidatePriority != bestPriority) {
+      return candidatePriority;
+    }
+
+    final boolean candidateLocal = hasPreferredLocation(candidate);
+    final boolean bestLocal = hasPreferredLocation(best);
+    if (candidateLocal != bestLocal) {
+      return candidateLocal;
+    }
+
+    return candidate.getCapability().getMemory() > best.getCapability().getMemory();
+  }
+
+  private static boolean hasPreferredLocation(final AMRMClient.ContainerRequest request) {
+    return request.getNodes() != null && !request.getNodes().isEmpty()
+        || request.getRacks() != null && !request.getRacks().isEmpty();
+  }
+}
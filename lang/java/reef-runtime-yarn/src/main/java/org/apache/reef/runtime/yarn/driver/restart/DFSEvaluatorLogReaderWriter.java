@@ -25,7 +25,7 @@ import java.io.IOException;
 
 /**
  * The Evaluator log reader/writer that reads from and writes to the Hadoop DFS.
- * Currently supports regular append and append by overwrite.
+ * Currently supports regular append, append by overwrite, and append-only segments with compaction.
  */
 @Private
 public interface DFSEvaluatorLogReaderWriter extends AutoCloseable {
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver.restart;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.reef.annotations.audience.Private;
+import org.apache.reef.util.CloseableIterable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The DFS evaluator logger for file systems that do not support append, that only ever creates new files.
+ * dfs.support.append should be false.
+ * <p>
+ * Entries are written as small segment files into a folder next to the changelog path. Entries that are written
+ * while a segment is being flushed are batched into the next segment, and all their writers return once it is
+ * durable. Every {@code segmentsPerSnapshot} segments, the log is compacted into a snapshot file that only holds
+ * the additions of the Evaluators that are still alive, and the segments it covers are deleted.
+ * Files are named by a sequence number, and a snapshot covers the segments up to its own number.
+ * A reader takes the latest snapshot and the segments that follow it.
+ * <p>
+ * Segments and snapshots are written under a temporary name and renamed into place, so that a failed write
+ * leaves no partial file behind. A changelog written by {@link DFSEvaluatorLogOverwriteReaderWriter} before an
+ * upgrade is read as the start of the log until the first snapshot, which folds it in and deletes it.
+ */
+@Private
+public final class DFSEvaluatorLogSegmentedReaderWriter implements DFSEvaluatorLogReaderWriter {
+
+  private static final Logger LOG = Logger.getLogger(DFSEvaluatorLogSegmentedReaderWriter.class.getName());
+
+  /**
+   * Default number of segments after which the log is compacted.
+   */
+  static final int DEFAULT_SEGMENTS_PER_SNAPSHOT = 128;
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String TMP_SUFFIX = ".tmp";
+  private static final String ADD_FLAG = "+";
+  private static final String REMOVE_FLAG = "-";
+
+  private static final PathFilter LOG_FILE_FILTER = new PathFilter() {
+    @Override
+    public boolean accept(final Path path) {
+      final String name = path.getName();
+      return (name.startsWith(SEGMENT_PREFIX) || name.startsWith(SNAPSHOT_PREFIX)) && !name.endsWith(TMP_SUFFIX);
+    }
+  };
+
+  private final FileSystem fileSystem;
+  private final Path segmentFolder;
+  private final Path legacyChangelogPath;
+  private final Path legacyChangelogAltPath;
+  private final DFSLineReader reader;
+  private final int segmentsPerSnapshot;
+
+  /**
+   * Held while files are written to the segment folder. Writers queue up on it, and whoever gets it first
+   * flushes all entries queued so far.
+   */
+  private final Object flushLock = new Object();
+
+  /**
+   * Entries that are not flushed yet. Guarded by this.
+   */
+  private List<String> pendingEntries = new ArrayList<>();
+
+  /**
+   * The batch new entries are added to, and the last batch that is durable. Guarded by this.
+   */
+  private long currentBatch = 0;
+  private long flushedBatch = -1;
+
+  /**
+   * Sequence number of the last file in the segment folder, and of the last snapshot. Guarded by flushLock.
+   */
+  private long lastSequenceNumber = -1;
+  private long lastSnapshotSequenceNumber = -1;
+
+  private boolean fsClosed = false;
+
+  DFSEvaluatorLogSegmentedReaderWriter(final FileSystem fileSystem, final Path changelogPath) {
+    this(fileSystem, changelogPath, DEFAULT_SEGMENTS_PER_SNAPSHOT);
+  }
+
+  DFSEvaluatorLogSegmentedReaderWriter(
+      final FileSystem fileSystem, final Path changelogPath, final int segmentsPerSnapshot) {
+    this.fileSystem = fileSystem;
+    this.segmentFolder = new Path(changelogPath + ".segments");
+    this.legacyChangelogPath = changelogPath;
+    this.legacyChangelogAltPath = new Path(changelogPath + ".alt");
+    this.reader = new DFSLineReader(fileSystem);
+    this.segmentsPerSnapshot = segmentsPerSnapshot;
+  }
+
+  /**
+   * Writes a formatted entry (addition or removal) for an Evaluator ID into the DFS evaluator log.
+   * Returns once a segment holding the entry has been written and synced.
+   * @param formattedEntry The formatted entry (entry with evaluator ID and addition/removal information).
+   * @throws IOException when the segment cannot be written.
+   */
+  @Override
+  public void writeToEvaluatorLog(final String formattedEntry) throws IOException {
+
+    final long batch;
+    synchronized (this) {
+      this.pendingEntries.add(formattedEntry);
+      batch = this.currentBatch;
+    }
+
+    synchronized (this.flushLock) {
+
+      final List<String> entries;
+      final long flushingBatch;
+      synchronized (this) {
+        if (this.flushedBatch >= batch) {
+          // Another writer flushed our entry while we were waiting.
+          return;
+        }
+        entries = this.pendingEntries;
+        flushingBatch = this.currentBatch;
+        this.pendingEntries = new ArrayList<>();
+        ++this.currentBatch;
+      }
+
+      try {
+        this.writeSegment(entries);
+      } catch (final IOException e) {
+        // Writers of the other entries retry with the next batch.
+        synchronized (this) {
+          entries.addAll(this.pendingEntries);
+          this.pendingEntries = entries;
+        }
+        throw e;
+      }
+
+      synchronized (this) {
+        this.flushedBatch = flushingBatch;
+      }
+
+      if (this.lastSequenceNumber - this.lastSnapshotSequenceNumber >= this.segmentsPerSnapshot) {
+        try {
+          this.compact();
+        } catch (final IOException e) {
+          LOG.log(Level.WARNING, "Unable to compact the evaluator log. Will retry on the next segment.", e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the additions of the Evaluators that are alive, as recorded by the latest snapshot and the segments
+   * that follow it.
+   */
+  @Override
+  public CloseableIterable<String> readFromEvaluatorLog() throws IOException {
+    synchronized (this.flushLock) {
+      final Set<String> liveEvaluators =
+          this.readLiveEvaluators(this.listFiles(SNAPSHOT_PREFIX), this.listFiles(SEGMENT_PREFIX));
+      final List<String> lines = new ArrayList<>(liveEvaluators.size());
+      for (final String id : liveEvaluators) {
+        lines.add(ADD_FLAG + id);
+      }
+      return new ListIterable(lines);
+    }
+  }
+
+  private void writeSegment(final List<String> entries) throws IOException {
+    this.initSequenceNumbers();
+    final long sequenceNumber = this.lastSequenceNumber + 1;
+    final Path segmentPath = new Path(this.segmentFolder, getFileName(SEGMENT_PREFIX, sequenceNumber));
+    this.writeFile(segmentPath, entries);
+    this.lastSequenceNumber = sequenceNumber;
+  }
+
+  /**
+   * Writes and syncs the lines under a temporary name, and renames the file into place once it is complete.
+   * The temporary file of a failed attempt is overwritten by the next one.
+   */
+  private void writeFile(final Path path, final Collection<String> lines) throws IOException {
+    final Path tmpPath = new Path(this.segmentFolder, path.getName() + TMP_SUFFIX);
+    try (final FSDataOutputStream outputStream = this.fileSystem.create(tmpPath, true)) {
+      final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      for (final String line : lines) {
+        writer.write(line);
+      }
+      writer.flush();
+      outputStream.hsync();
+    }
+
+    if (!this.fileSystem.rename(tmpPath, path)) {
+      this.fileSystem.delete(tmpPath, false);
+      throw new IOException("Unable to rename " + tmpPath + " to " + path);
+    }
+  }
+
+  /**
+   * Folds the latest snapshot and the segments after it into a new snapshot that covers the last segment.
+   * Then the files it covers, including a legacy changelog, are deleted.
+   */
+  private void compact() throws IOException {
+
+    final SortedMap<Long, Path> snapshots = this.listFiles(SNAPSHOT_PREFIX);
+    final SortedMap<Long, Path> segments = this.listFiles(SEGMENT_PREFIX);
+    final long sequenceNumber = this.lastSequenceNumber;
+    final Set<String> liveEvaluators = this.readLiveEvaluators(snapshots, segments);
+
+    final List<String> lines = new ArrayList<>(liveEvaluators.size());
+    for (final String id : liveEvaluators) {
+      lines.add(ADD_FLAG + id + System.lineSeparator());
+    }
+    this.writeFile(new Path(this.segmentFolder, getFileName(SNAPSHOT_PREFIX, sequenceNumber)), lines);
+    this.lastSnapshotSequenceNumber = sequenceNumber;
+
+    for (final Path path : Arrays.asList(this.legacyChangelogPath, this.legacyChangelogAltPath)) {
+      if (this.fileSystem.exists(path)) {
+        this.fileSystem.delete(path, false);
+      }
+    }
+
+    for (final Path path : snapshots.values()) {
+      this.fileSystem.delete(path, false);
+    }
+    for (final Path path : segments.headMap(sequenceNumber + 1).values()) {
+      this.fileSystem.delete(path, false);
+    }
+
+    LOG.log(Level.FINE, "Compacted the evaluator log into a snapshot of {0} evaluators", liveEvaluators.size());
+  }
+
+  /**
+   * Applies the latest snapshot, or the legacy changelog if there is no snapshot yet,
+   * and the segments after it in order.
+   */
+  private Set<String> readLiveEvaluators(
+      final SortedMap<Long, Path> snapshots, final SortedMap<Long, Path> segments) throws IOException {
+
+    final Set<String> liveEvaluators = new LinkedHashSet<>();
+    final List<Path> files = new ArrayList<>();
+    if (snapshots.isEmpty()) {
+      if (this.fileSystem.exists(this.legacyChangelogPath) || this.fileSystem.exists(this.legacyChangelogAltPath)) {
+        // Only read through the legacy reader/writer: closing it would close the shared FileSystem.
+        final DFSEvaluatorLogOverwriteReaderWriter legacyLog =
+            new DFSEvaluatorLogOverwriteReaderWriter(this.fileSystem, this.legacyChangelogPath);
+        applyLines(legacyLog.readFromEvaluatorLog(), liveEvaluators, this.legacyChangelogPath);
+      }
+      files.addAll(segments.values());
+    } else {
+      files.add(snapshots.get(snapshots.lastKey()));
+      files.addAll(segments.tailMap(snapshots.lastKey() + 1).values());
+    }
+
+    for (final Path path : files) {
+      applyLines(this.reader.readLinesFromFile(path), liveEvaluators, path);
+    }
+
+    return liveEvaluators;
+  }
+
+  private static void applyLines(final CloseableIterable<String> lines, final Set<String> liveEvaluators,
+                                 final Path path) throws IOException {
+    try (final CloseableIterable<String> closeableLines = lines) {
+      for (final String line : closeableLines) {
+        if (line.startsWith(ADD_FLAG)) {
+          liveEvaluators.add(line.substring(ADD_FLAG.length()));
+        } else if (line.startsWith(REMOVE_FLAG)) {
+          liveEvaluators.remove(line.substring(REMOVE_FLAG.length()));
+        }
+      }
+    } catch (final Exception e) {
+      throw new IOException("Unable to read evaluator log file " + path, e);
+    }
+  }
+
+  /**
+   * @return the files of the given kind in the segment folder, by sequence number.
+   */
+  private SortedMap<Long, Path> listFiles(final String prefix) throws IOException {
+    final SortedMap<Long, Path> files = new TreeMap<>();
+    if (this.fileSystem.exists(this.segmentFolder)) {
+      for (final FileStatus status : this.fileSystem.listStatus(this.segmentFolder, LOG_FILE_FILTER)) {
+        final String name = status.getPath().getName();
+        if (name.startsWith(prefix)) {
+          files.put(Long.parseLong(name.substring(prefix.length())), status.getPath());
+        }
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Continues the sequence numbers of a log written by a previous Driver.
+   */
+  private void initSequenceNumbers() throws IOException {
+    if (this.lastSequenceNumber < 0) {
+      final SortedMap<Long, Path> snapshots = this.listFiles(SNAPSHOT_PREFIX);
+      final SortedMap<Long, Path> segments = this.listFiles(SEGMENT_PREFIX);
+      if (!snapshots.isEmpty()) {
+        this.lastSnapshotSequenceNumber = snapshots.lastKey();
+        this.lastSequenceNumber = snapshots.lastKey();
+      }
+      if (!segments.isEmpty()) {
+        this.lastSequenceNumber = Math.max(this.lastSequenceNumber, segments.lastKey());
+      }
+    }
+  }
+
+  private static String getFileName(final String prefix, final long sequenceNumber) {
+    return String.format("%s%019d", prefix, sequenceNumber);
+  }
+
+  /**
+   * Closes the FileSystem.
+   * @throws Exception
+   */
+  @Override
+  public synchronized void close() throws Exception {
+    if (this.fileSystem != null && !this.fsClosed) {
+      this.fileSystem.close();
+      this.fsClosed = true;
+    }
+  }
+
+  /**
+   * Iterable over lines that are already in memory.
+   */
+  private static final class ListIterable implements CloseableIterable<String> {
+
+    private final List<String> lines;
+
+    private ListIterable(final List<String> lines) {
+      this.lines = lines;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      return Collections.unmodifiableList(this.lines).iterator();
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -90,7 +90,7 @@ public final class DFSEvaluatorPreserver implements EvaluatorPreserver, AutoClos
       if (appendSupported) {
         this.readerWriter = new DFSEvaluatorLogAppendReaderWriter(this.fileSystem, this.changeLogLocation);
       } else {
-        this.readerWriter = new DFSEvaluatorLogOverwriteReaderWriter(this.fileSystem, this.changeLogLocation);
+        this.readerWriter = new DFSEvaluatorLogSegmentedReaderWriter(this.fileSystem, this.changeLogLocation);
       }
     } catch (final IOException e) {
       final String errMsg = "Cannot read from log file with Exception " + e +
@@ -170,7 +170,7 @@ public final class DFSEvaluatorPreserver implements EvaluatorPreserver, AutoClos
    * @param id
    */
   @Override
-  public synchronized void recordAllocatedEvaluator(final String id) {
+  public void recordAllocatedEvaluator(final String id) {
     if (this.fileSystem != null && this.changeLogLocation != null) {
       final String entry = ADD_FLAG + id + System.lineSeparator();
       this.logContainerChange(entry);
@@ -182,7 +182,7 @@ public final class DFSEvaluatorPreserver implements EvaluatorPreserver, AutoClos
    * @param id
    */
   @Override
-  public synchronized void recordRemovedEvaluator(final String id) {
+  public void recordRemovedEvaluator(final String id) {
     if (this.fileSystem != null && this.changeLogLocation != null) {
       final String entry = REMOVE_FLAG + id + System.lineSeparator();
       this.logContainerChange(entry);
@@ -190,6 +190,7 @@ public final class DFSEvaluatorPreserver implements EvaluatorPreserver, AutoClos
   }
 
   private void logContainerChange(final String entry) {
+    // Not synchronized on the preserver, so that the reader/writer can batch concurrent changes.
     try {
       this.readerWriter.writeToEvaluatorLog(entry);
     } catch (final IOException e) {
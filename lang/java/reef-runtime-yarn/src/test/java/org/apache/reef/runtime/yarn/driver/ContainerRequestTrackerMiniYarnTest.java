@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver;
+
+import org.apache.hadoop.net.NetUtils;
+import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.security.token.Token;
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.ApplicationSubmissionContext;
+import org.apache.hadoop.yarn.api.records.Container;
+import org.apache.hadoop.yarn.api.records.ContainerLaunchContext;
+import org.apache.hadoop.yarn.api.records.ContainerStatus;
+import org.apache.hadoop.yarn.api.records.FinalApplicationStatus;
+import org.apache.hadoop.yarn.api.records.LocalResource;
+import org.apache.hadoop.yarn.api.records.NodeReport;
+import org.apache.hadoop.yarn.api.records.Priority;
+import org.apache.hadoop.yarn.api.records.Resource;
+import org.apache.hadoop.yarn.client.api.AMRMClient;
+import org.apache.hadoop.yarn.client.api.YarnClient;
+import org.apache.hadoop.yarn.client.api.async.AMRMClientAsync;
+import org.apache.hadoop.yarn.conf.YarnConfiguration;
+import org.apache.hadoop.yarn.exceptions.YarnException;
+import org.apache.hadoop.yarn.security.AMRMTokenIdentifier;
+import org.apache.hadoop.yarn.server.MiniYARNCluster;
+import org.apache.hadoop.yarn.util.Records;
+import org.apache.reef.util.Optional;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs ContainerRequestTracker against the RM of a MiniYARNCluster, as an unmanaged AM.
+ */
+public final class ContainerRequestTrackerMiniYarnTest implements AMRMClientAsync.CallbackHandler {
+
+  private static final Logger LOG = Logger.getLogger(ContainerRequestTrackerMiniYarnTest.class.getName());
+
+  private static final int HEARTBEAT_PERIOD_MS = 100;
+  private static final long TIMEOUT_MS = 60000;
+
+  private final Map<Integer, Integer> matchedPerMemory = new HashMap<>();
+  private final List<Container> extraContainers = new ArrayList<>();
+  private final Set<AMRMClient.ContainerRequest> matchedRequests =
+      Collections.newSetFromMap(new IdentityHashMap<AMRMClient.ContainerRequest, Boolean>());
+
+  private MiniYARNCluster yarnCluster;
+  private YarnClient yarnClient;
+  private AMRMClientAsync<AMRMClient.ContainerRequest> rmClient;
+  private ContainerRequestTracker tracker;
+  private CountDownLatch allocated;
+
+  @Before
+  public void setUp() throws IOException, YarnException, InterruptedException {
+
+    final YarnConfiguration yarnConfig = new YarnConfiguration();
+    yarnConfig.setInt(YarnConfiguration.RM_SCHEDULER_MINIMUM_ALLOCATION_MB, 64);
+    yarnConfig.setInt(YarnConfiguration.NM_PMEM_MB, 4096);
+
+    this.yarnCluster = new MiniYARNCluster(ContainerRequestTrackerMiniYarnTest.class.getSimpleName(), 1, 1, 1);
+    this.yarnCluster.init(yarnConfig);
+    this.yarnCluster.start();
+
+    this.yarnClient = YarnClient.createYarnClient();
+    this.yarnClient.init(this.yarnCluster.getConfig());
+    this.yarnClient.start();
+
+    final ContainerLaunchContext containerContext = Records.newRecord(ContainerLaunchContext.class);
+    containerContext.setCommands(Collections.<String>emptyList());
+    containerContext.setLocalResources(Collections.<String, LocalResource>emptyMap());
+    containerContext.setEnvironment(Collections.<String, String>emptyMap());
+
+    final ApplicationSubmissionContext appContext =
+        this.yarnClient.createApplication().getApplicationSubmissionContext();
+    appContext.setApplicationName("REEF_ContainerRequestTracker_Test");
+    appContext.setAMContainerSpec(containerContext);
+    appContext.setUnmanagedAM(true);
+    appContext.setQueue("default");
+
+    final ApplicationId applicationId = appContext.getApplicationId();
+    this.yarnClient.submitApplication(appContext);
+
+    Token<AMRMTokenIdentifier> token = this.yarnClient.getAMRMToken(applicationId);
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (token == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(HEARTBEAT_PERIOD_MS);
+      token = this.yarnClient.getAMRMToken(applicationId);
+    }
+    Assert.assertNotNull("The unmanaged AM should get an AMRM token", token);
+    UserGroupInformation.getCurrentUser().addToken(token);
+
+    this.rmClient = AMRMClientAsync.createAMRMClientAsync(HEARTBEAT_PERIOD_MS, this);
+    this.rmClient.init(this.yarnCluster.getConfig());
+    this.rmClient.start();
+    this.rmClient.registerApplicationMaster(NetUtils.getHostname(), -1, null);
+
+    this.tracker = new ContainerRequestTracker(this.rmClient);
+  }
+
+  @After
+  public void tearDown() throws IOException, YarnException {
+    if (this.rmClient != null) {
+      this.rmClient.unregisterApplicationMaster(FinalApplicationStatus.SUCCEEDED, "Done", null);
+      this.rmClient.stop();
+    }
+    if (this.yarnClient != null) {
+      this.yarnClient.stop();
+    }
+    if (this.yarnCluster != null) {
+      this.yarnCluster.stop();
+    }
+  }
+
+  private static AMRMClient.ContainerRequest newRequest(final int megaBytes, final int priority) {
+    return new AMRMClient.ContainerRequest(
+        Resource.newInstance(megaBytes, 1), null, null, Priority.newInstance(priority));
+  }
+
+  /**
+   * Two groups of different size and priority are outstanding at the RM together, and both get served.
+   */
+  @Test
+  public void testHeterogeneousRequests() throws InterruptedException {
+
+    // Distinct instances, as every evaluator request of REEF is a request object of its own.
+    final AMRMClient.ContainerRequest[] requests = {
+        newRequest(128, 1), newRequest(128, 1), newRequest(256, 2), newRequest(256, 2)};
+
+    final long startTime = System.currentTimeMillis();
+
+    synchronized (this) {
+      this.allocated = new CountDownLatch(4);
+      this.tracker.add(requests);
+      Assert.assertEquals("Both groups should be outstanding", 4, this.tracker.getNumOutstandingRequests());
+    }
+
+    Assert.assertTrue("All requests should be served", this.allocated.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+    synchronized (this) {
+      LOG.log(Level.INFO, "Got 4 containers of two kinds in {0} ms, and {1} extra containers",
+          new Object[] {System.currentTimeMillis() - startTime, this.extraContainers.size()});
+      Assert.assertEquals("Two small containers should be matched", 2, (int) this.matchedPerMemory.get(128));
+      Assert.assertEquals("Two large containers should be matched", 2, (int) this.matchedPerMemory.get(256));
+      Assert.assertEquals("No request should be outstanding", 0, this.tracker.getNumOutstandingRequests());
+      Assert.assertEquals("Every request should be matched once", 4, this.matchedRequests.size());
+    }
+  }
+
+  @Override
+  public synchronized void onContainersAllocated(final List<Container> containers) {
+    for (final Container container : containers) {
+      final Optional<AMRMClient.ContainerRequest> matched = this.tracker.match(container, null);
+      if (matched.isPresent()) {
+        this.matchedRequests.add(matched.get());
+        final int memory = matched.get().getCapability().getMemory();
+        this.matchedPerMemory.put(memory, this.matchedPerMemory.containsKey(memory)
+            ? this.matchedPerMemory.get(memory) + 1 : 1);
+        this.allocated.countDown();
+      } else {
+        this.extraContainers.add(container);
+      }
+      this.rmClient.releaseAssignedContainer(container.getId());
+    }
+  }
+
+  @Override
+  public void onContainersCompleted(final List<ContainerStatus> statuses) {
+    LOG.log(Level.FINE, "Containers completed: {0}", statuses);
+  }
+
+  @Override
+  public void onShutdownRequest() {
+    LOG.log(Level.INFO, "Shutdown requested by YARN");
+  }
+
+  @Override
+  public void onNodesUpdated(final List<NodeReport> updatedNodes) {
+  }
+
+  @Override
+  public float getProgress() {
+    return 0;
+  }
+
+  @Override
+  public void onError(final Throwable throwable) {
+    LOG.log(Level.SEVERE, "AMRM client error", throwable);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver;
+
+import org.apache.hadoop.yarn.api.records.ApplicationAttemptId;
+import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.hadoop.yarn.api.records.Container;
+import org.apache.hadoop.yarn.api.records.ContainerId;
+import org.apache.hadoop.yarn.api.records.NodeId;
+import org.apache.hadoop.yarn.api.records.Priority;
+import org.apache.hadoop.yarn.api.records.Resource;
+import org.apache.hadoop.yarn.client.api.AMRMClient;
+import org.apache.hadoop.yarn.client.api.async.AMRMClientAsync;
+import org.apache.reef.util.Optional;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for ContainerRequestTracker.
+ */
+public final class ContainerRequestTrackerTest {
+
+  private static final ApplicationAttemptId ATTEMPT_ID =
+      ApplicationAttemptId.newInstance(ApplicationId.newInstance(0, 1), 1);
+
+  private AMRMClientAsync<AMRMClient.ContainerRequest> resourceManager;
+  private ContainerRequestTracker tracker;
+  private int nextContainerId = 0;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    this.resourceManager = Mockito.mock(AMRMClientAsync.class);
+    this.tracker = new ContainerRequestTracker(this.resourceManager);
+  }
+
+  private static AMRMClient.ContainerRequest newRequest(final int megaBytes, final int priority) {
+    return new AMRMClient.ContainerRequest(
+        Resource.newInstance(megaBytes, 1), null, null, Priority.newInstance(priority));
+  }
+
+  private static AMRMClient.ContainerRequest newRequest(final int megaBytes, final int priority, final String node) {
+    return new AMRMClient.ContainerRequest(
+        Resource.newInstance(megaBytes, 1), new String[] {node}, null, Priority.newInstance(priority), false);
+  }
+
+  private Container newContainer(final int megaBytes, final int priority, final String host) {
+    return Container.newInstance(
+        ContainerId.newContainerId(ATTEMPT_ID, this.nextContainerId++),
+        NodeId.newInstance(host, 1234), host + ":8042",
+        Resource.newInstance(megaBytes, 1), Priority.newInstance(priority), null);
+  }
+
+  /**
+   * Requests of different priorities are outstanding at the same time.
+   */
+  @Test
+  public void testDifferentPrioritiesAreOutstandingTogether() {
+
+    final AMRMClient.ContainerRequest small = newRequest(128, 1);
+    final AMRMClient.ContainerRequest otherSmall = newRequest(128, 1);
+    final AMRMClient.ContainerRequest large = newRequest(512, 2);
+    this.tracker.add(small, otherSmall, large);
+
+    Assert.assertEquals("All requests should be sent to the RM", 3, this.tracker.getNumOutstandingRequests());
+    Assert.assertEquals("No request should be held back", 0, this.tracker.getNumHeldBackRequests());
+    Mockito.verify(this.resourceManager).addContainerRequest(small);
+    Mockito.verify(this.resourceManager).addContainerRequest(otherSmall);
+    Mockito.verify(this.resourceManager).addContainerRequest(large);
+  }
+
+  /**
+   * Requests of the same priority and a different capability are held back until the outstanding ones are served.
+   */
+  @Test
+  public void testSamePriorityDifferentCapabilityIsHeldBack() {
+
+    final AMRMClient.ContainerRequest small = newRequest(128, 1);
+    final AMRMClient.ContainerRequest large = newRequest(512, 1);
+    final AMRMClient.ContainerRequest laterSmall = newRequest(128, 1);
+    final AMRMClient.ContainerRequest other = newRequest(256, 2);
+    this.tracker.add(small, large, laterSmall, other);
+
+    Assert.assertEquals("The first small request and the other priority should be sent",
+        2, this.tracker.getNumOutstandingRequests());
+    Assert.assertEquals("Requests of priority 1 after the large one should be held back",
+        2, this.tracker.getNumHeldBackRequests());
+    Mockito.verify(this.resourceManager, Mockito.never()).addContainerRequest(large);
+
+    final Optional<AMRMClient.ContainerRequest> matched = this.tracker.match(newContainer(128, 1, "host1"), null);
+    Assert.assertTrue("The small container should match", matched.isPresent());
+    Assert.assertSame("The small container should match the small request", small, matched.get());
+
+    Mockito.verify(this.resourceManager).addContainerRequest(large);
+    Mockito.verify(this.resourceManager, Mockito.never()).addContainerRequest(laterSmall);
+    Assert.assertEquals("The small request after the large one should still be held back",
+        1, this.tracker.getNumHeldBackRequests());
+  }
+
+  /**
+   * Allocated containers are matched with the request of their priority, and the best fitting capability.
+   */
+  @Test
+  public void testMatchPrefersPriorityAndBestFit() {
+
+    final AMRMClient.ContainerRequest small = newRequest(128, 1);
+    final AMRMClient.ContainerRequest large = newRequest(512, 2);
+    this.tracker.add(small, large);
+
+    final Optional<AMRMClient.ContainerRequest> first = this.tracker.match(newContainer(1024, 2, "host1"), null);
+    Assert.assertSame("A container of priority 2 should match the request of priority 2", large, first.get());
+
+    final Optional<AMRMClient.ContainerRequest> second = this.tracker.match(newContainer(1024, 2, "host1"), null);
+    Assert.assertSame("A container that fits any request should match the remaining one", small, second.get());
+
+    final Optional<AMRMClient.ContainerRequest> third = this.tracker.match(newContainer(1024, 1, "host1"), null);
+    Assert.assertFalse("An extra container should not match", third.isPresent());
+  }
+
+  /**
+   * Containers are matched with strict locality requests only on the requested nodes.
+   */
+  @Test
+  public void testMatchRespectsLocality() {
+
+    final AMRMClient.ContainerRequest local = newRequest(128, 1, "host2");
+    this.tracker.add(local);
+
+    Assert.assertFalse("A container on another node should not match",
+        this.tracker.match(newContainer(128, 1, "host1"), "/default-rack").isPresent());
+    Assert.assertSame("A container on the requested node should match",
+        local, this.tracker.match(newContainer(128, 1, "host2"), "/default-rack").get());
+  }
+
+  /**
+   * The last outstanding request of a priority is not removed from the AMRM client, to avoid YARN-314.
+   */
+  @Test
+  public void testLastRequestOfPriorityIsNotRemoved() {
+
+    final AMRMClient.ContainerRequest first = newRequest(128, 1);
+    final AMRMClient.ContainerRequest second = newRequest(128, 1);
+    this.tracker.add(first, second);
+
+    final AMRMClient.ContainerRequest matched = this.tracker.match(newContainer(128, 1, "host1"), null).get();
+    Mockito.verify(this.resourceManager, Mockito.times(1))
+        .removeContainerRequest(Mockito.any(AMRMClient.ContainerRequest.class));
+    Mockito.verify(this.resourceManager).removeContainerRequest(matched);
+
+    this.tracker.match(newContainer(128, 1, "host1"), null);
+    Mockito.verify(this.resourceManager, Mockito.times(1))
+        .removeContainerRequest(Mockito.any(AMRMClient.ContainerRequest.class));
+    Assert.assertEquals("No request should be outstanding", 0, this.tracker.getNumOutstandingRequests());
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver.restart;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.reef.util.CloseableIterable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of DFSEvaluatorLogSegmentedReaderWriter on the local Hadoop FileSystem. Run with the benchmark profile.
+ */
+public final class DFSEvaluatorLogSegmentedReaderWriterBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(DFSEvaluatorLogSegmentedReaderWriterBenchmark.class.getName());
+
+  private static final int NUM_EVENTS = 10000;
+
+  private File tmpFolder;
+
+  @Before
+  public void setUp() throws IOException {
+    this.tmpFolder = Files.createTempDirectory("reef-evaluator-log").toFile();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    fileSystem.delete(new Path(this.tmpFolder.toURI()), true);
+    fileSystem.close();
+  }
+
+  /**
+   * Logs the rate of writing 10k evaluator events, and of recovering from them.
+   */
+  @Test
+  public void benchmarkWriteAndRecover() throws Exception {
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = new DFSEvaluatorLogSegmentedReaderWriter(
+        FileSystem.newInstanceLocal(new Configuration()),
+        new Path(new File(this.tmpFolder, "evaluatorsChangesLog").toURI()),
+        DFSEvaluatorLogSegmentedReaderWriter.DEFAULT_SEGMENTS_PER_SNAPSHOT)) {
+
+      final long writeStart = System.currentTimeMillis();
+      for (int i = 0; i < NUM_EVENTS / 2; ++i) {
+        readerWriter.writeToEvaluatorLog("+container_" + i + System.lineSeparator());
+        readerWriter.writeToEvaluatorLog("-container_" + (i - 1) + System.lineSeparator());
+      }
+      final long writeTime = System.currentTimeMillis() - writeStart;
+
+      final long readStart = System.currentTimeMillis();
+      int numRecovered = 0;
+      try (final CloseableIterable<String> lines = readerWriter.readFromEvaluatorLog()) {
+        for (final String ignored : lines) {
+          ++numRecovered;
+        }
+      }
+      final long readTime = System.currentTimeMillis() - readStart;
+
+      Assert.assertEquals("Only the last Evaluator should be alive", 1, numRecovered);
+      LOG.log(Level.INFO, "Wrote {0} evaluator events in {1} ms, recovered in {2} ms",
+          new Object[] {NUM_EVENTS, writeTime, readTime});
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.runtime.yarn.driver.restart;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.reef.util.CloseableIterable;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for DFSEvaluatorLogSegmentedReaderWriter on the local Hadoop FileSystem.
+ */
+public final class DFSEvaluatorLogSegmentedReaderWriterTest {
+
+  private File tmpFolder;
+  private Path changelogPath;
+
+  @Before
+  public void setUp() throws IOException {
+    this.tmpFolder = Files.createTempDirectory("reef-evaluator-log").toFile();
+    this.changelogPath = new Path(new File(this.tmpFolder, "evaluatorsChangesLog").toURI());
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    fileSystem.delete(new Path(this.tmpFolder.toURI()), true);
+    fileSystem.close();
+  }
+
+  private DFSEvaluatorLogSegmentedReaderWriter newReaderWriter(final int segmentsPerSnapshot) throws IOException {
+    return new DFSEvaluatorLogSegmentedReaderWriter(
+        FileSystem.newInstanceLocal(new Configuration()), this.changelogPath, segmentsPerSnapshot);
+  }
+
+  private static Set<String> read(final DFSEvaluatorLogReaderWriter readerWriter) throws Exception {
+    final Set<String> lines = new HashSet<>();
+    try (final CloseableIterable<String> iterable = readerWriter.readFromEvaluatorLog()) {
+      for (final String line : iterable) {
+        Assert.assertTrue("Line should not be a duplicate: " + line, lines.add(line));
+      }
+    }
+    return lines;
+  }
+
+  private static String add(final int id) {
+    return "+container_" + id + System.lineSeparator();
+  }
+
+  private static String remove(final int id) {
+    return "-container_" + id + System.lineSeparator();
+  }
+
+  /**
+   * Compaction keeps the live Evaluators and drops the segments it covers.
+   */
+  @Test
+  public void testRecoverAfterCompaction() throws Exception {
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(8)) {
+
+      final Set<String> expected = new HashSet<>();
+      for (int i = 0; i < 100; ++i) {
+        readerWriter.writeToEvaluatorLog(add(i));
+        if (i % 2 == 0) {
+          readerWriter.writeToEvaluatorLog(remove(i));
+        } else {
+          expected.add("+container_" + i);
+        }
+      }
+
+      Assert.assertEquals("Only the Evaluators that were not removed should be recovered",
+          expected, read(readerWriter));
+
+      final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+      final FileStatus[] files = fileSystem.listStatus(new Path(this.changelogPath + ".segments"));
+      fileSystem.close();
+      int numLogFiles = 0;
+      for (final FileStatus file : files) {
+        if (!file.getPath().getName().endsWith(".crc")) {
+          ++numLogFiles;
+        }
+      }
+      Assert.assertTrue("Compaction should bound the number of log files, found " + numLogFiles, numLogFiles <= 9);
+    }
+  }
+
+  /**
+   * A new reader/writer continues the log of a previous Driver.
+   */
+  @Test
+  public void testContinueAfterRestart() throws Exception {
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(4)) {
+      for (int i = 0; i < 10; ++i) {
+        readerWriter.writeToEvaluatorLog(add(i));
+      }
+    }
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(4)) {
+      Assert.assertEquals("All Evaluators of the previous Driver should be recovered", 10, read(readerWriter).size());
+      for (int i = 0; i < 5; ++i) {
+        readerWriter.writeToEvaluatorLog(remove(i));
+      }
+      for (int i = 10; i < 15; ++i) {
+        readerWriter.writeToEvaluatorLog(add(i));
+      }
+      final Set<String> recovered = read(readerWriter);
+      Assert.assertEquals("Removed Evaluators should not be recovered", 10, recovered.size());
+      Assert.assertFalse("Removed Evaluators should not be recovered", recovered.contains("+container_0"));
+      Assert.assertTrue("Evaluators of the new Driver should be recovered", recovered.contains("+container_14"));
+    }
+  }
+
+  /**
+   * Concurrent writers all get their entries logged.
+   */
+  @Test
+  public void testConcurrentWriters() throws Exception {
+
+    final int numThreads = 8;
+    final int entriesPerThread = 250;
+    final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(16)) {
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < numThreads; ++t) {
+        final int offset = t * entriesPerThread;
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws IOException {
+            for (int i = offset; i < offset + entriesPerThread; ++i) {
+              readerWriter.writeToEvaluatorLog(add(i));
+            }
+            return null;
+          }
+        }));
+      }
+      for (final Future<Void> future : futures) {
+        future.get();
+      }
+      Assert.assertEquals("All entries should be logged", numThreads * entriesPerThread, read(readerWriter).size());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * A changelog written by the overwrite reader/writer before an upgrade is recovered,
+   * and folded into the first snapshot.
+   */
+  @Test
+  public void testReadLegacyChangelog() throws Exception {
+
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    final DFSEvaluatorLogOverwriteReaderWriter legacyLog =
+        new DFSEvaluatorLogOverwriteReaderWriter(fileSystem, this.changelogPath);
+    for (int i = 0; i < 4; ++i) {
+      legacyLog.writeToEvaluatorLog(add(i));
+    }
+    legacyLog.writeToEvaluatorLog(remove(0));
+    legacyLog.close();
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(4)) {
+      Assert.assertEquals("Evaluators of the legacy log should be recovered", 3, read(readerWriter).size());
+      for (int i = 4; i < 8; ++i) {
+        readerWriter.writeToEvaluatorLog(add(i));
+      }
+      Assert.assertEquals("Evaluators of both logs should be recovered after compaction",
+          7, read(readerWriter).size());
+    }
+
+    final FileSystem checkFileSystem = FileSystem.newInstanceLocal(new Configuration());
+    Assert.assertFalse("The legacy log should be deleted by compaction", checkFileSystem.exists(this.changelogPath));
+    checkFileSystem.close();
+  }
+
+  /**
+   * A temporary segment left behind by a failed write does not block later writes.
+   */
+  @Test
+  public void testStaleTemporarySegment() throws Exception {
+
+    final FileSystem fileSystem = FileSystem.newInstanceLocal(new Configuration());
+    fileSystem.create(new Path(this.changelogPath + ".segments", "segment-0000000000000000000.tmp")).close();
+    fileSystem.close();
+
+    try (final DFSEvaluatorLogSegmentedReaderWriter readerWriter = newReaderWriter(4)) {
+      readerWriter.writeToEvaluatorLog(add(0));
+      Assert.assertEquals("The entry should be logged", 1, read(readerWriter).size());
+    }
+  }
+}
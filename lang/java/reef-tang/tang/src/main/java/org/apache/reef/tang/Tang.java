@@ -20,6 +20,7 @@ package org.apache.reef.tang;
 
 import org.apache.reef.tang.exceptions.BindException;
 import org.apache.reef.tang.implementation.TangImpl;
+import org.apache.reef.tang.util.TracingMonotonicTreeMap;
 
 import java.net.URL;
 
@@ -172,6 +173,19 @@ public interface Tang {
       return new TangImpl();
     }
 
+    /**
+     * Turn the recording of bind locations on or off for all configurations and injectors
+     * created from now on. Recording a bind location captures a stack trace on every binding;
+     * production deployments may want to disable it. The initial value is taken from the
+     * system property {@value TracingMonotonicTreeMap#TRACE_BIND_LOCATIONS_PROPERTY}
+     * and defaults to true.
+     *
+     * @param enabled true to record the stack trace of every binding.
+     */
+    public static void setBindLocationTracing(final boolean enabled) {
+      TracingMonotonicTreeMap.setTracingEnabled(enabled);
+    }
+
     /**
      * Empty private constructor to prohibit instantiation of utility class.
      */
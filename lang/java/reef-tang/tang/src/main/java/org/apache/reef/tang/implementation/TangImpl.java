@@ -39,6 +39,27 @@ public class TangImpl implements Tang {
     defaultClassHierarchy = new HashMap<>();
   }
 
+  /**
+   * Pre-populate the default class hierarchy with the nodes of a previously resolved one,
+   * so that classes it already knows need not be reflected upon again.
+   * <p>
+   * The default class hierarchy is shared by the whole process: every configuration builder and injector
+   * created afterwards without explicit jars or parameter parsers uses the snapshot. It can therefore only
+   * be set at process startup, before the default class hierarchy has been used.
+   *
+   * @param snapshot a class hierarchy taken from the same classpath, e.g. loaded with
+   *                 {@link org.apache.reef.tang.implementation.avro.AvroClassHierarchySerializer#fromMappedFile}.
+   * @throws IllegalStateException if the default class hierarchy is already in use.
+   */
+  @SuppressWarnings("unchecked")
+  public static void setDefaultClassHierarchySnapshot(final ClassHierarchy snapshot) {
+    final SetValuedKey key = new SetValuedKey(new URL[0], new Class[0]);
+    if (defaultClassHierarchy.containsKey(key)) {
+      throw new IllegalStateException("The default class hierarchy is already in use and can not be replaced.");
+    }
+    defaultClassHierarchy.put(key, new ClassHierarchyImpl(snapshot));
+  }
+
   @Override
   public Injector newInjector(final Configuration... confs) throws BindException {
     return new InjectorImpl(new JavaConfigurationBuilderImpl(confs).build());
@@ -128,7 +149,7 @@ public class TangImpl implements Tang {
     }
   }
 
-  private class SetValuedKey {
+  private static final class SetValuedKey {
     private final Set<Object> key;
 
     SetValuedKey(final Object[] ts, final Object[] us) {
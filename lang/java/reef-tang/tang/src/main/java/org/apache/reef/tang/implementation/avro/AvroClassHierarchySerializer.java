@@ -23,14 +23,21 @@ import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.io.*;
 import org.apache.avro.specific.SpecificDatumReader;
 import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.avro.util.ByteBufferInputStream;
 import org.apache.reef.tang.ClassHierarchy;
 import org.apache.reef.tang.ClassHierarchySerializer;
 import org.apache.reef.tang.types.*;
 
 import javax.inject.Inject;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -50,11 +57,15 @@ public final class AvroClassHierarchySerializer implements ClassHierarchySeriali
 
   /**
    * Serialize the ClassHierarchy into the AvroNode.
+   * A ClassHierarchyImpl only adds nodes while holding its own lock, so the hierarchy is copied under that lock
+   * and the copy is consistent even while other threads resolve classes.
    * @param ch ClassHierarchy to serialize
    * @return a Avro node having class hierarchy
    */
   public AvroNode toAvro(final ClassHierarchy ch) {
-    return newAvroNode(ch.getNamespace());
+    synchronized (ch) {
+      return newAvroNode(ch.getNamespace());
+    }
   }
 
   /**
@@ -236,6 +247,37 @@ public final class AvroClassHierarchySerializer implements ClassHierarchySeriali
     return fromAvro(avroNode);
   }
 
+  /**
+   * Write the ClassHierarchy to a file in the compact binary encoding of {@link #toByteArray(ClassHierarchy)},
+   * without the schema header of an Avro data file. The file is written to a temporary file first and then
+   * moved into place, so that concurrent readers never observe a partial file.
+   * @param classHierarchy the class hierarchy to write
+   * @param file the file to write to
+   * @throws IOException if the file cannot be written
+   */
+  public void toBinaryFile(final ClassHierarchy classHierarchy, final File file) throws IOException {
+    final File tmpFile = new File(file.getAbsolutePath() + ".tmp");
+    Files.write(tmpFile.toPath(), toByteArray(classHierarchy));
+    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Read a ClassHierarchy written by {@link #toBinaryFile(ClassHierarchy, File)}.
+   * The file is memory-mapped and decoded in place instead of being copied onto the heap first.
+   * @param file the file to read from
+   * @return the deserialized class hierarchy
+   * @throws IOException if the file cannot be read
+   */
+  public ClassHierarchy fromMappedFile(final File file) throws IOException {
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(
+          new ByteBufferInputStream(Collections.singletonList(buffer)), null);
+      final SpecificDatumReader<AvroNode> reader = new SpecificDatumReader<>(AvroNode.class);
+      return fromAvro(reader.read(null, decoder));
+    }
+  }
+
   @Override
   public ClassHierarchy fromByteArray(final byte[] theBytes) throws IOException {
     final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(theBytes, null);
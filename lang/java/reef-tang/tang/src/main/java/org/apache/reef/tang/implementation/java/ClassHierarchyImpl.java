@@ -96,6 +96,42 @@ public class ClassHierarchyImpl implements JavaClassHierarchy {
     }
   }
 
+  /**
+   * Create a ClassHierarchy backed by the default classloader that starts out with all the nodes of
+   * a previously resolved class hierarchy, e.g. one deserialized from a snapshot written at job submission.
+   * Classes found in the snapshot are not reflected upon again; all others are resolved lazily as usual.
+   * The snapshot must have been taken from the same classpath, and it is owned by this object afterwards.
+   *
+   * @param snapshot the class hierarchy whose nodes are used to pre-populate this one.
+   * @throws IllegalArgumentException if the namespace of the snapshot is not a package node.
+   */
+  public ClassHierarchyImpl(final ClassHierarchy snapshot) {
+    final Node root = snapshot.getNamespace();
+    if (!(root instanceof PackageNode)) {
+      throw new IllegalArgumentException("Malformed class hierarchy snapshot: the root node is not a package, but "
+          + (root == null ? null : root.getClass().getName()));
+    }
+    this.namespace = (PackageNode) root;
+    this.jars = new ArrayList<>();
+    this.loader = new URLClassLoader(new URL[0], this.getClass().getClassLoader());
+    registerShortNames(this.namespace);
+  }
+
+  /**
+   * Recursively record the short names of all named parameters in a pre-populated namespace.
+   */
+  private void registerShortNames(final Node root) {
+    for (final Node child : root.getChildren()) {
+      if (child instanceof NamedParameterNode) {
+        final NamedParameterNode<?> np = (NamedParameterNode<?>) child;
+        if (np.getShortName() != null) {
+          shortNames.put(np.getShortName(), np);
+        }
+      }
+      registerShortNames(child);
+    }
+  }
+
   /**
    * A helper method that returns the parsed default value of a given
    * NamedParameter.
@@ -25,9 +25,51 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * A monotonic map that remembers where each of its entries was bound.
+ * <p>
+ * Recording a bind location captures the stack trace of the caller, which is expensive
+ * when done for every configuration merge and every injected singleton. Tracing can
+ * therefore be turned off, either by setting the system property
+ * {@value #TRACE_BIND_LOCATIONS_PROPERTY} to {@code false}, or programmatically via
+ * {@link org.apache.reef.tang.Tang.Factory#setBindLocationTracing(boolean)}.
+ * Untraced entries all share a single placeholder {@link BindLocation}.
+ */
 public final class TracingMonotonicTreeMap<K, V> implements TracingMonotonicMap<K, V> {
+
+  /**
+   * Name of the system property that controls the capture of bind locations.
+   */
+  public static final String TRACE_BIND_LOCATIONS_PROPERTY = "org.apache.reef.tang.traceBindLocations";
+
+  private static final BindLocation UNTRACED_BIND_LOCATION = new BindLocation() {
+    @Override
+    public String toString() {
+      return "[untraced; set -D" + TRACE_BIND_LOCATIONS_PROPERTY + "=true to record bind locations]";
+    }
+  };
+
+  private static volatile boolean tracingEnabled =
+      Boolean.parseBoolean(System.getProperty(TRACE_BIND_LOCATIONS_PROPERTY, "true"));
+
   private final MonotonicTreeMap<K, EntryImpl> innerMap = new MonotonicTreeMap<>();
 
+  /**
+   * @return true if newly bound entries record the stack trace of their bind location.
+   */
+  public static boolean isTracingEnabled() {
+    return tracingEnabled;
+  }
+
+  /**
+   * Turn the capture of bind locations on or off for entries bound from now on.
+   *
+   * @param enabled true to record a stack trace for every binding.
+   */
+  public static void setTracingEnabled(final boolean enabled) {
+    tracingEnabled = enabled;
+  }
+
   @Override
   public void clear() {
     innerMap.clear();
@@ -66,7 +108,8 @@ public final class TracingMonotonicTreeMap<K, V> implements TracingMonotonicMap<
 
   @Override
   public V put(final K key, final V value) {
-    final EntryImpl ret = innerMap.put(key, new EntryImpl(value, new StackBindLocation()));
+    final BindLocation location = tracingEnabled ? new StackBindLocation() : UNTRACED_BIND_LOCATION;
+    final EntryImpl ret = innerMap.put(key, new EntryImpl(value, location));
     return ret != null ? ret.getKey() : null;
   }
 
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang;
+
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.test.ObjectTreeTest;
+import org.apache.reef.tang.test.RootInterface;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Benchmark of Tang with and without the capture of bind locations. Run with the benchmark profile.
+ */
+public class BindLocationTracingBenchmark {
+
+  private static final Logger LOG = Logger.getLogger(BindLocationTracingBenchmark.class.getName());
+
+  private static final int NUM_ITERATIONS = 2000;
+
+  @After
+  public void tearDown() {
+    Tang.Factory.setBindLocationTracing(true);
+  }
+
+  /**
+   * Measures how many configurations per second are built and injected, with and without bind location tracing.
+   */
+  @Test
+  public void benchmarkConfigurationAndInjectionRate() throws InjectionException {
+    for (final boolean tracing : new boolean[] {true, false}) {
+      Tang.Factory.setBindLocationTracing(tracing);
+
+      // Warm up the class hierarchy and the JIT before measuring.
+      runIterations(NUM_ITERATIONS / 10);
+
+      final long start = System.nanoTime();
+      runIterations(NUM_ITERATIONS);
+      final double seconds = (System.nanoTime() - start) / 1e9;
+
+      LOG.log(Level.INFO, "tracing: {0}; configurations+injections/s: {1}",
+          new Object[] {tracing, NUM_ITERATIONS / seconds});
+    }
+  }
+
+  private static void runIterations(final int iterations) throws InjectionException {
+    for (int i = 0; i < iterations; ++i) {
+      final Configuration conf = Tang.Factory.getTang()
+          .newConfigurationBuilder(ObjectTreeTest.getConfiguration()).build();
+      Assert.assertNotNull(Tang.Factory.getTang().newInjector(conf).getInstance(RootInterface.class));
+    }
+  }
+}
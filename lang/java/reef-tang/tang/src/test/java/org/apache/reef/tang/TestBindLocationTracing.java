@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang;
+
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.test.ObjectTreeTest;
+import org.apache.reef.tang.test.RootInterface;
+import org.apache.reef.tang.util.TracingMonotonicTreeMap;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests Tang with and without the capture of bind locations.
+ */
+public class TestBindLocationTracing {
+
+  @After
+  public void tearDown() {
+    Tang.Factory.setBindLocationTracing(true);
+  }
+
+  @Test
+  public void testInjectionWithoutTracing() throws InjectionException {
+    Tang.Factory.setBindLocationTracing(false);
+    Assert.assertFalse(TracingMonotonicTreeMap.isTracingEnabled());
+
+    final RootInterface untraced = Tang.Factory.getTang()
+        .newInjector(ObjectTreeTest.getConfiguration()).getInstance(RootInterface.class);
+
+    Tang.Factory.setBindLocationTracing(true);
+    final RootInterface traced = Tang.Factory.getTang()
+        .newInjector(ObjectTreeTest.getConfiguration()).getInstance(RootInterface.class);
+
+    Assert.assertEquals(traced, untraced);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tang.implementation.avro;
+
+import org.apache.reef.tang.ClassHierarchy;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.JavaClassHierarchy;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.BindException;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tang.exceptions.NameResolutionException;
+import org.apache.reef.tang.formats.AvroConfigurationSerializer;
+import org.apache.reef.tang.implementation.TangImpl;
+import org.apache.reef.tang.test.ListInterfaceImplOne;
+import org.apache.reef.tang.test.ListOfImplementations;
+import org.apache.reef.tang.test.ObjectTreeTest;
+import org.apache.reef.tang.test.RootInterface;
+import org.apache.reef.tang.test.RootImplementationWithoutList;
+import org.apache.reef.tang.test.TestConfigurationWithoutList;
+import org.apache.reef.tang.util.ReflectionUtilities;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests pre-populating the default class hierarchy from a memory-mapped snapshot.
+ */
+public class TestClassHierarchySnapshot {
+
+  private final AvroClassHierarchySerializer serializer = new AvroClassHierarchySerializer();
+
+  @After
+  public void tearDown() {
+    TangImpl.reset();
+  }
+
+  /**
+   * The test configuration, resolved against the current default class hierarchy. The configuration module
+   * of the test is static and keeps the class hierarchy it was first built against, which is not the default
+   * one anymore once it has been reset. It is the one without lists, as lists can not be serialized.
+   */
+  private static Configuration getConfiguration() throws BindException, IOException {
+    final AvroConfigurationSerializer configurationSerializer = new AvroConfigurationSerializer();
+    return configurationSerializer.fromString(
+        configurationSerializer.toString(ObjectTreeTest.getConfigurationWithoutList()));
+  }
+
+  private File writeSnapshot() throws IOException, InjectionException {
+    TangImpl.reset();
+    // Resolve the test configuration, so that the snapshot contains its classes.
+    Tang.Factory.getTang().newInjector(getConfiguration()).getInstance(RootInterface.class);
+
+    final File file = File.createTempFile("TangTest", "snapshot");
+    file.deleteOnExit();
+    serializer.toBinaryFile(Tang.Factory.getTang().getDefaultClassHierarchy(), file);
+    TangImpl.reset();
+    return file;
+  }
+
+  @Test
+  public void testMappedFileRoundTrip() throws IOException, InjectionException, NameResolutionException {
+    final ClassHierarchy snapshot = serializer.fromMappedFile(writeSnapshot());
+    final String rootName = ReflectionUtilities.getFullName(RootInterface.class);
+    Assert.assertEquals(rootName, snapshot.getNode(rootName).getFullName());
+  }
+
+  @Test
+  public void testInjectionFromSnapshot() throws IOException, InjectionException, NameResolutionException {
+    final RootInterface expected =
+        Tang.Factory.getTang().newInjector(getConfiguration()).getInstance(RootInterface.class);
+
+    TangImpl.setDefaultClassHierarchySnapshot(serializer.fromMappedFile(writeSnapshot()));
+    final JavaClassHierarchy ch = Tang.Factory.getTang().getDefaultClassHierarchy();
+
+    // The node comes from the snapshot, not from reflection.
+    final String rootName = ReflectionUtilities.getFullName(RootInterface.class);
+    Assert.assertNotNull(ch.getNode(rootName));
+
+    final RootInterface actual =
+        Tang.Factory.getTang().newInjector(getConfiguration()).getInstance(RootInterface.class);
+    Assert.assertEquals(expected, actual);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSnapshotDoesNotReplaceHierarchyInUse() throws IOException, InjectionException {
+    final File snapshotFile = writeSnapshot();
+    Tang.Factory.getTang().getDefaultClassHierarchy();
+    TangImpl.setDefaultClassHierarchySnapshot(serializer.fromMappedFile(snapshotFile));
+  }
+
+  @Test
+  public void testSnapshotWhileResolving() throws Exception {
+    TangImpl.reset();
+    final JavaClassHierarchy ch = Tang.Factory.getTang().getDefaultClassHierarchy();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    final Thread resolver = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          for (final Class<?> clazz : new Class<?>[]{RootInterface.class, ListOfImplementations.class,
+              RootImplementationWithoutList.class, ListInterfaceImplOne.class, TestConfigurationWithoutList.class}) {
+            ch.getNode(clazz);
+          }
+        } catch (final RuntimeException e) {
+          failure.set(e);
+        }
+      }
+    });
+    resolver.start();
+    // The hierarchy gains nodes while it is serialized.
+    while (resolver.isAlive()) {
+      serializer.toByteArray(ch);
+    }
+    resolver.join();
+    Assert.assertNull(failure.get());
+
+    final String rootName = ReflectionUtilities.getFullName(RootInterface.class);
+    Assert.assertNotNull(serializer.fromByteArray(serializer.toByteArray(ch)).getNode(rootName));
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.applications.vortex.addone;
+
+import org.apache.reef.vortex.api.VortexFuture;
+import org.apache.reef.vortex.api.VortexStart;
+import org.apache.reef.vortex.api.VortexThreadPool;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measure the tasklet throughput of Vortex with many small tasklets, and check it against a conservative floor.
+ */
+public final class AddOneThroughputTestStart implements VortexStart {
+  private static final Logger LOG = Logger.getLogger(AddOneThroughputTestStart.class.getName());
+  private static final int NUM_OF_TASKLETS = 20000;
+
+  // Far below the throughput of batched launches on a single machine, so that the check is not flaky,
+  // but above that of sending every launch on its own.
+  private static final long MIN_TASKLETS_PER_SEC = 1000;
+
+  @Inject
+  private AddOneThroughputTestStart() {
+  }
+
+  /**
+   * Submit small tasklets as fast as possible, check their results and their throughput.
+   */
+  @Override
+  public void start(final VortexThreadPool vortexThreadPool) {
+    final AddOneFunction addOneFunction = new AddOneFunction();
+    final List<VortexFuture<Integer>> futures = new ArrayList<>(NUM_OF_TASKLETS);
+
+    final long startTime = System.currentTimeMillis();
+    for (int i = 0; i < NUM_OF_TASKLETS; i++) {
+      futures.add(vortexThreadPool.submit(addOneFunction, i));
+    }
+
+    for (int i = 0; i < NUM_OF_TASKLETS; i++) {
+      try {
+        if (i + 1 != futures.get(i).get()) {
+          throw new RuntimeException(); // throw an exception if the result is not what we expected
+        }
+      } catch (InterruptedException | ExecutionException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    final long elapsedTime = Math.max(1, System.currentTimeMillis() - startTime);
+    final long taskletsPerSec = NUM_OF_TASKLETS * 1000L / elapsedTime;
+
+    LOG.log(Level.INFO, "Executed {0} tasklets in {1} ms: {2} tasklets/sec",
+        new Object[]{NUM_OF_TASKLETS, elapsedTime, taskletsPerSec});
+    if (taskletsPerSec < MIN_TASKLETS_PER_SEC) {
+      throw new RuntimeException("Tasklet throughput " + taskletsPerSec + "/sec is below " + MIN_TASKLETS_PER_SEC);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.applications.vortex.speculation;
+
+import org.apache.reef.vortex.api.VortexFunction;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Outputs Input+1, quickly on the first worker that runs it and slowly on all other workers.
+ * The first worker claims a marker file in a folder shared by the workers on the local runtime.
+ */
+public final class SlowWorkerFunction implements VortexFunction<Integer, Integer> {
+  static final long FAST_MILLIS = 100;
+  static final long SLOW_MILLIS = 60000;
+  private static final String FAST_WORKER_MARKER = "fast-worker";
+
+  private static Boolean isSlowWorker = null;
+
+  private String markerFolderPath;
+
+  /**
+   * No-arg constructor required for Kryo to serialize/deserialize.
+   */
+  SlowWorkerFunction() {
+  }
+
+  SlowWorkerFunction(final String markerFolderPath) {
+    this.markerFolderPath = markerFolderPath;
+  }
+
+  /**
+   * Outputs Input+1, after sleeping depending on the worker.
+   */
+  @Override
+  public Integer call(final Integer input) throws Exception {
+    Thread.sleep(isSlowWorker(markerFolderPath) ? SLOW_MILLIS : FAST_MILLIS);
+    return input + 1;
+  }
+
+  private static synchronized boolean isSlowWorker(final String markerFolderPath) throws IOException {
+    if (isSlowWorker == null) {
+      isSlowWorker = !new File(markerFolderPath, FAST_WORKER_MARKER).createNewFile();
+    }
+    return isSlowWorker;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.applications.vortex.speculation;
+
+import org.apache.reef.vortex.api.VortexFuture;
+import org.apache.reef.vortex.api.VortexStart;
+import org.apache.reef.vortex.api.VortexThreadPool;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs rounds of tasklets on a fast and a slow worker, and checks that the tasklets on the slow worker
+ * do not hold up the rounds, since their duplicates complete on the fast worker.
+ */
+public final class SpeculativeExecutionTestStart implements VortexStart {
+  private static final Logger LOG = Logger.getLogger(SpeculativeExecutionTestStart.class.getName());
+  private static final int NUM_OF_ROUNDS = 10;
+  private static final int NUM_OF_TASKLETS_PER_ROUND = 4;
+
+  @Inject
+  private SpeculativeExecutionTestStart() {
+  }
+
+  /**
+   * Runs the rounds and checks their results and elapsed time.
+   */
+  @Override
+  public void start(final VortexThreadPool vortexThreadPool) {
+    final File markerFolder;
+    try {
+      markerFolder = Files.createTempDirectory("vortex-speculation").toFile();
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+
+    final SlowWorkerFunction slowWorkerFunction = new SlowWorkerFunction(markerFolder.getAbsolutePath());
+    final long startTime = System.currentTimeMillis();
+    try {
+      for (int round = 0; round < NUM_OF_ROUNDS; round++) {
+        final List<VortexFuture<Integer>> futures = new ArrayList<>(NUM_OF_TASKLETS_PER_ROUND);
+        for (int i = 0; i < NUM_OF_TASKLETS_PER_ROUND; i++) {
+          futures.add(vortexThreadPool.submit(slowWorkerFunction, i));
+        }
+
+        int i = 0;
+        for (final VortexFuture<Integer> future : futures) {
+          if (i + 1 != future.get()) {
+            throw new RuntimeException(); // throw an exception if the result is not what we expected
+          }
+          i++;
+        }
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    } finally {
+      final File[] markers = markerFolder.listFiles();
+      if (markers != null) {
+        for (final File marker : markers) {
+          if (!marker.delete()) {
+            LOG.log(Level.WARNING, "Failed to delete {0}", marker);
+          }
+        }
+      }
+      if (!markerFolder.delete()) {
+        LOG.log(Level.WARNING, "Failed to delete {0}", markerFolder);
+      }
+    }
+
+    final long elapsedMillis = System.currentTimeMillis() - startTime;
+    LOG.log(Level.INFO, "{0} rounds took {1} ms", new Object[]{NUM_OF_ROUNDS, elapsedMillis});
+    if (elapsedMillis >= SlowWorkerFunction.SLOW_MILLIS) {
+      throw new RuntimeException("The tasklets on the slow worker were not duplicated, the rounds took "
+          + elapsedMillis + " ms");
+    }
+  }
+}
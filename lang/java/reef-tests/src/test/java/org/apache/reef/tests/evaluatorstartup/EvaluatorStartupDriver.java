@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.evaluatorstartup;
+
+import org.apache.reef.driver.evaluator.AllocatedEvaluator;
+import org.apache.reef.driver.evaluator.EvaluatorRequest;
+import org.apache.reef.driver.evaluator.EvaluatorRequestor;
+import org.apache.reef.driver.task.CompletedTask;
+import org.apache.reef.driver.task.RunningTask;
+import org.apache.reef.driver.task.TaskConfiguration;
+import org.apache.reef.tang.annotations.Unit;
+import org.apache.reef.tests.library.exceptions.DriverSideFailure;
+import org.apache.reef.tests.library.tasks.NoopTask;
+import org.apache.reef.wake.EventHandler;
+import org.apache.reef.wake.time.event.StartTime;
+import org.apache.reef.wake.time.event.StopTime;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver that allocates a number of Evaluators, runs a NoopTask on each,
+ * and logs the latency from Evaluator allocation to the Task running.
+ */
+@Unit
+final class EvaluatorStartupDriver {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorStartupDriver.class.getName());
+
+  static final int NUM_EVALUATORS = 4;
+  static final int EVALUATOR_MEMORY = 64;
+
+  private final EvaluatorRequestor requestor;
+
+  /**
+   * Allocation time of each Evaluator whose Task has not started yet, keyed by Evaluator ID.
+   */
+  private final Map<String, Long> allocationTimes = new HashMap<>();
+
+  private long totalLatency = 0;
+  private long maxLatency = 0;
+  private int numRunningTasks = 0;
+
+  @Inject
+  EvaluatorStartupDriver(final EvaluatorRequestor requestor) {
+    this.requestor = requestor;
+  }
+
+  final class StartHandler implements EventHandler<StartTime> {
+    @Override
+    public void onNext(final StartTime startTime) {
+      requestor.submit(EvaluatorRequest.newBuilder()
+          .setNumber(NUM_EVALUATORS)
+          .setMemory(EVALUATOR_MEMORY)
+          .setNumberOfCores(1)
+          .build());
+    }
+  }
+
+  final class EvaluatorAllocatedHandler implements EventHandler<AllocatedEvaluator> {
+    @Override
+    public void onNext(final AllocatedEvaluator allocatedEvaluator) {
+      synchronized (allocationTimes) {
+        allocationTimes.put(allocatedEvaluator.getId(), System.currentTimeMillis());
+      }
+      allocatedEvaluator.submitTask(TaskConfiguration.CONF
+          .set(TaskConfiguration.IDENTIFIER, "StartupTask-" + allocatedEvaluator.getId())
+          .set(TaskConfiguration.TASK, NoopTask.class)
+          .build());
+    }
+  }
+
+  final class TaskRunningHandler implements EventHandler<RunningTask> {
+    @Override
+    public void onNext(final RunningTask runningTask) {
+      final String evaluatorId = runningTask.getActiveContext().getEvaluatorId();
+      synchronized (allocationTimes) {
+        final Long allocationTime = allocationTimes.remove(evaluatorId);
+        if (allocationTime == null) {
+          throw new DriverSideFailure("Unexpected RunningTask on Evaluator: " + evaluatorId);
+        }
+        final long latency = System.currentTimeMillis() - allocationTime;
+        totalLatency += latency;
+        maxLatency = Math.max(maxLatency, latency);
+        ++numRunningTasks;
+        LOG.log(Level.INFO, "Evaluator {0}: allocated to task running in {1} ms",
+            new Object[] {evaluatorId, latency});
+      }
+    }
+  }
+
+  final class TaskCompletedHandler implements EventHandler<CompletedTask> {
+    @Override
+    public void onNext(final CompletedTask completedTask) {
+      completedTask.getActiveContext().close();
+    }
+  }
+
+  final class DriverStopHandler implements EventHandler<StopTime> {
+    @Override
+    public void onNext(final StopTime stopTime) {
+      synchronized (allocationTimes) {
+        if (numRunningTasks != NUM_EVALUATORS) {
+          throw new DriverSideFailure("Expected " + NUM_EVALUATORS + " running tasks, got " + numRunningTasks);
+        }
+        LOG.log(Level.INFO, "Allocated to task running latency: average {0} ms, max {1} ms",
+            new Object[] {totalLatency / numRunningTasks, maxLatency});
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.reef.tests.evaluatorstartup;
+
+import org.apache.reef.client.DriverConfiguration;
+import org.apache.reef.client.DriverLauncher;
+import org.apache.reef.client.LauncherStatus;
+import org.apache.reef.runtime.local.client.parameters.ClassHierarchySnapshot;
+import org.apache.reef.runtime.local.client.parameters.DefaultMemorySize;
+import org.apache.reef.runtime.local.client.parameters.WarmPoolSize;
+import org.apache.reef.runtime.local.driver.RuntimeIdentifier;
+import org.apache.reef.tang.Configuration;
+import org.apache.reef.tang.Configurations;
+import org.apache.reef.tang.Tang;
+import org.apache.reef.tang.exceptions.InjectionException;
+import org.apache.reef.tests.TestEnvironment;
+import org.apache.reef.tests.TestEnvironmentFactory;
+import org.apache.reef.util.EnvironmentUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures Evaluator startup on the local runtime: plain, with a class hierarchy snapshot, and with a warm pool.
+ * The Driver logs the latency from allocation to task running for each Evaluator.
+ */
+public final class EvaluatorStartupTest {
+
+  private static final Logger LOG = Logger.getLogger(EvaluatorStartupTest.class.getName());
+
+  private final TestEnvironment testEnvironment = TestEnvironmentFactory.getNewTestEnvironment();
+
+  @Before
+  public void setUp() throws Exception {
+    this.testEnvironment.setUp();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    this.testEnvironment.tearDown();
+  }
+
+  private Configuration getDriverConfiguration(final String driverId) {
+    return DriverConfiguration.CONF
+        .set(DriverConfiguration.GLOBAL_LIBRARIES, EnvironmentUtils.getClassLocation(this.getClass()))
+        .set(DriverConfiguration.DRIVER_IDENTIFIER, driverId)
+        .set(DriverConfiguration.ON_DRIVER_STARTED, EvaluatorStartupDriver.StartHandler.class)
+        .set(DriverConfiguration.ON_EVALUATOR_ALLOCATED, EvaluatorStartupDriver.EvaluatorAllocatedHandler.class)
+        .set(DriverConfiguration.ON_TASK_RUNNING, EvaluatorStartupDriver.TaskRunningHandler.class)
+        .set(DriverConfiguration.ON_TASK_COMPLETED, EvaluatorStartupDriver.TaskCompletedHandler.class)
+        .set(DriverConfiguration.ON_DRIVER_STOP, EvaluatorStartupDriver.DriverStopHandler.class)
+        .build();
+  }
+
+  private void runEvaluatorStartupTest(final String driverId, final Configuration runtimeOptions)
+      throws InjectionException {
+
+    Assume.assumeTrue("This test measures options of the local runtime",
+        RuntimeIdentifier.RUNTIME_NAME.equals(this.testEnvironment.getRuntimeName()));
+
+    final Configuration runtimeConfiguration =
+        Configurations.merge(this.testEnvironment.getRuntimeConfiguration(), runtimeOptions);
+
+    final long startTime = System.currentTimeMillis();
+    final LauncherStatus state = DriverLauncher.getLauncher(runtimeConfiguration)
+        .run(getDriverConfiguration(driverId), this.testEnvironment.getTestTimeout());
+    final long elapsed = System.currentTimeMillis() - startTime;
+
+    Assert.assertTrue("Job state after execution: " + state, state.isSuccess());
+    LOG.log(Level.INFO, "{0}: job with {1} evaluators completed in {2} ms",
+        new Object[] {driverId, EvaluatorStartupDriver.NUM_EVALUATORS, elapsed});
+  }
+
+  @Test
+  public void testEvaluatorStartup() throws InjectionException {
+    runEvaluatorStartupTest("TEST_EvaluatorStartup", Tang.Factory.getTang().newConfigurationBuilder().build());
+  }
+
+  @Test
+  public void testEvaluatorStartupWithClassHierarchySnapshot() throws InjectionException {
+    runEvaluatorStartupTest("TEST_EvaluatorStartupSnapshot", Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(ClassHierarchySnapshot.class, "true")
+        .build());
+  }
+
+  @Test
+  public void testEvaluatorStartupWithWarmPool() throws InjectionException {
+    runEvaluatorStartupTest("TEST_EvaluatorStartupWarmPool", Tang.Factory.getTang().newConfigurationBuilder()
+        .bindNamedParameter(WarmPoolSize.class, Integer.toString(EvaluatorStartupDriver.NUM_EVALUATORS))
+        // Warm processes are only handed out for containers of the default size.
+        .bindNamedParameter(DefaultMemorySize.class, Integer.toString(EvaluatorStartupDriver.EVALUATOR_MEMORY))
+        .build());
+  }
+}